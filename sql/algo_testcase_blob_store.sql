@@ -0,0 +1,7 @@
+-- 대용량 테스트케이스 외부 저장 (zstd 압축, 로컬 디스크 / S3)
+-- 크기가 큰 비공개 테스트케이스는 INPUT_DATA / EXPECTED_OUTPUT을 빈 문자열로 두고 해시 키로 조회
+ALTER TABLE `ALGO_TESTCASES`
+    ADD COLUMN `INPUT_BLOB_KEY` CHAR(64) NULL COMMENT '외부 저장 입력 SHA-256 (NULL이면 INPUT_DATA 사용)' AFTER `IS_SAMPLE`,
+    ADD COLUMN `OUTPUT_BLOB_KEY` CHAR(64) NULL COMMENT '외부 저장 출력 SHA-256 (NULL이면 EXPECTED_OUTPUT 사용)' AFTER `INPUT_BLOB_KEY`,
+    ADD COLUMN `INPUT_SIZE` INT NULL COMMENT '입력 원본 크기 (bytes)' AFTER `OUTPUT_BLOB_KEY`,
+    ADD COLUMN `OUTPUT_SIZE` INT NULL COMMENT '출력 원본 크기 (bytes)' AFTER `INPUT_SIZE`;
@@ -55,6 +55,10 @@ CREATE TABLE `ALGO_TESTCASES` (
     `INPUT_DATA` TEXT NOT NULL COMMENT '테스트 입력값',
     `EXPECTED_OUTPUT` TEXT NOT NULL COMMENT '예상 출력값',
     `IS_SAMPLE` TINYINT(1) DEFAULT 0 COMMENT '샘플 테스트케이스 여부',
+    `INPUT_BLOB_KEY` CHAR(64) NULL COMMENT '외부 저장 입력 SHA-256 (NULL이면 INPUT_DATA 사용)',
+    `OUTPUT_BLOB_KEY` CHAR(64) NULL COMMENT '외부 저장 출력 SHA-256 (NULL이면 EXPECTED_OUTPUT 사용)',
+    `INPUT_SIZE` INT NULL COMMENT '입력 원본 크기 (bytes)',
+    `OUTPUT_SIZE` INT NULL COMMENT '출력 원본 크기 (bytes)',
     `ALGO_PROBLEM_ID` BIGINT NOT NULL COMMENT '문제 고유 식별자',
     -- 외래키
     FOREIGN KEY (`ALGO_PROBLEM_ID`) REFERENCES `ALGO_PROBLEMS`(`ALGO_PROBLEM_ID`) ON DELETE CASCADE
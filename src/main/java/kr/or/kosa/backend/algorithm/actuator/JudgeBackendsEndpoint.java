@@ -0,0 +1,29 @@
+package kr.or.kosa.backend.algorithm.actuator;
+
+import kr.or.kosa.backend.algorithm.dto.JudgeBackendStatsDto;
+import kr.or.kosa.backend.algorithm.service.JudgeBackendRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 채점 서버별 상태 (운영 전용 actuator 엔드포인트)
+ * GET /actuator/judgebackends
+ *
+ * 서버별 서킷 상태, 처리 중 요청 수, 지연시간/오류율 EWMA 모니터링용
+ */
+@Component
+@Endpoint(id = "judgebackends")
+@RequiredArgsConstructor
+public class JudgeBackendsEndpoint {
+
+    private final JudgeBackendRouter judgeBackendRouter;
+
+    @ReadOperation
+    public List<JudgeBackendStatsDto> stats() {
+        return judgeBackendRouter.getStats();
+    }
+}
@@ -0,0 +1,29 @@
+package kr.or.kosa.backend.algorithm.actuator;
+
+import kr.or.kosa.backend.algorithm.dto.JudgeCacheStatsDto;
+import kr.or.kosa.backend.algorithm.service.JudgeResultCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채점 결과 캐시 통계 (운영 전용 actuator 엔드포인트)
+ * GET /actuator/judgecache
+ *
+ * 로컬/Redis 적중, 미스, 우회 횟수 및 적중률 모니터링용
+ * 기본으로는 웹에 노출되지 않으므로 management.endpoints.web.exposure.include에 추가하고,
+ * management.server.port로 내부망에서만 접근 가능한 포트에 둔다
+ */
+@Component
+@Endpoint(id = "judgecache")
+@RequiredArgsConstructor
+public class JudgeCacheEndpoint {
+
+    private final JudgeResultCacheService judgeResultCacheService;
+
+    @ReadOperation
+    public JudgeCacheStatsDto stats() {
+        return judgeResultCacheService.getStats();
+    }
+}
@@ -0,0 +1,27 @@
+package kr.or.kosa.backend.algorithm.actuator;
+
+import kr.or.kosa.backend.algorithm.dto.JudgeQueueStatsDto;
+import kr.or.kosa.backend.algorithm.service.JudgeQueueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채점 대기열 상태 (운영 전용 actuator 엔드포인트)
+ * GET /actuator/judgequeue
+ *
+ * 레인별 대기 길이, 처리 중 작업 수, 거절/후순위 이동 횟수 모니터링용
+ */
+@Component
+@Endpoint(id = "judgequeue")
+@RequiredArgsConstructor
+public class JudgeQueueEndpoint {
+
+    private final JudgeQueueService judgeQueueService;
+
+    @ReadOperation
+    public JudgeQueueStatsDto stats() {
+        return judgeQueueService.getStats();
+    }
+}
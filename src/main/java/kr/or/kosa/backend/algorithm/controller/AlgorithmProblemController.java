@@ -232,6 +232,13 @@ public class AlgorithmProblemController {
                                     event.put("status", progressEvent.getStatus());
                                     event.put("message", progressEvent.getMessage());
                                     event.put("percentage", progressEvent.getPercentage());
+                                    if (progressEvent.getStage() != null) {
+                                        event.put("stage", progressEvent.getStage());
+                                        event.put("stageState", progressEvent.getStageState());
+                                    }
+                                    if (progressEvent.getData() != null) {
+                                        event.put("data", progressEvent.getData());
+                                    }
                                     sink.next("data: " + objectMapper.writeValueAsString(event) + "\n\n");
                                 } catch (Exception e) {
                                     log.error("SSE 진행률 이벤트 전송 실패", e);
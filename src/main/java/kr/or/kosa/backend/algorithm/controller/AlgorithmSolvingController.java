@@ -115,6 +115,10 @@ public class AlgorithmSolvingController {
             log.warn("코드 제출 실패 - error: {}", e.getMessage());
             throw new CustomBusinessException(AlgoErrorCode.INVALID_INPUT);
 
+        } catch (CustomBusinessException e) {
+            // 채점 대기열 포화 등 서비스에서 지정한 오류는 그대로 전달
+            throw e;
+
         } catch (Exception e) {
             log.error("코드 제출 중 예외 발생", e);
             throw new CustomBusinessException(AlgoErrorCode.SUBMISSION_SAVE_FAIL);
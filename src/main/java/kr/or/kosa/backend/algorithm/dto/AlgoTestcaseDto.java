@@ -42,6 +42,26 @@ public class AlgoTestcaseDto {
      */
     private Long algoProblemId;
 
+    /**
+     * 외부 저장소 입력 키 (SHA-256, null이면 inputData가 원본)
+     */
+    private String inputBlobKey;
+
+    /**
+     * 외부 저장소 출력 키 (SHA-256, null이면 expectedOutput이 원본)
+     */
+    private String outputBlobKey;
+
+    /**
+     * 입력 원본 크기 (bytes)
+     */
+    private Integer inputSize;
+
+    /**
+     * 출력 원본 크기 (bytes)
+     */
+    private Integer outputSize;
+
     // === 추가 필드 (실행 시 사용, 데이터베이스에 저장되지 않음) ===
 
     /**
@@ -0,0 +1,83 @@
+package kr.or.kosa.backend.algorithm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 채점 서버별 상태 응답 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JudgeBackendStatsDto {
+
+    /**
+     * 서버 식별자
+     */
+    private String id;
+
+    /**
+     * 서버 종류 (judge0, piston)
+     */
+    private String type;
+
+    /**
+     * 서버 주소 (기본 WebClient 사용 시 null)
+     */
+    private String baseUrl;
+
+    /**
+     * 서킷 상태 (CLOSED, OPEN, HALF_OPEN)
+     */
+    private String circuitState;
+
+    /**
+     * 이 노드에서 처리 중인 요청 수
+     */
+    private int inFlight;
+
+    /**
+     * 동시 요청 한도
+     */
+    private int maxInFlight;
+
+    /**
+     * 원격 대기열 길이 (Judge0 /workers, 조회 불가 시 0)
+     */
+    private int queueDepth;
+
+    /**
+     * 테스트케이스당 지연시간 EWMA (ms, 관측 전 null)
+     */
+    private Double ewmaLatencyMs;
+
+    /**
+     * 오류율 EWMA (0~1)
+     */
+    private double ewmaErrorRate;
+
+    /**
+     * 누적 요청 수
+     */
+    private long requests;
+
+    /**
+     * 누적 실패 수
+     */
+    private long failures;
+
+    /**
+     * 서킷 차단 횟수
+     */
+    private long circuitOpens;
+
+    /**
+     * 마지막 오류 메시지
+     */
+    private String lastError;
+}
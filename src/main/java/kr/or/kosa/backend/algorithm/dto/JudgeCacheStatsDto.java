@@ -0,0 +1,63 @@
+package kr.or.kosa.backend.algorithm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 채점 결과 캐시 통계 응답 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JudgeCacheStatsDto {
+
+    /**
+     * 캐시 활성화 여부
+     */
+    private boolean enabled;
+
+    /**
+     * 로컬(Caffeine) 캐시 적중 수
+     */
+    private long localHits;
+
+    /**
+     * Redis 캐시 적중 수
+     */
+    private long redisHits;
+
+    /**
+     * 캐시 미스 수 (실제 채점 실행)
+     */
+    private long misses;
+
+    /**
+     * 캐시 우회 수 (정식 제출 등)
+     */
+    private long bypasses;
+
+    /**
+     * 크기 제한 초과로 Redis 저장을 생략한 수
+     */
+    private long oversizedSkips;
+
+    /**
+     * 로컬 캐시 현재 항목 수 (추정치)
+     */
+    private long localSize;
+
+    /**
+     * 로컬 캐시 제거(eviction) 수
+     */
+    private long localEvictions;
+
+    /**
+     * 전체 적중률 (%)
+     */
+    private double hitRate;
+}
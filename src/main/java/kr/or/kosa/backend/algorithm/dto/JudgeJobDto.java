@@ -0,0 +1,79 @@
+package kr.or.kosa.backend.algorithm.dto;
+
+import kr.or.kosa.backend.algorithm.dto.enums.JudgeLane;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 채점 대기열 작업 DTO
+ * Redis Stream 엔트리(필드 맵)와 상호 변환하여 저장
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class JudgeJobDto {
+
+    /**
+     * 작업 유형 (처리 핸들러 선택 키, 예: ALGO_SUBMISSION)
+     */
+    private String jobType;
+
+    /**
+     * 우선순위 레인
+     */
+    private JudgeLane lane;
+
+    /**
+     * 대상 ID (제출 ID 등)
+     */
+    private Long targetId;
+
+    /**
+     * 요청 사용자 ID (사용자별 공정성 제어에 사용)
+     */
+    private Long userId;
+
+    /**
+     * 최초 등록 시각 (epoch ms)
+     */
+    private long enqueuedAt;
+
+    /**
+     * 사용자 한도 초과로 뒤로 미뤄진 횟수
+     */
+    private int deferCount;
+
+    public Map<String, String> toStreamFields() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("jobType", jobType);
+        fields.put("lane", lane.name());
+        fields.put("targetId", String.valueOf(targetId));
+        fields.put("userId", userId != null ? String.valueOf(userId) : "");
+        fields.put("enqueuedAt", String.valueOf(enqueuedAt));
+        fields.put("deferCount", String.valueOf(deferCount));
+        return fields;
+    }
+
+    public static JudgeJobDto fromStreamFields(Map<?, ?> fields) {
+        String userId = stringValue(fields.get("userId"));
+        String deferCount = stringValue(fields.get("deferCount"));
+        return JudgeJobDto.builder()
+                .jobType(stringValue(fields.get("jobType")))
+                .lane(JudgeLane.valueOf(stringValue(fields.get("lane"))))
+                .targetId(Long.valueOf(stringValue(fields.get("targetId"))))
+                .userId(userId == null || userId.isEmpty() ? null : Long.valueOf(userId))
+                .enqueuedAt(Long.parseLong(stringValue(fields.get("enqueuedAt"))))
+                .deferCount(deferCount == null ? 0 : Integer.parseInt(deferCount))
+                .build();
+    }
+
+    private static String stringValue(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
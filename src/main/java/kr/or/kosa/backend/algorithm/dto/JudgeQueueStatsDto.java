@@ -0,0 +1,65 @@
+package kr.or.kosa.backend.algorithm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * 채점 대기열 상태 응답 DTO
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JudgeQueueStatsDto {
+
+    /**
+     * 현재 채점 provider (judge0, piston)
+     */
+    private String provider;
+
+    /**
+     * 레인별 Stream 길이 (대기 + 처리 중)
+     */
+    private Map<String, Long> laneLength;
+
+    /**
+     * 레인별 미확인(PENDING) 엔트리 수
+     */
+    private Map<String, Long> lanePending;
+
+    /**
+     * 이 노드에서 처리 중인 작업 수
+     */
+    private int inFlight;
+
+    /**
+     * provider 동시 실행 한도
+     */
+    private int concurrencyLimit;
+
+    /**
+     * 처리 완료 수 (이 노드 기준)
+     */
+    private long processed;
+
+    /**
+     * 사용자 한도 초과로 뒤로 미룬 수
+     */
+    private long deferred;
+
+    /**
+     * 재시도 한도 초과로 실패 처리한 수
+     */
+    private long deadLettered;
+
+    /**
+     * 대기열 포화로 거절한 제출 수
+     */
+    private long rejected;
+}
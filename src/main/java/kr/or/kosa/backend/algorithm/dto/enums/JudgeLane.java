@@ -0,0 +1,19 @@
+package kr.or.kosa.backend.algorithm.dto.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 채점 대기열 레인 Enum
+ *
+ * PRACTICE: 일반 문제 풀이 제출
+ * (배틀 채점은 BattleJudgeService 전용 풀에서 처리하므로 대기열 레인이 없다)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JudgeLane {
+    PRACTICE("algo:judge-queue:practice", "연습");
+
+    private final String streamKey;
+    private final String description;
+}
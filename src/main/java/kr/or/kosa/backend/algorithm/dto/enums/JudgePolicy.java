@@ -0,0 +1,23 @@
+package kr.or.kosa.backend.algorithm.dto.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 채점 실행 정책 Enum
+ *
+ * FULL: 모든 테스트케이스 실행 (문제 생성 검증, 출력 생성 등 전체 결과가 필요한 경우)
+ * STOP_ON_FIRST_FAILURE: 첫 실패 케이스에서 중단, 나머지는 SKIPPED로 기록 (정식 제출/배틀)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JudgePolicy {
+    FULL("전체 실행"),
+    STOP_ON_FIRST_FAILURE("첫 실패 시 중단");
+
+    private final String description;
+
+    public boolean stopsOnFailure() {
+        return this == STOP_ON_FIRST_FAILURE;
+    }
+}
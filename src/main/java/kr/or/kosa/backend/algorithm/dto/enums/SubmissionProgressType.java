@@ -0,0 +1,20 @@
+package kr.or.kosa.backend.algorithm.dto.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 제출 진행 상황 이벤트 유형 Enum
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SubmissionProgressType {
+    JUDGING_STARTED("채점 시작"),
+    TEST_CASE_RESULT("테스트케이스 결과"),
+    JUDGE_COMPLETED("채점 완료"),
+    JUDGE_FAILED("채점 실패"),
+    EVALUATION_COMPLETED("AI 평가 완료"),
+    EVALUATION_FAILED("AI 평가 실패");
+
+    private final String description;
+}
@@ -0,0 +1,21 @@
+package kr.or.kosa.backend.algorithm.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Judge0 배치 제출 요청 DTO (POST /submissions/batch)
+ *
+ * 외부 API 전송용 DTO: 서비스에서 빌더로 생성, JSON 직렬화
+ * - submissions: 테스트케이스별 Judge0RequestDto 목록
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class Judge0BatchRequestDto {
+
+    private List<Judge0RequestDto> submissions;
+}
@@ -0,0 +1,21 @@
+package kr.or.kosa.backend.algorithm.dto.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Judge0 배치 조회 응답 DTO (GET /submissions/batch?tokens=...)
+ *
+ * 외부 API 수신용 DTO: JSON 역직렬화
+ * - submissions: 요청한 토큰 순서대로 정렬된 채점 결과 목록
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class Judge0BatchResponseDto {
+
+    private List<Judge0ResponseDto> submissions;
+}
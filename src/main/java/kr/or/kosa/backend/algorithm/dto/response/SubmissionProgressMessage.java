@@ -0,0 +1,43 @@
+package kr.or.kosa.backend.algorithm.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import kr.or.kosa.backend.algorithm.dto.enums.SubmissionProgressType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * 제출 진행 상황 WebSocket 메시지 (/user/queue/submission)
+ * 숨겨진 테스트케이스 노출을 막기 위해 입력/기대 출력/실제 출력은 포함하지 않는다
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SubmissionProgressMessage {
+    private final SubmissionProgressType type;
+    private final Long submissionId;
+    private final Integer totalCount;
+
+    // TEST_CASE_RESULT
+    private final Integer testCaseNumber;
+    private final String testCaseResult;
+    private final Integer executionTime;
+    private final Integer memoryUsage;
+
+    // JUDGE_COMPLETED
+    private final String overallResult;
+    private final Integer passedCount;
+    private final Integer maxExecutionTime;
+    private final Integer maxMemoryUsage;
+
+    // JUDGE_COMPLETED(기본 점수) / EVALUATION_COMPLETED(점수 구성)
+    private final Double judgeScore;
+    private final Double aiScore;
+    private final Double timeEfficiencyScore;
+    private final BigDecimal finalScore;
+    private final String scoreGrade;
+
+    // *_FAILED
+    private final String message;
+}
@@ -3,14 +3,17 @@ package kr.or.kosa.backend.algorithm.dto.response;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 /**
  * 샘플 테스트 실행 결과 응답 DTO
+ * (채점 결과 캐시의 Redis 직렬화를 위해 기본 생성자 제공)
  */
 @Getter
 @Builder
+@NoArgsConstructor
 @AllArgsConstructor
 public class TestRunResponseDto {
 
@@ -24,6 +27,7 @@ public class TestRunResponseDto {
 
     @Getter
     @Builder
+    @NoArgsConstructor
     @AllArgsConstructor
     public static class TestCaseResultDto {
         private Integer testCaseNumber;    // 테스트케이스 번호
@@ -0,0 +1,17 @@
+package kr.or.kosa.backend.algorithm.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 문제 임베딩 컬렉션(Qdrant) 변경 이벤트
+ * ProblemVectorStoreService가 저장/삭제 후 발행하고, 로컬 유사도 인덱스(ProblemEmbeddingIndex)가 받아서 반영한다
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProblemEmbeddingChangedEvent {
+    private final List<String> upsertedIds;
+    private final List<String> deletedIds;
+}
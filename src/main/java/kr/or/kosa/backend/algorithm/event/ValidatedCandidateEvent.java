@@ -0,0 +1,17 @@
+package kr.or.kosa.backend.algorithm.event;
+
+import kr.or.kosa.backend.algorithm.dto.request.ProblemGenerationRequestDto;
+import kr.or.kosa.backend.algorithm.dto.response.ProblemGenerationResponseDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 병렬(추측) 생성에서 채택되지 않았지만 검증을 통과한 후보 문제 이벤트
+ * 문제 풀(ProblemPoolService)이 받아서 같은 조합의 풀 문제로 저장한다
+ */
+@Getter
+@RequiredArgsConstructor
+public class ValidatedCandidateEvent {
+    private final ProblemGenerationRequestDto request;
+    private final ProblemGenerationResponseDto problem;
+}
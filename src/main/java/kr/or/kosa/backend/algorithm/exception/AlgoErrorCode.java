@@ -32,6 +32,7 @@ public enum AlgoErrorCode implements ErrorCode {
     SUBMISSION_NOT_FOUND("ALGO_4300", "해당 제출을 찾을 수 없습니다."),
     SUBMISSION_SAVE_FAIL("ALGO_4301", "제출 저장 중 오류가 발생했습니다."),
     SUBMISSION_UPDATE_FAIL("ALGO_4302", "제출 상태를 업데이트할 수 없습니다."),
+    JUDGE_QUEUE_FULL("ALGO_4303", "채점 대기열이 가득 찼습니다. 잠시 후 다시 제출해주세요."),
 
     // ================================================================
     // ✅ 평가(Evaluation) 관련 오류
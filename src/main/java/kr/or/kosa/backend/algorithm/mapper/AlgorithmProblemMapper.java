@@ -27,6 +27,15 @@ public interface AlgorithmProblemMapper {
      */
     int countAllProblems();
 
+    /**
+     * 활성 문제 ID/난이도 조회 (ID 오름차순, 키셋 페이징)
+     *
+     * @param afterId 이 ID보다 큰 문제만 조회
+     * @param limit   조회 개수
+     * @return 문제 목록 (algoProblemId, algoProblemDifficulty만 채워짐)
+     */
+    List<AlgoProblemDto> selectActiveProblemIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
     /**
      * 문제 목록 조회 (필터 포함)
      *
@@ -40,6 +40,7 @@ public class AIProblemGeneratorService {
     // === 기존 의존성 ===
     private final ObjectMapper objectMapper;
     private final AlgorithmProblemMapper algorithmProblemMapper;
+    private final TestcaseStorageService testcaseStorageService;  // 대용량 테스트케이스는 외부 저장
     private final ProblemValidationLogMapper validationLogMapper;
 
     @Value("${algorithm.generation.rag-enabled:true}")
@@ -218,7 +219,7 @@ public class AIProblemGeneratorService {
                     // 테스트케이스 저장
                     for (AlgoTestcaseDto tc : testCases) {
                         tc.setAlgoProblemId(problemId);
-                        algorithmProblemMapper.insertTestcase(tc);
+                        testcaseStorageService.insert(tc);
                     }
 
                     // 7단계: 검증 로그 저장 (검증 코드가 있는 경우)
@@ -32,6 +32,7 @@ public class AlgorithmEvaluationService {
     private final AlgorithmSubmissionMapper submissionMapper;
     private final LanguageService languageService;  // 언어 정보 조회 (languageId → languageName)
     private final RedisService redisService;
+    private final SubmissionProgressPublisher progressPublisher;  // 점수 구성 실시간 전송
 
     /**
      * AI 평가 및 점수 계산 처리 (비동기 진입점)
@@ -126,6 +127,9 @@ public class AlgorithmEvaluationService {
         applyEvaluation(submission, aiResult, score);
         submissionMapper.updateSubmission(submission);
 
+        // 6. 점수 구성 전송 (커밋 이후)
+        progressPublisher.publishEvaluationCompleted(submission.getUserId(), submissionId, score);
+
         log.info("🎉 AI 평가 완료 - submissionId: {}, 최종점수: {}",
                 submissionId, score.getFinalScore());
     }
@@ -163,6 +167,7 @@ public class AlgorithmEvaluationService {
             submission.setAiFeedback("AI 평가 실패: " + msg);
             submission.setAiScore(BigDecimal.valueOf(50.0));
             submissionMapper.updateSubmission(submission);
+            progressPublisher.publishEvaluationFailed(submission.getUserId(), submissionId, msg);
 
             log.info("✅ AI 평가 실패 상태 저장 완료 - submissionId: {}", submissionId);
 
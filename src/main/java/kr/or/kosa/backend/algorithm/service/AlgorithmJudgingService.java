@@ -3,9 +3,11 @@ package kr.or.kosa.backend.algorithm.service;
 import kr.or.kosa.backend.algorithm.dto.AlgoProblemDto;
 import kr.or.kosa.backend.algorithm.dto.AlgoSubmissionDto;
 import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.JudgeJobDto;
 import kr.or.kosa.backend.algorithm.dto.request.SubmissionRequestDto;
 import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
 import kr.or.kosa.backend.algorithm.dto.enums.AiFeedbackStatus;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgePolicy;
 import kr.or.kosa.backend.algorithm.dto.enums.JudgeResult;
 import kr.or.kosa.backend.algorithm.dto.enums.MissionType;
 import kr.or.kosa.backend.algorithm.dto.enums.ProblemDifficulty;
@@ -13,7 +15,7 @@ import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
 import kr.or.kosa.backend.algorithm.mapper.AlgorithmSubmissionMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -22,7 +24,6 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * 알고리즘 채점 서비스
@@ -30,34 +31,101 @@ import java.util.concurrent.CompletableFuture;
  * 변경사항 (2025-12-13):
  * - LanguageConstantService → LanguageService 교체
  * - language (String) → languageId (INT) 사용
+ *
+ * 정식 제출 채점은 JudgeQueueWorker가 대기열(PRACTICE 레인)에서 꺼내 handle()로 호출
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class AlgorithmJudgingService {
+public class AlgorithmJudgingService implements JudgeJobHandler {
+
+    public static final String JOB_TYPE = "ALGO_SUBMISSION";
+
 
     private final AlgorithmSubmissionMapper submissionMapper;
     private final AlgorithmProblemMapper problemMapper;
+    private final TestcaseStorageService testcaseStorageService;  // 대용량 테스트케이스 원문 조회
     private final CodeExecutorService codeExecutorService;
     private final AlgorithmEvaluationService evaluationService;
     private final LanguageService languageService;  // 언어 정보 조회 (DB 기반)
     private final DailyQuizBonusService dailyQuizBonusService;
     private final DailyMissionService dailyMissionService;  // 데일리 미션 완료 처리용
+    private final SubmissionProgressPublisher progressPublisher;  // 채점 진행 상황 실시간 전송
+
+    // 정식 제출은 기본적으로 전체 케이스 실행 - 부분 점수(통과 수 / 전체)가 통과 수로 계산되므로
+    // 첫 실패에서 중단하면 뒤쪽 케이스의 통과가 빠져 점수가 달라진다 (true: 점수 대신 채점 속도 우선)
+    @Value("${algorithm.judging.stop-on-first-failure:false}")
+    private boolean stopOnFirstFailure;
+
+    // 정식 제출은 채점 결과 캐시를 거치지 않고 항상 새로 채점 (결과는 캐시에 갱신)
+    @Value("${algorithm.judge-cache.bypass-official-submissions:true}")
+    private boolean bypassJudgeCache;
+
+    @Override
+    public String jobType() {
+        return JOB_TYPE;
+    }
 
     /**
-     * 통합 채점 및 평가 프로세스 (비동기)
+     * 대기열 작업 처리 - 저장된 제출 정보로 채점 플로우 실행
+     * 재전달된 작업이라도 이미 판정이 끝난 제출은 다시 채점하지 않음
+     */
+    @Override
+    public void handle(JudgeJobDto job) {
+        Long submissionId = job.getTargetId();
+        AlgoSubmissionDto submission = submissionMapper.selectSubmissionById(submissionId);
+        if (submission == null) {
+            log.warn("채점 대상 제출 없음 - submissionId: {}", submissionId);
+            return;
+        }
+        if (submission.getJudgeResult() != JudgeResult.PENDING) {
+            log.info("이미 채점된 제출 건너뜀 - submissionId: {}, result: {}",
+                    submissionId, submission.getJudgeResult());
+            return;
+        }
+
+        AlgoProblemDto problem = problemMapper.selectProblemById(submission.getAlgoProblemId());
+        if (problem == null) {
+            markSubmissionFailed(submissionId, "존재하지 않는 문제입니다");
+            return;
+        }
+
+        SubmissionRequestDto request = new SubmissionRequestDto();
+        request.setProblemId(submission.getAlgoProblemId());
+        request.setLanguageId(submission.getLanguageId());
+        request.setSourceCode(submission.getSourceCode());
+        request.setStartTime(submission.getStartSolving());
+        request.setEndTime(submission.getEndSolving());
+        request.setSolveMode(submission.getSolveMode());
+        request.setMonitoringSessionId(submission.getMonitoringSessionId());
+        request.setFeedbackType(submission.getAiFeedbackType());
+
+        processCompleteJudgingFlow(submissionId, submission.getUserId(), request, problem);
+    }
+
+    @Override
+    public void onDeadLetter(JudgeJobDto job) {
+        markSubmissionFailed(job.getTargetId(), "채점 재시도 한도 초과");
+    }
+
+    /**
+     * 통합 채점 및 평가 프로세스
      * - Judge0 채점 후 즉시 AI 평가 시작
+     * - 채점 대기열 워커 스레드에서 동기 실행 (동시 실행 수는 대기열이 제한)
+     * - 테스트케이스별 결과는 완료되는 즉시 제출자에게 전송 (/user/queue/submission)
      *
      * 변경사항 (2025-12-13): language (String) → languageId (INT)
      */
-    @Async("judgeExecutor")
-    public void processCompleteJudgingFlow(Long submissionId, SubmissionRequestDto request, AlgoProblemDto problem) {
+    public void processCompleteJudgingFlow(Long submissionId, Long userId, SubmissionRequestDto request,
+                                           AlgoProblemDto problem) {
         log.info("🔄 [스레드: {}] 통합 채점 프로세스 시작 - submissionId: {}",
                 Thread.currentThread().getName(), submissionId);
 
         try {
             // 1. 모든 테스트케이스 조회
-            List<AlgoTestcaseDto> testCases = problemMapper.selectTestCasesByProblemId(request.getProblemId());
+            List<AlgoTestcaseDto> testCases = testcaseStorageService.getTestCases(request.getProblemId());
+            int totalCount = testCases.size();
+            progressPublisher.publishJudgingStarted(userId, submissionId, totalCount);
 
             // 2. 언어별 제한 시간/메모리 계산 (languageId 사용)
             Integer languageId = request.getLanguageId();
@@ -71,10 +139,13 @@ public class AlgorithmJudgingService {
                     languageId, realTimeLimit, realMemoryLimit);
 
             // 3. 코드 채점 실행 (Judge0 또는 Piston 사용)
-            CompletableFuture<TestRunResponseDto> judgeFuture = codeExecutorService.judgeCode(
-                    request.getSourceCode(), languageId, testCases, realTimeLimit, realMemoryLimit);
-
-            TestRunResponseDto judgeResult = judgeFuture.get();
+            JudgePolicy policy = stopOnFirstFailure ? JudgePolicy.STOP_ON_FIRST_FAILURE : JudgePolicy.FULL;
+            TestRunResponseDto judgeResult = codeExecutorService.judgeCodeReactive(
+                    request.getSourceCode(), languageId, testCases, realTimeLimit, realMemoryLimit, policy,
+                    bypassJudgeCache,
+                    caseResult -> progressPublisher.publishTestCaseResult(userId, submissionId, totalCount, caseResult))
+                    .toFuture()
+                    .get();
 
             // 4. Judge 결과만으로 기본 제출 정보 업데이트
             AlgoSubmissionDto updatedSubmission = updateSubmissionWithJudgeResult(submissionId, judgeResult, request);
@@ -82,9 +153,13 @@ public class AlgorithmJudgingService {
             log.info("Judge0 채점 완료 - submissionId: {}, result: {}",
                     submissionId, judgeResult.getOverallResult());
 
+            if (updatedSubmission != null) {
+                progressPublisher.publishJudgeCompleted(userId, submissionId, judgeResult,
+                        updatedSubmission.getFinalScore());
+            }
+
             // 5. AC 제출 시 보상 처리
             if (updatedSubmission != null && updatedSubmission.getJudgeResult() == JudgeResult.AC) {
-                Long userId = updatedSubmission.getUserId();
                 Long problemId = updatedSubmission.getAlgoProblemId();
 
                 // 5-1. Daily Quiz 보너스 처리 (선착순 3명 추가 포인트)
@@ -183,6 +258,7 @@ public class AlgorithmJudgingService {
                 submission.setJudgeResult(JudgeResult.PENDING);
                 submission.setAiFeedbackStatus(AiFeedbackStatus.FAILED);
                 submissionMapper.updateSubmission(submission);
+                progressPublisher.publishJudgeFailed(submission.getUserId(), submissionId, errorMessage);
             }
         } catch (Exception e) {
             log.error("제출 실패 표시 중 오류 - submissionId: {}", submissionId, e);
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 public class AlgorithmProblemService {
 
     private final AlgorithmProblemMapper algorithmProblemMapper;
+    private final TestcaseStorageService testcaseStorageService;
     private final ProblemValidationLogMapper validationLogMapper;
     private final ProblemVectorStoreService vectorStoreService;
 
@@ -172,7 +173,7 @@ public class AlgorithmProblemService {
             }
 
             // 테스트케이스 조회 및 설정
-            List<AlgoTestcaseDto> testcases = algorithmProblemMapper.selectTestCasesByProblemId(problemId);
+            List<AlgoTestcaseDto> testcases = testcaseStorageService.getTestCases(problemId);
             problem.setTestcases(testcases);
 
             // 문제별 통계 조회 및 설정
@@ -348,7 +349,7 @@ public class AlgorithmProblemService {
             for (AlgoTestcaseDto testcase : testcases) {
                 testcase.setAlgoProblemId(problemId);
 
-                int result = algorithmProblemMapper.insertTestcase(testcase);
+                int result = testcaseStorageService.insert(testcase);
 
                 if (result == 0) {
                     throw new RuntimeException("테스트케이스 저장 실패 - 문제 ID: " + problemId);
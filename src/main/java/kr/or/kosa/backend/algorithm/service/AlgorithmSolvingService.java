@@ -4,6 +4,7 @@ import kr.or.kosa.backend.algorithm.dto.*;
 import kr.or.kosa.backend.algorithm.dto.enums.AiFeedbackStatus;
 import kr.or.kosa.backend.algorithm.dto.enums.AiFeedbackType;
 import kr.or.kosa.backend.algorithm.dto.enums.JudgeResult;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgeLane;
 import kr.or.kosa.backend.algorithm.dto.enums.LanguageType;
 import kr.or.kosa.backend.algorithm.dto.enums.ProblemDifficulty;
 import kr.or.kosa.backend.algorithm.dto.enums.ProblemType;
@@ -57,7 +58,7 @@ public class AlgorithmSolvingService {
     private final MonitoringMapper monitoringMapper;  // 모니터링 세션 데이터 조회용
     private final DailyMissionMapper missionMapper;   // XP 동적 계산용 (첫정답 여부, 사용자 레벨)
     private final CodeExecutorService codeExecutorService;  // Judge0 또는 Piston 선택
-    private final AlgorithmJudgingService judgingService;
+    private final JudgeQueueService judgeQueueService;
     private final LanguageService languageService;  // 언어 정보 조회 (DB 기반)
 
 
@@ -161,10 +162,15 @@ public class AlgorithmSolvingService {
 
         log.info("제출 저장 완료 - submissionId: {}", submission.getAlgosubmissionId());
 
-        // 4. 비동기로 Judge0 채점 및 AI 평가 프로세스 시작
-        log.info("🚀 비동기 통합 프로세스 호출 시작 - submissionId: {}", submission.getAlgosubmissionId());
-        judgingService.processCompleteJudgingFlow(submission.getAlgosubmissionId(), request, problem);
-        log.info("✅ 비동기 통합 프로세스 호출 완료 - submissionId: {}", submission.getAlgosubmissionId());
+        // 4. 채점 대기열 등록 (커밋 이후 Stream에 추가, 포화 시 JUDGE_QUEUE_FULL로 제출 롤백)
+        judgeQueueService.enqueue(JudgeJobDto.builder()
+                .jobType(AlgorithmJudgingService.JOB_TYPE)
+                .lane(JudgeLane.PRACTICE)
+                .targetId(submission.getAlgosubmissionId())
+                .userId(userId)
+                .enqueuedAt(System.currentTimeMillis())
+                .build());
+        log.info("✅ 채점 대기열 등록 요청 완료 - submissionId: {}", submission.getAlgosubmissionId());
 
         // 5. 즉시 응답 반환 (PENDING 상태)
         return convertToSubmissionResponse(submission, problem, null);
@@ -2,13 +2,16 @@ package kr.or.kosa.backend.algorithm.service;
 
 import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
 import kr.or.kosa.backend.algorithm.dto.LanguageDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgePolicy;
 import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * 코드 실행 서비스 추상화 레이어
@@ -21,6 +24,8 @@ import java.util.concurrent.CompletableFuture;
  * - languageId (Integer)를 받아서 LanguageService로 조회
  * - Judge0: languageId 직접 사용 (LANGUAGES.LANGUAGE_ID = Judge0 API ID)
  * - Piston: pistonLanguage 사용 (LANGUAGES.PISTON_LANGUAGE)
+ *
+ * 실제 요청을 보낼 서버(Judge0 워커 / Piston 인스턴스)는 JudgeBackendRouter가 요청마다 선택
  */
 @Service
 @Slf4j
@@ -29,19 +34,21 @@ public class CodeExecutorService {
     private final Judge0Service judge0Service;
     private final PistonService pistonService;
     private final LanguageService languageService;
+    private final JudgeResultCacheService judgeResultCacheService;
+    private final JudgeBackendRouter judgeBackendRouter;
 
-    @Value("${code-executor.provider:judge0}") // judge0, piston
-    private String provider;
-
-    public CodeExecutorService(Judge0Service judge0Service, PistonService pistonService, LanguageService languageService) {
+    public CodeExecutorService(Judge0Service judge0Service, PistonService pistonService, LanguageService languageService,
+                               JudgeResultCacheService judgeResultCacheService, JudgeBackendRouter judgeBackendRouter) {
         this.judge0Service = judge0Service;
         this.pistonService = pistonService;
         this.languageService = languageService;
+        this.judgeResultCacheService = judgeResultCacheService;
+        this.judgeBackendRouter = judgeBackendRouter;
     }
 
     /**
-     * 코드 채점 실행
-     * 설정된 provider에 따라 Judge0 또는 Piston 사용
+     * 코드 채점 실행 (모든 테스트케이스 실행)
+     * JudgeBackendRouter가 고른 Judge0 또는 Piston 서버 사용
      *
      * @param sourceCode  제출할 소스 코드
      * @param languageId  언어 ID (LANGUAGES.LANGUAGE_ID)
@@ -56,51 +63,129 @@ public class CodeExecutorService {
             List<AlgoTestcaseDto> testCases,
             Integer timeLimit,
             Integer memoryLimit) {
+        return judgeCode(sourceCode, languageId, testCases, timeLimit, memoryLimit, JudgePolicy.FULL);
+    }
 
-        // 언어 정보 조회
-        LanguageDto language = languageService.getById(languageId);
-        if (language == null) {
-            throw new IllegalArgumentException("지원하지 않는 언어 ID입니다: " + languageId);
-        }
+    /**
+     * 코드 채점 실행 (채점 정책 지정)
+     * STOP_ON_FIRST_FAILURE: 첫 실패 이후 케이스는 실행하지 않고 SKIPPED로 기록 (전체 판정 로직은 동일)
+     *
+     * @param policy 채점 정책
+     */
+    public CompletableFuture<TestRunResponseDto> judgeCode(
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy) {
+        return judgeCode(sourceCode, languageId, testCases, timeLimit, memoryLimit, policy, false);
+    }
 
-        log.info("코드 실행 요청 - provider: {}, languageId: {}, languageName: {}, testCases: {}",
-                provider, languageId, language.getLanguageName(), testCases.size());
-
-        if ("judge0".equalsIgnoreCase(provider)) {
-            log.debug("Judge0 서비스 사용 - languageId: {}", languageId);
-            // Judge0는 languageId를 직접 사용 (LANGUAGES.LANGUAGE_ID = Judge0 API ID)
-            return judge0Service.judgeCode(sourceCode, languageId, testCases, timeLimit, memoryLimit);
-        } else {
-            log.debug("Piston 서비스 사용 - pistonLanguage: {}", language.getPistonLanguage());
-            // Piston은 pistonLanguage 사용 (LANGUAGES.PISTON_LANGUAGE)
-            String pistonLanguage = language.getPistonLanguage();
-            if (pistonLanguage == null || pistonLanguage.isBlank()) {
-                throw new IllegalArgumentException(
-                        "Piston API에서 지원하지 않는 언어입니다: " + language.getLanguageName() +
-                        " (PISTON_LANGUAGE가 설정되지 않음)");
-            }
-            return pistonService.judgeCode(sourceCode, pistonLanguage, testCases, timeLimit, memoryLimit);
-        }
+    /**
+     * 코드 채점 실행 (채점 결과 캐시 우회 여부 지정)
+     * 동일한 (소스, 언어, 테스트케이스, 제한, 정책) 조합은 캐시된 결과를 재사용
+     * 정식 제출처럼 새 판정이 필요한 경우 bypassCache=true (결과는 캐시에 갱신)
+     *
+     * @param bypassCache 캐시 조회 생략 여부
+     */
+    public CompletableFuture<TestRunResponseDto> judgeCode(
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            boolean bypassCache) {
+        return judgeCodeReactive(sourceCode, languageId, testCases, timeLimit, memoryLimit, policy, bypassCache,
+                result -> { }).toFuture();
     }
 
     /**
-     * 현재 사용 중인 provider 반환
+     * 논블로킹 코드 채점
+     * provider 호출은 WebClient 이벤트 루프에서만 진행되고,
+     * 캐시(Redis) 조회/저장처럼 블로킹 가능성이 있는 작업은 boundedElastic 스케줄러에서 실행
+     *
+     * @param onCaseResult 케이스 결과 확정 시 호출 (캐시 적중 시에는 캐시된 결과를 순서대로 전달)
      */
-    public String getCurrentProvider() {
-        return provider;
+    public Mono<TestRunResponseDto> judgeCodeReactive(
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            boolean bypassCache,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+
+        if (!judgeResultCacheService.isEnabled()) {
+            return dispatch(sourceCode, languageId, testCases, timeLimit, memoryLimit, policy, onCaseResult);
+        }
+
+        // 서버는 캐시 미스 후에 라우터가 고르므로 키에 넣지 않는다 (어느 서버든 같은 판정)
+        String cacheKey = judgeResultCacheService.buildKey(
+                sourceCode, languageId, testCases, timeLimit, memoryLimit, policy);
+
+        Mono<TestRunResponseDto> cached = bypassCache
+                ? Mono.fromRunnable(judgeResultCacheService::recordBypass)
+                : Mono.fromCallable(() -> judgeResultCacheService.get(cacheKey))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .doOnNext(hit -> {
+                            log.info("채점 캐시 적중 - languageId: {}, testCases: {}, result: {}",
+                                    languageId, testCases.size(), hit.getOverallResult());
+                            if (hit.getTestCaseResults() != null) {
+                                hit.getTestCaseResults().stream()
+                                        .filter(result -> !"SKIPPED".equals(result.getResult()))
+                                        .forEach(onCaseResult);
+                            }
+                        });
+
+        return cached.switchIfEmpty(Mono.defer(() ->
+                dispatch(sourceCode, languageId, testCases, timeLimit, memoryLimit, policy, onCaseResult)
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(result -> judgeResultCacheService.put(cacheKey, result))));
     }
 
     /**
-     * Judge0 사용 여부
+     * 라우터가 선택한 서버로 실제 채점 요청 위임
      */
-    public boolean isUsingJudge0() {
-        return "judge0".equalsIgnoreCase(provider);
+    private Mono<TestRunResponseDto> dispatch(
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+
+        return Mono.fromCallable(() -> {
+                    // 언어 정보 조회
+                    LanguageDto language = languageService.getById(languageId);
+                    if (language == null) {
+                        throw new IllegalArgumentException("지원하지 않는 언어 ID입니다: " + languageId);
+                    }
+                    return language;
+                })
+                .flatMap(language -> judgeBackendRouter.route(language, testCases.size(), backend -> {
+                    log.info("코드 실행 요청 - backend: {}, languageId: {}, languageName: {}, testCases: {}, policy: {}",
+                            backend.getId(), languageId, language.getLanguageName(), testCases.size(), policy);
+
+                    if (backend.isJudge0()) {
+                        // Judge0는 languageId를 직접 사용 (LANGUAGES.LANGUAGE_ID = Judge0 API ID)
+                        return judge0Service.judgeCodeReactive(backend.getWebClient(), sourceCode, languageId, testCases,
+                                timeLimit, memoryLimit, policy, onCaseResult);
+                    }
+
+                    // Piston은 pistonLanguage 사용 (LANGUAGES.PISTON_LANGUAGE, 라우터가 설정 여부 확인)
+                    return pistonService.judgeCodeReactive(backend.getWebClient(), sourceCode,
+                            language.getPistonLanguage(), testCases, timeLimit, memoryLimit, policy, onCaseResult);
+                }));
     }
 
     /**
-     * Piston 사용 여부
+     * 현재 사용 중인 provider 반환 (여러 종류의 서버를 사용하면 "judge0,piston")
      */
-    public boolean isUsingPiston() {
-        return "piston".equalsIgnoreCase(provider);
+    public String getCurrentProvider() {
+        return judgeBackendRouter.getProviderLabel();
     }
 }
@@ -0,0 +1,286 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 문제 생성 1건 동안 쓰는 코드 실행 세션
+ *
+ * Code-First 출력 생성, 코드 실행 검증, 시간 비율 검증(출력 일관성 샘플 포함)이 같은 optimal/naive 코드를
+ * 같은 입력으로 반복 실행하던 것을 (코드, 입력) 단위로 한 번만 실행하고 원시 실행 결과(출력/시간/메모리/에러)를 공유한다.
+ *
+ * - 판정(AC/WA/TLE/MLE)은 호출마다 요청한 기대 출력과 시간/메모리 제한으로 다시 계산한다
+ * - 더 짧은 제한에서 TLE/MLE였던 케이스를 더 긴 제한으로 요청하면 다시 실행한다
+ * - 동시에 같은 케이스를 요청하면 먼저 시작한 실행 결과를 함께 기다린다 (검증 단계가 병렬로 돈다)
+ * - 채점 서버 오류(ERROR)와 실행 실패는 기억하지 않는다
+ *
+ * 생성 요청마다 새로 만들고 생성이 끝나면 버린다 (스레드 안전)
+ */
+@Slf4j
+public class GenerationExecutionSession {
+
+    // 채점 서버(Judge0Service/PistonService)가 적용하는 최소 메모리 제한 (KB)
+    private static final int MIN_MEMORY_LIMIT_KB = 128 * 1024;
+
+    private final CodeExecutorService codeExecutorService;
+    private final ConcurrentHashMap<CaseKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requestedCases = new AtomicInteger();
+    private final AtomicInteger executedCases = new AtomicInteger();
+
+    public GenerationExecutionSession(CodeExecutorService codeExecutorService) {
+        this.codeExecutorService = codeExecutorService;
+    }
+
+    private record CaseKey(String codeHash, Integer languageId, String input) {
+    }
+
+    /**
+     * 케이스 1개의 원시 실행 결과 (status: OK, TLE, MLE, RE, CE, ERROR)
+     */
+    private record CaseRun(String status, String actualOutput, Integer executionTime,
+                           Integer memoryUsage, String errorMessage) {
+
+        static CaseRun of(TestRunResponseDto.TestCaseResultDto result) {
+            String status = result.getResult() == null ? "ERROR" : switch (result.getResult()) {
+                case "AC", "PASS", "WA", "FAIL" -> "OK";
+                case "TLE", "MLE", "RE", "CE" -> result.getResult();
+                default -> "ERROR";
+            };
+            return new CaseRun(status, result.getActualOutput(), result.getExecutionTime(),
+                    result.getMemoryUsage(), result.getErrorMessage());
+        }
+
+        boolean finished() {
+            return "OK".equals(status) || "RE".equals(status) || "CE".equals(status);
+        }
+    }
+
+    private record Entry(int timeLimit, int memoryLimit, CompletableFuture<CaseRun> future) {
+
+        /**
+         * 이 실행 결과로 요청 제한의 판정을 낼 수 있는지
+         * (요청보다 넉넉한 제한으로 실행했거나, 제한과 무관하게 끝난 실행)
+         */
+        boolean covers(int requestedTimeLimit, int requestedMemoryLimit) {
+            if (timeLimit >= requestedTimeLimit && memoryLimit >= requestedMemoryLimit) {
+                return !future.isCompletedExceptionally();
+            }
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return false;
+            }
+            return future.join().finished();
+        }
+    }
+
+    /**
+     * CodeExecutorService.judgeCode와 같은 형태의 채점 (FULL 정책)
+     * 이미 실행한 (코드, 입력) 케이스는 재사용하고 나머지만 한 번의 요청으로 실행
+     */
+    public CompletableFuture<TestRunResponseDto> judgeCode(
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            int timeLimit,
+            int memoryLimit) {
+
+        String codeHash = hash(sourceCode);
+        List<CompletableFuture<CaseRun>> slots = new ArrayList<>(testCases.size());
+        List<AlgoTestcaseDto> toRun = new ArrayList<>();
+        List<CaseKey> ownedKeys = new ArrayList<>();
+        List<Entry> owned = new ArrayList<>();
+
+        for (AlgoTestcaseDto testCase : testCases) {
+            CaseKey key = new CaseKey(codeHash, languageId,
+                    testCase.getInputData() != null ? testCase.getInputData() : "");
+            Entry[] created = new Entry[1];
+            Entry entry = entries.compute(key, (k, current) -> {
+                if (current != null && current.covers(timeLimit, memoryLimit)) {
+                    return current;
+                }
+                created[0] = new Entry(timeLimit, memoryLimit, new CompletableFuture<>());
+                return created[0];
+            });
+            if (entry == created[0]) {
+                ownedKeys.add(key);
+                owned.add(entry);
+                toRun.add(AlgoTestcaseDto.builder()
+                        .inputData(testCase.getInputData())
+                        .expectedOutput("")
+                        .isSample(testCase.getIsSample())
+                        .build());
+            }
+            slots.add(entry.future());
+        }
+
+        requestedCases.addAndGet(testCases.size());
+        if (!toRun.isEmpty()) {
+            executedCases.addAndGet(toRun.size());
+            execute(sourceCode, languageId, toRun, timeLimit, memoryLimit, ownedKeys, owned);
+        }
+        log.debug("실행 세션 요청 - 케이스: {}, 새로 실행: {}, 재사용: {}",
+                testCases.size(), toRun.size(), testCases.size() - toRun.size());
+
+        return CompletableFuture.allOf(slots.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> assemble(testCases, slots, timeLimit, memoryLimit));
+    }
+
+    /**
+     * 요청된 케이스 수 대비 실제 실행한 케이스 수 (로그용)
+     */
+    public String getSummary() {
+        return String.format("요청 %d케이스, 실행 %d케이스", requestedCases.get(), executedCases.get());
+    }
+
+    private void execute(String sourceCode, Integer languageId, List<AlgoTestcaseDto> toRun,
+                         int timeLimit, int memoryLimit, List<CaseKey> keys, List<Entry> owned) {
+        CompletableFuture<TestRunResponseDto> run;
+        try {
+            run = codeExecutorService.judgeCode(sourceCode, languageId, toRun, timeLimit, memoryLimit);
+        } catch (Exception e) {
+            fail(keys, owned, e);
+            return;
+        }
+
+        run.whenComplete((response, error) -> {
+            List<TestRunResponseDto.TestCaseResultDto> results = response != null ? response.getTestCaseResults() : null;
+            if (error != null || results == null || results.size() != owned.size()) {
+                fail(keys, owned, error != null ? error
+                        : new IllegalStateException("실행 결과 케이스 수가 요청과 다릅니다"));
+                return;
+            }
+            for (int i = 0; i < owned.size(); i++) {
+                CaseRun caseRun = CaseRun.of(results.get(i));
+                if ("ERROR".equals(caseRun.status())) {
+                    entries.remove(keys.get(i), owned.get(i));
+                }
+                owned.get(i).future().complete(caseRun);
+            }
+        });
+    }
+
+    private void fail(List<CaseKey> keys, List<Entry> owned, Throwable error) {
+        for (int i = 0; i < owned.size(); i++) {
+            entries.remove(keys.get(i), owned.get(i));
+            owned.get(i).future().completeExceptionally(error);
+        }
+    }
+
+    /**
+     * 원시 실행 결과를 요청한 기대 출력/제한 기준으로 판정해 TestRunResponseDto로 집계
+     */
+    private TestRunResponseDto assemble(List<AlgoTestcaseDto> testCases, List<CompletableFuture<CaseRun>> slots,
+                                        int timeLimit, int memoryLimit) {
+        List<TestRunResponseDto.TestCaseResultDto> results = new ArrayList<>(testCases.size());
+        int passedCount = 0;
+        int maxExecutionTime = 0;
+        int maxMemoryUsage = 0;
+
+        for (int i = 0; i < testCases.size(); i++) {
+            AlgoTestcaseDto testCase = testCases.get(i);
+            CaseRun run = slots.get(i).join();
+            String verdict = verdictOf(run, testCase.getExpectedOutput(), timeLimit, memoryLimit);
+
+            results.add(TestRunResponseDto.TestCaseResultDto.builder()
+                    .testCaseNumber(i + 1)
+                    .input(testCase.getInputData())
+                    .expectedOutput(testCase.getExpectedOutput())
+                    .actualOutput(run.actualOutput())
+                    .result(verdict)
+                    .executionTime(run.executionTime())
+                    .memoryUsage(run.memoryUsage())
+                    .errorMessage(errorMessageOf(run, verdict))
+                    .build());
+
+            if ("AC".equals(verdict)) {
+                passedCount++;
+            }
+            if (run.executionTime() != null) {
+                maxExecutionTime = Math.max(maxExecutionTime, Math.min(run.executionTime(), timeLimit));
+            }
+            if (run.memoryUsage() != null) {
+                maxMemoryUsage = Math.max(maxMemoryUsage, run.memoryUsage());
+            }
+        }
+
+        int totalCount = testCases.size();
+        return TestRunResponseDto.builder()
+                .overallResult(determineOverallResult(results, passedCount, totalCount))
+                .passedCount(passedCount)
+                .totalCount(totalCount)
+                .testPassRate(totalCount == 0 ? 0.0 : (double) passedCount / totalCount * 100.0)
+                .maxExecutionTime(maxExecutionTime)
+                .maxMemoryUsage(maxMemoryUsage)
+                .testCaseResults(results)
+                .build();
+    }
+
+    private String verdictOf(CaseRun run, String expectedOutput, int timeLimit, int memoryLimit) {
+        if (!"OK".equals(run.status())) {
+            return run.status();
+        }
+        // 더 넉넉한 제한으로 실행한 결과를 재사용하는 경우 실행 시간/메모리 사용량으로 TLE/MLE 판정
+        if (run.executionTime() != null && run.executionTime() > timeLimit) {
+            return "TLE";
+        }
+        // 메모리 제한은 채점 서버와 같이 KB 단위, 최소 128MB로 본다
+        if (run.memoryUsage() != null && run.memoryUsage() > Math.max(memoryLimit, MIN_MEMORY_LIMIT_KB)) {
+            return "MLE";
+        }
+        return normalizeOutput(run.actualOutput()).equals(normalizeOutput(expectedOutput)) ? "AC" : "WA";
+    }
+
+    private String errorMessageOf(CaseRun run, String verdict) {
+        return switch (verdict) {
+            case "AC" -> null;
+            case "WA" -> "출력이 예상 결과와 다릅니다";
+            case "TLE" -> "시간 초과";
+            case "MLE" -> run.errorMessage() != null ? run.errorMessage() : "메모리 초과";
+            default -> run.errorMessage();
+        };
+    }
+
+    /**
+     * 전체 결과 판정 (Judge0Service/PistonService와 같은 우선순위: CE > RE > TLE > MLE > WA)
+     */
+    private String determineOverallResult(List<TestRunResponseDto.TestCaseResultDto> results,
+                                          int passedCount, int totalCount) {
+        if (passedCount == totalCount) {
+            return "AC";
+        }
+        for (String verdict : List.of("CE", "RE", "TLE", "MLE")) {
+            if (results.stream().anyMatch(r -> verdict.equals(r.getResult()))) {
+                return verdict;
+            }
+        }
+        return "WA";
+    }
+
+    private String normalizeOutput(String output) {
+        if (output == null) {
+            return "";
+        }
+        return output.trim().replaceAll("\\r\\n", "\n").replaceAll("(?m)[ \\t]+$", "");
+    }
+
+    private String hash(String sourceCode) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(
+                    digest.digest((sourceCode != null ? sourceCode : "").getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
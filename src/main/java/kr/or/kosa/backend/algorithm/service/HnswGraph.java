@@ -0,0 +1,368 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 코사인 유사도용 인메모리 HNSW(Hierarchical Navigable Small World) 그래프
+ *
+ * - 벡터는 넣을 때 정규화해서 내적 = 코사인 유사도로 비교한다 (Qdrant Cosine 컬렉션과 같은 점수)
+ * - 같은 ID를 다시 넣으면 이전 노드는 삭제 표시만 하고 새 노드를 추가한다
+ *   (삭제 노드는 탐색 경로로만 쓰이고 결과에는 나오지 않음, 많이 쌓이면 새로 만들어 교체)
+ * - 필터 검색: 필터를 통과하는 노드가 적으면 그 노드만 전수 비교하고,
+ *   많으면 그래프를 따라가되 결과에는 필터 통과 노드만 담는다
+ *
+ * 검색은 읽기 잠금, 추가/삭제는 쓰기 잠금 (스레드 안전)
+ */
+public class HnswGraph<T> {
+
+    public record Match<T>(String id, T payload, double score) {
+    }
+
+    private static final class Node<T> {
+        final String id;
+        final float[] vector;
+        final T payload;
+        final int[][] links;   // 레벨별 이웃 노드 번호
+        boolean deleted;
+
+        Node(String id, float[] vector, T payload, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.payload = payload;
+            this.links = new int[level + 1][];
+            Arrays.fill(this.links, new int[0]);
+        }
+
+        int level() {
+            return links.length - 1;
+        }
+    }
+
+    private record Scored(int node, double score) {
+    }
+
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble(Scored::score);
+
+    private final int maxLinks;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final int exactSearchLimit;
+    private final double levelMultiplier;
+
+    private final List<Node<T>> nodes = new ArrayList<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int dimension = -1;
+    private int deletedCount;
+
+    /**
+     * @param maxLinks         레벨당 최대 이웃 수 (M, 레벨 0은 2M)
+     * @param efConstruction   추가 시 이웃 후보 탐색 폭
+     * @param exactSearchLimit 필터 통과 노드가 이 수 이하면 그래프 대신 전수 비교
+     */
+    public HnswGraph(int maxLinks, int efConstruction, int exactSearchLimit) {
+        this.maxLinks = maxLinks;
+        this.maxLinksLevel0 = maxLinks * 2;
+        this.efConstruction = efConstruction;
+        this.exactSearchLimit = exactSearchLimit;
+        this.levelMultiplier = 1.0 / Math.log(maxLinks);
+    }
+
+    /**
+     * 추가 또는 교체
+     */
+    public void upsert(String id, float[] vector, T payload) {
+        float[] normalized = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            if (dimension < 0) {
+                dimension = normalized.length;
+            } else if (dimension != normalized.length) {
+                throw new IllegalArgumentException(
+                        String.format("벡터 차원이 다릅니다 - 기대: %d, 입력: %d", dimension, normalized.length));
+            }
+            markDeleted(id);
+            insert(new Node<>(id, normalized, payload, randomLevel()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 유사도 상위 k개 (minScore 미만 제외, 점수 내림차순)
+     *
+     * @param ef     탐색 폭 (클수록 정확하고 느림, k보다 작으면 k 사용)
+     * @param filter 결과에 담을 노드 조건 (null이면 전체)
+     */
+    public List<Match<T>> search(float[] query, int k, int ef, double minScore, Predicate<T> filter) {
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            if (normalized.length != dimension) {
+                throw new IllegalArgumentException(
+                        String.format("벡터 차원이 다릅니다 - 기대: %d, 입력: %d", dimension, normalized.length));
+            }
+
+            List<Scored> found;
+            if (filter != null && countAdmitted(filter) <= exactSearchLimit) {
+                found = exactSearch(normalized, filter);
+            } else {
+                int current = entryPoint;
+                for (int level = topLevel; level > 0; level--) {
+                    current = greedyClosest(normalized, current, level);
+                }
+                found = searchLayer(normalized, current, Math.max(ef, k), 0, filter, false);
+            }
+
+            List<Match<T>> matches = new ArrayList<>(Math.min(k, found.size()));
+            for (Scored scored : found) {
+                if (matches.size() >= k || scored.score() < minScore) {
+                    break;
+                }
+                Node<T> node = nodes.get(scored.node());
+                matches.add(new Match<>(node.id, node.payload, scored.score()));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 살아있는 노드 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제 표시된 노드 비율 (새로 만들어 교체할지 판단용)
+     */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return nodes.isEmpty() ? 0.0 : (double) deletedCount / nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markDeleted(String id) {
+        Integer position = positions.remove(id);
+        if (position != null) {
+            nodes.get(position).deleted = true;
+            deletedCount++;
+        }
+    }
+
+    private void insert(Node<T> node) {
+        int index = nodes.size();
+        nodes.add(node);
+        positions.put(node.id, index);
+
+        if (entryPoint < 0) {
+            entryPoint = index;
+            topLevel = node.level();
+            return;
+        }
+
+        int current = entryPoint;
+        for (int level = topLevel; level > node.level(); level--) {
+            current = greedyClosest(node.vector, current, level);
+        }
+        for (int level = Math.min(node.level(), topLevel); level >= 0; level--) {
+            List<Scored> candidates = searchLayer(node.vector, current, efConstruction, level, null, true);
+            int limit = level == 0 ? maxLinksLevel0 : maxLinks;
+            int[] selected = candidates.stream()
+                    .limit(limit)
+                    .mapToInt(Scored::node)
+                    .toArray();
+            node.links[level] = selected;
+            for (int neighbor : selected) {
+                connect(neighbor, index, level, limit);
+            }
+            if (!candidates.isEmpty()) {
+                current = candidates.get(0).node();
+            }
+        }
+
+        if (node.level() > topLevel) {
+            topLevel = node.level();
+            entryPoint = index;
+        }
+    }
+
+    /**
+     * 이웃 쪽에도 역방향 연결 추가, 한도를 넘으면 그 이웃 기준으로 가까운 순으로 잘라낸다
+     */
+    private void connect(int from, int to, int level, int limit) {
+        Node<T> node = nodes.get(from);
+        int[] links = node.links[level];
+        int[] extended = Arrays.copyOf(links, links.length + 1);
+        extended[links.length] = to;
+        if (extended.length > limit) {
+            extended = Arrays.stream(extended)
+                    .mapToObj(neighbor -> new Scored(neighbor, dot(node.vector, nodes.get(neighbor).vector)))
+                    .sorted(BY_SCORE.reversed())
+                    .limit(limit)
+                    .mapToInt(Scored::node)
+                    .toArray();
+        }
+        node.links[level] = extended;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        double best = dot(query, nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : linksOf(current, level)) {
+                double score = dot(query, nodes.get(neighbor).vector);
+                if (score > best) {
+                    best = score;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 한 레벨에서 ef 폭 탐색, 점수 내림차순
+     * includeDeleted=false면 삭제 노드와 필터 미통과 노드는 경로로만 쓰고 결과에서 뺀다
+     */
+    private List<Scored> searchLayer(float[] query, int start, int ef, int level,
+                                     Predicate<T> filter, boolean includeDeleted) {
+        boolean[] visited = new boolean[nodes.size()];
+        PriorityQueue<Scored> candidates = new PriorityQueue<>(BY_SCORE.reversed());
+        PriorityQueue<Scored> results = new PriorityQueue<>(BY_SCORE);
+
+        Scored first = new Scored(start, dot(query, nodes.get(start).vector));
+        visited[start] = true;
+        candidates.add(first);
+        if (admits(start, filter, includeDeleted)) {
+            results.add(first);
+        }
+
+        while (!candidates.isEmpty()) {
+            Scored candidate = candidates.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+            for (int neighbor : linksOf(candidate.node(), level)) {
+                if (visited[neighbor]) {
+                    continue;
+                }
+                visited[neighbor] = true;
+                Scored scored = new Scored(neighbor, dot(query, nodes.get(neighbor).vector));
+                if (results.size() < ef || scored.score() > results.peek().score()) {
+                    candidates.add(scored);
+                    if (admits(neighbor, filter, includeDeleted)) {
+                        results.add(scored);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Scored> sorted = new ArrayList<>(results);
+        sorted.sort(BY_SCORE.reversed());
+        return sorted;
+    }
+
+    private List<Scored> exactSearch(float[] query, Predicate<T> filter) {
+        List<Scored> scored = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (admits(i, filter, false)) {
+                scored.add(new Scored(i, dot(query, nodes.get(i).vector)));
+            }
+        }
+        scored.sort(BY_SCORE.reversed());
+        return scored;
+    }
+
+    private int countAdmitted(Predicate<T> filter) {
+        int count = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (admits(i, filter, false) && ++count > exactSearchLimit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private boolean admits(int index, Predicate<T> filter, boolean includeDeleted) {
+        Node<T> node = nodes.get(index);
+        if (includeDeleted) {
+            return true;
+        }
+        return !node.deleted && (filter == null || filter.test(node.payload));
+    }
+
+    private int[] linksOf(int index, int level) {
+        Node<T> node = nodes.get(index);
+        return level <= node.level() ? node.links[level] : new int[0];
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        float[] normalized = new float[vector.length];
+        if (norm == 0.0) {
+            return normalized;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+}
@@ -1,21 +1,31 @@
 package kr.or.kosa.backend.algorithm.service;
 
 import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgePolicy;
 import kr.or.kosa.backend.algorithm.dto.enums.JudgeResult;
+import kr.or.kosa.backend.algorithm.dto.request.Judge0BatchRequestDto;
 import kr.or.kosa.backend.algorithm.dto.request.Judge0RequestDto;
+import kr.or.kosa.backend.algorithm.dto.response.Judge0BatchResponseDto;
 import kr.or.kosa.backend.algorithm.dto.response.Judge0ResponseDto;
 import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.net.ConnectException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * Judge0 API 연동 서비스 (ALG-07 관련)
@@ -24,12 +34,23 @@ import java.util.concurrent.CompletableFuture;
  * 변경사항 (2025-12-13):
  * - LANGUAGES.LANGUAGE_ID가 Judge0 API ID이므로 매핑 로직 제거
  * - languageId (Integer)를 직접 사용
+ *
+ * 배치 모드 (judge0.api.mode=batch):
+ * - 모든 테스트케이스를 /submissions/batch로 한 번에 제출 후 토큰을 백오프 폴링
+ * - 셀프호스팅 환경에서는 judge0.api.case-delay-ms=0으로 순차 모드 딜레이 제거
+ *
+ * 논블로킹 파이프라인:
+ * - judgeCodeReactive가 기본 구현이며 judgeCode(CompletableFuture)는 이를 감싼 호환 API
+ * - 재시도/타임아웃/폴링 대기는 Reactor 연산자로 처리 (block(), Thread.sleep 없음)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class Judge0Service {
 
+    private static final String BATCH_FIELDS =
+            "token,stdout,stderr,compile_output,message,time,memory,status";
+
     private final WebClient judge0WebClient;
 
     // application.yml에서 직접 값 주입
@@ -45,14 +66,50 @@ public class Judge0Service {
     @Value("${judge0.api.limits.memory:128000}")
     private Integer memoryLimit;
 
+    @Value("${judge0.api.mode:sequential}") // sequential, batch
+    private String mode;
+
+    // 순차 모드 테스트케이스 간 딜레이 (RapidAPI: 1000, 셀프호스팅: 0)
+    @Value("${judge0.api.case-delay-ms:1000}")
+    private long caseDelayMs;
+
+    // Judge0 MAX_SUBMISSION_BATCH_SIZE (기본 20)
+    @Value("${judge0.api.batch.max-size:20}")
+    private int batchMaxSize;
+
+    @Value("${judge0.api.batch.poll-initial-delay-ms:200}")
+    private long pollInitialDelayMs;
+
+    @Value("${judge0.api.batch.poll-max-delay-ms:2000}")
+    private long pollMaxDelayMs;
+
+    @Value("${judge0.api.batch.poll-timeout-ms:60000}")
+    private long pollTimeoutMs;
+
+    // 케이스별 모드 동시 실행 수 (case-delay-ms > 0이면 1로 고정)
+    @Value("${judge0.api.concurrency:8}")
+    private int caseConcurrency;
+
+    // 요청 단위 타임아웃 (wait=true 제출은 큐 대기 + 실행 시간 포함)
+    @Value("${judge0.api.request-timeout:30s}")
+    private Duration requestTimeout;
+
+    @Value("${judge0.api.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${judge0.api.retry.delay:1s}")
+    private Duration retryDelay;
+
     /**
-     * AlgoTestcaseDto 목록으로 채점 실행
+     * AlgoTestcaseDto 목록으로 채점 실행 (CompletableFuture 호환 API)
+     * 내부적으로 judgeCodeReactive를 구독하므로 호출 스레드나 공용 풀을 점유하지 않는다
      *
      * @param sourceCode  제출할 소스 코드
      * @param languageId  언어 ID (LANGUAGES.LANGUAGE_ID = Judge0 API language_id)
      * @param testCases   AlgoTestcaseDto 목록
      * @param timeLimit   시간 제한 (ms)
      * @param memoryLimit 메모리 제한 (KB)
+     * @param policy      채점 정책 (FULL / STOP_ON_FIRST_FAILURE)
      * @return 채점 결과 (TestRunResponseDto)
      */
     public CompletableFuture<TestRunResponseDto> judgeCode(
@@ -60,85 +117,436 @@ public class Judge0Service {
             Integer languageId,
             List<AlgoTestcaseDto> testCases,
             Integer timeLimit,
-            Integer memoryLimit) {
+            Integer memoryLimit,
+            JudgePolicy policy) {
+        return judgeCodeReactive(sourceCode, languageId, testCases, timeLimit, memoryLimit, policy).toFuture();
+    }
 
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("Judge0 채점 시작 - languageId: {}, testCases: {}, timeLimit: {}ms, memoryLimit: {}KB",
-                    languageId, testCases.size(), timeLimit, memoryLimit);
+    /**
+     * 논블로킹 채점
+     * judge0.api.mode 설정에 따라 케이스별(wait=true) 또는 배치(/submissions/batch) 방식 사용
+     * 모든 대기/재시도/타임아웃은 Reactor 연산자로 처리되어 이벤트 루프 스레드만 사용
+     */
+    public Mono<TestRunResponseDto> judgeCodeReactive(
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy) {
+        return judgeCodeReactive(sourceCode, languageId, testCases, timeLimit, memoryLimit, policy, result -> { });
+    }
 
-            if (languageId == null) {
-                throw new IllegalArgumentException("언어 ID가 null입니다");
-            }
+    /**
+     * 논블로킹 채점 (케이스별 진행 알림)
+     *
+     * @param onCaseResult 케이스 결과가 순서대로 확정될 때마다 호출 (SKIPPED 케이스는 호출되지 않음)
+     */
+    public Mono<TestRunResponseDto> judgeCodeReactive(
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+        return judgeCodeReactive(judge0WebClient, sourceCode, languageId, testCases, timeLimit, memoryLimit, policy,
+                onCaseResult);
+    }
+
+    /**
+     * 논블로킹 채점 (대상 Judge0 인스턴스 지정)
+     * 여러 Judge0 워커를 운영할 때 JudgeBackendRouter가 선택한 인스턴스의 WebClient로 호출
+     *
+     * @param client 요청을 보낼 Judge0 인스턴스의 WebClient
+     */
+    public Mono<TestRunResponseDto> judgeCodeReactive(
+            WebClient client,
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+
+        if (languageId == null) {
+            return Mono.error(new IllegalArgumentException("언어 ID가 null입니다"));
+        }
+
+        return Mono.defer(() -> {
+            log.info("Judge0 채점 시작 - mode: {}, policy: {}, languageId: {}, testCases: {}, timeLimit: {}ms, memoryLimit: {}KB",
+                    mode, policy, languageId, testCases.size(), timeLimit, memoryLimit);
+
+            Flux<TestRunResponseDto.TestCaseResultDto> ordered = isBatchMode()
+                    ? judgeBatch(client, sourceCode, languageId, testCases, timeLimit, memoryLimit, policy)
+                    : judgePerCase(client, sourceCode, languageId, testCases, timeLimit, memoryLimit);
+
+            return collectWithPolicy(ordered, testCases, policy, onCaseResult);
+        }).map(results -> aggregateResults(results, testCases.size()));
+    }
+
+    /**
+     * 배치 모드 사용 여부
+     */
+    public boolean isBatchMode() {
+        return "batch".equalsIgnoreCase(mode);
+    }
 
-            List<TestRunResponseDto.TestCaseResultDto> results = new ArrayList<>();
-            int passedCount = 0;
-            int maxExecutionTime = 0;
-            int maxMemoryUsage = 0;
+    /**
+     * 케이스별 채점 (wait=true)
+     * case-delay-ms가 설정된 경우(RapidAPI 요금제 제한) 한 번에 하나씩 딜레이를 두고 실행,
+     * 그 외(셀프호스팅)에는 judge0.api.concurrency 만큼 동시에 실행하되 결과는 케이스 순서대로 방출
+     */
+    private Flux<TestRunResponseDto.TestCaseResultDto> judgePerCase(
+            WebClient client,
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit) {
 
-            for (int i = 0; i < testCases.size(); i++) {
-                AlgoTestcaseDto testCase = testCases.get(i);
+        int concurrency = caseDelayMs > 0 ? 1 : Math.max(1, caseConcurrency);
+
+        return Flux.range(0, testCases.size())
+                .flatMapSequential(i -> {
+                    AlgoTestcaseDto testCase = testCases.get(i);
+                    Mono<TestRunResponseDto.TestCaseResultDto> execution = executeSingleTestCase(
+                            client, sourceCode, languageId, testCase, i + 1, timeLimit, memoryLimit)
+                            .onErrorResume(e -> {
+                                log.error("테스트케이스 {} 실행 중 오류: {}", i + 1, e.getMessage());
+                                return Mono.just(errorResult(testCase, i + 1, "채점 서버 오류: " + e.getMessage()));
+                            });
+
+                    // Rate Limit 방지: 테스트케이스 간 딜레이 (concurrency=1이므로 이전 케이스 완료 후 적용)
+                    return caseDelayMs > 0 && i > 0
+                            ? execution.delaySubscription(Duration.ofMillis(caseDelayMs))
+                            : execution;
+                }, concurrency);
+    }
 
-                try {
-                    log.debug("테스트케이스 {} 실행 중...", i + 1);
+    /**
+     * 배치 채점
+     * 1. 테스트케이스를 batch.max-size 단위 청크로 /submissions/batch에 제출하여 토큰 수집
+     * 2. 청크별 토큰을 지수 백오프로 폴링하여 결과 해석
+     * FULL 정책이면 모든 청크를 동시에 제출/폴링하고,
+     * STOP_ON_FIRST_FAILURE 정책이면 청크를 하나씩 처리하여 실패 시 이후 청크는 제출하지 않는다.
+     */
+    private Flux<TestRunResponseDto.TestCaseResultDto> judgeBatch(
+            WebClient client,
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy) {
+
+        int total = testCases.size();
+        int chunkCount = (total + batchMaxSize - 1) / batchMaxSize;
+        int concurrency = policy.stopsOnFailure() ? 1 : Math.max(1, chunkCount);
+
+        return Flux.range(0, chunkCount)
+                .flatMapSequential(chunk -> {
+                    int from = chunk * batchMaxSize;
+                    int to = Math.min(from + batchMaxSize, total);
+                    return judgeBatchChunk(client, sourceCode, languageId, testCases, from, to, timeLimit, memoryLimit);
+                }, concurrency);
+    }
+
+    /**
+     * 청크 하나를 제출하고 완료될 때까지 폴링
+     */
+    private Flux<TestRunResponseDto.TestCaseResultDto> judgeBatchChunk(
+            WebClient client,
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> testCases,
+            int from,
+            int to,
+            Integer timeLimit,
+            Integer memoryLimit) {
 
-                    TestRunResponseDto.TestCaseResultDto result = executeSingleTestCase(
-                            sourceCode, languageId, testCase, i + 1, timeLimit, memoryLimit);
+        List<AlgoTestcaseDto> chunk = testCases.subList(from, to);
 
-                    results.add(result);
+        return submitBatch(client, sourceCode, languageId, chunk, timeLimit, memoryLimit)
+                .flatMapMany(submitted -> {
+                    String[] tokens = new String[chunk.size()];
+                    TestRunResponseDto.TestCaseResultDto[] results = new TestRunResponseDto.TestCaseResultDto[chunk.size()];
 
-                    if ("AC".equals(result.getResult()) || "PASS".equals(result.getResult())) {
-                        passedCount++;
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Judge0ResponseDto entry = i < submitted.size() ? submitted.get(i) : null;
+                        if (entry == null || entry.getToken() == null) {
+                            results[i] = errorResult(chunk.get(i), from + i + 1, "채점 서버 오류: 배치 제출이 거부되었습니다");
+                        } else {
+                            tokens[i] = entry.getToken();
+                        }
                     }
+                    log.debug("Judge0 배치 제출 완료 - 케이스 {}~{}", from + 1, to);
+
+                    return pollBatchResults(client, tokens, chunk, from, results)
+                            .thenMany(Flux.fromArray(results));
+                })
+                .onErrorResume(e -> {
+                    log.error("Judge0 배치 제출 실패 - 케이스 {}~{}: {}", from + 1, to, e.getMessage());
+                    return Flux.range(from, to - from)
+                            .map(i -> errorResult(testCases.get(i), i + 1, "채점 서버 오류: " + e.getMessage()));
+                });
+    }
+
+    /**
+     * /submissions/batch 제출 후 토큰 목록 반환 (요청 순서와 동일)
+     */
+    private Mono<List<Judge0ResponseDto>> submitBatch(
+            WebClient client,
+            String sourceCode,
+            Integer languageId,
+            List<AlgoTestcaseDto> chunk,
+            Integer timeLimit,
+            Integer memoryLimit) {
 
-                    // 최대 실행 시간 및 메모리 사용량 계산
-                    if (result.getExecutionTime() != null) {
-                        maxExecutionTime = Math.max(maxExecutionTime, result.getExecutionTime());
+        List<Judge0RequestDto> submissions = chunk.stream()
+                .map(testCase -> buildRequest(sourceCode, languageId, testCase, timeLimit, memoryLimit))
+                .toList();
+
+        return client.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/submissions/batch")
+                        .queryParam("base64_encoded", false)
+                        .build())
+                .bodyValue(Judge0BatchRequestDto.builder().submissions(submissions).build())
+                .exchangeToMono(clientResponse -> {
+                    if (clientResponse.statusCode().isError()) {
+                        return Judge0Service.<List<Judge0ResponseDto>>toErrorMono(clientResponse);
                     }
-                    if (result.getMemoryUsage() != null) {
-                        maxMemoryUsage = Math.max(maxMemoryUsage, result.getMemoryUsage());
+                    return clientResponse.bodyToFlux(Judge0ResponseDto.class).collectList();
+                })
+                .timeout(requestTimeout)
+                .retryWhen(submitRetrySpec());
+    }
+
+    /**
+     * 제출된 토큰을 지수 백오프로 폴링하여 results 배열을 채운다.
+     * 제한 시간 내 완료되지 않은 케이스는 ERROR로 기록
+     *
+     * @param offset 청크 시작 인덱스 (테스트케이스 번호 계산용)
+     */
+    private Mono<Void> pollBatchResults(
+            WebClient client,
+            String[] tokens,
+            List<AlgoTestcaseDto> chunk,
+            int offset,
+            TestRunResponseDto.TestCaseResultDto[] results) {
+
+        long deadline = System.currentTimeMillis() + pollTimeoutMs;
+        return pollRound(client, tokens, chunk, offset, results, pollInitialDelayMs, deadline, 1);
+    }
+
+    private Mono<Void> pollRound(
+            WebClient client,
+            String[] tokens,
+            List<AlgoTestcaseDto> chunk,
+            int offset,
+            TestRunResponseDto.TestCaseResultDto[] results,
+            long delay,
+            long deadline,
+            int round) {
+
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < tokens.length; i++) {
+            if (results[i] == null && tokens[i] != null) {
+                pending.add(i);
+            }
+        }
+        if (pending.isEmpty()) {
+            return Mono.empty();
+        }
+
+        if (System.currentTimeMillis() >= deadline) {
+            log.warn("Judge0 배치 폴링 시간 초과 - 미완료 케이스: {}", pending.size());
+            for (int index : pending) {
+                results[index] = errorResult(chunk.get(index), offset + index + 1, "채점 서버 오류: 채점 결과 대기 시간 초과");
+            }
+            return Mono.empty();
+        }
+
+        return Mono.delay(Duration.ofMillis(delay))
+                .then(fetchBatch(client, pending.stream().map(i -> tokens[i]).toList()))
+                .doOnNext(responses -> {
+                    for (int j = 0; j < pending.size() && j < responses.size(); j++) {
+                        Judge0ResponseDto response = responses.get(j);
+                        if (response != null && response.toJudgeResult() != JudgeResult.PENDING) {
+                            int index = pending.get(j);
+                            results[index] = interpretResult(response, chunk.get(index), offset + index + 1);
+                        }
                     }
+                })
+                .onErrorResume(e -> {
+                    // 일시적 오류는 다음 폴링 라운드에서 재시도
+                    log.warn("Judge0 배치 폴링 실패 (round {}) - {}", round, e.getMessage());
+                    return Mono.empty();
+                })
+                .then(Mono.defer(() -> pollRound(client, tokens, chunk, offset, results,
+                        Math.min(delay * 2, pollMaxDelayMs), deadline, round + 1)));
+    }
 
-                    // Rate Limit 방지: 테스트케이스 간 딜레이 (RapidAPI 무료 요금제 제한)
-                    if (i < testCases.size() - 1) {
-                        Thread.sleep(1000); // 1초 대기
+    /**
+     * 토큰 목록으로 배치 결과 조회 (GET /submissions/batch)
+     */
+    private Mono<List<Judge0ResponseDto>> fetchBatch(WebClient client, List<String> tokens) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/submissions/batch")
+                        .queryParam("tokens", String.join(",", tokens))
+                        .queryParam("base64_encoded", false)
+                        .queryParam("fields", BATCH_FIELDS)
+                        .build())
+                .exchangeToMono(clientResponse -> {
+                    if (clientResponse.statusCode().isError()) {
+                        return Judge0Service.<Judge0BatchResponseDto>toErrorMono(clientResponse);
                     }
+                    return clientResponse.bodyToMono(Judge0BatchResponseDto.class);
+                })
+                .timeout(requestTimeout)
+                .retryWhen(retrySpec())
+                .filter(response -> response.getSubmissions() != null)
+                .map(Judge0BatchResponseDto::getSubmissions)
+                .switchIfEmpty(Mono.error(new IllegalStateException("Judge0 배치 조회 응답이 비어있습니다")));
+    }
 
-                } catch (Exception e) {
-                    log.error("테스트케이스 {} 실행 중 오류", i + 1, e);
-
-                    results.add(TestRunResponseDto.TestCaseResultDto.builder()
-                            .testCaseNumber(i + 1)
-                            .input(testCase.getInputData())
-                            .expectedOutput(testCase.getExpectedOutput())
-                            .result("ERROR")
-                            .errorMessage("채점 서버 오류: " + e.getMessage())
-                            .build());
-                }
+    /**
+     * STOP_ON_FIRST_FAILURE 정책이면 순서상 첫 실패 이후 구독을 취소하고 나머지는 SKIPPED로 채운다
+     */
+    private Mono<List<TestRunResponseDto.TestCaseResultDto>> collectWithPolicy(
+            Flux<TestRunResponseDto.TestCaseResultDto> ordered,
+            List<AlgoTestcaseDto> testCases,
+            JudgePolicy policy,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+
+        Flux<TestRunResponseDto.TestCaseResultDto> limited = policy.stopsOnFailure()
+                ? ordered.takeUntil(result -> !isPassed(result))
+                : ordered;
+
+        return limited.doOnNext(onCaseResult).collectList().map(completed -> {
+            List<TestRunResponseDto.TestCaseResultDto> results = new ArrayList<>(completed);
+            if (results.size() < testCases.size()) {
+                log.info("테스트케이스 {} 실패 - 나머지 {} 케이스 건너뜀",
+                        results.size(), testCases.size() - results.size());
+            }
+            for (int j = results.size(); j < testCases.size(); j++) {
+                results.add(skippedResult(testCases.get(j), j + 1));
             }
+            return results;
+        });
+    }
 
-            // 전체 결과 판정
-            String overallResult = determineOverallResult(results, passedCount, testCases.size());
+    /**
+     * 조회(GET) 재시도 정책: 연결 실패, 타임아웃, 429/5xx 응답만 지수 백오프로 재시도
+     */
+    private Retry retrySpec() {
+        return Retry.backoff(Math.max(0, retryMaxAttempts - 1), retryDelay)
+                .filter(this::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
 
-            log.info("Judge0 채점 완료 - 총 {} 케이스, 통과 {} 케이스, 결과: {}",
-                    results.size(), passedCount, overallResult);
+    /**
+     * 제출(POST) 재시도 정책: Judge0가 제출을 받지 않은 것이 확실한 경우(연결 거부, 429)만 재시도
+     * 타임아웃/5xx는 이미 제출이 만들어졌을 수 있어 재시도하면 같은 코드가 중복 채점되므로 그대로 실패 처리
+     */
+    private Retry submitRetrySpec() {
+        return Retry.backoff(Math.max(0, retryMaxAttempts - 1), retryDelay)
+                .filter(this::isNotAccepted)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
 
-            return TestRunResponseDto.builder()
-                    .overallResult(overallResult)
-                    .passedCount(passedCount)
-                    .totalCount(testCases.size())
-                    .testPassRate((double) passedCount / testCases.size() * 100.0)
-                    .maxExecutionTime(maxExecutionTime)
-                    .maxMemoryUsage(maxMemoryUsage)
-                    .testCaseResults(results)
-                    .build();
-        });
+    private boolean isNotAccepted(Throwable e) {
+        if (e instanceof Judge0ApiException apiException) {
+            return apiException.statusCode == 429;
+        }
+        return e instanceof WebClientRequestException && e.getCause() instanceof ConnectException;
+    }
+
+    private boolean isRetryable(Throwable e) {
+        if (e instanceof Judge0ApiException apiException) {
+            return apiException.isRetryable();
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
     }
 
     /**
-     * 단일 테스트케이스 실행
+     * 테스트케이스별 결과를 TestRunResponseDto로 집계
      */
-    @Retryable(retryFor = { Exception.class }, maxAttempts = 3, backoff = @Backoff(delay = 1000))
-    private TestRunResponseDto.TestCaseResultDto executeSingleTestCase(
+    private TestRunResponseDto aggregateResults(List<TestRunResponseDto.TestCaseResultDto> results, int totalCount) {
+        int passedCount = 0;
+        int maxExecutionTime = 0;
+        int maxMemoryUsage = 0;
+
+        for (TestRunResponseDto.TestCaseResultDto result : results) {
+            if (isPassed(result)) {
+                passedCount++;
+            }
+
+            // 최대 실행 시간 및 메모리 사용량 계산
+            if (result.getExecutionTime() != null) {
+                maxExecutionTime = Math.max(maxExecutionTime, result.getExecutionTime());
+            }
+            if (result.getMemoryUsage() != null) {
+                maxMemoryUsage = Math.max(maxMemoryUsage, result.getMemoryUsage());
+            }
+        }
+
+        // 전체 결과 판정
+        String overallResult = determineOverallResult(results, passedCount, totalCount);
+
+        log.info("Judge0 채점 완료 - 총 {} 케이스, 통과 {} 케이스, 결과: {}",
+                results.size(), passedCount, overallResult);
+
+        return TestRunResponseDto.builder()
+                .overallResult(overallResult)
+                .passedCount(passedCount)
+                .totalCount(totalCount)
+                .testPassRate((double) passedCount / totalCount * 100.0)
+                .maxExecutionTime(maxExecutionTime)
+                .maxMemoryUsage(maxMemoryUsage)
+                .testCaseResults(results)
+                .build();
+    }
+
+    private boolean isPassed(TestRunResponseDto.TestCaseResultDto result) {
+        return "AC".equals(result.getResult()) || "PASS".equals(result.getResult());
+    }
+
+    /**
+     * 실행하지 않은 테스트케이스 결과 생성 (STOP_ON_FIRST_FAILURE)
+     */
+    private TestRunResponseDto.TestCaseResultDto skippedResult(AlgoTestcaseDto testCase, Integer testCaseNumber) {
+        return TestRunResponseDto.TestCaseResultDto.builder()
+                .testCaseNumber(testCaseNumber)
+                .input(testCase.getInputData())
+                .expectedOutput(testCase.getExpectedOutput())
+                .result("SKIPPED")
+                .errorMessage("이전 테스트케이스 실패로 실행하지 않았습니다")
+                .build();
+    }
+
+    /**
+     * 채점 서버 오류 결과 생성
+     */
+    private TestRunResponseDto.TestCaseResultDto errorResult(
+            AlgoTestcaseDto testCase, Integer testCaseNumber, String errorMessage) {
+        return TestRunResponseDto.TestCaseResultDto.builder()
+                .testCaseNumber(testCaseNumber)
+                .input(testCase.getInputData())
+                .expectedOutput(testCase.getExpectedOutput())
+                .result("ERROR")
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    /**
+     * 단일 테스트케이스 실행 (wait=true)
+     */
+    private Mono<TestRunResponseDto.TestCaseResultDto> executeSingleTestCase(
+            WebClient client,
             String sourceCode,
             Integer languageId,
             AlgoTestcaseDto testCase,
@@ -147,8 +555,52 @@ public class Judge0Service {
             Integer memoryLimit) {
 
         // 1. Judge0 요청 DTO
-        // timeLimit (ms) -> cpu_time_limit (seconds) 변환 필요
-        // Judge0는 초 단위 (float) 지원
+        Judge0RequestDto request = buildRequest(sourceCode, languageId, testCase, timeLimit, memoryLimit);
+
+        log.info("[Judge0 Request Check] languageId={}, stdin='{}', expected_output='{}'",
+                request.getLanguage_id(),
+                truncateForLog(request.getStdin()),
+                truncateForLog(request.getExpected_output()));
+        log.debug("[Judge0 Source Code]\n{}", truncateForLog(request.getSource_code(), 500));
+
+        // 2. WebClient로 Judge0에 제출 (에러 응답 본문 캡처 포함)
+        return client.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/submissions")
+                        .queryParam("base64_encoded", false)
+                        .queryParam("wait", true)
+                        .build())
+                .bodyValue(request)
+                .exchangeToMono(clientResponse -> {
+                    if (clientResponse.statusCode().isError()) {
+                        return Judge0Service.<Judge0ResponseDto>toErrorMono(clientResponse);
+                    }
+                    return clientResponse.bodyToMono(Judge0ResponseDto.class);
+                })
+                .timeout(requestTimeout)
+                .retryWhen(submitRetrySpec())
+                .switchIfEmpty(Mono.error(new IllegalStateException("Judge0 응답이 비어있습니다")))
+                .doOnNext(response -> log.info("[Judge0 Raw Response] stdout={}, stderr={}, compile_output={}, status={}",
+                        response.getStdout(),
+                        response.getStderr(),
+                        response.getCompile_output(),
+                        response.getStatus()))
+                // 3. 결과 해석
+                .map(response -> interpretResult(response, testCase, testCaseNumber));
+    }
+
+    /**
+     * Judge0 요청 DTO 생성
+     * timeLimit (ms) -> cpu_time_limit (seconds) 변환 필요
+     * Judge0는 초 단위 (float) 지원
+     */
+    private Judge0RequestDto buildRequest(
+            String sourceCode,
+            Integer languageId,
+            AlgoTestcaseDto testCase,
+            Integer timeLimit,
+            Integer memoryLimit) {
+
         float cpuTimeLimitSec = timeLimit != null ? timeLimit / 1000.0f : this.cpuTimeLimit.floatValue();
         // memoryLimit은 이미 KB 단위로 전달됨 (TestCaseGeneratorService에서 256 * 1024 = 262144 KB)
         // Judge0 RapidAPI 제한: 최소 2,048 KB (2MB) ~ 최대 2,048,000 KB (2GB)
@@ -157,7 +609,7 @@ public class Judge0Service {
                 ? Math.max(131072, Math.min(memoryLimit, 2048000))
                 : Math.max(this.memoryLimit, 131072);
 
-        Judge0RequestDto request = Judge0RequestDto.builder()
+        return Judge0RequestDto.builder()
                 .source_code(sourceCode)
                 .language_id(languageId)
                 .stdin(testCase.getInputData())
@@ -167,53 +619,35 @@ public class Judge0Service {
                 .enable_per_process_and_thread_time_limit(true)
                 .enable_per_process_and_thread_memory_limit(true)
                 .build();
+    }
 
-        log.info("[Judge0 Request Check] languageId={}, stdin='{}', expected_output='{}'",
-                request.getLanguage_id(),
-                truncateForLog(request.getStdin()),
-                truncateForLog(request.getExpected_output()));
-        log.debug("[Judge0 Source Code]\n{}", truncateForLog(request.getSource_code(), 500));
-
-        try {
-            // 2. WebClient로 Judge0에 제출 (에러 응답 본문 캡처 포함)
-            Judge0ResponseDto response = judge0WebClient.post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/submissions")
-                            .queryParam("base64_encoded", false)
-                            .queryParam("wait", true)
-                            .build())
-                    .bodyValue(request)
-                    .exchangeToMono(clientResponse -> {
-                        if (clientResponse.statusCode().isError()) {
-                            return clientResponse.bodyToMono(String.class)
-                                    .flatMap(errorBody -> {
-                                        log.error("[Judge0 Error Response] status={}, body={}",
-                                                clientResponse.statusCode(), errorBody);
-                                        return reactor.core.publisher.Mono.error(
-                                                new RuntimeException("Judge0 API 에러 [" +
-                                                        clientResponse.statusCode() + "]: " + errorBody));
-                                    });
-                        }
-                        return clientResponse.bodyToMono(Judge0ResponseDto.class);
-                    })
-                    .block(); // 동기 호출
-
-            if (response == null) {
-                throw new RuntimeException("Judge0 응답이 비어있습니다");
-            }
+    /**
+     * Judge0 에러 응답 본문을 캡처하여 예외로 변환
+     */
+    private static <T> Mono<T> toErrorMono(ClientResponse clientResponse) {
+        return clientResponse.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .flatMap(errorBody -> {
+                    log.error("[Judge0 Error Response] status={}, body={}",
+                            clientResponse.statusCode(), errorBody);
+                    return Mono.error(new Judge0ApiException(clientResponse.statusCode().value(),
+                            "Judge0 API 에러 [" + clientResponse.statusCode() + "]: " + errorBody));
+                });
+    }
 
-            log.info("[Judge0 Raw Response] stdout={}, stderr={}, compile_output={}, status={}",
-                    response.getStdout(),
-                    response.getStderr(),
-                    response.getCompile_output(),
-                    response.getStatus());
+    /**
+     * Judge0 HTTP 에러 응답 (상태 코드로 재시도 여부 판단)
+     */
+    private static final class Judge0ApiException extends RuntimeException {
+        private final int statusCode;
 
-            // 3. 결과 해석
-            return interpretResult(response, testCase, testCaseNumber);
+        private Judge0ApiException(int statusCode, String message) {
+            super(message);
+            this.statusCode = statusCode;
+        }
 
-        } catch (Exception e) {
-            log.error("Judge0 API 호출 실패: {}", e.getMessage());
-            throw new RuntimeException("Judge0 채점 실패: " + e.getMessage(), e);
+        private boolean isRetryable() {
+            return statusCode == 429 || statusCode >= 500;
         }
     }
 
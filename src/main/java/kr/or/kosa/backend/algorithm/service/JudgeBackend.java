@@ -0,0 +1,170 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import kr.or.kosa.backend.algorithm.dto.JudgeBackendStatsDto;
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채점 서버(Judge0 / Piston 인스턴스) 하나의 상태
+ *
+ * - 동시 요청 수, 원격 대기열 길이(Judge0 /workers)
+ * - 테스트케이스당 지연시간 / 오류율 EWMA
+ * - 서킷 브레이커: CLOSED → (연속 실패) → OPEN → (차단 시간 경과) → HALF_OPEN(시험 1건) → CLOSED / OPEN
+ */
+public class JudgeBackend {
+
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    @Getter
+    private final String id;
+    @Getter
+    private final String type;
+    @Getter
+    private final String baseUrl;
+    @Getter
+    private final WebClient webClient;
+    @Getter
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder circuitOpens = new LongAdder();
+
+    private volatile int queueDepth;
+
+    // 아래 값은 this 모니터로 보호
+    private double ewmaLatencyMs = -1;
+    private double ewmaErrorRate;
+    private int consecutiveFailures;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+    private String lastError;
+
+    public JudgeBackend(String id, String type, String baseUrl, WebClient webClient, int maxInFlight) {
+        this.id = id;
+        this.type = type;
+        this.baseUrl = baseUrl;
+        this.webClient = webClient;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public boolean isJudge0() {
+        return "judge0".equalsIgnoreCase(type);
+    }
+
+    public boolean isPiston() {
+        return "piston".equalsIgnoreCase(type);
+    }
+
+    /**
+     * 요청 가능 여부 (OPEN 상태라도 차단 시간이 지나면 시험 요청 1건 허용)
+     */
+    public synchronized boolean isAvailable(long now, long openDurationMs) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> now - openedAt >= openDurationMs;
+            case HALF_OPEN -> !trialInFlight;
+        };
+    }
+
+    /**
+     * 요청 시작 (선택된 직후 호출)
+     * OPEN/HALF_OPEN 상태에서는 시험 요청으로 표시하고, 이미 다른 시험 요청이 있으면 false
+     */
+    public synchronized boolean tryAcquire(long now, long openDurationMs) {
+        if (!isAvailable(now, openDurationMs)) {
+            return false;
+        }
+        if (state != CircuitState.CLOSED) {
+            state = CircuitState.HALF_OPEN;
+            trialInFlight = true;
+        }
+        inFlight.incrementAndGet();
+        requests.increment();
+        return true;
+    }
+
+    /**
+     * 요청 종료 및 관측값 반영
+     *
+     * @param latencyPerCaseMs 테스트케이스당 지연시간
+     * @param failed           서버 오류 여부
+     */
+    public synchronized void release(double latencyPerCaseMs, boolean failed, String error,
+                                     double alpha, int failureThreshold, long now) {
+        inFlight.decrementAndGet();
+
+        if (!failed) {
+            ewmaLatencyMs = ewmaLatencyMs < 0 ? latencyPerCaseMs
+                    : alpha * latencyPerCaseMs + (1 - alpha) * ewmaLatencyMs;
+        }
+        ewmaErrorRate = alpha * (failed ? 1.0 : 0.0) + (1 - alpha) * ewmaErrorRate;
+
+        if (failed) {
+            failures.increment();
+            lastError = error;
+            consecutiveFailures++;
+            if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (state != CircuitState.OPEN) {
+                    circuitOpens.increment();
+                }
+                state = CircuitState.OPEN;
+                openedAt = now;
+            }
+        } else {
+            consecutiveFailures = 0;
+            state = CircuitState.CLOSED;
+        }
+        trialInFlight = false;
+    }
+
+    /**
+     * 요청 취소 (관측값은 반영하지 않음)
+     */
+    public synchronized void cancel() {
+        inFlight.decrementAndGet();
+        trialInFlight = false;
+    }
+
+    /**
+     * 라우팅 점수 (낮을수록 우선)
+     * 예상 대기시간 = 케이스당 지연 × 케이스 수 × (처리 중 + 원격 대기 + 1) / 동시 처리 용량
+     * 관측값이 없는 서버는 지연시간 1ms로 간주하여 우선 시도한다
+     */
+    public synchronized double score(int caseCount, double errorPenalty) {
+        double latency = ewmaLatencyMs < 0 ? 1.0 : Math.max(1.0, ewmaLatencyMs);
+        double load = (inFlight.get() + queueDepth + 1.0) / maxInFlight;
+        return latency * Math.max(1, caseCount) * load * (1 + ewmaErrorRate * errorPenalty);
+    }
+
+    public boolean isSaturated() {
+        return inFlight.get() >= maxInFlight;
+    }
+
+    public void updateQueueDepth(int queueDepth) {
+        this.queueDepth = Math.max(0, queueDepth);
+    }
+
+    public synchronized JudgeBackendStatsDto toStats() {
+        return JudgeBackendStatsDto.builder()
+                .id(id)
+                .type(type)
+                .baseUrl(baseUrl)
+                .circuitState(state.name())
+                .inFlight(inFlight.get())
+                .maxInFlight(maxInFlight)
+                .queueDepth(queueDepth)
+                .ewmaLatencyMs(ewmaLatencyMs < 0 ? null : Math.round(ewmaLatencyMs * 10) / 10.0)
+                .ewmaErrorRate(Math.round(ewmaErrorRate * 1000) / 1000.0)
+                .requests(requests.sum())
+                .failures(failures.sum())
+                .circuitOpens(circuitOpens.sum())
+                .lastError(lastError)
+                .build();
+    }
+}
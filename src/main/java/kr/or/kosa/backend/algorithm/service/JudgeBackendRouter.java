@@ -0,0 +1,309 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import kr.or.kosa.backend.algorithm.dto.JudgeBackendStatsDto;
+import kr.or.kosa.backend.algorithm.dto.LanguageDto;
+import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import kr.or.kosa.backend.config.JudgeRouterConfig.JudgeRouterProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채점 서버 라우터
+ *
+ * 여러 Judge0 워커와 Piston 폴백 서버 중 채점 요청마다 부하가 가장 낮은 정상 서버를 선택한다.
+ * - 점수: 테스트케이스당 지연시간 EWMA × 케이스 수 × (처리 중 + 원격 대기열 + 1) / 동시 처리 용량 × 오류율 가중치
+ * - 연속 실패 시 서킷을 열어 일정 시간 제외하고, 이후 시험 요청 1건으로 복구 여부 판단
+ * - 서버 오류로 채점하지 못한 경우 다른 서버로 1회 장애 전환
+ * - Judge0 서버는 /workers 로 원격 대기열 길이를 주기적으로 조회 (지원하지 않는 서버는 0으로 간주)
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JudgeBackendRouter {
+
+    private static final String JUDGE0 = "judge0";
+    private static final String PISTON = "piston";
+
+    private final JudgeRouterProperties properties;
+    private final WebClient judge0WebClient;
+    private final WebClient pistonWebClient;
+
+    @Value("${code-executor.provider:judge0}") // judge0, piston
+    private String defaultProvider;
+
+    @Value("${judge0.api.concurrency:8}")
+    private int judge0Concurrency;
+
+    @Value("${piston.api.concurrency:4}")
+    private int pistonConcurrency;
+
+    private List<JudgeBackend> backends = List.of();
+
+    @PostConstruct
+    void initBackends() {
+        List<JudgeBackend> configured = new ArrayList<>();
+
+        for (JudgeRouterProperties.Backend backend : properties.getBackends()) {
+            String type = backend.getType() != null ? backend.getType().toLowerCase() : JUDGE0;
+            if (!JUDGE0.equals(type) && !PISTON.equals(type)) {
+                throw new IllegalStateException("지원하지 않는 채점 서버 종류입니다: " + backend.getType());
+            }
+            WebClient base = JUDGE0.equals(type) ? judge0WebClient : pistonWebClient;
+            // 기본 WebClient의 커넥션 풀/헤더/로깅 필터를 그대로 두고 주소만 교체
+            WebClient client = backend.getBaseUrl() == null || backend.getBaseUrl().isBlank()
+                    ? base
+                    : base.mutate().baseUrl(backend.getBaseUrl()).build();
+            String id = backend.getId() != null ? backend.getId() : type + "-" + configured.size();
+            configured.add(new JudgeBackend(id, type, backend.getBaseUrl(), client, backend.getMaxInFlight()));
+        }
+
+        if (configured.isEmpty()) {
+            boolean judge0 = JUDGE0.equalsIgnoreCase(defaultProvider);
+            configured.add(new JudgeBackend(
+                    judge0 ? JUDGE0 : PISTON,
+                    judge0 ? JUDGE0 : PISTON,
+                    null,
+                    judge0 ? judge0WebClient : pistonWebClient,
+                    judge0 ? judge0Concurrency : pistonConcurrency));
+        }
+
+        backends = List.copyOf(configured);
+        log.info("채점 서버 라우터 초기화 - backends: {}",
+                backends.stream().map(b -> b.getId() + "(" + b.getType() + ")").toList());
+    }
+
+    /**
+     * 언어를 지원하는 서버 중 하나를 골라 채점 실행
+     * 서버 오류(요청 실패 또는 실행한 모든 케이스가 ERROR)이면 다른 서버로 1회 재시도
+     * (재시도 시 케이스별 진행 알림은 다시 전달되며, 클라이언트는 케이스 번호로 덮어쓴다)
+     *
+     * @param language  언어 정보 (Piston 서버는 PISTON_LANGUAGE가 있어야 선택)
+     * @param caseCount 테스트케이스 수 (지연시간 정규화용)
+     * @param call      선택된 서버로 채점 요청
+     */
+    public Mono<TestRunResponseDto> route(LanguageDto language, int caseCount,
+                                          Function<JudgeBackend, Mono<TestRunResponseDto>> call) {
+        return Mono.defer(() -> {
+            JudgeBackend first = acquire(language, caseCount, Set.of());
+            if (first == null) {
+                return Mono.error(noBackendError(language));
+            }
+
+            return execute(first, caseCount, call)
+                    .onErrorResume(e -> {
+                        JudgeBackend second = properties.isFailoverEnabled()
+                                ? acquire(language, caseCount, Set.of(first.getId()))
+                                : null;
+                        if (second == null) {
+                            return unwrap(e);
+                        }
+                        log.warn("채점 서버 장애 전환 - {} → {}, error: {}", first.getId(), second.getId(), e.getMessage());
+                        return execute(second, caseCount, call).onErrorResume(this::unwrap);
+                    });
+        });
+    }
+
+    /**
+     * 선택된 서버로 실행하고 결과를 EWMA/서킷에 반영
+     * 서버가 응답하지 못한 결과(실행한 모든 케이스가 ERROR)는 장애 전환 판단을 위해 예외로 변환
+     */
+    private Mono<TestRunResponseDto> execute(JudgeBackend backend, int caseCount,
+                                             Function<JudgeBackend, Mono<TestRunResponseDto>> call) {
+        long startedAt = System.currentTimeMillis();
+        AtomicBoolean released = new AtomicBoolean();
+
+        return Mono.defer(() -> call.apply(backend))
+                .doOnNext(result -> {
+                    if (released.compareAndSet(false, true)) {
+                        boolean failed = hasServerError(result);
+                        backend.release(latencyPerCase(startedAt, caseCount), failed,
+                                failed ? firstError(result) : null, properties.getEwmaAlpha(),
+                                properties.getCircuit().getFailureThreshold(), System.currentTimeMillis());
+                    }
+                })
+                .doOnError(e -> {
+                    if (released.compareAndSet(false, true)) {
+                        backend.release(latencyPerCase(startedAt, caseCount), true, e.getMessage(),
+                                properties.getEwmaAlpha(), properties.getCircuit().getFailureThreshold(),
+                                System.currentTimeMillis());
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (released.compareAndSet(false, true)) {
+                        backend.cancel();
+                    }
+                })
+                .flatMap(result -> properties.isFailoverEnabled() && isBackendDown(result)
+                        ? Mono.error(new BackendFailureException(backend.getId(), result))
+                        : Mono.just(result));
+    }
+
+    /**
+     * 장애 전환 대상이 없으면 서버 오류 결과를 그대로 반환 (기존 ERROR 판정 유지)
+     */
+    private Mono<TestRunResponseDto> unwrap(Throwable e) {
+        if (e instanceof BackendFailureException failure) {
+            return Mono.just(failure.result);
+        }
+        return Mono.error(e);
+    }
+
+    private double latencyPerCase(long startedAt, int caseCount) {
+        return (System.currentTimeMillis() - startedAt) / (double) Math.max(1, caseCount);
+    }
+
+    /**
+     * 점수가 가장 낮은 사용 가능 서버 선택 (포화되지 않은 서버 우선)
+     */
+    private JudgeBackend acquire(LanguageDto language, int caseCount, Set<String> excluded) {
+        long now = System.currentTimeMillis();
+        long openDuration = properties.getCircuit().getOpenDurationMs();
+
+        List<JudgeBackend> candidates = backends.stream()
+                .filter(b -> !excluded.contains(b.getId()))
+                .filter(b -> supports(b, language))
+                .filter(b -> b.isAvailable(now, openDuration))
+                .sorted(Comparator.comparing(JudgeBackend::isSaturated)
+                        .thenComparingDouble(b -> b.score(caseCount, properties.getErrorPenalty())))
+                .toList();
+
+        for (JudgeBackend candidate : candidates) {
+            if (candidate.tryAcquire(now, openDuration)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private boolean supports(JudgeBackend backend, LanguageDto language) {
+        if (backend.isPiston()) {
+            return language.getPistonLanguage() != null && !language.getPistonLanguage().isBlank();
+        }
+        return true;
+    }
+
+    /**
+     * ERROR(채점 서버 오류) 케이스가 하나라도 있으면 서버 실패로 기록
+     */
+    private boolean hasServerError(TestRunResponseDto result) {
+        if (result.getTestCaseResults() == null || result.getTestCaseResults().isEmpty()) {
+            return "ERROR".equals(result.getOverallResult());
+        }
+        return result.getTestCaseResults().stream()
+                .anyMatch(r -> "ERROR".equals(r.getResult()));
+    }
+
+    /**
+     * 실행한 케이스가 모두 ERROR이면 서버가 채점하지 못한 것으로 보고 장애 전환
+     * 일부 케이스만 ERROR인 경우는 결과를 그대로 사용
+     */
+    private boolean isBackendDown(TestRunResponseDto result) {
+        if (result.getTestCaseResults() == null || result.getTestCaseResults().isEmpty()) {
+            return "ERROR".equals(result.getOverallResult());
+        }
+        return result.getTestCaseResults().stream()
+                .filter(r -> !"SKIPPED".equals(r.getResult()))
+                .allMatch(r -> "ERROR".equals(r.getResult()));
+    }
+
+    private String firstError(TestRunResponseDto result) {
+        if (result.getTestCaseResults() == null) {
+            return result.getOverallResult();
+        }
+        return result.getTestCaseResults().stream()
+                .filter(r -> "ERROR".equals(r.getResult()))
+                .map(TestRunResponseDto.TestCaseResultDto::getErrorMessage)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private RuntimeException noBackendError(LanguageDto language) {
+        boolean anySupports = backends.stream().anyMatch(b -> supports(b, language));
+        if (!anySupports) {
+            return new IllegalArgumentException(
+                    "채점 서버에서 지원하지 않는 언어입니다: " + language.getLanguageName() +
+                    " (PISTON_LANGUAGE가 설정되지 않음)");
+        }
+        return new IllegalStateException("사용 가능한 채점 서버가 없습니다 (모든 서버 차단 중)");
+    }
+
+    /**
+     * Judge0 원격 대기열 길이 갱신 (GET /workers 의 size 합계)
+     * RapidAPI 등 /workers 를 제공하지 않는 서버는 0으로 유지
+     */
+    @Scheduled(fixedDelayString = "${code-executor.router.probe-interval-ms:15000}")
+    public void refreshQueueDepth() {
+        for (JudgeBackend backend : backends) {
+            if (!backend.isJudge0() || backends.size() == 1) {
+                continue;
+            }
+            backend.getWebClient().get()
+                    .uri("/workers")
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .timeout(Duration.ofSeconds(3))
+                    .subscribe(
+                            workers -> {
+                                int size = 0;
+                                for (JsonNode worker : workers) {
+                                    size += worker.path("size").asInt(0);
+                                }
+                                backend.updateQueueDepth(size);
+                            },
+                            e -> log.debug("Judge0 대기열 조회 실패 - backend: {}, error: {}",
+                                    backend.getId(), e.getMessage()));
+        }
+    }
+
+    /**
+     * 서버별 상태 조회
+     */
+    public List<JudgeBackendStatsDto> getStats() {
+        return backends.stream().map(JudgeBackend::toStats).toList();
+    }
+
+    /**
+     * 모든 채점 서버의 동시 처리 용량 합계 (채점 대기열 동시 실행 한도 산정용)
+     */
+    public int getTotalCapacity() {
+        return backends.stream().mapToInt(JudgeBackend::getMaxInFlight).sum();
+    }
+
+    /**
+     * 설정된 서버 종류 (judge0 / piston / judge0,piston)
+     */
+    public String getProviderLabel() {
+        return backends.stream()
+                .map(JudgeBackend::getType)
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * 서버 오류 결과를 장애 전환 대상으로 전달하기 위한 내부 예외
+     */
+    private static final class BackendFailureException extends RuntimeException {
+        private final transient TestRunResponseDto result;
+
+        private BackendFailureException(String backendId, TestRunResponseDto result) {
+            super("채점 서버 오류 - backend: " + backendId);
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import kr.or.kosa.backend.algorithm.dto.JudgeJobDto;
+
+/**
+ * 채점 대기열 작업 처리기
+ * JudgeQueueWorker가 jobType으로 핸들러를 찾아 작업을 위임
+ */
+public interface JudgeJobHandler {
+
+    /**
+     * 처리할 작업 유형
+     */
+    String jobType();
+
+    /**
+     * 작업 처리 (예외 발생 시 ACK하지 않아 재전달 대상이 됨)
+     */
+    void handle(JudgeJobDto job);
+
+    /**
+     * 재전달 한도를 초과한 작업 처리 (실패 상태 기록 등)
+     */
+    void onDeadLetter(JudgeJobDto job);
+}
@@ -0,0 +1,136 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import kr.or.kosa.backend.algorithm.dto.JudgeJobDto;
+import kr.or.kosa.backend.algorithm.dto.JudgeQueueStatsDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgeLane;
+import kr.or.kosa.backend.algorithm.exception.AlgoErrorCode;
+import kr.or.kosa.backend.commons.exception.custom.CustomBusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채점 대기열 등록 서비스 (Redis Streams)
+ *
+ * - 레인별 길이 상한을 넘으면 제출을 거절하여 back-pressure 전달 (JUDGE_QUEUE_FULL)
+ * - 트랜잭션 안에서 호출되면 커밋 이후에 등록 (워커가 커밋 전 제출을 읽지 않도록)
+ * - Redis 장애 시 judgeExecutor로 직접 처리하여 제출이 유실되지 않도록 한다
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JudgeQueueService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JudgeQueueWorker judgeQueueWorker;
+    private final CodeExecutorService codeExecutorService;
+
+    @Value("${algorithm.judge-queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${algorithm.judge-queue.max-length:5000}")
+    private long maxLength;
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 채점 작업 등록
+     *
+     * @throws CustomBusinessException 대기열이 가득 찬 경우 (JUDGE_QUEUE_FULL)
+     */
+    public void enqueue(JudgeJobDto job) {
+        if (!enabled) {
+            runAfterCommit(() -> judgeQueueWorker.executeWithoutQueue(job));
+            return;
+        }
+
+        Long length = laneLength(job.getLane());
+        if (length != null && length >= maxLength) {
+            rejected.increment();
+            log.warn("채점 대기열 포화로 거절 - lane: {}, length: {}, targetId: {}",
+                    job.getLane(), length, job.getTargetId());
+            throw new CustomBusinessException(AlgoErrorCode.JUDGE_QUEUE_FULL);
+        }
+
+        runAfterCommit(() -> append(job));
+    }
+
+    /**
+     * 대기열 상태 조회
+     */
+    public JudgeQueueStatsDto getStats() {
+        Map<String, Long> lengths = new LinkedHashMap<>();
+        Map<String, Long> pending = new LinkedHashMap<>();
+        for (JudgeLane lane : JudgeLane.values()) {
+            lengths.put(lane.name(), laneLength(lane));
+            pending.put(lane.name(), pendingCount(lane));
+        }
+
+        return JudgeQueueStatsDto.builder()
+                .provider(codeExecutorService.getCurrentProvider())
+                .laneLength(lengths)
+                .lanePending(pending)
+                .inFlight(judgeQueueWorker.getInFlight())
+                .concurrencyLimit(judgeQueueWorker.getConcurrencyLimit())
+                .processed(judgeQueueWorker.getProcessed())
+                .deferred(judgeQueueWorker.getDeferred())
+                .deadLettered(judgeQueueWorker.getDeadLettered())
+                .rejected(rejected.sum())
+                .build();
+    }
+
+    private void append(JudgeJobDto job) {
+        try {
+            stringRedisTemplate.opsForStream().add(
+                    StreamRecords.newRecord().in(job.getLane().getStreamKey()).ofMap(job.toStreamFields()));
+            log.info("채점 대기열 등록 - lane: {}, jobType: {}, targetId: {}, userId: {}",
+                    job.getLane(), job.getJobType(), job.getTargetId(), job.getUserId());
+        } catch (Exception e) {
+            log.error("채점 대기열 등록 실패, 직접 처리로 전환 - targetId: {}, error: {}",
+                    job.getTargetId(), e.getMessage());
+            judgeQueueWorker.executeWithoutQueue(job);
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Long laneLength(JudgeLane lane) {
+        try {
+            return stringRedisTemplate.opsForStream().size(lane.getStreamKey());
+        } catch (Exception e) {
+            log.warn("채점 대기열 길이 조회 실패 - lane: {}, error: {}", lane, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long pendingCount(JudgeLane lane) {
+        try {
+            PendingMessagesSummary summary = stringRedisTemplate.opsForStream()
+                    .pending(lane.getStreamKey(), JudgeQueueWorker.CONSUMER_GROUP);
+            return summary != null ? summary.getTotalPendingMessages() : 0L;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
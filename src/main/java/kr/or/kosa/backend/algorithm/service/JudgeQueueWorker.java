@@ -0,0 +1,468 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import jakarta.annotation.PreDestroy;
+import kr.or.kosa.backend.algorithm.dto.JudgeJobDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgeLane;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채점 대기열 소비자 (Redis Streams Consumer Group)
+ *
+ * - 동시 실행 한도: 라우터에 설정된 채점 서버 용량 합계만큼 Semaphore 허용, 허용 수만큼만 Stream에서 읽어 back-pressure 유지
+ *   (배틀 채점은 BattleJudgeService가 별도 풀에서 처리하므로 이 대기열은 일반 제출만 다룬다)
+ * - 사용자별 공정성: 사용자당 동시 채점 수를 Redis 카운터로 제한, 초과 작업은 레인 뒤로 재등록
+ * - 영속성: 처리 완료 후에만 ACK, 재시작 시 자신의 PEL을 먼저 재처리하고
+ *   다른 노드에 오래 묶인 작업은 주기적으로 claim
+ */
+@Component
+@Slf4j
+public class JudgeQueueWorker {
+
+    static final String CONSUMER_GROUP = "judge-workers";
+    private static final String USER_ACTIVE_KEY_PREFIX = "algo:judge-queue:user-active:";
+    private static final Duration USER_ACTIVE_TTL = Duration.ofMinutes(10);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CodeExecutorService codeExecutorService;
+    private final JudgeBackendRouter judgeBackendRouter;
+    private final Executor judgeExecutor;
+    private final Map<String, JudgeJobHandler> handlers;
+
+    @Value("${algorithm.judge-queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${algorithm.judge-queue.consumer-name:${HOSTNAME:judge-worker-local}}")
+    private String consumerName;
+
+    // 0 이하이면 라우터의 채점 서버별 동시 처리 용량 합계를 사용
+    @Value("${algorithm.judge-queue.concurrency:0}")
+    private int configuredConcurrency;
+
+    @Value("${algorithm.judge-queue.per-user-limit:2}")
+    private int perUserLimit;
+
+    @Value("${algorithm.judge-queue.poll-interval-ms:200}")
+    private long pollIntervalMs;
+
+    @Value("${algorithm.judge-queue.reclaim-idle-ms:300000}")
+    private long reclaimIdleMs;
+
+    @Value("${algorithm.judge-queue.max-deliveries:3}")
+    private int maxDeliveries;
+
+    private volatile boolean running;
+    private Semaphore permits;
+    private int concurrencyLimit;
+    private ExecutorService workers;
+    private Thread poller;
+
+    // 재시작 직후 자신의 PEL(미확인 엔트리)을 읽기 위한 레인별 커서 (null이면 복구 완료)
+    private final Map<JudgeLane, String> recoveryCursor = new EnumMap<>(JudgeLane.class);
+    private final Set<String> inFlightIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public JudgeQueueWorker(StringRedisTemplate stringRedisTemplate,
+                            CodeExecutorService codeExecutorService,
+                            JudgeBackendRouter judgeBackendRouter,
+                            @Qualifier("judgeExecutor") Executor judgeExecutor,
+                            List<JudgeJobHandler> handlers) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.codeExecutorService = codeExecutorService;
+        this.judgeBackendRouter = judgeBackendRouter;
+        this.judgeExecutor = judgeExecutor;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(JudgeJobHandler::jobType, Function.identity()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("채점 대기열 비활성화 - judgeExecutor로 직접 처리");
+            return;
+        }
+
+        concurrencyLimit = configuredConcurrency > 0
+                ? configuredConcurrency
+                : judgeBackendRouter.getTotalCapacity();
+        permits = new Semaphore(concurrencyLimit);
+        workers = Executors.newFixedThreadPool(concurrencyLimit, new NamedThreadFactory("JudgeQueue-"));
+
+        for (JudgeLane lane : JudgeLane.values()) {
+            ensureConsumerGroup(lane);
+            recoveryCursor.put(lane, "0-0");
+        }
+
+        running = true;
+        poller = new Thread(this::pollLoop, "JudgeQueue-Poller");
+        poller.setDaemon(true);
+        poller.start();
+
+        log.info("채점 대기열 시작 - consumer: {}, provider: {}, 동시 실행: {}, 사용자별 한도: {}",
+                consumerName, codeExecutorService.getCurrentProvider(), concurrencyLimit, perUserLimit);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        poller.interrupt();
+        workers.shutdown();
+        try {
+            // 처리 중인 작업은 마무리, 미처리 작업은 PEL에 남아 재시작 시 재처리
+            if (!workers.awaitTermination(90, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("채점 대기열 종료 - consumer: {}", consumerName);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 대기열을 거치지 않고 judgeExecutor에서 바로 처리 (대기열 비활성화/Redis 장애 시)
+     */
+    public void executeWithoutQueue(JudgeJobDto job) {
+        JudgeJobHandler handler = handlers.get(job.getJobType());
+        if (handler == null) {
+            log.error("채점 작업 핸들러 없음 - jobType: {}", job.getJobType());
+            return;
+        }
+        judgeExecutor.execute(() -> handler.handle(job));
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getDeferred() {
+        return deferred.sum();
+    }
+
+    public long getDeadLettered() {
+        return deadLettered.sum();
+    }
+
+    // ===== 소비 루프 =====
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                int started = pollOnce();
+                if (started == 0) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("채점 대기열 polling 실패 - error: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMs * 5);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 남은 허용 수만큼만 읽어서 작업 시작
+     * 허용 획득은 이 메서드와 reclaim에서만 일어나므로 synchronized로 읽은 수 = 획득 가능 수를 보장
+     */
+    private synchronized int pollOnce() {
+        StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+        int started = 0;
+        for (JudgeLane lane : JudgeLane.values()) {
+            int free = permits.availablePermits();
+            if (free <= 0) {
+                break;
+            }
+
+            String cursor = recoveryCursor.get(lane);
+            ReadOffset offset = cursor != null ? ReadOffset.from(cursor) : ReadOffset.lastConsumed();
+            List<MapRecord<String, Object, Object>> records = ops.read(
+                    Consumer.from(CONSUMER_GROUP, consumerName),
+                    StreamReadOptions.empty().count(free),
+                    StreamOffset.create(lane.getStreamKey(), offset));
+
+            if (cursor != null) {
+                if (records == null || records.isEmpty()) {
+                    recoveryCursor.put(lane, null);
+                    log.info("채점 대기열 PEL 복구 완료 - lane: {}", lane);
+                    continue;
+                }
+                recoveryCursor.put(lane, records.get(records.size() - 1).getId().getValue());
+            }
+            if (records == null) {
+                continue;
+            }
+
+            for (MapRecord<String, Object, Object> record : records) {
+                if (dispatch(lane, record)) {
+                    started++;
+                }
+            }
+        }
+        return started;
+    }
+
+    private boolean dispatch(JudgeLane lane, MapRecord<String, Object, Object> record) {
+        RecordId recordId = record.getId();
+        JudgeJobDto job;
+        try {
+            job = JudgeJobDto.fromStreamFields(record.getValue());
+        } catch (Exception e) {
+            log.warn("잘못된 채점 작업 폐기 - lane: {}, id: {}, error: {}", lane, recordId, e.getMessage());
+            acknowledge(lane, recordId);
+            return false;
+        }
+
+        if (!inFlightIds.add(recordId.getValue())) {
+            return false;
+        }
+        if (!tryAcquireUserSlot(job)) {
+            inFlightIds.remove(recordId.getValue());
+            defer(lane, recordId, job);
+            return false;
+        }
+        if (!permits.tryAcquire()) {
+            // 다른 경로에서 허용을 먼저 가져간 경우: PEL에 남겨 두고 reclaim 대상으로 둔다
+            inFlightIds.remove(recordId.getValue());
+            releaseUserSlot(job);
+            return false;
+        }
+
+        inFlight.incrementAndGet();
+        workers.execute(() -> process(lane, recordId, job));
+        return true;
+    }
+
+    private void process(JudgeLane lane, RecordId recordId, JudgeJobDto job) {
+        long waitedMs = System.currentTimeMillis() - job.getEnqueuedAt();
+        try {
+            JudgeJobHandler handler = handlers.get(job.getJobType());
+            if (handler == null) {
+                log.error("채점 작업 핸들러 없음, 폐기 - jobType: {}, id: {}", job.getJobType(), recordId);
+                acknowledge(lane, recordId);
+                return;
+            }
+
+            log.info("채점 작업 시작 - lane: {}, jobType: {}, targetId: {}, userId: {}, 대기: {}ms",
+                    lane, job.getJobType(), job.getTargetId(), job.getUserId(), waitedMs);
+            handler.handle(job);
+            acknowledge(lane, recordId);
+            processed.increment();
+        } catch (Exception e) {
+            // ACK하지 않음 → reclaim-idle 경과 후 재전달 (max-deliveries까지)
+            log.error("채점 작업 실패, 재전달 대기 - lane: {}, id: {}, targetId: {}",
+                    lane, recordId, job.getTargetId(), e);
+        } finally {
+            inFlightIds.remove(recordId.getValue());
+            releaseUserSlot(job);
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    // ===== 재전달 / dead letter =====
+
+    /**
+     * 오래 ACK되지 않은 엔트리 회수 (노드 장애 등)
+     */
+    @Scheduled(fixedDelayString = "${algorithm.judge-queue.reclaim-interval-ms:30000}")
+    public synchronized void reclaimStalled() {
+        if (!running) {
+            return;
+        }
+
+        StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+        for (JudgeLane lane : JudgeLane.values()) {
+            try {
+                PendingMessages pending = ops.pending(lane.getStreamKey(), CONSUMER_GROUP, Range.unbounded(), 100L);
+                for (PendingMessage message : pending) {
+                    if (message.getElapsedTimeSinceLastDelivery().toMillis() < reclaimIdleMs
+                            || inFlightIds.contains(message.getIdAsString())) {
+                        continue;
+                    }
+                    if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                        deadLetter(lane, message.getId());
+                        continue;
+                    }
+                    if (permits.availablePermits() <= 0) {
+                        break;
+                    }
+
+                    List<MapRecord<String, Object, Object>> claimed = ops.claim(lane.getStreamKey(), CONSUMER_GROUP,
+                            consumerName, Duration.ofMillis(reclaimIdleMs), message.getId());
+                    for (MapRecord<String, Object, Object> record : claimed) {
+                        log.info("채점 작업 회수 - lane: {}, id: {}, 이전 consumer: {}, 전달 횟수: {}",
+                                lane, record.getId(), message.getConsumerName(), message.getTotalDeliveryCount());
+                        dispatch(lane, record);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("채점 대기열 회수 실패 - lane: {}, error: {}", lane, e.getMessage());
+            }
+        }
+    }
+
+    private void deadLetter(JudgeLane lane, RecordId recordId) {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .range(lane.getStreamKey(), Range.closed(recordId.getValue(), recordId.getValue()));
+        if (records != null && !records.isEmpty()) {
+            try {
+                JudgeJobDto job = JudgeJobDto.fromStreamFields(records.get(0).getValue());
+                JudgeJobHandler handler = handlers.get(job.getJobType());
+                if (handler != null) {
+                    handler.onDeadLetter(job);
+                }
+                log.error("채점 작업 재전달 한도 초과, 실패 처리 - lane: {}, id: {}, targetId: {}",
+                        lane, recordId, job.getTargetId());
+            } catch (Exception e) {
+                log.error("dead letter 처리 실패 - lane: {}, id: {}", lane, recordId, e);
+            }
+        }
+        acknowledge(lane, recordId);
+        deadLettered.increment();
+    }
+
+    // ===== 사용자별 공정성 =====
+
+    private boolean tryAcquireUserSlot(JudgeJobDto job) {
+        if (job.getUserId() == null || perUserLimit <= 0) {
+            return true;
+        }
+        String key = USER_ACTIVE_KEY_PREFIX + job.getUserId();
+        Long active = stringRedisTemplate.opsForValue().increment(key);
+        // 노드 장애로 감소되지 못한 카운터는 TTL로 복구
+        stringRedisTemplate.expire(key, USER_ACTIVE_TTL);
+        if (active != null && active > perUserLimit) {
+            stringRedisTemplate.opsForValue().decrement(key);
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseUserSlot(JudgeJobDto job) {
+        if (job.getUserId() == null || perUserLimit <= 0) {
+            return;
+        }
+        try {
+            String key = USER_ACTIVE_KEY_PREFIX + job.getUserId();
+            Long remaining = stringRedisTemplate.opsForValue().decrement(key);
+            if (remaining != null && remaining <= 0) {
+                stringRedisTemplate.delete(key);
+            }
+        } catch (Exception e) {
+            log.warn("사용자 채점 슬롯 반환 실패 - userId: {}, error: {}", job.getUserId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자 한도 초과 작업을 레인 맨 뒤로 재등록 (다른 사용자 작업이 먼저 처리되도록)
+     */
+    private void defer(JudgeLane lane, RecordId recordId, JudgeJobDto job) {
+        JudgeJobDto next = job.toBuilder().deferCount(job.getDeferCount() + 1).build();
+        stringRedisTemplate.opsForStream().add(
+                StreamRecords.newRecord().in(lane.getStreamKey()).ofMap(next.toStreamFields()));
+        acknowledge(lane, recordId);
+        deferred.increment();
+        log.debug("채점 작업 후순위 이동 - lane: {}, userId: {}, targetId: {}, defer: {}",
+                lane, job.getUserId(), job.getTargetId(), next.getDeferCount());
+    }
+
+    // ===== Redis 헬퍼 =====
+
+    private void acknowledge(JudgeLane lane, RecordId recordId) {
+        StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+        ops.acknowledge(lane.getStreamKey(), CONSUMER_GROUP, recordId);
+        ops.delete(lane.getStreamKey(), recordId);
+    }
+
+    private void ensureConsumerGroup(JudgeLane lane) {
+        byte[] rawKey = lane.getStreamKey().getBytes(StandardCharsets.UTF_8);
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(rawKey, CONSUMER_GROUP, ReadOffset.from("0-0"), true));
+            log.info("채점 대기열 consumer group 생성 - stream: {}", lane.getStreamKey());
+        } catch (Exception e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                log.warn("consumer group 생성 실패 - stream: {}, error: {}", lane.getStreamKey(), message);
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements java.util.concurrent.ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger(1);
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
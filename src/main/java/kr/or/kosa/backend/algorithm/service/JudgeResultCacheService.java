@@ -0,0 +1,239 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.JudgeCacheStatsDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgePolicy;
+import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 채점 결과 캐시 서비스 (내용 주소 기반)
+ *
+ * 키: (정규화된 소스 해시, 언어, 테스트케이스 집합 해시, 시간/메모리 제한, 채점 정책)
+ * - 1차: 로컬 Caffeine 캐시 (크기 + TTL 제한)
+ * - 2차: Redis 공유 캐시 (TTL + 항목 크기 제한)
+ *
+ * 같은 코드를 반복 실행하는 샘플 테스트, 문제 생성 검증 단계의 재실행 비용을 줄이기 위한 용도
+ * 정식 제출은 bypass 플래그로 항상 새로 채점한다
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JudgeResultCacheService {
+
+    private static final String KEY_PREFIX = "algo:judge-cache:v1:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${algorithm.judge-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${algorithm.judge-cache.local.max-size:2000}")
+    private long localMaxSize;
+
+    @Value("${algorithm.judge-cache.local.ttl-minutes:10}")
+    private long localTtlMinutes;
+
+    @Value("${algorithm.judge-cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${algorithm.judge-cache.redis.ttl-minutes:60}")
+    private long redisTtlMinutes;
+
+    @Value("${algorithm.judge-cache.redis.max-entry-bytes:262144}") // 256KB
+    private int redisMaxEntryBytes;
+
+    private Cache<String, TestRunResponseDto> localCache;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder oversizedSkips = new LongAdder();
+
+    @PostConstruct
+    void initLocalCache() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtlMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        log.info("채점 결과 캐시 초기화 - enabled: {}, local(maxSize: {}, ttl: {}m), redis(enabled: {}, ttl: {}m)",
+                enabled, localMaxSize, localTtlMinutes, redisEnabled, redisTtlMinutes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시 키 생성
+     * 소스는 줄바꿈/후행 공백을 정규화한 뒤 해시하여 공백 차이로 인한 미스를 줄인다
+     */
+    public String buildKey(String sourceCode, Integer languageId, List<AlgoTestcaseDto> testCases,
+                           Integer timeLimit, Integer memoryLimit, JudgePolicy policy) {
+        MessageDigest digest = newDigest();
+        update(digest, String.valueOf(languageId));
+        update(digest, String.valueOf(timeLimit));
+        update(digest, String.valueOf(memoryLimit));
+        update(digest, policy.name());
+        update(digest, normalizeSource(sourceCode));
+        update(digest, String.valueOf(testCases.size()));
+        for (AlgoTestcaseDto testCase : testCases) {
+            update(digest, testCase.getInputData());
+            update(digest, testCase.getExpectedOutput());
+        }
+        return KEY_PREFIX + HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 캐시 조회 (로컬 → Redis 순)
+     * Redis 적중 시 로컬 캐시에 승격
+     */
+    public TestRunResponseDto get(String key) {
+        TestRunResponseDto local = localCache.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            log.debug("채점 캐시 로컬 적중 - key: {}", key);
+            return local;
+        }
+
+        if (redisEnabled) {
+            try {
+                String json = stringRedisTemplate.opsForValue().get(key);
+                if (json != null) {
+                    TestRunResponseDto cached = objectMapper.readValue(json, TestRunResponseDto.class);
+                    localCache.put(key, cached);
+                    redisHits.increment();
+                    log.debug("채점 캐시 Redis 적중 - key: {}", key);
+                    return cached;
+                }
+            } catch (Exception e) {
+                // Redis 장애 시 캐시 미스로 처리하고 채점은 계속 진행
+                log.warn("채점 캐시 Redis 조회 실패 - key: {}, error: {}", key, e.getMessage());
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 캐시 저장
+     * 실행 환경 오류(ERROR)가 포함된 결과는 일시적 실패일 수 있으므로 저장하지 않는다
+     */
+    public void put(String key, TestRunResponseDto result) {
+        if (!isCacheable(result)) {
+            return;
+        }
+
+        localCache.put(key, result);
+
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(result);
+            if (json.length() > redisMaxEntryBytes) {
+                oversizedSkips.increment();
+                log.debug("채점 캐시 Redis 저장 생략 (크기 초과) - key: {}, size: {}", key, json.length());
+                return;
+            }
+            stringRedisTemplate.opsForValue().set(key, json, Duration.ofMinutes(redisTtlMinutes));
+        } catch (Exception e) {
+            log.warn("채점 캐시 Redis 저장 실패 - key: {}, error: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 우회 기록 (정식 제출 등)
+     */
+    public void recordBypass() {
+        bypasses.increment();
+    }
+
+    /**
+     * 캐시 통계 조회
+     */
+    public JudgeCacheStatsDto getStats() {
+        CacheStats caffeineStats = localCache.stats();
+        long local = localHits.sum();
+        long redis = redisHits.sum();
+        long miss = misses.sum();
+        long lookups = local + redis + miss;
+        double hitRate = lookups == 0 ? 0.0
+                : Math.round((local + redis) * 10000.0 / lookups) / 100.0;
+
+        return JudgeCacheStatsDto.builder()
+                .enabled(enabled)
+                .localHits(local)
+                .redisHits(redis)
+                .misses(miss)
+                .bypasses(bypasses.sum())
+                .oversizedSkips(oversizedSkips.sum())
+                .localSize(localCache.estimatedSize())
+                .localEvictions(caffeineStats.evictionCount())
+                .hitRate(hitRate)
+                .build();
+    }
+
+    private boolean isCacheable(TestRunResponseDto result) {
+        if (result == null || result.getOverallResult() == null || "ERROR".equals(result.getOverallResult())) {
+            return false;
+        }
+        if (result.getTestCaseResults() == null) {
+            return true;
+        }
+        return result.getTestCaseResults().stream()
+                .noneMatch(r -> "ERROR".equals(r.getResult()));
+    }
+
+    private String normalizeSource(String sourceCode) {
+        if (sourceCode == null) {
+            return "";
+        }
+        return sourceCode.replace("\r\n", "\n")
+                .replace('\r', '\n')
+                .lines()
+                .map(String::stripTrailing)
+                .collect(Collectors.joining("\n"))
+                .strip();
+    }
+
+    /**
+     * 길이를 함께 기록하여 필드 경계가 모호해지지 않도록 한다
+     */
+    private void update(MessageDigest digest, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update((bytes.length + ":").getBytes(StandardCharsets.US_ASCII));
+        digest.update(bytes);
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
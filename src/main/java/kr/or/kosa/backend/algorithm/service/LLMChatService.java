@@ -4,7 +4,14 @@ import kr.or.kosa.backend.algorithm.dto.LLMResponseDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * LLM 채팅 서비스 추상화 래퍼
@@ -16,6 +23,14 @@ public class LLMChatService {
 
     private final ChatClient chatClient;
 
+    // 조각 사이 최대 대기 시간 (응답이 멈춘 스트림을 끊는다)
+    @Value("${algorithm.llm.stream.idle-timeout-ms:30000}")
+    private long streamIdleTimeoutMs;
+
+    // 스트리밍 응답 전체 최대 시간
+    @Value("${algorithm.llm.stream.timeout-ms:300000}")
+    private long streamTimeoutMs;
+
     public LLMChatService(ChatClient.Builder chatClientBuilder) {
         this.chatClient = chatClientBuilder.build();
     }
@@ -67,6 +82,86 @@ public class LLMChatService {
         }
     }
 
+    /**
+     * 토큰 스트리밍 생성
+     * 응답 조각을 도착하는 대로 흘려보낸다 (구독 시점에 호출 시작)
+     *
+     * @param systemPrompt 시스템 프롬프트 (null 가능)
+     * @param userPrompt   사용자 프롬프트
+     * @return 응답 텍스트 조각 스트림
+     */
+    public Flux<String> stream(String systemPrompt, String userPrompt) {
+        ChatClient.ChatClientRequestSpec request = chatClient.prompt();
+
+        if (systemPrompt != null && !systemPrompt.isBlank()) {
+            request = request.system(systemPrompt);
+        }
+
+        return request
+                .user(userPrompt)
+                .stream()
+                .content();
+    }
+
+    /**
+     * 토큰 스트리밍으로 텍스트 생성 (조각마다 onChunk 호출, 완료 시 전체 텍스트 반환)
+     * generate와 같은 결과를 돌려주지만 응답이 끝나기 전에 앞부분을 처리할 수 있다
+     * 조각 사이 대기가 idle-timeout을 넘거나 전체가 timeout을 넘으면 실패로 끝낸다
+     *
+     * @param systemPrompt 시스템 프롬프트 (null 가능)
+     * @param userPrompt   사용자 프롬프트
+     * @param onChunk      응답 조각 콜백 (도착 순서대로 한 스레드에서 호출)
+     * @return 생성된 전체 텍스트
+     */
+    public String generateStreaming(String systemPrompt, String userPrompt, Consumer<String> onChunk) {
+        log.debug("LLM 스트리밍 호출 시작 - systemPrompt 길이: {}, userPrompt 길이: {}",
+                systemPrompt != null ? systemPrompt.length() : 0,
+                userPrompt.length());
+
+        long startTime = System.currentTimeMillis();
+        StringBuilder response = new StringBuilder();
+        AtomicInteger chunks = new AtomicInteger();
+        AtomicLong firstChunkAt = new AtomicLong();
+
+        try {
+            stream(systemPrompt, userPrompt)
+                    .doOnNext(chunk -> {
+                        if (chunks.getAndIncrement() == 0) {
+                            firstChunkAt.set(System.currentTimeMillis());
+                        }
+                        response.append(chunk);
+                        onChunk.accept(chunk);
+                    })
+                    .timeout(Duration.ofMillis(streamIdleTimeoutMs))
+                    .blockLast(Duration.ofMillis(streamTimeoutMs));
+
+            long elapsed = System.currentTimeMillis() - startTime;
+            log.debug("LLM 스트리밍 완료 - 응답 길이: {}, 조각: {}개, 첫 조각: {}ms, 소요시간: {}ms",
+                    response.length(), chunks.get(),
+                    firstChunkAt.get() > 0 ? firstChunkAt.get() - startTime : -1, elapsed);
+
+            return response.toString();
+
+        } catch (Exception e) {
+            if (isInterrupted(e)) {
+                // blockLast는 InterruptedException을 RuntimeException으로 감싸므로 인터럽트 상태를 되살린다
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("LLM 스트리밍 호출이 취소되었습니다", e);
+            }
+            log.error("LLM 스트리밍 호출 실패", e);
+            throw new RuntimeException("LLM 스트리밍 호출 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isInterrupted(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return Thread.currentThread().isInterrupted();
+    }
+
     /**
      * 텍스트 생성 및 토큰 정보 포함 응답 반환
      *
@@ -1,18 +1,38 @@
 package kr.or.kosa.backend.algorithm.service;
 
+import jakarta.annotation.PostConstruct;
 import kr.or.kosa.backend.algorithm.dto.LanguageDto;
 import kr.or.kosa.backend.algorithm.dto.enums.LanguageType;
 import kr.or.kosa.backend.algorithm.mapper.LanguageMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 언어 서비스
- * DB 직접 조회 방식 (단순화)
+ * LANGUAGES 테이블 전체를 메모리 인덱스(ID / 언어명 / Piston 언어명 / 유형)로 보관하고 조회한다.
+ * 채점 1건에 여러 번 호출되는 조회가 DB를 거치지 않도록 하기 위함
+ *
+ * 갱신 방식
+ * - 관리자 변경(추가/수정/삭제) 커밋 후 즉시 재적재하고 Redis 버전 키를 증가
+ * - 다른 노드는 주기적으로 버전 키를 비교하여 변경 시 재적재
+ * - DB를 직접 수정한 경우에 대비해 max-age 경과 시에도 재적재
  *
  * 변경사항 (2025-12-13):
  * - LanguageConstantService → LanguageService 리팩토링
@@ -24,7 +44,104 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LanguageService {
 
+    private static final String VERSION_KEY = "algo:languages:version";
+
     private final LanguageMapper languageMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${algorithm.language-registry.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    private volatile LanguageIndex index;
+
+    /**
+     * 언어 인덱스 (재적재 시 통째로 교체되는 불변 스냅샷)
+     * 제한 배수는 조회마다 BigDecimal 변환을 하지 않도록 double로 미리 풀어 둔다
+     */
+    private record LanguageIndex(
+            Map<Integer, LanguageDto> byId,
+            Map<String, LanguageDto> byName,
+            Map<String, LanguageDto> byPistonLanguage,
+            Map<LanguageType, List<LanguageDto>> byType,
+            Map<Integer, Limits> limits,
+            List<LanguageDto> all,
+            String version,
+            long loadedAt) {
+    }
+
+    private record Limits(double timeFactor, int timeAddition, double memoryFactor, int memoryAddition) {
+
+        static Limits of(LanguageDto language) {
+            return new Limits(
+                    language.getTimeFactor() != null ? language.getTimeFactor().doubleValue() : 1.0,
+                    language.getTimeAddition() != null ? language.getTimeAddition() : 0,
+                    language.getMemoryFactor() != null ? language.getMemoryFactor().doubleValue() : 1.0,
+                    language.getMemoryAddition() != null ? language.getMemoryAddition() : 0);
+        }
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 기동 시 DB 연결 실패 등은 첫 조회 때 다시 시도
+            log.error("언어 목록 초기 적재 실패 - 첫 조회 시 재시도: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * LANGUAGES 전체 재적재
+     */
+    public synchronized void reload() {
+        String version = readVersion();
+        List<LanguageDto> languages = languageMapper.selectAll();
+
+        Map<Integer, LanguageDto> byId = new HashMap<>();
+        Map<String, LanguageDto> byName = new HashMap<>();
+        Map<String, LanguageDto> byPiston = new HashMap<>();
+        Map<LanguageType, List<LanguageDto>> byType = new EnumMap<>(LanguageType.class);
+        Map<Integer, Limits> limits = new HashMap<>();
+
+        for (LanguageDto language : languages) {
+            byId.put(language.getLanguageId(), language);
+            limits.put(language.getLanguageId(), Limits.of(language));
+            if (language.getLanguageName() != null) {
+                // DB 조회(기본 collation)와 같이 대소문자를 구분하지 않음
+                byName.putIfAbsent(normalize(language.getLanguageName()), language);
+            }
+            if (language.getPistonLanguage() != null && !language.getPistonLanguage().isBlank()) {
+                byPiston.putIfAbsent(normalize(language.getPistonLanguage()), language);
+            }
+            if (language.getLanguageType() != null) {
+                byType.computeIfAbsent(language.getLanguageType(), type -> new ArrayList<>()).add(language);
+            }
+        }
+        byType.replaceAll((type, list) -> List.copyOf(list));
+
+        index = new LanguageIndex(Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(byPiston),
+                Collections.unmodifiableMap(byType), Map.copyOf(limits), List.copyOf(languages),
+                version, System.currentTimeMillis());
+
+        log.info("언어 목록 적재 완료 - {}개, version: {}", languages.size(), version);
+    }
+
+    /**
+     * 다른 노드의 변경 반영 (버전 키 비교 / max-age 경과)
+     */
+    @Scheduled(fixedDelayString = "${algorithm.language-registry.version-check-ms:30000}")
+    public void refreshIfStale() {
+        LanguageIndex current = index;
+        try {
+            boolean expired = current == null
+                    || System.currentTimeMillis() - current.loadedAt() >= TimeUnit.MINUTES.toMillis(maxAgeMinutes);
+            if (expired || !Objects.equals(readVersion(), current.version())) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("언어 목록 갱신 확인 실패 (기존 목록 유지): {}", e.getMessage());
+        }
+    }
 
     /**
      * 언어 ID로 조회 (Judge0 API ID)
@@ -34,7 +151,7 @@ public class LanguageService {
      * @return 언어 정보, 없으면 null
      */
     public LanguageDto getById(Integer languageId) {
-        LanguageDto language = languageMapper.selectById(languageId);
+        LanguageDto language = languageId != null ? index().byId().get(languageId) : null;
 
         if (language == null) {
             log.warn("언어 ID '{}'를 찾을 수 없습니다. 지원하지 않는 언어일 수 있습니다.", languageId);
@@ -50,7 +167,7 @@ public class LanguageService {
      * @return 언어 정보, 없으면 null
      */
     public LanguageDto getByName(String languageName) {
-        LanguageDto language = languageMapper.selectByName(languageName);
+        LanguageDto language = languageName != null ? index().byName().get(normalize(languageName)) : null;
 
         if (language == null) {
             log.warn("언어 '{}'를 찾을 수 없습니다.", languageName);
@@ -66,62 +183,64 @@ public class LanguageService {
      * @return 언어 정보, 없으면 null
      */
     public LanguageDto getByPistonLanguage(String pistonLanguage) {
-        return languageMapper.selectByPistonLanguage(pistonLanguage);
+        return pistonLanguage != null ? index().byPistonLanguage().get(normalize(pistonLanguage)) : null;
     }
 
     /**
-     * 모든 언어 조회
+     * 모든 언어 조회 (언어명 순)
      *
-     * @return 전체 언어 리스트
+     * @return 전체 언어 리스트 (읽기 전용)
      */
     public List<LanguageDto> getAllLanguages() {
-        return languageMapper.selectAll();
+        return index().all();
     }
 
     /**
      * 언어 유형별 조회 (문제 타입에 따른 언어 목록 제공)
      *
      * @param languageType 언어 유형 (GENERAL 또는 DB)
-     * @return 해당 유형의 언어 리스트
+     * @return 해당 유형의 언어 리스트 (읽기 전용, 언어명 순)
      */
     public List<LanguageDto> getLanguagesByType(LanguageType languageType) {
-        return languageMapper.selectByType(languageType.name());
+        return index().byType().getOrDefault(languageType, List.of());
     }
 
     /**
      * 실제 시간 제한 계산 (편의 메서드)
+     * baseTimeLimit * timeFactor + timeAddition (LanguageDto.calculateRealTimeLimit과 동일)
      *
      * @param languageId    언어 ID
      * @param baseTimeLimit 문제의 기본 시간 제한 (ms)
      * @return 계산된 실제 시간 제한 (ms), 언어를 찾을 수 없으면 기본값 반환
      */
     public int calculateRealTimeLimit(Integer languageId, int baseTimeLimit) {
-        LanguageDto language = getById(languageId);
+        Limits limits = languageId != null ? index().limits().get(languageId) : null;
 
-        if (language == null) {
+        if (limits == null) {
             log.warn("언어 ID '{}'를 찾을 수 없어 기본 시간 제한 사용: {}ms", languageId, baseTimeLimit);
             return baseTimeLimit;
         }
 
-        return language.calculateRealTimeLimit(baseTimeLimit);
+        return (int) Math.round(baseTimeLimit * limits.timeFactor() + limits.timeAddition());
     }
 
     /**
      * 실제 메모리 제한 계산 (편의 메서드)
+     * baseMemoryLimit * memoryFactor + memoryAddition (LanguageDto.calculateRealMemoryLimit과 동일)
      *
      * @param languageId      언어 ID
      * @param baseMemoryLimit 문제의 기본 메모리 제한 (MB)
      * @return 계산된 실제 메모리 제한 (MB), 언어를 찾을 수 없으면 기본값 반환
      */
     public int calculateRealMemoryLimit(Integer languageId, int baseMemoryLimit) {
-        LanguageDto language = getById(languageId);
+        Limits limits = languageId != null ? index().limits().get(languageId) : null;
 
-        if (language == null) {
+        if (limits == null) {
             log.warn("언어 ID '{}'를 찾을 수 없어 기본 메모리 제한 사용: {}MB", languageId, baseMemoryLimit);
             return baseMemoryLimit;
         }
 
-        return language.calculateRealMemoryLimit(baseMemoryLimit);
+        return (int) Math.round(baseMemoryLimit * limits.memoryFactor() + limits.memoryAddition());
     }
 
     /**
@@ -140,6 +259,7 @@ public class LanguageService {
                     "언어 ID '" + language.getLanguageId() + "'를 찾을 수 없습니다.");
         }
 
+        publishChange();
         log.info("언어 업데이트 완료: ID={}", language.getLanguageId());
     }
 
@@ -154,6 +274,7 @@ public class LanguageService {
 
         languageMapper.insert(language);
 
+        publishChange();
         log.info("새 언어 추가 완료: ID={}", language.getLanguageId());
     }
 
@@ -173,6 +294,54 @@ public class LanguageService {
             throw new IllegalArgumentException("언어 ID '" + languageId + "'를 찾을 수 없습니다.");
         }
 
+        publishChange();
         log.info("언어 삭제 완료: ID={}", languageId);
     }
+
+    private LanguageIndex index() {
+        LanguageIndex current = index;
+        if (current == null) {
+            reload();
+            current = index;
+        }
+        return current;
+    }
+
+    /**
+     * 변경 커밋 후 로컬 즉시 재적재 + 버전 증가 (다른 노드는 refreshIfStale에서 반영)
+     */
+    private void publishChange() {
+        Runnable action = () -> {
+            try {
+                stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+            } catch (Exception e) {
+                log.warn("언어 목록 버전 증가 실패 - 다른 노드는 max-age 경과 후 반영: {}", e.getMessage());
+            }
+            reload();
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private String readVersion() {
+        try {
+            return stringRedisTemplate.opsForValue().get(VERSION_KEY);
+        } catch (Exception e) {
+            log.debug("언어 목록 버전 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
 }
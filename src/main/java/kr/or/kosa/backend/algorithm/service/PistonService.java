@@ -1,17 +1,36 @@
 package kr.or.kosa.backend.algorithm.service;
 
 import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgePolicy;
 import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.reactive.function.client.WebClient;
-
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Piston API 연동 서비스
@@ -21,25 +40,88 @@ import java.util.concurrent.CompletableFuture;
  * 변경사항 (2025-12-13):
  * - LANGUAGES.PISTON_LANGUAGE를 직접 사용하므로 매핑 로직 제거
  * - pistonLanguage (String)을 직접 전달받음
+ *
+ * 컴파일 1회 실행 모드 (piston.api.compile-once.enabled=true):
+ * - C++: 하네스(resources/piston/harness.cpp)가 stdin으로 받은 사용자 코드를 별도 실행 파일로 한 번만 컴파일,
+ *        케이스마다 fork + exec (RLIMIT_CPU/RLIMIT_AS, 벽시계 제한은 하네스가 건다)
+ * - Java: 하네스(resources/piston/CoaiHarness.java)가 javac로 한 번만 컴파일 후 예열하고,
+ *         케이스마다 새 ClassLoader로 같은 JVM에서 실행 (실행 스레드 CPU 시간 보고)
+ *
+ * 논블로킹 파이프라인: judgeCodeReactive가 기본 구현, judgeCode(CompletableFuture)는 호환 API
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PistonService {
 
+    private static final String JAVA_LANGUAGE = "java";
+    private static final String CASE_MARKER = "@@CASE ";
+    private static final String COMPILE_ERROR_MARKER = "@@COMPILE_ERROR ";
+    private static final int DEFAULT_CASE_TIME_LIMIT = 2000;
+    private static final Pattern JAVA_PUBLIC_CLASS_PATTERN =
+            Pattern.compile("public\\s+(?:final\\s+)?class\\s+(\\w+)");
+    private static final Pattern JAVA_PACKAGE_PATTERN = Pattern.compile("(?m)^\\s*package\\s+[\\w.]+\\s*;");
+
     private final WebClient pistonWebClient;
 
+    private static final ParameterizedTypeReference<Map<String, Object>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
     @Value("${piston.api.timeout:30000}")
     private Integer timeout;
 
+    // 케이스 동시 실행 수 (공개 API는 초당 요청 제한이 있으므로 작게 유지)
+    @Value("${piston.api.concurrency:4}")
+    private int caseConcurrency;
+
+    @Value("${piston.api.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${piston.api.retry.delay:1s}")
+    private Duration retryDelay;
+
+    // 컴파일 1회 + 다중 실행 모드 (컴파일 언어의 케이스별 재컴파일 비용 제거)
+    @Value("${piston.api.compile-once.enabled:false}")
+    private boolean compileOnceEnabled;
+
+    @Value("${piston.api.compile-once.languages:c++,java}")
+    private Set<String> compileOnceLanguages;
+
+    // 하네스 전체 실행 제한 (Piston 서버의 run_timeout 상한 이하로 설정)
+    @Value("${piston.api.compile-once.run-timeout:15000}")
+    private int harnessRunTimeout;
+
+    private String cppHarness;
+    private String javaHarness;
+
     /**
-     * AlgoTestcaseDto 목록으로 채점 실행
+     * 하네스 템플릿 로드 (resources/piston)
+     * 로드 실패 시 해당 언어는 기존 개별 실행 방식 사용
+     */
+    @PostConstruct
+    public void loadHarnessTemplates() {
+        cppHarness = loadHarness("piston/harness.cpp");
+        javaHarness = loadHarness("piston/CoaiHarness.java");
+    }
+
+    private String loadHarness(String path) {
+        try {
+            return StreamUtils.copyToString(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.warn("Piston 하네스 템플릿 로드 실패 - {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * AlgoTestcaseDto 목록으로 채점 실행 (CompletableFuture 호환 API)
      *
      * @param sourceCode     제출할 소스 코드
      * @param pistonLanguage Piston API 언어명 (LANGUAGES.PISTON_LANGUAGE)
      * @param testCases      AlgoTestcaseDto 목록
      * @param timeLimit      시간 제한 (ms)
      * @param memoryLimit    메모리 제한 (KB)
+     * @param policy         채점 정책 (FULL / STOP_ON_FIRST_FAILURE)
      * @return 채점 결과 (TestRunResponseDto)
      */
     public CompletableFuture<TestRunResponseDto> judgeCode(
@@ -47,76 +129,422 @@ public class PistonService {
             String pistonLanguage,
             List<AlgoTestcaseDto> testCases,
             Integer timeLimit,
-            Integer memoryLimit) {
+            Integer memoryLimit,
+            JudgePolicy policy) {
+        return judgeCodeReactive(sourceCode, pistonLanguage, testCases, timeLimit, memoryLimit, policy).toFuture();
+    }
 
-        return CompletableFuture.supplyAsync(() -> {
-            log.info("Piston 채점 시작 - pistonLanguage: {}, testCases: {}", pistonLanguage, testCases.size());
+    /**
+     * 논블로킹 채점
+     * 케이스는 piston.api.concurrency 만큼 동시에 실행하고 결과는 케이스 순서대로 수집
+     */
+    public Mono<TestRunResponseDto> judgeCodeReactive(
+            String sourceCode,
+            String pistonLanguage,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy) {
+        return judgeCodeReactive(sourceCode, pistonLanguage, testCases, timeLimit, memoryLimit, policy, result -> { });
+    }
 
-            if (pistonLanguage == null || pistonLanguage.isBlank()) {
-                throw new IllegalArgumentException("Piston 언어명이 null 또는 빈 문자열입니다");
-            }
+    /**
+     * 논블로킹 채점 (케이스별 진행 알림)
+     *
+     * @param onCaseResult 케이스 결과가 순서대로 확정될 때마다 호출 (SKIPPED 케이스는 호출되지 않음)
+     */
+    public Mono<TestRunResponseDto> judgeCodeReactive(
+            String sourceCode,
+            String pistonLanguage,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+        return judgeCodeReactive(pistonWebClient, sourceCode, pistonLanguage, testCases, timeLimit, memoryLimit, policy,
+                onCaseResult);
+    }
+
+    /**
+     * 논블로킹 채점 (대상 Piston 인스턴스 지정)
+     *
+     * @param client 요청을 보낼 Piston 인스턴스의 WebClient
+     */
+    public Mono<TestRunResponseDto> judgeCodeReactive(
+            WebClient client,
+            String sourceCode,
+            String pistonLanguage,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+
+        if (pistonLanguage == null || pistonLanguage.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Piston 언어명이 null 또는 빈 문자열입니다"));
+        }
 
-            List<TestRunResponseDto.TestCaseResultDto> results = new ArrayList<>();
-            int passedCount = 0;
-            int maxExecutionTime = 0;
-            int maxMemoryUsage = 0;
+        return Mono.defer(() -> {
+            log.info("Piston 채점 시작 - pistonLanguage: {}, policy: {}, testCases: {}",
+                    pistonLanguage, policy, testCases.size());
 
-            for (int i = 0; i < testCases.size(); i++) {
-                AlgoTestcaseDto testCase = testCases.get(i);
+            return usesCompileOnce(pistonLanguage, sourceCode, testCases)
+                    ? judgeCompileOnce(client, sourceCode, pistonLanguage, testCases, timeLimit, memoryLimit, policy, onCaseResult)
+                    : collectResults(client, sourceCode, pistonLanguage, testCases, timeLimit, memoryLimit, policy,
+                            new TestRunResponseDto.TestCaseResultDto[testCases.size()], onCaseResult);
+        }).map(results -> aggregateResults(results, testCases.size()));
+    }
 
-                try {
+    /**
+     * 케이스별 결과 수집
+     * precomputed에 결과가 있는 케이스는 그대로 사용하고, 없는 케이스만 개별 실행
+     * STOP_ON_FIRST_FAILURE 정책이면 순서상 첫 실패 이후 구독을 취소하고 나머지는 SKIPPED 처리
+     */
+    private Mono<List<TestRunResponseDto.TestCaseResultDto>> collectResults(
+            WebClient client,
+            String sourceCode,
+            String pistonLanguage,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            TestRunResponseDto.TestCaseResultDto[] precomputed,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+
+        Flux<TestRunResponseDto.TestCaseResultDto> ordered = Flux.range(0, testCases.size())
+                .flatMapSequential(i -> {
+                    if (precomputed[i] != null) {
+                        return Mono.just(precomputed[i]);
+                    }
+                    AlgoTestcaseDto testCase = testCases.get(i);
                     log.debug("테스트케이스 {} 실행 중...", i + 1);
+                    return executeSingleTestCase(client, sourceCode, pistonLanguage, testCase, i + 1, timeLimit, memoryLimit)
+                            .onErrorResume(e -> {
+                                log.error("테스트케이스 {} 실행 중 오류: {}", i + 1, e.getMessage());
+                                return Mono.just(TestRunResponseDto.TestCaseResultDto.builder()
+                                        .testCaseNumber(i + 1)
+                                        .input(testCase.getInputData())
+                                        .expectedOutput(testCase.getExpectedOutput())
+                                        .result("ERROR")
+                                        .errorMessage("Piston API 오류: " + e.getMessage())
+                                        .build());
+                            });
+                }, Math.max(1, caseConcurrency));
+
+        if (policy.stopsOnFailure()) {
+            ordered = ordered.takeUntil(result -> !isPassed(result));
+        }
 
-                    TestRunResponseDto.TestCaseResultDto result = executeSingleTestCase(
-                            sourceCode, pistonLanguage, testCase, i + 1, timeLimit, memoryLimit);
+        return ordered.doOnNext(onCaseResult).collectList().map(completed -> {
+            List<TestRunResponseDto.TestCaseResultDto> results = new ArrayList<>(completed);
+            if (results.size() < testCases.size()) {
+                log.info("테스트케이스 {} 실패 - 나머지 {} 케이스 건너뜀",
+                        results.size(), testCases.size() - results.size());
+            }
+            // 첫 실패 시 중단 정책: 나머지 케이스는 SKIPPED
+            for (int j = results.size(); j < testCases.size(); j++) {
+                results.add(TestRunResponseDto.TestCaseResultDto.builder()
+                        .testCaseNumber(j + 1)
+                        .input(testCases.get(j).getInputData())
+                        .expectedOutput(testCases.get(j).getExpectedOutput())
+                        .result("SKIPPED")
+                        .errorMessage("이전 테스트케이스 실패로 실행하지 않았습니다")
+                        .build());
+            }
+            return results;
+        });
+    }
 
-                    results.add(result);
+    /**
+     * 컴파일 1회 실행 모드 사용 여부
+     * - 설정에서 활성화되고, 대상 언어이며, 케이스가 2개 이상일 때만 사용
+     * - Java는 package 선언이 있으면 하네스가 클래스를 찾을 수 없으므로 제외
+     */
+    private boolean usesCompileOnce(String pistonLanguage, String sourceCode, List<AlgoTestcaseDto> testCases) {
+        if (!compileOnceEnabled || testCases.size() < 2
+                || !compileOnceLanguages.contains(pistonLanguage.toLowerCase())) {
+            return false;
+        }
+        if (JAVA_LANGUAGE.equalsIgnoreCase(pistonLanguage)) {
+            return javaHarness != null && !JAVA_PACKAGE_PATTERN.matcher(sourceCode).find();
+        }
+        return cppHarness != null;
+    }
 
-                    if ("AC".equals(result.getResult()) || "PASS".equals(result.getResult())) {
-                        passedCount++;
+    /**
+     * 컴파일 1회 + 다중 실행 (Java / C++)
+     * 하네스가 사용자 코드를 한 번만 컴파일하고 모든 stdin 입력을 순회 실행한 뒤,
+     * 케이스별 출력/시간/메모리를 프레이밍하여 반환한다.
+     * 하네스 결과가 없는 케이스(출력 제한으로 잘림, 실행 실패 등)는 기존 개별 실행으로 보완
+     */
+    private Mono<List<TestRunResponseDto.TestCaseResultDto>> judgeCompileOnce(
+            WebClient client,
+            String sourceCode,
+            String pistonLanguage,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            JudgePolicy policy,
+            Consumer<TestRunResponseDto.TestCaseResultDto> onCaseResult) {
+
+        TestRunResponseDto.TestCaseResultDto[] precomputed = new TestRunResponseDto.TestCaseResultDto[testCases.size()];
+
+        // 요청마다 새로 만드는 결과 줄 마커 - 사용자 코드가 출력한 가짜 결과 줄은 마커가 없어 무시된다
+        String marker = UUID.randomUUID().toString().replace("-", "");
+        int caseTimeLimit = timeLimit != null ? timeLimit : DEFAULT_CASE_TIME_LIMIT;
+
+        return executeHarness(client, sourceCode, pistonLanguage, testCases, caseTimeLimit, memoryLimit, marker)
+                .doOnNext(response -> {
+                    if (harnessCompileFailed(response)) {
+                        // 하네스 자체 컴파일 실패 (사용자 코드와 무관) - 모든 케이스 개별 실행
+                        log.warn("Piston 하네스 컴파일 실패 - 개별 실행으로 전환: language={}", pistonLanguage);
+                        return;
                     }
 
-                    if (result.getExecutionTime() != null) {
-                        maxExecutionTime = Math.max(maxExecutionTime, result.getExecutionTime());
-                    }
-                    if (result.getMemoryUsage() != null) {
-                        maxMemoryUsage = Math.max(maxMemoryUsage, result.getMemoryUsage());
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> run = (Map<String, Object>) response.get("run");
+                    String stdout = run != null ? (String) run.get("stdout") : null;
+
+                    // 하네스는 사용자 소스만 단독 컴파일하므로 컴파일 에러를 그대로 신뢰
+                    String compileError = extractCompileError(stdout, marker);
+                    if (compileError != null) {
+                        fillCompileError(precomputed, testCases, compileError);
+                        return;
                     }
 
-                } catch (Exception e) {
-                    log.error("테스트케이스 {} 실행 중 오류", i + 1, e);
+                    int parsed = parseHarnessOutput(stdout, marker, caseTimeLimit, testCases, precomputed);
+                    log.info("Piston 컴파일 1회 실행 완료 - language: {}, 하네스 결과: {}/{}",
+                            pistonLanguage, parsed, testCases.size());
+                })
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Piston 하네스 실행 실패 - 개별 실행으로 전환: {}", e.getMessage());
+                    return Mono.<Void>empty();
+                })
+                .then(Mono.defer(() -> collectResults(client, sourceCode, pistonLanguage, testCases, timeLimit, memoryLimit, policy, precomputed,
+                        onCaseResult)));
+    }
+
+    /**
+     * 하네스 요청 전송
+     */
+    private Mono<Map<String, Object>> executeHarness(
+            WebClient client,
+            String sourceCode,
+            String pistonLanguage,
+            List<AlgoTestcaseDto> testCases,
+            int caseTimeLimit,
+            Integer memoryLimit,
+            String marker) {
+
+        Map<String, Object> request = new java.util.HashMap<>();
+        request.put("language", pistonLanguage);
+        request.put("version", "*");
+
+        if (JAVA_LANGUAGE.equalsIgnoreCase(pistonLanguage)) {
+            // 첫 번째 파일(하네스)이 실행 대상, 사용자 소스는 public 클래스명과 같은 파일명으로 전달
+            String mainClass = detectJavaMainClass(sourceCode);
+            request.put("files", List.of(
+                    Map.of("name", "CoaiHarness.java", "content", javaHarness),
+                    Map.of("name", mainClass + ".java", "content", sourceCode)));
+            request.put("args", List.of(mainClass + ".java", mainClass, String.valueOf(caseTimeLimit)));
+            request.put("stdin", marker + "\n" + buildHarnessInput(testCases));
+        } else {
+            // Piston은 전달된 파일을 모두 함께 컴파일하므로 사용자 소스는 파일이 아닌 stdin으로 넘긴다
+            Long memoryLimitBytes = toMemoryLimitBytes(memoryLimit);
+            request.put("files", List.of(Map.of("name", "main.cpp", "content", cppHarness)));
+            request.put("args", List.of(String.valueOf(caseTimeLimit),
+                    String.valueOf(memoryLimitBytes != null ? memoryLimitBytes : 0L)));
+            request.put("stdin", marker + "\n" + lengthPrefixed(sourceCode) + buildHarnessInput(testCases));
+        }
+
+        request.put("run_timeout", harnessRunTimeout);
+        putMemoryLimit(request, memoryLimit);
+
+        log.info("Piston 하네스 요청 - language: {}, testCases: {}, run_timeout: {}ms",
+                pistonLanguage, testCases.size(), harnessRunTimeout);
+
+        // 하네스 실행은 비용이 크므로 재시도하지 않고 실패 시 개별 실행으로 보완
+        return client.post()
+                .uri("/execute")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(RESPONSE_TYPE)
+                .timeout(Duration.ofMillis(Math.max(timeout, harnessRunTimeout + 5000)))
+                .switchIfEmpty(Mono.error(new IllegalStateException("Piston 응답이 비어있습니다")));
+    }
+
+    /**
+     * 하네스 stdin 프로토콜 (케이스 부분): "<케이스 수>\n" + 케이스마다 "<UTF-8 바이트 길이>\n<입력>\n"
+     */
+    private String buildHarnessInput(List<AlgoTestcaseDto> testCases) {
+        StringBuilder sb = new StringBuilder().append(testCases.size()).append('\n');
+        for (AlgoTestcaseDto testCase : testCases) {
+            sb.append(lengthPrefixed(testCase.getInputData()));
+        }
+        return sb.toString();
+    }
+
+    private String lengthPrefixed(String value) {
+        String text = value != null ? value : "";
+        return text.getBytes(StandardCharsets.UTF_8).length + "\n" + text + "\n";
+    }
+
+    /**
+     * 하네스 파일 자체의 컴파일 단계 실패 (C++ 하네스는 사용자 코드를 포함하지 않으므로 하네스 문제)
+     */
+    @SuppressWarnings("unchecked")
+    private boolean harnessCompileFailed(Map<String, Object> response) {
+        Map<String, Object> compile = (Map<String, Object>) response.get("compile");
+        if (compile == null) {
+            return false;
+        }
+        Integer compileCode = (Integer) compile.get("code");
+        return compileCode != null && compileCode != 0;
+    }
+
+    /**
+     * 사용자 코드 컴파일 에러 추출 (하네스의 "@@COMPILE_ERROR <마커> <b64 진단>" 출력)
+     */
+    private String extractCompileError(String stdout, String marker) {
+        String prefix = COMPILE_ERROR_MARKER + marker + " ";
+        if (stdout != null && stdout.startsWith(prefix)) {
+            String encoded = stdout.substring(prefix.length()).trim();
+            return "컴파일 에러: " + decodeHarnessField(encoded);
+        }
+        return null;
+    }
+
+    private void fillCompileError(
+            TestRunResponseDto.TestCaseResultDto[] precomputed,
+            List<AlgoTestcaseDto> testCases,
+            String errorMessage) {
+        for (int i = 0; i < testCases.size(); i++) {
+            precomputed[i] = TestRunResponseDto.TestCaseResultDto.builder()
+                    .testCaseNumber(i + 1)
+                    .input(testCases.get(i).getInputData())
+                    .expectedOutput(testCases.get(i).getExpectedOutput())
+                    .result("CE")
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+
+    /**
+     * 하네스 출력 파싱
+     * "@@CASE <마커> <idx> <exitCode> <signal|-> <timeMs> <memoryKb|-1> <b64 stdout> <b64 stderr>"
+     * 마커가 다르거나 잘리거나 형식이 맞지 않는 줄은 무시 (해당 케이스는 개별 실행으로 보완)
+     * 측정 시간이 케이스 시간 제한을 넘으면 정상 종료였어도 TLE
+     *
+     * @return 파싱된 케이스 수
+     */
+    private int parseHarnessOutput(
+            String stdout,
+            String marker,
+            int caseTimeLimit,
+            List<AlgoTestcaseDto> testCases,
+            TestRunResponseDto.TestCaseResultDto[] precomputed) {
+
+        if (stdout == null) {
+            return 0;
+        }
 
-                    results.add(TestRunResponseDto.TestCaseResultDto.builder()
-                            .testCaseNumber(i + 1)
-                            .input(testCase.getInputData())
-                            .expectedOutput(testCase.getExpectedOutput())
-                            .result("ERROR")
-                            .errorMessage("Piston API 오류: " + e.getMessage())
-                            .build());
+        int parsed = 0;
+        for (String line : stdout.split("\n")) {
+            if (!line.startsWith(CASE_MARKER)) {
+                continue;
+            }
+            String[] parts = line.trim().split(" ");
+            if (parts.length != 9 || !marker.equals(parts[1])) {
+                continue;
+            }
+            try {
+                int index = Integer.parseInt(parts[2]);
+                if (index < 0 || index >= testCases.size() || precomputed[index] != null) {
+                    continue;
                 }
+
+                int timeMs = Integer.parseInt(parts[5]);
+                boolean overTimeLimit = timeMs > caseTimeLimit;
+
+                Map<String, Object> run = new java.util.HashMap<>();
+                run.put("code", overTimeLimit ? -1 : Integer.parseInt(parts[3]));
+                run.put("signal", overTimeLimit ? "SIGXCPU" : "-".equals(parts[4]) ? null : parts[4]);
+                run.put("stdout", decodeHarnessField(parts[7]));
+                run.put("stderr", decodeHarnessField(parts[8]));
+
+                long memoryKb = Long.parseLong(parts[6]);
+                precomputed[index] = interpretRun(run, testCases.get(index), index + 1,
+                        timeMs, memoryKb >= 0 ? (int) memoryKb : null);
+                parsed++;
+            } catch (IllegalArgumentException e) {
+                log.debug("하네스 출력 파싱 실패: {}", e.getMessage());
             }
+        }
+        return parsed;
+    }
 
-            String overallResult = determineOverallResult(results, passedCount, testCases.size());
+    private String decodeHarnessField(String encoded) {
+        if ("-".equals(encoded)) {
+            return "";
+        }
+        return new String(Base64.getDecoder().decode(encoded), StandardCharsets.UTF_8);
+    }
 
-            log.info("Piston 채점 완료 - 총 {} 케이스, 통과 {} 케이스, 결과: {}",
-                    results.size(), passedCount, overallResult);
+    /**
+     * public 클래스명 추출 (없으면 Main)
+     */
+    private String detectJavaMainClass(String sourceCode) {
+        Matcher matcher = JAVA_PUBLIC_CLASS_PATTERN.matcher(sourceCode);
+        return matcher.find() ? matcher.group(1) : "Main";
+    }
 
-            return TestRunResponseDto.builder()
-                    .overallResult(overallResult)
-                    .passedCount(passedCount)
-                    .totalCount(testCases.size())
-                    .testPassRate((double) passedCount / testCases.size() * 100.0)
-                    .maxExecutionTime(maxExecutionTime)
-                    .maxMemoryUsage(maxMemoryUsage)
-                    .testCaseResults(results)
-                    .build();
-        });
+    /**
+     * 테스트케이스별 결과를 TestRunResponseDto로 집계
+     */
+    private TestRunResponseDto aggregateResults(List<TestRunResponseDto.TestCaseResultDto> results, int totalCount) {
+        int passedCount = 0;
+        int maxExecutionTime = 0;
+        int maxMemoryUsage = 0;
+
+        for (TestRunResponseDto.TestCaseResultDto result : results) {
+            if (isPassed(result)) {
+                passedCount++;
+            }
+            if (result.getExecutionTime() != null) {
+                maxExecutionTime = Math.max(maxExecutionTime, result.getExecutionTime());
+            }
+            if (result.getMemoryUsage() != null) {
+                maxMemoryUsage = Math.max(maxMemoryUsage, result.getMemoryUsage());
+            }
+        }
+
+        String overallResult = determineOverallResult(results, passedCount, totalCount);
+
+        log.info("Piston 채점 완료 - 총 {} 케이스, 통과 {} 케이스, 결과: {}",
+                results.size(), passedCount, overallResult);
+
+        return TestRunResponseDto.builder()
+                .overallResult(overallResult)
+                .passedCount(passedCount)
+                .totalCount(totalCount)
+                .testPassRate((double) passedCount / totalCount * 100.0)
+                .maxExecutionTime(maxExecutionTime)
+                .maxMemoryUsage(maxMemoryUsage)
+                .testCaseResults(results)
+                .build();
+    }
+
+    private boolean isPassed(TestRunResponseDto.TestCaseResultDto result) {
+        return "AC".equals(result.getResult()) || "PASS".equals(result.getResult());
     }
 
     /**
      * 단일 테스트케이스 실행
+     * 재시도 시 실행 시간 측정도 새로 시작하도록 요청 생성을 defer로 감싼다
      */
-    private TestRunResponseDto.TestCaseResultDto executeSingleTestCase(
+    private Mono<TestRunResponseDto.TestCaseResultDto> executeSingleTestCase(
+            WebClient client,
             String sourceCode,
             String pistonLanguage,
             AlgoTestcaseDto testCase,
@@ -124,8 +552,6 @@ public class PistonService {
             Integer timeLimit,
             Integer memoryLimit) {
 
-        long startTime = System.currentTimeMillis();
-
         // Piston API 요청 생성
         // timeLimit: ms 단위로 전달됨
         // memoryLimit: KB 단위로 전달됨 → bytes로 변환 필요 (KB * 1024)
@@ -140,39 +566,59 @@ public class PistonService {
             request.put("run_timeout", timeLimit);
         }
 
-        // 메모리 제한 설정 (KB → bytes 변환)
-        // 최소 128MB 보장 (Python 등 인터프리터 언어 실행에 필요)
-        if (memoryLimit != null) {
-            long minMemoryBytes = 128L * 1024 * 1024; // 최소 128MB
-            long memoryLimitBytes = Math.max((long) memoryLimit * 1024, minMemoryBytes);
-            memoryLimitBytes = Math.min(memoryLimitBytes, 512L * 1024 * 1024); // 최대 512MB
-            request.put("run_memory_limit", memoryLimitBytes);
-        }
+        putMemoryLimit(request, memoryLimit);
         log.info("Piston 요청: {}", request);
-        try {
-            // Piston API 호출
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = pistonWebClient.post()
-                    .uri("/execute")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            long executionTime = System.currentTimeMillis() - startTime;
-
-            if (response == null) {
-                throw new RuntimeException("Piston 응답이 비어있습니다");
-            }
 
-            log.debug("Piston 응답: {}", response);
+        return Mono.defer(() -> {
+                    long startTime = System.currentTimeMillis();
+                    return client.post()
+                            .uri("/execute")
+                            .bodyValue(request)
+                            .retrieve()
+                            .bodyToMono(RESPONSE_TYPE)
+                            .timeout(Duration.ofMillis(timeout))
+                            .map(response -> {
+                                log.debug("Piston 응답: {}", response);
+                                int executionTime = (int) (System.currentTimeMillis() - startTime);
+                                return interpretResult(response, testCase, testCaseNumber, executionTime);
+                            });
+                })
+                .retryWhen(Retry.backoff(Math.max(0, retryMaxAttempts - 1), retryDelay)
+                        .filter(this::isRetryable)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .switchIfEmpty(Mono.error(new IllegalStateException("Piston 응답이 비어있습니다")))
+                .onErrorMap(e -> new RuntimeException("Piston 실행 실패: " + e.getMessage(), e));
+    }
 
-            return interpretResult(response, testCase, testCaseNumber, (int) executionTime);
+    /**
+     * 재시도 대상: 연결 실패, 타임아웃, 429(공개 API 요청 제한)/5xx 응답
+     */
+    private boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
+    }
 
-        } catch (Exception e) {
-            log.error("Piston API 호출 실패", e);
-            throw new RuntimeException("Piston 실행 실패: " + e.getMessage(), e);
+    /**
+     * 메모리 제한 설정 (KB → bytes 변환)
+     * 최소 128MB 보장 (Python 등 인터프리터 언어 실행에 필요)
+     */
+    private void putMemoryLimit(Map<String, Object> request, Integer memoryLimit) {
+        Long memoryLimitBytes = toMemoryLimitBytes(memoryLimit);
+        if (memoryLimitBytes != null) {
+            request.put("run_memory_limit", memoryLimitBytes);
+        }
+    }
+
+    private Long toMemoryLimitBytes(Integer memoryLimit) {
+        if (memoryLimit == null) {
+            return null;
         }
+        long minMemoryBytes = 128L * 1024 * 1024; // 최소 128MB
+        long memoryLimitBytes = Math.max((long) memoryLimit * 1024, minMemoryBytes);
+        return Math.min(memoryLimitBytes, 512L * 1024 * 1024); // 최대 512MB
     }
 
     /**
@@ -185,13 +631,6 @@ public class PistonService {
             Integer testCaseNumber,
             Integer executionTime) {
 
-        TestRunResponseDto.TestCaseResultDto.TestCaseResultDtoBuilder builder =
-                TestRunResponseDto.TestCaseResultDto.builder()
-                        .testCaseNumber(testCaseNumber)
-                        .input(testCase.getInputData())
-                        .expectedOutput(testCase.getExpectedOutput())
-                        .executionTime(executionTime);
-
         // 컴파일 단계 확인
         Map<String, Object> compile = (Map<String, Object>) response.get("compile");
         if (compile != null) {
@@ -199,15 +638,40 @@ public class PistonService {
             Integer compileCode = (Integer) compile.get("code");
 
             if (compileCode != null && compileCode != 0) {
-                return builder
+                return TestRunResponseDto.TestCaseResultDto.builder()
+                        .testCaseNumber(testCaseNumber)
+                        .input(testCase.getInputData())
+                        .expectedOutput(testCase.getExpectedOutput())
+                        .executionTime(executionTime)
                         .result("CE")
                         .errorMessage("컴파일 에러: " + compileStderr)
                         .build();
             }
         }
 
+        return interpretRun((Map<String, Object>) response.get("run"), testCase, testCaseNumber, executionTime, null);
+    }
+
+    /**
+     * 실행(run) 단계 결과 해석
+     * 일반 실행과 컴파일 1회 하네스 결과가 동일한 판정 로직을 공유
+     */
+    private TestRunResponseDto.TestCaseResultDto interpretRun(
+            Map<String, Object> run,
+            AlgoTestcaseDto testCase,
+            Integer testCaseNumber,
+            Integer executionTime,
+            Integer memoryUsage) {
+
+        TestRunResponseDto.TestCaseResultDto.TestCaseResultDtoBuilder builder =
+                TestRunResponseDto.TestCaseResultDto.builder()
+                        .testCaseNumber(testCaseNumber)
+                        .input(testCase.getInputData())
+                        .expectedOutput(testCase.getExpectedOutput())
+                        .executionTime(executionTime)
+                        .memoryUsage(memoryUsage);
+
         // 실행 단계 확인
-        Map<String, Object> run = (Map<String, Object>) response.get("run");
         if (run == null) {
             return builder
                     .result("ERROR")
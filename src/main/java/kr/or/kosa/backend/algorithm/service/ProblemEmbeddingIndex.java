@@ -0,0 +1,427 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import jakarta.annotation.PostConstruct;
+import kr.or.kosa.backend.algorithm.event.ProblemEmbeddingChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 문제 임베딩 컬렉션(Qdrant)의 로컬 HNSW 사본 (노드 로컬)
+ *
+ * 생성 문제 유사도 검사는 소스/테마별로 Qdrant 검색을 여러 번 하면서 매번 같은 쿼리를 다시 임베딩했다.
+ * 이 인덱스가 최신이면 쿼리를 한 번만 임베딩해서 모든 임계값 검사를 로컬에서 처리한다.
+ *
+ * - 기동 시 scroll API로 벡터까지 전부 읽어 그래프를 만든다
+ * - ProblemVectorStoreService의 저장/삭제 이벤트로 바뀐 ID를 모아 두었다가 주기 동기화에서 Qdrant에서 다시 읽어 반영
+ * - 변경을 만든 노드는 Redis의 변경 카운터를 올린다. 다른 노드가 쓴 변경은 이벤트가 오지 않으므로
+ *   주기적으로 카운터(= 마지막으로 반영한 값 + 자기 노드 변경 수)와 문서 수를 비교하고, 다르면 전체를 다시 읽는다
+ *   (문서 수만 비교하면 다른 노드의 수정이나 추가+삭제를 놓친다)
+ * - 반영 대기 중인 변경이 있거나 최근 검증이 오래됐으면 최신이 아닌 것으로 보고 호출 쪽이 Qdrant로 검색한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProblemEmbeddingIndex {
+
+    private static final int SCROLL_BATCH_SIZE = 256;
+    private static final int FETCH_BATCH_SIZE = 256;
+    private static final int MAX_LINKS = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int EXACT_SEARCH_LIMIT = 2000;
+    private static final String CONTENT_KEY = "doc_content";
+    private static final String CHANGE_COUNTER_KEY = "algo:similarity:embedding-changes";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${algorithm.similarity.local-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${algorithm.similarity.local-index.ef-search:128}")
+    private int efSearch;
+
+    @Value("${algorithm.similarity.local-index.verify-interval-ms:30000}")
+    private long verifyIntervalMs;
+
+    @Value("${algorithm.similarity.local-index.max-staleness-ms:120000}")
+    private long maxStalenessMs;
+
+    @Value("${algorithm.similarity.local-index.rebuild-interval-ms:3600000}")
+    private long rebuildIntervalMs;
+
+    @Value("${algorithm.similarity.local-index.max-deleted-ratio:0.3}")
+    private double maxDeletedRatio;
+
+    @Value("${spring.ai.vectorstore.qdrant.host:localhost}")
+    private String qdrantHost;
+
+    @Value("${QDRANT_COLLECTION_ALGORITHM:coai_documents}")
+    private String collectionName;
+
+    private WebClient webClient;
+
+    private volatile HnswGraph<IndexedProblem> graph;
+    private volatile long lastVerifiedAt;
+    private volatile long lastRebuildAt;
+    private volatile long lastRebuildAttemptAt;
+
+    private final Set<String> pendingUpserts = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+
+    // 마지막 재구성/검증 시점의 변경 카운터, 그 이후 이 노드가 올린 횟수 (Redis 장애 시 null)
+    private volatile Long syncedChangeCount;
+    private final AtomicLong ownChanges = new AtomicLong();
+
+    /**
+     * 인덱스에 담는 문서 내용 (Qdrant payload의 doc_content와 나머지 메타데이터)
+     */
+    public record IndexedProblem(String text, Map<String, Object> metadata) {
+    }
+
+    @PostConstruct
+    public void initClient() {
+        webClient = WebClient.builder()
+                .baseUrl("http://" + qdrantHost + ":6333")
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(64 * 1024 * 1024))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (!enabled) {
+            log.info("로컬 유사도 인덱스 비활성화 - Qdrant 검색만 사용");
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("로컬 유사도 인덱스 초기 로드 실패 - Qdrant 검색으로 대체: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onEmbeddingChanged(ProblemEmbeddingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        recordChange();
+        // 같은 ID의 변경은 마지막 것만 남긴다
+        if (event.getDeletedIds() != null) {
+            event.getDeletedIds().forEach(id -> {
+                pendingUpserts.remove(id);
+                pendingDeletes.add(id);
+            });
+        }
+        if (event.getUpsertedIds() != null) {
+            event.getUpsertedIds().forEach(id -> {
+                pendingDeletes.remove(id);
+                pendingUpserts.add(id);
+            });
+        }
+    }
+
+    /**
+     * 주기 동기화 - 대기 중인 변경 반영, 검증 주기가 지나면 변경 카운터/문서 수 비교, 재구성 주기가 지나면 전체 재구성
+     */
+    @Scheduled(fixedDelayString = "${algorithm.similarity.local-index.sync-interval-ms:2000}",
+            initialDelayString = "${algorithm.similarity.local-index.sync-interval-ms:2000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            HnswGraph<IndexedProblem> current = graph;
+            if (current == null) {
+                // 초기 로드가 실패한 경우 - 검증 주기마다 다시 시도
+                if (now - lastRebuildAttemptAt >= verifyIntervalMs) {
+                    rebuild();
+                }
+                return;
+            }
+            if (now - lastRebuildAt >= rebuildIntervalMs || current.deletedRatio() > maxDeletedRatio) {
+                rebuild();
+                return;
+            }
+            applyPending();
+            if (now - lastVerifiedAt >= verifyIntervalMs && !hasPending()) {
+                verify();
+            }
+        } catch (Exception e) {
+            log.warn("로컬 유사도 인덱스 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로컬 검색 결과를 Qdrant와 같다고 볼 수 있는지
+     * (로드 완료, 반영 대기 변경 없음, 최근 검증이 maxStalenessMs 이내)
+     */
+    public boolean isFresh() {
+        return enabled
+                && graph != null
+                && !hasPending()
+                && System.currentTimeMillis() - lastVerifiedAt <= maxStalenessMs;
+    }
+
+    /**
+     * 로컬 유사도 검색 (VectorStore.similaritySearch와 같은 형태의 Document 목록)
+     *
+     * @param queryVector 쿼리 임베딩 (Qdrant에 저장할 때와 같은 EmbeddingModel로 만든 것)
+     * @param topK        반환할 최대 결과 수
+     * @param minScore    최소 코사인 유사도
+     * @param filter      메타데이터 조건 (null이면 전체)
+     */
+    public List<Document> search(float[] queryVector, int topK, double minScore,
+                                 Predicate<Map<String, Object>> filter) {
+        HnswGraph<IndexedProblem> current = graph;
+        if (current == null) {
+            throw new IllegalStateException("로컬 유사도 인덱스가 로드되지 않았습니다");
+        }
+        Predicate<IndexedProblem> payloadFilter = filter != null ? problem -> filter.test(problem.metadata()) : null;
+
+        List<Document> documents = new ArrayList<>();
+        for (HnswGraph.Match<IndexedProblem> match : current.search(queryVector, topK, efSearch, minScore, payloadFilter)) {
+            Map<String, Object> metadata = new HashMap<>(match.payload().metadata());
+            metadata.put("distance", 1.0 - match.score());
+            documents.add(new Document(match.id(), match.payload().text(), metadata));
+        }
+        return documents;
+    }
+
+    public int size() {
+        HnswGraph<IndexedProblem> current = graph;
+        return current != null ? current.size() : 0;
+    }
+
+    private boolean hasPending() {
+        return !pendingUpserts.isEmpty() || !pendingDeletes.isEmpty();
+    }
+
+    /**
+     * 컬렉션 전체를 읽어 새 그래프를 만들고 교체
+     * 읽기 시작 전에 쌓여 있던 변경은 읽은 내용에 이미 들어 있으므로 버린다
+     */
+    private synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lastRebuildAttemptAt = startedAt;
+        Set<String> coveredUpserts = Set.copyOf(pendingUpserts);
+        Set<String> coveredDeletes = Set.copyOf(pendingDeletes);
+        // 읽기 전에 카운터를 잡아 두면, 읽는 동안 다른 노드가 바꾼 경우 다음 검증에서 다시 재구성된다
+        long ownBefore = ownChanges.get();
+        Long changeCount = readChangeCount();
+
+        HnswGraph<IndexedProblem> rebuilt = new HnswGraph<>(MAX_LINKS, EF_CONSTRUCTION, EXACT_SEARCH_LIMIT);
+        Object offset = null;
+        do {
+            Map<String, Object> requestBody = new HashMap<>();
+            requestBody.put("limit", SCROLL_BATCH_SIZE);
+            requestBody.put("with_payload", true);
+            requestBody.put("with_vector", true);
+            if (offset != null) {
+                requestBody.put("offset", offset);
+            }
+
+            Map<String, Object> result = post("/collections/" + collectionName + "/points/scroll", requestBody);
+            for (Map<String, Object> point : pointsOf(result)) {
+                addPoint(rebuilt, point);
+            }
+            offset = result.get("next_page_offset");
+        } while (offset != null);
+
+        pendingUpserts.removeAll(coveredUpserts);
+        pendingDeletes.removeAll(coveredDeletes);
+        graph = rebuilt;
+        syncedChangeCount = changeCount;
+        ownChanges.addAndGet(-ownBefore);
+        lastRebuildAt = startedAt;
+        lastVerifiedAt = startedAt;
+        log.info("로컬 유사도 인덱스 재구성 완료 - 문서: {}개, 소요: {}ms",
+                rebuilt.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 이벤트로 들어온 변경 반영 - 삭제는 바로, 추가/수정은 Qdrant에서 벡터를 다시 읽어서
+     */
+    private synchronized void applyPending() {
+        HnswGraph<IndexedProblem> current = graph;
+        if (current == null || !hasPending()) {
+            return;
+        }
+
+        List<String> deletes = List.copyOf(pendingDeletes);
+        deletes.forEach(current::remove);
+        pendingDeletes.removeAll(deletes);
+
+        List<String> upserts = List.copyOf(pendingUpserts);
+        for (int from = 0; from < upserts.size(); from += FETCH_BATCH_SIZE) {
+            List<String> batch = upserts.subList(from, Math.min(from + FETCH_BATCH_SIZE, upserts.size()));
+            // 읽는 동안 같은 ID가 다시 바뀌면 다음 동기화에서 한 번 더 반영되도록 먼저 뺀다
+            pendingUpserts.removeAll(batch);
+            List<Map<String, Object>> points;
+            try {
+                Map<String, Object> requestBody = new HashMap<>();
+                requestBody.put("ids", batch);
+                requestBody.put("with_payload", true);
+                requestBody.put("with_vector", true);
+                points = pointsOf(post("/collections/" + collectionName + "/points", requestBody));
+            } catch (RuntimeException e) {
+                pendingUpserts.addAll(upserts.subList(from, upserts.size()));
+                throw e;
+            }
+
+            Set<String> found = new HashSet<>();
+            for (Map<String, Object> point : points) {
+                if (addPoint(current, point)) {
+                    found.add(point.get("id").toString());
+                }
+            }
+            // Qdrant에 없는 ID는 그 사이 삭제된 것
+            batch.stream().filter(id -> !found.contains(id)).forEach(current::remove);
+        }
+
+        log.debug("로컬 유사도 인덱스 변경 반영 - 삭제: {}개, 추가/수정: {}개, 문서: {}개",
+                deletes.size(), upserts.size(), current.size());
+    }
+
+    /**
+     * 변경 카운터와 Qdrant 문서 수를 비교해 다르면 전체 재구성 (다른 노드에서 바뀐 경우)
+     */
+    private void verify() {
+        HnswGraph<IndexedProblem> current = graph;
+        long checkedAt = System.currentTimeMillis();
+
+        long own = ownChanges.get();
+        Long synced = syncedChangeCount;
+        Long changeCount = readChangeCount();
+        if (changeCount != null && (synced == null || changeCount != synced + own)) {
+            log.info("로컬 유사도 인덱스 변경 카운터 불일치 - Redis: {}, 로컬: {} → 재구성",
+                    changeCount, synced != null ? synced + own : null);
+            rebuild();
+            return;
+        }
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("exact", true);
+        Map<String, Object> result = post("/collections/" + collectionName + "/points/count", requestBody);
+        long count = result.get("count") instanceof Number number ? number.longValue() : -1L;
+
+        if (count != current.size()) {
+            log.info("로컬 유사도 인덱스 문서 수 불일치 - Qdrant: {}, 로컬: {} → 재구성", count, current.size());
+            rebuild();
+            return;
+        }
+        if (changeCount != null) {
+            syncedChangeCount = changeCount;
+            ownChanges.addAndGet(-own);
+        }
+        lastVerifiedAt = checkedAt;
+    }
+
+    /**
+     * 이 노드에서 만든 변경을 다른 노드에 알리는 카운터 증가
+     */
+    private void recordChange() {
+        try {
+            stringRedisTemplate.opsForValue().increment(CHANGE_COUNTER_KEY);
+            ownChanges.incrementAndGet();
+        } catch (Exception e) {
+            // 카운터를 못 올렸으면 다른 노드는 문서 수 비교와 주기 재구성으로만 따라온다
+            log.warn("로컬 유사도 인덱스 변경 카운터 증가 실패: {}", e.getMessage());
+        }
+    }
+
+    private Long readChangeCount() {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(CHANGE_COUNTER_KEY);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.warn("로컬 유사도 인덱스 변경 카운터 조회 실패 - 문서 수로만 검증: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Object> post(String uri, Map<String, Object> requestBody) {
+        Map<String, Object> response = webClient.post()
+                .uri(uri)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .block();
+
+        if (response == null || response.get("result") == null) {
+            throw new IllegalStateException("Qdrant 응답이 비어있습니다: " + uri);
+        }
+        Object result = response.get("result");
+        if (result instanceof List<?> list) {
+            // points 조회 API는 result가 바로 배열
+            Map<String, Object> wrapped = new HashMap<>();
+            wrapped.put("points", list);
+            return wrapped;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> resultMap = (Map<String, Object>) result;
+        return resultMap;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> pointsOf(Map<String, Object> result) {
+        return result.get("points") instanceof List<?> list ? (List<Map<String, Object>>) list : List.of();
+    }
+
+    /**
+     * Qdrant point 하나를 그래프에 추가 (벡터가 없으면 건너뜀)
+     */
+    @SuppressWarnings("unchecked")
+    private boolean addPoint(HnswGraph<IndexedProblem> target, Map<String, Object> point) {
+        float[] vector = toVector(point.get("vector"));
+        if (point.get("id") == null || vector == null) {
+            return false;
+        }
+        Map<String, Object> payload = point.get("payload") instanceof Map<?, ?> map
+                ? new HashMap<>((Map<String, Object>) map)
+                : new HashMap<>();
+        Object content = payload.remove(CONTENT_KEY);
+        // Document는 null 메타데이터 값을 허용하지 않는다
+        payload.values().removeIf(Objects::isNull);
+
+        target.upsert(point.get("id").toString(), vector,
+                new IndexedProblem(content != null ? content.toString() : "", payload));
+        return true;
+    }
+
+    /**
+     * 기본(이름 없는) 벡터는 숫자 배열, 이름 있는 벡터는 {이름: 배열} - 후자는 첫 번째 벡터 사용
+     */
+    private float[] toVector(Object raw) {
+        if (raw instanceof Map<?, ?> named) {
+            raw = named.isEmpty() ? null : named.values().iterator().next();
+        }
+        if (!(raw instanceof List<?> values) || values.isEmpty()) {
+            return null;
+        }
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = ((Number) values.get(i)).floatValue();
+        }
+        return vector;
+    }
+}
@@ -1,27 +1,50 @@
 package kr.or.kosa.backend.algorithm.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.or.kosa.backend.algorithm.dto.AlgoProblemDto;
 import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
 import kr.or.kosa.backend.algorithm.dto.DifficultySpec;
 import kr.or.kosa.backend.algorithm.dto.ValidationResultDto;
 import kr.or.kosa.backend.algorithm.dto.request.ProblemGenerationRequestDto;
 import kr.or.kosa.backend.algorithm.dto.response.ProblemGenerationResponseDto;
+import kr.or.kosa.backend.algorithm.event.ValidatedCandidateEvent;
 import kr.or.kosa.backend.algorithm.service.validation.CodeExecutionValidator;
 import kr.or.kosa.backend.algorithm.service.validation.SelfCorrectionService;
 import kr.or.kosa.backend.algorithm.service.validation.SimilarityChecker;
 import kr.or.kosa.backend.algorithm.service.validation.StructureValidator;
 import kr.or.kosa.backend.algorithm.service.validation.TimeRatioValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Phase 5-1: 문제 생성 메인 오케스트레이터
@@ -35,6 +58,9 @@ import java.util.function.Consumer;
  * Phase 4 개선:
  * - AlgorithmProfileRegistry 연동으로 프로필 기반 시간/메모리 제한 적용
  * - 유사도 검사에 테마 파라미터 전달 (Phase 3 연동)
+ *
+ * 병렬 생성 (algorithm.generation.speculative.enabled):
+ * - 후보 N개를 동시에 생성/검증해 먼저 통과한 후보 채택, 남은 통과 후보는 문제 풀로 전달
  */
 @Slf4j
 @Service
@@ -63,6 +89,15 @@ public class ProblemGenerationOrchestrator {
     // Code-First 테스트케이스 생성기
     private final TestCaseGeneratorService testCaseGeneratorService;
 
+    // 생성 1건 단위 실행 세션용 (optimal/naive 코드 실행 결과 공유)
+    private final CodeExecutorService codeExecutorService;
+
+    // 병렬 생성에서 남은 통과 후보를 문제 풀로 전달
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 스트리밍 응답의 테스트케이스 원소 파싱
+    private final ObjectMapper objectMapper;
+
     // RAG 설정
     @Value("${algorithm.generation.rag-enabled:true}")
     private boolean ragEnabled;
@@ -70,6 +105,86 @@ public class ProblemGenerationOrchestrator {
     @Value("${algorithm.generation.few-shot-count:3}")
     private int fewShotCount;
 
+    // 검증 단계 병렬 실행 설정
+    @Value("${algorithm.generation.validation.threads:8}")
+    private int validationThreads;
+
+    // 검증 풀 대기열 크기 (가득 차면 해당 단계는 바로 실패로 기록)
+    @Value("${algorithm.generation.validation.queue-capacity:64}")
+    private int validationQueueCapacity;
+
+    @Value("${algorithm.generation.validation.similarity-timeout-seconds:30}")
+    private long similarityTimeoutSeconds;
+
+    @Value("${algorithm.generation.validation.execution-timeout-seconds:90}")
+    private long executionTimeoutSeconds;
+
+    @Value("${algorithm.generation.validation.time-ratio-timeout-seconds:120}")
+    private long timeRatioTimeoutSeconds;
+
+    // 생성 문제의 풀이 코드 언어 (LANGUAGES 테이블의 LANGUAGE_NAME과 일치)
+    private static final String GENERATION_LANGUAGE = "Python";
+
+    private static final String STAGE_STRUCTURE = "StructureValidator";
+    private static final String STAGE_SIMILARITY = "SimilarityChecker";
+    private static final String STAGE_EXECUTION = "CodeExecutionValidator";
+    private static final String STAGE_TIME_RATIO = "TimeRatioValidator";
+
+    // 병렬(추측) 후보 생성 설정
+    // LLM 토큰 스트리밍 (초안 전달 + 테스트케이스 선실행)
+    @Value("${algorithm.generation.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    @Value("${algorithm.generation.speculative.enabled:false}")
+    private boolean speculativeEnabled;
+
+    @Value("${algorithm.generation.speculative.candidates:3}")
+    private int speculativeCandidates;
+
+    @Value("${algorithm.generation.speculative.timeout-seconds:300}")
+    private long speculativeTimeoutSeconds;
+
+    // 동시에 병렬 생성을 돌릴 수 있는 요청 수 (후보 풀 크기 = 후보 수 × 이 값)
+    @Value("${algorithm.generation.speculative.max-concurrent-generations:2}")
+    private int speculativeMaxConcurrentGenerations;
+
+    private ThreadPoolExecutor validationExecutor;
+    private ThreadPoolExecutor candidateExecutor;
+
+    @PostConstruct
+    void initValidationExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        validationExecutor = new ThreadPoolExecutor(validationThreads, validationThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, validationQueueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "problem-validation-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        validationExecutor.allowCoreThreadTimeOut(true);
+
+        // 후보 작업은 검증 단계 결과를 기다리며 블로킹하므로 검증 풀과 분리
+        // 대기열 없이 동시 생성 수만큼만 스레드를 두고 넘치면 거절한다
+        // (대기열에 쌓이면 뒤 요청은 앞 요청이 끝날 때까지 기다리는 동안 제한 시간을 다 써버린다)
+        AtomicInteger candidateSequence = new AtomicInteger();
+        int candidateThreads = Math.max(1, speculativeCandidates) * Math.max(1, speculativeMaxConcurrentGenerations);
+        candidateExecutor = new ThreadPoolExecutor(candidateThreads, candidateThreads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "problem-candidate-" + candidateSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        candidateExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdownValidationExecutor() {
+        candidateExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
     /**
      * 문제 생성 전체 플로우 실행 (생성 + 검증 + DB 저장)
      *
@@ -137,31 +252,48 @@ public class ProblemGenerationOrchestrator {
         long startTime = System.currentTimeMillis();
 
         try {
-            // 1. LLM으로 문제 생성 (testCases는 input만 포함)
-            notifyProgress(progressCallback, "GENERATING", "LLM 문제 생성 중...", 10);
-            ProblemGenerationResponseDto generatedProblem = generateWithLLM(request);
-
-            if (generatedProblem == null || generatedProblem.getProblem() == null) {
-                throw new RuntimeException("LLM 문제 생성 실패");
-            }
+            ProblemGenerationResponseDto generatedProblem;
+            GenerationExecutionSession executionSession;
+            List<ValidationResultDto> validationResults = null;
+            int attempt = 0;
 
-            // 2. Code-First: optimalCode 실행하여 testCase output 생성
-            notifyProgress(progressCallback, "GENERATING_OUTPUTS", "테스트케이스 출력 생성 중...", 15);
-            generatedProblem = generateTestCaseOutputs(generatedProblem);
+            if (speculativeEnabled && speculativeCandidates > 1) {
+                // 1~2. 후보 여러 개를 동시에 생성/검증하고 먼저 통과한 후보 채택 (모두 실패하면 가장 나은 후보로 Self-Correction)
+                SpeculativeCandidate chosen = generateSpeculatively(request, progressCallback);
+                generatedProblem = chosen.problem();
+                executionSession = chosen.executionSession();
+                validationResults = chosen.validationResults();
+                attempt = 1;
+            } else {
+                // Code-First 출력 생성과 검증기들이 같은 (코드, 입력) 실행 결과를 공유
+                executionSession = new GenerationExecutionSession(codeExecutorService);
+
+                // 1. LLM으로 문제 생성 (testCases는 input만 포함)
+                notifyProgress(progressCallback, "GENERATING", "LLM 문제 생성 중...", 10);
+                generatedProblem = generateWithLLM(request, executionSession, progressCallback);
+
+                if (generatedProblem == null || generatedProblem.getProblem() == null) {
+                    throw new RuntimeException("LLM 문제 생성 실패");
+                }
 
-            // 3. 검증 및 Self-Correction 루프
-            int attempt = 0;
-            List<ValidationResultDto> validationResults;
+                // 2. Code-First: optimalCode 실행하여 testCase output 생성
+                notifyProgress(progressCallback, "GENERATING_OUTPUTS", "테스트케이스 출력 생성 중...", 15);
+                generatedProblem = generateTestCaseOutputs(generatedProblem, executionSession);
+            }
 
+            // 3. 검증 및 Self-Correction 루프 (병렬 생성 후보는 첫 검증 결과를 그대로 사용)
             do {
-                attempt++;
-                notifyProgress(progressCallback, "VALIDATING",
-                        String.format("검증 중... (시도 %d/%d)", attempt, selfCorrectionService.getMaxAttempts() + 1),
-                        20 + (attempt * 15));
-
-                // Phase 4: 테마 파라미터 전달 (Phase 3 유사도 검사 연동)
-                String theme = request.getAdditionalRequirements();
-                validationResults = runAllValidations(generatedProblem, theme);
+                if (validationResults == null) {
+                    attempt++;
+                    notifyProgress(progressCallback, "VALIDATING",
+                            String.format("검증 중... (시도 %d/%d)", attempt, selfCorrectionService.getMaxAttempts() + 1),
+                            20 + (attempt * 15));
+
+                    // Phase 4: 테마 파라미터 전달 (Phase 3 유사도 검사 연동)
+                    String theme = request.getAdditionalRequirements();
+                    validationResults = runAllValidations(generatedProblem, theme, executionSession,
+                            progressCallback, 20 + (attempt * 15));
+                }
                 boolean allPassed = validationResults.stream().allMatch(ValidationResultDto::isPassed);
 
                 if (allPassed) {
@@ -184,6 +316,7 @@ public class ProblemGenerationOrchestrator {
                     if (corrected != null && corrected.getProblem() != null) {
                         generatedProblem = corrected;
                     }
+                    validationResults = null;
                 } else {
                     log.warn("최대 수정 시도 횟수 초과");
                     break;
@@ -199,8 +332,8 @@ public class ProblemGenerationOrchestrator {
             double generationTime = (System.currentTimeMillis() - startTime) / 1000.0;
             generatedProblem.setGenerationTime(generationTime);
 
-            log.info("문제 생성 완료 (저장 없음) - 소요시간: {}초, 품질등급: {}",
-                    generationTime, generatedProblem.getReviewStatus());
+            log.info("문제 생성 완료 (저장 없음) - 소요시간: {}초, 품질등급: {}, 코드 실행: {}",
+                    generationTime, generatedProblem.getReviewStatus(), executionSession.getSummary());
             return generatedProblem;
 
         } catch (Exception e) {
@@ -209,10 +342,200 @@ public class ProblemGenerationOrchestrator {
         }
     }
 
+    /**
+     * 병렬(추측) 생성 후보
+     */
+    private record SpeculativeCandidate(int index, ProblemGenerationResponseDto problem,
+                                        List<ValidationResultDto> validationResults,
+                                        GenerationExecutionSession executionSession) {
+
+        boolean passed() {
+            return validationResults.stream().allMatch(ValidationResultDto::isPassed);
+        }
+
+        long passedCount() {
+            return validationResults.stream().filter(ValidationResultDto::isPassed).count();
+        }
+    }
+
+    /**
+     * 후보 N개를 동시에 생성 (LLM → Code-First → 검증 1회)하고 먼저 모든 검증을 통과한 후보를 반환
+     *
+     * - 승자가 나오면 아직 생성 단계(LLM/Code-First)인 후보는 취소하고, 이미 검증 중인 후보는 끝까지 돌려
+     *   통과하면 ValidatedCandidateEvent로 문제 풀에 넘긴다 (이미 비용을 치른 결과를 버리지 않도록)
+     * - 통과한 후보가 없으면 통과한 검증기 수가 가장 많은 후보를 반환 (이후 Self-Correction 루프로 이어짐)
+     */
+    private SpeculativeCandidate generateSpeculatively(ProblemGenerationRequestDto request,
+                                                       Consumer<ProgressEvent> progressCallback) {
+        int candidateCount = speculativeCandidates;
+        log.info("병렬 후보 생성 시작 - 후보 수: {}", candidateCount);
+        notifyProgress(progressCallback, "GENERATING",
+                String.format("LLM 문제 후보 %d개 동시 생성 중...", candidateCount), 10);
+
+        Object progressLock = new Object();
+        Consumer<ProgressEvent> candidateCallback = progressCallback == null ? null : event -> {
+            synchronized (progressLock) {
+                progressCallback.accept(event);
+            }
+        };
+
+        CompletableFuture<SpeculativeCandidate> winner = new CompletableFuture<>();
+        CompletableFuture<Void> allDone = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(candidateCount);
+        List<SpeculativeCandidate> finished = new CopyOnWriteArrayList<>();
+        List<AtomicBoolean> validating = new ArrayList<>(candidateCount);
+        List<Future<?>> tasks = new ArrayList<>(candidateCount);
+
+        for (int i = 0; i < candidateCount; i++) {
+            int index = i + 1;
+            AtomicBoolean inValidation = new AtomicBoolean(false);
+            validating.add(inValidation);
+            Runnable candidateTask = () -> {
+                try {
+                    SpeculativeCandidate candidate = runCandidate(request, index, winner, inValidation, candidateCallback);
+                    if (candidate == null) {
+                        return;
+                    }
+                    finished.add(candidate);
+                    if (!candidate.passed()) {
+                        log.info("후보 #{} 검증 실패 - 통과: {}/{}",
+                                index, candidate.passedCount(), candidate.validationResults().size());
+                    } else if (winner.complete(candidate)) {
+                        log.info("후보 #{} 채택 - 모든 검증 통과", index);
+                    } else {
+                        publishExtraCandidate(request, candidate);
+                    }
+                } catch (Exception e) {
+                    log.warn("후보 #{} 생성 실패: {}", index, e.getMessage());
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        allDone.complete(null);
+                    }
+                }
+            };
+            try {
+                tasks.add(candidateExecutor.submit(candidateTask));
+            } catch (RejectedExecutionException e) {
+                // 후보 풀이 가득 참 - 이 후보는 빼고 진행
+                validating.remove(inValidation);
+                log.warn("후보 #{} 생성 거절 - 동시 병렬 생성 한도 초과", index);
+                if (remaining.decrementAndGet() == 0) {
+                    allDone.complete(null);
+                }
+            }
+        }
+        if (tasks.isEmpty()) {
+            throw new RuntimeException("동시 문제 생성 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        try {
+            CompletableFuture.anyOf(winner, allDone).get(speculativeTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelCandidates(tasks, validating, true);
+            throw new RuntimeException("병렬 문제 생성 중단", e);
+        } catch (Exception e) {
+            log.warn("병렬 후보 생성 대기 시간 초과 - timeout: {}초, 완료 후보: {}",
+                    speculativeTimeoutSeconds, finished.size());
+        }
+
+        SpeculativeCandidate chosen = winner.getNow(null);
+        if (chosen != null) {
+            cancelCandidates(tasks, validating, false);
+            notifyProgress(progressCallback, "VALIDATING",
+                    String.format("후보 #%d 채택 (모든 검증 통과)", chosen.index()), 50);
+            return chosen;
+        }
+
+        // 통과 후보 없음 - 남은 후보는 모두 취소하고 가장 나은 후보로 진행
+        cancelCandidates(tasks, validating, true);
+        chosen = finished.stream()
+                .max(Comparator.comparingLong(SpeculativeCandidate::passedCount))
+                .orElseThrow(() -> new RuntimeException("LLM 문제 생성 실패 - 모든 후보 실패"));
+        // 승자 자리를 채워두면 취소 전에 검증에 들어가 뒤늦게 통과한 후보도 문제 풀로 간다
+        winner.complete(chosen);
+        log.info("통과한 후보 없음 - 후보 #{}로 Self-Correction 진행 (통과: {}/{})",
+                chosen.index(), chosen.passedCount(), chosen.validationResults().size());
+        return chosen;
+    }
+
+    /**
+     * 후보 1개 생성 + 검증 1회 (단계 사이마다 승자가 나왔는지 확인해 일찍 포기)
+     *
+     * @return 검증까지 마친 후보 (승자가 먼저 나와 포기하면 null)
+     */
+    private SpeculativeCandidate runCandidate(ProblemGenerationRequestDto request, int index,
+                                              CompletableFuture<SpeculativeCandidate> winner,
+                                              AtomicBoolean inValidation,
+                                              Consumer<ProgressEvent> progressCallback) {
+        GenerationExecutionSession executionSession = new GenerationExecutionSession(codeExecutorService);
+
+        ProblemGenerationResponseDto problem = generateWithLLM(request, executionSession, null);
+        if (problem == null || problem.getProblem() == null) {
+            throw new RuntimeException("LLM 문제 생성 실패");
+        }
+        if (winner.isDone()) {
+            return null;
+        }
+
+        notifyProgress(progressCallback, "GENERATING_OUTPUTS",
+                String.format("후보 #%d 테스트케이스 출력 생성 중...", index), 15);
+        problem = generateTestCaseOutputs(problem, executionSession);
+        if (winner.isDone()) {
+            return null;
+        }
+
+        // 여기부터는 취소하지 않는다 (통과하면 문제 풀로)
+        inValidation.set(true);
+        notifyProgress(progressCallback, "VALIDATING", String.format("후보 #%d 검증 중...", index), 35);
+        List<ValidationResultDto> validationResults = runAllValidations(
+                problem, request.getAdditionalRequirements(), executionSession, null, 35);
+        log.info("후보 #{} 검증 완료 - 코드 실행: {}", index, executionSession.getSummary());
+        return new SpeculativeCandidate(index, problem, validationResults, executionSession);
+    }
+
+    /**
+     * 후보 작업 취소 (includeValidating=false면 검증 단계에 들어간 후보는 남겨둔다)
+     */
+    private void cancelCandidates(List<Future<?>> tasks, List<AtomicBoolean> validating, boolean includeValidating) {
+        int cancelled = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Future<?> task = tasks.get(i);
+            if (task.isDone() || (!includeValidating && validating.get(i).get())) {
+                continue;
+            }
+            if (task.cancel(true)) {
+                cancelled++;
+            }
+        }
+        if (cancelled > 0) {
+            log.info("병렬 후보 취소 - {}개", cancelled);
+        }
+    }
+
+    /**
+     * 채택되지 않았지만 검증을 통과한 후보를 문제 풀로 넘긴다
+     */
+    private void publishExtraCandidate(ProblemGenerationRequestDto request, SpeculativeCandidate candidate) {
+        try {
+            ProblemGenerationResponseDto extra = applyQualityGrading(candidate.problem(), candidate.validationResults(), 1);
+            extra.setGeneratedAt(LocalDateTime.now());
+            log.info("후보 #{} 검증 통과 (미채택) - 문제 풀로 전달", candidate.index());
+            eventPublisher.publishEvent(new ValidatedCandidateEvent(request, extra));
+        } catch (Exception e) {
+            log.warn("후보 #{} 문제 풀 전달 실패: {}", candidate.index(), e.getMessage());
+        }
+    }
+
     /**
      * LLM으로 문제 생성 (RAG 기반 Few-shot 학습 포함)
+     *
+     * @param executionSession 스트리밍 중 도착한 코드/테스트케이스를 미리 실행할 세션 (nullable)
+     * @param progressCallback 스트리밍 중 제목/설명 초안 전달 (nullable)
      */
-    private ProblemGenerationResponseDto generateWithLLM(ProblemGenerationRequestDto request) {
+    private ProblemGenerationResponseDto generateWithLLM(ProblemGenerationRequestDto request,
+                                                         GenerationExecutionSession executionSession,
+                                                         Consumer<ProgressEvent> progressCallback) {
         log.info("LLM 문제 생성 시작 - RAG: {}, topic: {}, difficulty: {}",
                 ragEnabled, request.getTopic(), request.getDifficulty());
 
@@ -246,8 +569,10 @@ public class ProblemGenerationOrchestrator {
                 ? promptBuilder.buildUserPrompt(request, fewShotExamples)
                 : promptBuilder.buildUserPromptWithoutRag(request);
 
-        // 4. LLM 호출
-        String response = llmChatService.generate(systemPrompt, userPrompt);
+        // 4. LLM 호출 (스트리밍이면 응답이 끝나기 전에 초안 전달 + 테스트케이스 선실행)
+        String response = streamingEnabled
+                ? generateStreaming(systemPrompt, userPrompt, executionSession, progressCallback)
+                : llmChatService.generate(systemPrompt, userPrompt);
 
         // 5. 응답 파싱
         LLMResponseParser.ParsedResult parsed = llmResponseParser.parse(response, request);
@@ -262,15 +587,100 @@ public class ProblemGenerationOrchestrator {
                 .testCases(parsed.testCases())
                 .optimalCode(parsed.optimalCode())
                 .naiveCode(parsed.naiveCode())
-                .language("Python")  // 기본 언어 (LANGUAGES 테이블의 LANGUAGE_NAME과 일치)
+                .language(GENERATION_LANGUAGE)
                 .status(ProblemGenerationResponseDto.GenerationStatus.SUCCESS)
                 .build();
     }
 
+    /**
+     * 토큰 스트리밍으로 LLM 호출
+     *
+     * - title/description이 닫히는 대로 DRAFT 진행 이벤트로 전달
+     * - testCases 원소는 도착하는 대로 모아두었다가 optimalCode/naiveCode가 닫히면 바로 실행 시작
+     *   (프롬프트 출력 형식상 testCases가 코드보다 앞에 온다). 실행 결과는 세션에 남아 Code-First 단계가 재사용
+     * - 스트리밍 호출이 실패하면 일반 호출로 다시 시도
+     *
+     * @return 전체 응답 텍스트 (최종 파싱은 LLMResponseParser가 전체 텍스트로 수행)
+     */
+    private String generateStreaming(String systemPrompt, String userPrompt,
+                                     GenerationExecutionSession executionSession,
+                                     Consumer<ProgressEvent> progressCallback) {
+        List<AlgoTestcaseDto> streamedTestCases = new ArrayList<>();
+
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser(objectMapper, new StreamingJsonFieldParser.Listener() {
+            @Override
+            public void onField(String key, String value) {
+                switch (key) {
+                    case "title" -> notifyDraft(progressCallback, "title", value, "문제 제목 생성됨");
+                    case "description" -> notifyDraft(progressCallback, "description", value, "문제 설명 생성됨");
+                    case "optimalCode", "naiveCode" -> {
+                        if (!streamedTestCases.isEmpty()) {
+                            testCaseGeneratorService.startExecution(
+                                    value, GENERATION_LANGUAGE, List.copyOf(streamedTestCases), executionSession);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            @Override
+            public void onArrayElement(String key, int index, JsonNode element) {
+                if (!"testCases".equals(key)) {
+                    return;
+                }
+                JsonNode input = element.get("input");
+                if (input == null || !input.isTextual() || input.asText().isBlank()) {
+                    return;
+                }
+                streamedTestCases.add(AlgoTestcaseDto.builder()
+                        .inputData(input.asText())
+                        .isSample(element.path("isSample").asBoolean(false))
+                        .build());
+            }
+        });
+
+        try {
+            String response = llmChatService.generateStreaming(systemPrompt, userPrompt, parser::feed);
+            log.info("LLM 스트리밍 생성 완료 - 스트리밍 중 수신 테스트케이스: {}개, JSON 완료: {}",
+                    streamedTestCases.size(), parser.isComplete());
+            return response;
+        } catch (Exception e) {
+            if (isInterruption(e)) {
+                // 병렬 생성에서 취소된 후보는 재시도하지 않는다 (감싸진 InterruptedException도 인터럽트 상태로 되살림)
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            log.warn("LLM 스트리밍 실패, 일반 호출로 재시도: {}", e.getMessage());
+            return llmChatService.generate(systemPrompt, userPrompt);
+        }
+    }
+
+    private boolean isInterruption(Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void notifyDraft(Consumer<ProgressEvent> callback, String field, String value, String message) {
+        if (callback == null || value == null || value.isBlank()) {
+            return;
+        }
+        callback.accept(new ProgressEvent("DRAFT", message, 12, null, null, Map.of("field", field, "value", value)));
+    }
+
     /**
      * Code-First: optimalCode를 실행하여 테스트케이스 expected output 생성
+     * 실행 결과는 executionSession에 남아 이후 코드 실행/시간 비율 검증에서 재사용
      */
-    private ProblemGenerationResponseDto generateTestCaseOutputs(ProblemGenerationResponseDto problem) {
+    private ProblemGenerationResponseDto generateTestCaseOutputs(ProblemGenerationResponseDto problem,
+                                                                 GenerationExecutionSession executionSession) {
         String optimalCode = problem.getOptimalCode();
         String naiveCode = problem.getNaiveCode();
         String language = problem.getLanguage() != null ? problem.getLanguage() : "Python";
@@ -289,7 +699,8 @@ public class ProblemGenerationOrchestrator {
         log.info("Code-First 테스트케이스 출력 생성 시작 - {}개 케이스", testCases.size());
 
         TestCaseGeneratorService.TestCaseGenerationResult result =
-                testCaseGeneratorService.generateOutputs(optimalCode, naiveCode, language, testCases);
+                testCaseGeneratorService.generateOutputs(optimalCode, naiveCode, language, testCases,
+                        executionSession);
 
         if (result.testCases().isEmpty()) {
             log.error("Code-First 출력 생성 실패 - 모든 테스트케이스 실패");
@@ -317,12 +728,22 @@ public class ProblemGenerationOrchestrator {
     }
 
     /**
-     * 모든 검증 실행
+     * 모든 검증 실행 (단계 그래프)
      *
-     * @param problem 검증할 문제
-     * @param theme   스토리 테마 (Phase 3 유사도 검사에 전달, nullable)
+     * - 1단계: 구조 검증 (호출 스레드). 실패하면 나머지 검증은 의미가 없으므로 바로 반환
+     * - 2단계: 유사도 검사 / 코드 실행 검증 / 시간 비율 검증은 서로 독립적인 I/O 작업이라 동시에 실행하고,
+     *   단계별 제한 시간을 넘기면 해당 단계만 실패로 기록한다
+     * - 결과 순서는 항상 구조 → 유사도 → 코드 실행 → 시간 비율 (Self-Correction 프롬프트가 순서에 의존)
+     *
+     * @param problem          검증할 문제
+     * @param theme            스토리 테마 (Phase 3 유사도 검사에 전달, nullable)
+     * @param executionSession 생성 1건의 실행 세션 (이미 실행한 optimal/naive 케이스 재사용)
+     * @param progressCallback 단계별 진행 알림 (nullable, 여러 스레드에서 호출되므로 직렬화해서 전달)
+     * @param percentage       현재 시도의 진행률
      */
-    private List<ValidationResultDto> runAllValidations(ProblemGenerationResponseDto problem, String theme) {
+    private List<ValidationResultDto> runAllValidations(ProblemGenerationResponseDto problem, String theme,
+                                                        GenerationExecutionSession executionSession,
+                                                        Consumer<ProgressEvent> progressCallback, int percentage) {
         List<ValidationResultDto> results = new ArrayList<>();
 
         AlgoProblemDto problemDto = problem.getProblem();
@@ -331,34 +752,62 @@ public class ProblemGenerationOrchestrator {
         String naiveCode = problem.getNaiveCode();
         String language = problem.getLanguage() != null ? problem.getLanguage() : "Python";
 
+        Object progressLock = new Object();
+        Consumer<ProgressEvent> stageCallback = progressCallback == null ? null : event -> {
+            synchronized (progressLock) {
+                progressCallback.accept(event);
+            }
+        };
+
         // 1. 구조 검증
         log.info("구조 검증 실행");
+        notifyStage(stageCallback, STAGE_STRUCTURE, StageState.RUNNING, percentage);
         ValidationResultDto structureResult = structureValidator.validate(
                 problemDto, testCases, optimalCode, naiveCode);
         results.add(structureResult);
+        notifyStage(stageCallback, STAGE_STRUCTURE, stateOf(structureResult), percentage);
+
+        if (!structureResult.isPassed()) {
+            log.warn("구조 검증 실패 - 나머지 검증 생략: {}", structureResult.getErrors());
+            return results;
+        }
+
+        boolean hasOptimal = optimalCode != null && !optimalCode.isBlank();
+        boolean hasNaive = naiveCode != null && !naiveCode.isBlank();
+        List<Future<?>> workers = new ArrayList<>();
 
         // 2. 유사도 검사 (Phase 3: 테마 기반 다단계 검사)
         log.info("유사도 검사 실행 - 테마: {}", theme);
-        ValidationResultDto similarityResult = similarityChecker.checkSimilarity(problemDto, theme);
-        results.add(similarityResult);
+        CompletableFuture<ValidationResultDto> similarity = runStage(stageCallback, percentage, workers,
+                STAGE_SIMILARITY, similarityTimeoutSeconds,
+                () -> similarityChecker.checkSimilarity(problemDto, theme));
 
         // 3. 코드 실행 검증 (최적 코드가 있을 경우)
-        if (optimalCode != null && !optimalCode.isBlank()) {
+        CompletableFuture<ValidationResultDto> execution = null;
+        if (hasOptimal) {
             log.info("코드 실행 검증 실행");
-            ValidationResultDto executionResult = codeExecutionValidator.validate(
-                    optimalCode, language, testCases,
-                    problemDto.getTimelimit(), problemDto.getMemorylimit());
-            results.add(executionResult);
+            execution = runStage(stageCallback, percentage, workers, STAGE_EXECUTION, executionTimeoutSeconds,
+                    () -> codeExecutionValidator.validate(
+                            optimalCode, language, testCases,
+                            problemDto.getTimelimit(), problemDto.getMemorylimit(), executionSession));
         }
 
         // 4. 시간 비율 검증 (최적/비효율 코드 모두 있을 경우)
-        if (optimalCode != null && !optimalCode.isBlank() &&
-            naiveCode != null && !naiveCode.isBlank()) {
+        CompletableFuture<ValidationResultDto> timeRatio = null;
+        if (hasOptimal && hasNaive) {
             log.info("시간 비율 검증 실행");
-            ValidationResultDto timeRatioResult = timeRatioValidator.validate(
-                    optimalCode, naiveCode, language, testCases,
-                    problemDto.getTimelimit(), problemDto.getMemorylimit());
-            results.add(timeRatioResult);
+            timeRatio = runStage(stageCallback, percentage, workers, STAGE_TIME_RATIO, timeRatioTimeoutSeconds,
+                    () -> timeRatioValidator.validate(
+                            optimalCode, naiveCode, language, testCases,
+                            problemDto.getTimelimit(), problemDto.getMemorylimit(), executionSession));
+        }
+
+        results.add(awaitStage(similarity, workers));
+        if (execution != null) {
+            results.add(awaitStage(execution, workers));
+        }
+        if (timeRatio != null) {
+            results.add(awaitStage(timeRatio, workers));
         }
 
         // 결과 요약 로그
@@ -368,6 +817,102 @@ public class ProblemGenerationOrchestrator {
         return results;
     }
 
+    /**
+     * 단계 결과 대기 (호출 스레드가 인터럽트되면 실행 중인 단계를 모두 인터럽트하고 중단)
+     */
+    private ValidationResultDto awaitStage(CompletableFuture<ValidationResultDto> stage, List<Future<?>> workers) {
+        try {
+            return stage.get();
+        } catch (InterruptedException e) {
+            workers.forEach(worker -> worker.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("검증 중단", e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * 검증 단계 하나를 검증 풀에서 실행 (제한 시간 초과/예외/풀 거절은 해당 검증기의 실패 결과로 바꾼다)
+     * 제한 시간은 풀 대기열에서 꺼내 실행을 시작한 시점부터 재고, 초과하면 실행 중인 작업을 인터럽트한다
+     * RUNNING 알림도 실제로 실행을 시작할 때 보낸다 (대기열에 있는 동안은 보내지 않음)
+     */
+    private CompletableFuture<ValidationResultDto> runStage(Consumer<ProgressEvent> callback, int percentage,
+                                                            List<Future<?>> workers, String stage,
+                                                            long timeoutSeconds,
+                                                            Supplier<ValidationResultDto> task) {
+        AtomicLong startedAt = new AtomicLong(System.currentTimeMillis());
+        CompletableFuture<ValidationResultDto> outcome = new CompletableFuture<>();
+        Future<?> worker;
+        try {
+            worker = validationExecutor.submit(() -> {
+                outcome.orTimeout(timeoutSeconds, TimeUnit.SECONDS);
+                startedAt.set(System.currentTimeMillis());
+                notifyStage(callback, stage, StageState.RUNNING, percentage);
+                try {
+                    outcome.complete(task.get());
+                } catch (Throwable e) {
+                    outcome.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("검증 단계 거절 - stage: {}, 검증 풀 대기열 초과", stage);
+            notifyStage(callback, stage, StageState.FAILED, percentage);
+            return CompletableFuture.completedFuture(
+                    ValidationResultDto.failure(stage, "검증 요청이 많아 실행하지 못했습니다"));
+        }
+        workers.add(worker);
+        outcome.whenComplete((result, error) -> {
+            if (error instanceof TimeoutException) {
+                worker.cancel(true);
+            }
+        });
+        return outcome
+                .handle((result, error) -> {
+                    ValidationResultDto stageResult;
+                    StageState state;
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("검증 단계 시간 초과 - stage: {}, timeout: {}초", stage, timeoutSeconds);
+                        stageResult = ValidationResultDto.failure(stage,
+                                String.format("검증 시간 초과 (%d초)", timeoutSeconds));
+                        state = StageState.TIMEOUT;
+                    } else if (cause != null) {
+                        log.error("검증 단계 오류 - stage: {}", stage, cause);
+                        stageResult = ValidationResultDto.failure(stage, "검증 중 오류: " + cause.getMessage());
+                        state = StageState.FAILED;
+                    } else if (result == null) {
+                        stageResult = ValidationResultDto.failure(stage, "검증 결과 없음");
+                        state = StageState.FAILED;
+                    } else {
+                        stageResult = result;
+                        state = stateOf(result);
+                    }
+                    log.info("검증 단계 완료 - stage: {}, state: {}, 소요: {}ms",
+                            stage, state, System.currentTimeMillis() - startedAt.get());
+                    notifyStage(callback, stage, state, percentage);
+                    return stageResult;
+                });
+    }
+
+    private StageState stateOf(ValidationResultDto result) {
+        return result.isPassed() ? StageState.PASSED : StageState.FAILED;
+    }
+
+    private void notifyStage(Consumer<ProgressEvent> callback, String stage, StageState state, int percentage) {
+        if (callback == null) {
+            return;
+        }
+        String message = switch (state) {
+            case RUNNING -> stage + " 실행 중";
+            case PASSED -> stage + " 통과";
+            case FAILED -> stage + " 실패";
+            case TIMEOUT -> stage + " 시간 초과";
+        };
+        callback.accept(new ProgressEvent("VALIDATING", message, percentage, stage, state.name()));
+    }
+
     /**
      * Phase 6: 품질 등급 적용
      *
@@ -427,21 +972,48 @@ public class ProblemGenerationOrchestrator {
 
     /**
      * 진행률 이벤트 클래스
+     * 검증 단계 이벤트는 stage(검증기 이름)와 stageState(RUNNING/PASSED/FAILED/TIMEOUT)를 함께 담는다
+     * 스트리밍 초안 이벤트(DRAFT)는 data에 field/value를 담는다
      */
     public static class ProgressEvent {
         private final String status;
         private final String message;
         private final int percentage;
+        private final String stage;
+        private final String stageState;
+        private final Map<String, Object> data;
 
         public ProgressEvent(String status, String message, int percentage) {
+            this(status, message, percentage, null, null);
+        }
+
+        public ProgressEvent(String status, String message, int percentage, String stage, String stageState) {
+            this(status, message, percentage, stage, stageState, null);
+        }
+
+        public ProgressEvent(String status, String message, int percentage, String stage, String stageState,
+                             Map<String, Object> data) {
             this.status = status;
             this.message = message;
             this.percentage = percentage;
+            this.stage = stage;
+            this.stageState = stageState;
+            this.data = data;
         }
 
         public String getStatus() { return status; }
         public String getMessage() { return message; }
         public int getPercentage() { return percentage; }
+        public String getStage() { return stage; }
+        public String getStageState() { return stageState; }
+        public Map<String, Object> getData() { return data; }
+    }
+
+    /**
+     * 검증 단계 상태
+     */
+    private enum StageState {
+        RUNNING, PASSED, FAILED, TIMEOUT
     }
 
     /**
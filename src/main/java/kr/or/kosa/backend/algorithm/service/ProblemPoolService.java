@@ -10,11 +10,13 @@ import kr.or.kosa.backend.algorithm.dto.enums.ProblemDifficulty;
 import kr.or.kosa.backend.algorithm.dto.enums.ProblemTopic;
 import kr.or.kosa.backend.algorithm.dto.request.ProblemGenerationRequestDto;
 import kr.or.kosa.backend.algorithm.dto.response.ProblemGenerationResponseDto;
+import kr.or.kosa.backend.algorithm.event.ValidatedCandidateEvent;
 import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
 import kr.or.kosa.backend.algorithm.mapper.ProblemPoolMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,11 +39,15 @@ public class ProblemPoolService {
 
     private final ProblemPoolMapper poolMapper;
     private final AlgorithmProblemMapper algorithmProblemMapper;  // Phase 8: Fallback용
+    private final TestcaseStorageService testcaseStorageService;
     private final ProblemGenerationOrchestrator generationOrchestrator;
     private final AlgorithmProblemService problemService;
     private final ProblemVectorStoreService vectorStoreService;
     private final ObjectMapper objectMapper;
 
+    /** 생성 요청의 추가 요구사항에 테마를 담는 형식 (병렬 생성 후보를 풀에 넣을 때 다시 읽는다) */
+    private static final String THEME_PREFIX = "스토리 테마: ";
+
     @Value("${algorithm.pool.target-per-combination:5}")
     private int targetPerCombination;
 
@@ -142,7 +148,7 @@ public class ProblemPoolService {
         ProblemGenerationRequestDto request = ProblemGenerationRequestDto.builder()
                 .difficulty(ProblemDifficulty.fromDbValue(difficulty))
                 .topic(topic)
-                .additionalRequirements("스토리 테마: " + theme)
+                .additionalRequirements(THEME_PREFIX + theme)
                 .build();
 
         try {
@@ -236,7 +242,7 @@ public class ProblemPoolService {
             }
 
             // 테스트케이스 조회
-            List<AlgoTestcaseDto> testCases = algorithmProblemMapper.selectTestCasesByProblemId(problemId);
+            List<AlgoTestcaseDto> testCases = testcaseStorageService.getTestCases(problemId);
 
             return ProblemGenerationResponseDto.builder()
                     .problemId(problemId)
@@ -345,7 +351,7 @@ public class ProblemPoolService {
             ProblemGenerationRequestDto request = ProblemGenerationRequestDto.builder()
                     .difficulty(ProblemDifficulty.fromDbValue(difficulty))
                     .topic(topic)
-                    .additionalRequirements("스토리 테마: " + theme)
+                    .additionalRequirements(THEME_PREFIX + theme)
                     .build();
 
             ProblemGenerationResponseDto generated = generationOrchestrator.generateWithoutSaving(request);
@@ -372,27 +378,12 @@ public class ProblemPoolService {
 
             log.info("✅ [Pool 저장 승인] 품질 등급 통과 - reviewStatus: {}", generated.getReviewStatus());
 
-            // 3. JSON 직렬화
-            String contentJson = objectMapper.writeValueAsString(generated);
-
-            // 4. 풀에 저장
+            // 3~5. 풀 + Vector DB 저장
             int generationTimeMs = (int) (System.currentTimeMillis() - startTime);
-            PoolProblemDto poolProblem = PoolProblemDto.builder()
-                    .difficulty(difficulty)
-                    .topic(topic)
-                    .theme(theme)
-                    .problemContent(contentJson)
-                    .generatedAt(LocalDateTime.now())
-                    .generationTimeMs(generationTimeMs)
-                    .build();
+            Long poolId = insertPoolProblem(difficulty, topic, theme, generated, generationTimeMs);
 
-            poolMapper.insert(poolProblem);
-
-            // 5. Vector DB에 저장 (유사도 검사용 - 풀 문제도 포함)
-            storeToVectorDb(generated, poolProblem.getAlgoPoolId());
-
-            log.info("풀 채우기 완료 - poolId: {}, 소요시간: {}ms", poolProblem.getAlgoPoolId(), generationTimeMs);
-            return poolProblem.getAlgoPoolId();
+            log.info("풀 채우기 완료 - poolId: {}, 소요시간: {}ms", poolId, generationTimeMs);
+            return poolId;
 
         } catch (JsonProcessingException e) {
             log.error("풀 문제 JSON 직렬화 실패", e);
@@ -400,6 +391,68 @@ public class ProblemPoolService {
         }
     }
 
+    /**
+     * 병렬 생성에서 채택되지 않았지만 검증을 통과한 후보를 풀에 저장
+     * <p>테마는 요청의 추가 요구사항(THEME_PREFIX 형식)에서 읽고, 테마가 없는 요청의 후보는 조합을 정할 수 없어 버린다
+     */
+    @EventListener
+    public void onValidatedCandidate(ValidatedCandidateEvent event) {
+        ProblemGenerationRequestDto request = event.getRequest();
+        ProblemGenerationResponseDto generated = event.getProblem();
+        String theme = extractTheme(request.getAdditionalRequirements());
+
+        if (theme == null || request.getDifficulty() == null || request.getTopic() == null
+                || generated == null || !generated.isApproved()) {
+            log.info("병렬 생성 후보 풀 저장 생략 - 테마/난이도/주제 없음 또는 품질 미달");
+            return;
+        }
+
+        try {
+            int generationTimeMs = generated.getGenerationTime() != null
+                    ? (int) (generated.getGenerationTime() * 1000) : 0;
+            Long poolId = insertPoolProblem(request.getDifficulty().getDbValue(), request.getTopic(), theme,
+                    generated, generationTimeMs);
+            log.info("병렬 생성 후보 풀 저장 완료 - poolId: {}, difficulty: {}, topic: {}, theme: {}",
+                    poolId, request.getDifficulty(), request.getTopic(), theme);
+        } catch (Exception e) {
+            log.warn("병렬 생성 후보 풀 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 풀 문제 저장 (JSON 직렬화 → 풀 INSERT → Vector DB)
+     *
+     * @return 생성된 풀 문제 ID
+     */
+    private Long insertPoolProblem(String difficulty, String topic, String theme,
+                                   ProblemGenerationResponseDto generated, int generationTimeMs)
+            throws JsonProcessingException {
+        String contentJson = objectMapper.writeValueAsString(generated);
+
+        PoolProblemDto poolProblem = PoolProblemDto.builder()
+                .difficulty(difficulty)
+                .topic(topic)
+                .theme(theme)
+                .problemContent(contentJson)
+                .generatedAt(LocalDateTime.now())
+                .generationTimeMs(generationTimeMs)
+                .build();
+
+        poolMapper.insert(poolProblem);
+
+        // Vector DB에 저장 (유사도 검사용 - 풀 문제도 포함)
+        storeToVectorDb(generated, poolProblem.getAlgoPoolId());
+        return poolProblem.getAlgoPoolId();
+    }
+
+    private String extractTheme(String additionalRequirements) {
+        if (additionalRequirements == null || !additionalRequirements.startsWith(THEME_PREFIX)) {
+            return null;
+        }
+        String theme = additionalRequirements.substring(THEME_PREFIX.length()).trim();
+        return theme.isEmpty() ? null : theme;
+    }
+
     /**
      * Vector DB에 저장 (유사도 검사용)
      * <p>풀 문제는 음수 ID로 구분 (예: poolId=5 → vectorId=-5)
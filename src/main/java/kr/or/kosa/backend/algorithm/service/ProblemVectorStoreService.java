@@ -2,12 +2,15 @@ package kr.or.kosa.backend.algorithm.service;
 
 import kr.or.kosa.backend.algorithm.dto.SimilarityThresholds;
 import kr.or.kosa.backend.algorithm.dto.external.ProblemDocumentDto;
+import kr.or.kosa.backend.algorithm.event.ProblemEmbeddingChangedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -18,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * 알고리즘 문제 Vector DB 저장/검색 서비스
@@ -27,10 +31,23 @@ import java.util.UUID;
 @Service
 public class ProblemVectorStoreService {
 
-    private final VectorStore vectorStore;
+    private static final String AI_GENERATED = "AI_GENERATED";
+    private static final int SIMILARITY_TOP_K = 5;
+    private static final double SIMILARITY_SEARCH_THRESHOLD = 0.5;  // 낮은 임계값으로 일단 검색
 
-    public ProblemVectorStoreService(@Qualifier("algorithmVectorStore") VectorStore vectorStore) {
+    private final VectorStore vectorStore;
+    private final EmbeddingModel embeddingModel;
+    private final ProblemEmbeddingIndex problemEmbeddingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProblemVectorStoreService(@Qualifier("algorithmVectorStore") VectorStore vectorStore,
+                                     EmbeddingModel embeddingModel,
+                                     ProblemEmbeddingIndex problemEmbeddingIndex,
+                                     ApplicationEventPublisher eventPublisher) {
         this.vectorStore = vectorStore;
+        this.embeddingModel = embeddingModel;
+        this.problemEmbeddingIndex = problemEmbeddingIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Value("${spring.ai.vectorstore.qdrant.host:localhost}")
@@ -58,6 +75,7 @@ public class ProblemVectorStoreService {
         );
 
         vectorStore.add(List.of(document));
+        publishUpserted(List.of(documentId));
 
         log.info("✅ Vector DB 저장 완료: [{}] {} ({})",
                 problemDoc.getSource(),
@@ -83,6 +101,7 @@ public class ProblemVectorStoreService {
                 .toList();
 
         vectorStore.add(documents);
+        publishUpserted(documents.stream().map(Document::getId).toList());
 
         log.info("✅ Vector DB 일괄 저장 완료: {}개 문제", documents.size());
         return documents.size();
@@ -287,25 +306,35 @@ public class ProblemVectorStoreService {
         Map<String, SimilarityCheckResult> results = new HashMap<>();
         String query = String.format("%s %s", title, description);
 
+        // 로컬 인덱스가 최신이면 쿼리를 한 번만 임베딩해서 아래 검사를 모두 로컬에서 처리 (아니면 검사마다 Qdrant 검색)
+        float[] queryVector = embedForLocalSearch(query);
+
         // 1. 수집 데이터 검사 (BOJ, LeetCode 등)
         SimilarityCheckResult collectedResult = checkSimilarityWithFilter(
-                query, "source != 'AI_GENERATED'", thresholds.getCollectedThreshold(), "COLLECTED");
+                query, queryVector, "source != 'AI_GENERATED'",
+                metadata -> !AI_GENERATED.equals(metadata.get("source")),
+                thresholds.getCollectedThreshold(), "COLLECTED");
         results.put("COLLECTED", collectedResult);
 
         // 2. AI 생성 데이터 검사
         SimilarityCheckResult generatedResult = checkSimilarityWithFilter(
-                query, "source == 'AI_GENERATED'", thresholds.getGeneratedThreshold(), "GENERATED");
+                query, queryVector, "source == 'AI_GENERATED'",
+                metadata -> AI_GENERATED.equals(metadata.get("source")),
+                thresholds.getGeneratedThreshold(), "GENERATED");
         results.put("GENERATED", generatedResult);
 
         // 3. 동일 테마 내 생성 데이터 검사 (테마가 있는 경우만)
         if (theme != null && !theme.isBlank()) {
             String sameThemeFilter = String.format("source == 'AI_GENERATED' && theme == '%s'", theme);
             SimilarityCheckResult sameThemeResult = checkSimilarityWithFilter(
-                    query, sameThemeFilter, thresholds.getSameThemeThreshold(), "SAME_THEME");
+                    query, queryVector, sameThemeFilter,
+                    metadata -> AI_GENERATED.equals(metadata.get("source")) && theme.equals(metadata.get("theme")),
+                    thresholds.getSameThemeThreshold(), "SAME_THEME");
             results.put("SAME_THEME", sameThemeResult);
         }
 
-        log.info("✅ 다단계 유사도 검사 완료 - 수집: {}, 생성: {}, 동일테마: {}",
+        log.info("✅ 다단계 유사도 검사 완료 ({}) - 수집: {}, 생성: {}, 동일테마: {}",
+                queryVector != null ? "로컬 인덱스" : "Qdrant",
                 collectedResult.isPassed() ? "통과" : "실패",
                 generatedResult.isPassed() ? "통과" : "실패",
                 results.containsKey("SAME_THEME") ? (results.get("SAME_THEME").isPassed() ? "통과" : "실패") : "N/A");
@@ -315,22 +344,21 @@ public class ProblemVectorStoreService {
 
     /**
      * 필터 조건을 적용한 유사도 검사
+     *
+     * @param queryVector      로컬 검색용 쿼리 임베딩 (null이면 Qdrant 검색)
+     * @param filterExpression Qdrant 검색 필터
+     * @param localFilter      로컬 검색 필터 (filterExpression과 같은 조건)
      */
     private SimilarityCheckResult checkSimilarityWithFilter(
-            String query, String filterExpression, double threshold, String checkType) {
+            String query, float[] queryVector, String filterExpression,
+            Predicate<Map<String, Object>> localFilter, double threshold, String checkType) {
 
         SimilarityCheckResult result = new SimilarityCheckResult();
         result.setThreshold(threshold);
 
         try {
-            SearchRequest request = SearchRequest.builder()
-                    .query(query)
-                    .topK(5)
-                    .similarityThreshold(0.5)
-                    .filterExpression(filterExpression)
-                    .build();
-
-            List<Document> similarDocs = vectorStore.similaritySearch(request);
+            List<Document> similarDocs = searchSimilarCandidates(
+                    query, queryVector, filterExpression, localFilter, checkType);
 
             if (similarDocs.isEmpty()) {
                 result.setPassed(true);
@@ -379,6 +407,44 @@ public class ProblemVectorStoreService {
         return result;
     }
 
+    /**
+     * 유사도 검사 후보 검색 - 로컬 인덱스가 최신이면 로컬, 아니면(또는 로컬 검색 실패 시) Qdrant
+     */
+    private List<Document> searchSimilarCandidates(String query, float[] queryVector, String filterExpression,
+                                                   Predicate<Map<String, Object>> localFilter, String checkType) {
+        if (queryVector != null && problemEmbeddingIndex.isFresh()) {
+            try {
+                return problemEmbeddingIndex.search(
+                        queryVector, SIMILARITY_TOP_K, SIMILARITY_SEARCH_THRESHOLD, localFilter);
+            } catch (Exception e) {
+                log.warn("[{}] 로컬 유사도 인덱스 검색 실패 - Qdrant로 검색: {}", checkType, e.getMessage());
+            }
+        }
+
+        SearchRequest request = SearchRequest.builder()
+                .query(query)
+                .topK(SIMILARITY_TOP_K)
+                .similarityThreshold(SIMILARITY_SEARCH_THRESHOLD)
+                .filterExpression(filterExpression)
+                .build();
+        return vectorStore.similaritySearch(request);
+    }
+
+    /**
+     * 로컬 인덱스 검색용 쿼리 임베딩 (인덱스가 최신이 아니거나 임베딩 실패 시 null → Qdrant 검색)
+     */
+    private float[] embedForLocalSearch(String query) {
+        if (!problemEmbeddingIndex.isFresh()) {
+            return null;
+        }
+        try {
+            return embeddingModel.embed(query);
+        } catch (Exception e) {
+            log.warn("유사도 검사 쿼리 임베딩 실패 - Qdrant로 검색: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * 콘텐츠 유사도 계산 (Jaccard + 키워드 기반)
      */
@@ -449,7 +515,7 @@ public class ProblemVectorStoreService {
 
         // 메타데이터 구성
         Map<String, Object> metadata = new java.util.HashMap<>();
-        metadata.put("source", "AI_GENERATED");
+        metadata.put("source", AI_GENERATED);
         metadata.put("externalId", String.valueOf(problemId));
         metadata.put("title", title);
         metadata.put("difficulty", difficulty);
@@ -457,6 +523,7 @@ public class ProblemVectorStoreService {
 
         Document document = new Document(documentId, content, metadata);
         vectorStore.add(List.of(document));
+        publishUpserted(List.of(documentId));
 
         log.info("✅ AI 생성 문제 Vector DB 저장 완료 - docId: {}", documentId);
         return documentId;
@@ -505,6 +572,14 @@ public class ProblemVectorStoreService {
         }
     }
 
+    private void publishUpserted(List<String> documentIds) {
+        eventPublisher.publishEvent(new ProblemEmbeddingChangedEvent(documentIds, List.of()));
+    }
+
+    private void publishDeleted(List<String> documentIds) {
+        eventPublisher.publishEvent(new ProblemEmbeddingChangedEvent(List.of(), documentIds));
+    }
+
     /**
      * 문서 고유 ID 생성 (UUID 형식)
      * source + externalId 조합을 기반으로 결정적 UUID 생성
@@ -529,6 +604,7 @@ public class ProblemVectorStoreService {
         }
 
         vectorStore.delete(documentIds);
+        publishDeleted(documentIds);
         log.info("✅ Vector DB에서 {}개 문서 삭제 완료", documentIds.size());
         return documentIds.size();
     }
@@ -721,6 +797,7 @@ public class ProblemVectorStoreService {
         });
 
         vectorStore.delete(idsToDelete);
+        publishDeleted(idsToDelete);
         log.info("✅ {}개 영어 문제 삭제 완료", idsToDelete.size());
         return idsToDelete.size();
     }
@@ -1057,6 +1134,7 @@ public class ProblemVectorStoreService {
                 .toList();
 
         vectorStore.delete(idsToDelete);
+        publishDeleted(idsToDelete);
         log.warn("⚠️ {}개 문서 삭제 완료", idsToDelete.size());
         return idsToDelete.size();
     }
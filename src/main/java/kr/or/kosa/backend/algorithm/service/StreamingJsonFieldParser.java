@@ -0,0 +1,214 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LLM 스트리밍 응답용 점진적 JSON 파서
+ *
+ * 토큰 조각을 받는 대로 최상위 객체를 훑어서
+ * - 최상위 문자열 필드(title, description, optimalCode 등)가 닫히면 onField
+ * - 최상위 배열(testCases)의 객체 원소가 닫히면 onArrayElement
+ * 로 바로 알린다. 첫 '{' 이전(마크다운 코드 블록 등)은 무시한다.
+ *
+ * 조기 알림 용도라 최선 노력으로만 파싱하며, 최종 결과는 전체 응답을 LLMResponseParser로 다시 파싱한다
+ * (문자열 연결 등 LLMResponseParser.sanitizeJson이 고치는 형식은 여기서 놓칠 수 있다)
+ *
+ * 스트림 하나에 하나씩 만들어 쓴다 (스레드 안전하지 않음, feed는 순서대로 호출)
+ */
+@Slf4j
+public class StreamingJsonFieldParser {
+
+    public interface Listener {
+
+        /** 최상위 문자열 필드 완료 */
+        void onField(String key, String value);
+
+        /** 최상위 배열의 객체 원소 완료 (index는 배열 안 순번) */
+        void onArrayElement(String key, int index, JsonNode element);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Listener listener;
+
+    private boolean started;
+    private int depth;
+    private boolean inString;
+    private boolean escape;
+    private int unicodeRemaining;
+    private final StringBuilder unicode = new StringBuilder(4);
+
+    private boolean expectKey;
+    private String currentKey;
+    private StringBuilder text;      // 최상위 문자열(키 또는 값) 디코딩 버퍼
+    private boolean textIsKey;
+
+    private String arrayKey;         // 원소를 수집 중인 최상위 배열 키
+    private int arrayIndex;
+    private StringBuilder element;   // 배열 원소 원문
+
+    public StreamingJsonFieldParser(ObjectMapper objectMapper, Listener listener) {
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+    }
+
+    public void feed(String chunk) {
+        if (chunk == null) {
+            return;
+        }
+        for (int i = 0; i < chunk.length(); i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    /**
+     * 루트 객체가 닫혔는지
+     */
+    public boolean isComplete() {
+        return started && depth == 0;
+    }
+
+    private void accept(char c) {
+        if (!started) {
+            if (c == '{') {
+                started = true;
+                depth = 1;
+                expectKey = true;
+            }
+            return;
+        }
+        if (depth == 0) {
+            return;
+        }
+        if (element != null) {
+            element.append(c);
+        }
+        if (inString) {
+            acceptInString(c);
+            return;
+        }
+
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                if (depth == 1) {
+                    text = new StringBuilder();
+                    textIsKey = expectKey;
+                }
+            }
+            case '{', '[' -> {
+                if (depth == 1 && c == '[' && !expectKey) {
+                    arrayKey = currentKey;
+                    arrayIndex = 0;
+                } else if (depth == 2 && c == '{' && arrayKey != null && element == null) {
+                    element = new StringBuilder().append(c);
+                }
+                depth++;
+            }
+            case '}', ']' -> {
+                depth--;
+                if (depth == 2 && element != null) {
+                    emitElement();
+                } else if (depth == 1 && c == ']') {
+                    arrayKey = null;
+                }
+            }
+            case ':' -> {
+                if (depth == 1) {
+                    expectKey = false;
+                }
+            }
+            case ',' -> {
+                if (depth == 1) {
+                    expectKey = true;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void acceptInString(char c) {
+        if (unicodeRemaining > 0) {
+            unicode.append(c);
+            if (--unicodeRemaining == 0) {
+                appendUnicode();
+            }
+            return;
+        }
+        if (escape) {
+            escape = false;
+            if (text != null) {
+                appendEscaped(c);
+            }
+            return;
+        }
+        if (c == '\\') {
+            escape = true;
+            return;
+        }
+        if (c == '"') {
+            inString = false;
+            if (text != null) {
+                String value = text.toString();
+                text = null;
+                if (textIsKey) {
+                    currentKey = value;
+                } else {
+                    emitField(currentKey, value);
+                }
+            }
+            return;
+        }
+        if (text != null) {
+            text.append(c);
+        }
+    }
+
+    private void appendEscaped(char c) {
+        switch (c) {
+            case 'n' -> text.append('\n');
+            case 't' -> text.append('\t');
+            case 'r' -> text.append('\r');
+            case 'b' -> text.append('\b');
+            case 'f' -> text.append('\f');
+            case 'u' -> unicodeRemaining = 4;
+            default -> text.append(c);  // \" \\ \/ 및 잘못된 이스케이프는 문자 그대로
+        }
+    }
+
+    private void appendUnicode() {
+        try {
+            text.append((char) Integer.parseInt(unicode.toString(), 16));
+        } catch (NumberFormatException e) {
+            text.append("\\u").append(unicode);
+        }
+        unicode.setLength(0);
+    }
+
+    private void emitField(String key, String value) {
+        if (key == null) {
+            return;
+        }
+        try {
+            listener.onField(key, value);
+        } catch (Exception e) {
+            log.warn("스트리밍 필드 처리 실패 - key: {}, error: {}", key, e.getMessage());
+        }
+    }
+
+    private void emitElement() {
+        String raw = element.toString();
+        element = null;
+        int index = arrayIndex++;
+        try {
+            JsonNode node = objectMapper.readTree(raw);
+            if (node != null && node.isObject()) {
+                listener.onArrayElement(arrayKey, index, node);
+            }
+        } catch (Exception e) {
+            log.debug("스트리밍 배열 원소 파싱 실패 - key: {}, index: {}, error: {}", arrayKey, index, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import kr.or.kosa.backend.algorithm.dto.ScoreCalculationResult;
+import kr.or.kosa.backend.algorithm.dto.enums.SubmissionProgressType;
+import kr.or.kosa.backend.algorithm.dto.response.SubmissionProgressMessage;
+import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+/**
+ * 제출 채점/평가 진행 상황 실시간 전송 (STOMP)
+ *
+ * 제출자 본인에게만 전송: 클라이언트는 /user/queue/submission 구독 후 submissionId로 구분
+ * (제출 ID는 순차 값이므로 /topic 공개 채널 대신 사용자 전용 destination 사용)
+ * 결과 조회 API 폴링 대신 이벤트를 받아 화면을 갱신하고, 최종 상태만 한 번 조회하면 된다
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionProgressPublisher {
+
+    private static final String USER_DESTINATION = "/queue/submission";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public void publishJudgingStarted(Long userId, Long submissionId, int totalCount) {
+        send(userId, SubmissionProgressMessage.builder()
+                .type(SubmissionProgressType.JUDGING_STARTED)
+                .submissionId(submissionId)
+                .totalCount(totalCount)
+                .build());
+    }
+
+    public void publishTestCaseResult(Long userId, Long submissionId, int totalCount,
+                                      TestRunResponseDto.TestCaseResultDto result) {
+        send(userId, SubmissionProgressMessage.builder()
+                .type(SubmissionProgressType.TEST_CASE_RESULT)
+                .submissionId(submissionId)
+                .totalCount(totalCount)
+                .testCaseNumber(result.getTestCaseNumber())
+                .testCaseResult(result.getResult())
+                .executionTime(result.getExecutionTime())
+                .memoryUsage(result.getMemoryUsage())
+                .build());
+    }
+
+    public void publishJudgeCompleted(Long userId, Long submissionId, TestRunResponseDto judgeResult,
+                                      BigDecimal basicScore) {
+        send(userId, SubmissionProgressMessage.builder()
+                .type(SubmissionProgressType.JUDGE_COMPLETED)
+                .submissionId(submissionId)
+                .totalCount(judgeResult.getTotalCount())
+                .overallResult(judgeResult.getOverallResult())
+                .passedCount(judgeResult.getPassedCount())
+                .maxExecutionTime(judgeResult.getMaxExecutionTime())
+                .maxMemoryUsage(judgeResult.getMaxMemoryUsage())
+                .finalScore(basicScore)
+                .build());
+    }
+
+    public void publishJudgeFailed(Long userId, Long submissionId, String message) {
+        send(userId, SubmissionProgressMessage.builder()
+                .type(SubmissionProgressType.JUDGE_FAILED)
+                .submissionId(submissionId)
+                .message(message)
+                .build());
+    }
+
+    public void publishEvaluationCompleted(Long userId, Long submissionId, ScoreCalculationResult score) {
+        send(userId, SubmissionProgressMessage.builder()
+                .type(SubmissionProgressType.EVALUATION_COMPLETED)
+                .submissionId(submissionId)
+                .judgeScore(score.getJudgeScore())
+                .aiScore(score.getAiScore())
+                .timeEfficiencyScore(score.getTimeEfficiencyScore())
+                .finalScore(score.getFinalScore() != null ? BigDecimal.valueOf(score.getFinalScore()) : null)
+                .scoreGrade(score.getScoreGrade())
+                .build());
+    }
+
+    public void publishEvaluationFailed(Long userId, Long submissionId, String message) {
+        send(userId, SubmissionProgressMessage.builder()
+                .type(SubmissionProgressType.EVALUATION_FAILED)
+                .submissionId(submissionId)
+                .message(message)
+                .build());
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 이후 전송 (이벤트를 받은 클라이언트가 조회 시 반영된 값을 보도록)
+     * 전송 실패는 채점 흐름에 영향을 주지 않는다
+     */
+    private void send(Long userId, SubmissionProgressMessage message) {
+        if (userId == null) {
+            return;
+        }
+
+        Runnable action = () -> {
+            try {
+                messagingTemplate.convertAndSendToUser(String.valueOf(userId), USER_DESTINATION, message);
+            } catch (Exception e) {
+                log.warn("제출 진행 상황 전송 실패 - submissionId: {}, type: {}, error: {}",
+                        message.getSubmissionId(), message.getType(), e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
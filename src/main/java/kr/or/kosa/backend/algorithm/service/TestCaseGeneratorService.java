@@ -54,6 +54,21 @@ public class TestCaseGeneratorService {
             String naiveCode,
             String languageName,
             List<AlgoTestcaseDto> testCases) {
+        return generateOutputs(optimalCode, naiveCode, languageName, testCases, null);
+    }
+
+    /**
+     * optimalCode를 실행하여 테스트케이스의 expected output을 생성합니다. (실행 세션 공유)
+     * 여기서 실행한 optimal/naive 결과는 세션에 남아 이후 검증기가 다시 실행하지 않고 재사용합니다.
+     *
+     * @param session 문제 생성 1건의 실행 세션 (nullable, null이면 매번 직접 실행)
+     */
+    public TestCaseGenerationResult generateOutputs(
+            String optimalCode,
+            String naiveCode,
+            String languageName,
+            List<AlgoTestcaseDto> testCases,
+            GenerationExecutionSession session) {
 
         log.info("Code-First 테스트케이스 생성 시작 - {} 케이스, language: {}", testCases.size(), languageName);
 
@@ -72,7 +87,7 @@ public class TestCaseGeneratorService {
         Integer languageId = language.getLanguageId();
 
         // 1. optimalCode로 모든 테스트케이스 실행하여 출력 생성
-        TestRunResponseDto optimalResults = executeCode(optimalCode, languageId, testCases);
+        TestRunResponseDto optimalResults = executeCode(optimalCode, languageId, testCases, session);
 
         if (optimalResults == null) {
             log.error("optimalCode 실행 실패 - 전체 실행 오류");
@@ -83,7 +98,7 @@ public class TestCaseGeneratorService {
         // 2. naiveCode 교차 검증 (있는 경우)
         TestRunResponseDto naiveResults = null;
         if (naiveCode != null && !naiveCode.isBlank()) {
-            naiveResults = executeCode(naiveCode, languageId, testCases);
+            naiveResults = executeCode(naiveCode, languageId, testCases, session);
             if (naiveResults == null) {
                 log.debug("naiveCode 실행 실패 (시간 초과 가능성)");
             }
@@ -175,6 +190,34 @@ public class TestCaseGeneratorService {
         );
     }
 
+    /**
+     * 코드 실행 미리 시작 (결과를 기다리지 않음)
+     * LLM 스트리밍 중 코드와 테스트케이스 입력이 먼저 도착하면 호출하며,
+     * generateOutputs와 같은 제한으로 실행하므로 결과는 세션에 남아 이후 generateOutputs가 그대로 재사용
+     *
+     * @param code         실행할 코드
+     * @param languageName 프로그래밍 언어명
+     * @param testCases    입력만 있는 테스트케이스 목록
+     * @param session      문제 생성 1건의 실행 세션
+     */
+    public void startExecution(String code, String languageName, List<AlgoTestcaseDto> testCases,
+                               GenerationExecutionSession session) {
+        if (session == null || code == null || code.isBlank() || testCases == null || testCases.isEmpty()) {
+            return;
+        }
+        LanguageDto language = languageService.getByName(languageName);
+        if (language == null) {
+            return;
+        }
+
+        log.info("테스트케이스 선실행 시작 - {} 케이스", testCases.size());
+        session.judgeCode(code, language.getLanguageId(), withDummyOutputs(testCases), (int) timeoutMs, 256 * 1024)
+                .exceptionally(e -> {
+                    log.debug("테스트케이스 선실행 실패 (generateOutputs에서 다시 실행): {}", e.getMessage());
+                    return null;
+                });
+    }
+
     /**
      * 코드 실행 (judgeCode 활용)
      * 더미 expectedOutput으로 실행하여 actualOutput 추출
@@ -182,20 +225,17 @@ public class TestCaseGeneratorService {
      * @param code       실행할 코드
      * @param languageId 언어 ID (LANGUAGES.LANGUAGE_ID)
      * @param testCases  테스트케이스 목록
+     * @param session    실행 세션 (nullable)
      */
-    private TestRunResponseDto executeCode(String code, Integer languageId, List<AlgoTestcaseDto> testCases) {
+    private TestRunResponseDto executeCode(String code, Integer languageId, List<AlgoTestcaseDto> testCases,
+                                           GenerationExecutionSession session) {
         try {
             // 더미 expectedOutput을 설정한 테스트케이스 생성
-            List<AlgoTestcaseDto> testCasesWithDummy = testCases.stream()
-                    .map(tc -> AlgoTestcaseDto.builder()
-                            .inputData(tc.getInputData())
-                            .expectedOutput("__DUMMY_OUTPUT__")  // 더미 값
-                            .isSample(tc.getIsSample())
-                            .build())
-                    .toList();
+            List<AlgoTestcaseDto> testCasesWithDummy = withDummyOutputs(testCases);
 
-            CompletableFuture<TestRunResponseDto> future = codeExecutorService.judgeCode(
-                    code, languageId, testCasesWithDummy, (int) timeoutMs, 256 * 1024);
+            CompletableFuture<TestRunResponseDto> future = session != null
+                    ? session.judgeCode(code, languageId, testCasesWithDummy, (int) timeoutMs, 256 * 1024)
+                    : codeExecutorService.judgeCode(code, languageId, testCasesWithDummy, (int) timeoutMs, 256 * 1024);
 
             return future.get(timeoutMs + 5000, TimeUnit.MILLISECONDS);
 
@@ -205,6 +245,16 @@ public class TestCaseGeneratorService {
         }
     }
 
+    private List<AlgoTestcaseDto> withDummyOutputs(List<AlgoTestcaseDto> testCases) {
+        return testCases.stream()
+                .map(tc -> AlgoTestcaseDto.builder()
+                        .inputData(tc.getInputData())
+                        .expectedOutput("__DUMMY_OUTPUT__")  // 더미 값
+                        .isSample(tc.getIsSample())
+                        .build())
+                .toList();
+    }
+
     /**
      * 출력 문자열 정규화
      */
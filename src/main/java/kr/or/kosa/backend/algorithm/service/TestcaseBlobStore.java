@@ -0,0 +1,219 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.luben.zstd.Zstd;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 테스트케이스 원문 저장소 (내용 주소 기반)
+ *
+ * - 키: 원문(UTF-8)의 SHA-256, 같은 입력/출력은 한 번만 저장
+ * - 저장 형식: zstd 압축 파일 ({local-dir}/ab/abcd...zst)
+ * - S3 사용 시 로컬 디스크는 캐시 역할, 없으면 S3에서 내려받아 보관 (로컬 파일은 S3 저장이 끝난 뒤에만 생긴다)
+ * - 읽기: 압축 파일을 메모리 매핑하여 바로 해제 (힙 복사 없음), 자주 쓰는 원문은 크기 제한 캐시에 유지
+ *
+ * 로컬 디스크만으로는 재배포나 다른 노드에서 원문이 사라지므로, S3가 설정되었거나
+ * local-dir이 모든 노드가 공유하는 영구 볼륨임을 명시(local-durable)한 경우에만 isDurable()이 true다.
+ * TestcaseStorageService는 isDurable()일 때만 원문을 DB 밖으로 옮긴다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TestcaseBlobStore {
+
+    private static final String EXTENSION = ".zst";
+
+    private final S3Client s3Client;
+
+    @Value("${algorithm.testcase-store.local-dir:./data/testcases}")
+    private String localDir;
+
+    @Value("${algorithm.testcase-store.compression-level:6}")
+    private int compressionLevel;
+
+    @Value("${algorithm.testcase-store.cache.max-bytes:67108864}") // 64MB
+    private long cacheMaxBytes;
+
+    @Value("${algorithm.testcase-store.s3.enabled:false}")
+    private boolean s3Enabled;
+
+    @Value("${algorithm.testcase-store.s3.bucket:${cloud.aws.s3.bucket:}}")
+    private String s3Bucket;
+
+    @Value("${algorithm.testcase-store.s3.prefix:testcases/}")
+    private String s3Prefix;
+
+    // local-dir이 모든 노드에 마운트된 영구 공유 볼륨인 경우에만 true
+    @Value("${algorithm.testcase-store.local-durable:false}")
+    private boolean localDurable;
+
+    private Path root;
+    private Cache<String, String> hotCache;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (s3Enabled && (s3Bucket == null || s3Bucket.isBlank())) {
+            throw new IllegalStateException("algorithm.testcase-store.s3.enabled=true 이지만 S3 버킷이 설정되지 않았습니다");
+        }
+        root = Paths.get(localDir).toAbsolutePath();
+        Files.createDirectories(root);
+        hotCache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String key, String value) -> value.length() * 2)
+                .build();
+        log.info("테스트케이스 저장소 초기화 - localDir: {}, s3: {}, cache: {}MB, 외부 저장: {}",
+                root, s3Enabled ? s3Bucket + "/" + s3Prefix : "disabled", cacheMaxBytes / (1024 * 1024),
+                isDurable() ? "사용" : "미사용 (영구 공유 저장소 없음, DB 인라인 유지)");
+    }
+
+    /**
+     * 재배포/다른 노드에서도 원문을 읽을 수 있는 저장소인지 (S3 또는 공유 영구 볼륨)
+     */
+    public boolean isDurable() {
+        return s3Enabled || localDurable;
+    }
+
+    /**
+     * 원문 저장 후 키 반환 (이미 있으면 저장 생략)
+     *
+     * S3 사용 시 S3에 먼저 쓰고 로컬 파일은 그 다음에 만든다 (로컬에 있으면 S3에도 있음을 보장).
+     * 업로드 여부는 로컬 파일이 아니라 S3 객체 존재(HEAD)로 판단한다.
+     */
+    public String put(String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        String key = hash(raw);
+        Path path = pathOf(key);
+
+        if (!s3Enabled && Files.exists(path)) {
+            return key;
+        }
+
+        byte[] compressed = Zstd.compress(raw, compressionLevel);
+        if (s3Enabled && !existsInS3(key)) {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(s3Bucket)
+                            .key(s3Prefix + key + EXTENSION)
+                            .contentType("application/zstd")
+                            .build(),
+                    RequestBody.fromBytes(compressed));
+        }
+
+        if (!Files.exists(path)) {
+            try {
+                writeLocal(key, path, compressed);
+            } catch (IOException e) {
+                throw new UncheckedIOException("테스트케이스 저장 실패 - key: " + key, e);
+            }
+        }
+
+        log.debug("테스트케이스 저장 - key: {}, {}B → {}B", key, raw.length, compressed.length);
+        return key;
+    }
+
+    /**
+     * 원문 조회
+     *
+     * @param originalSize 원본 크기 (bytes, 모르면 null - 프레임 헤더에서 읽음)
+     */
+    public String get(String key, Integer originalSize) {
+        return hotCache.get(key, k -> load(k, originalSize));
+    }
+
+    private String load(String key, Integer originalSize) {
+        Path path = pathOf(key);
+        if (!Files.exists(path)) {
+            if (!s3Enabled) {
+                throw new IllegalStateException("테스트케이스 원문을 찾을 수 없습니다 - key: " + key);
+            }
+            downloadFromS3(key, path);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int size = originalSize != null ? originalSize : (int) Zstd.decompressedSize(mapped);
+            ByteBuffer decompressed = Zstd.decompress(mapped, size);
+            return StandardCharsets.UTF_8.decode(decompressed).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("테스트케이스 읽기 실패 - key: " + key, e);
+        }
+    }
+
+    private void downloadFromS3(String key, Path path) {
+        try {
+            byte[] compressed = s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                    .bucket(s3Bucket)
+                    .key(s3Prefix + key + EXTENSION)
+                    .build()).asByteArray();
+            writeLocal(key, path, compressed);
+            log.debug("테스트케이스 S3 다운로드 - key: {}, {}B", key, compressed.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("테스트케이스 S3 다운로드 실패 - key: " + key, e);
+        }
+    }
+
+    private boolean existsInS3(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(s3Bucket)
+                    .key(s3Prefix + key + EXTENSION)
+                    .build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 동시 저장 시 반쯤 쓰인 파일이 읽히지 않도록 임시 파일로 쓴 뒤 이동
+     */
+    private void writeLocal(String key, Path path, byte[] compressed) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+        Files.write(temp, compressed);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key + EXTENSION);
+    }
+
+    private String hash(byte[] raw) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
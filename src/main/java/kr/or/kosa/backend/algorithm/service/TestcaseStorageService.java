@@ -0,0 +1,115 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 테스트케이스 저장/조회 서비스
+ *
+ * 크기가 큰 비공개 테스트케이스의 입력/출력은 TestcaseBlobStore에 압축 저장하고
+ * ALGO_TESTCASES에는 해시 키와 크기(메타데이터)만 남긴다.
+ * 샘플 테스트케이스는 화면에 그대로 노출되므로 항상 DB에 보관
+ * 저장소가 영구 공유 저장소(TestcaseBlobStore.isDurable)가 아니면 외부 저장하지 않고 DB에 그대로 둔다
+ *
+ * 조회 시 외부 저장된 케이스는 원문을 채워서 반환하므로 채점 코드는 기존과 동일하게 inputData/expectedOutput 사용
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TestcaseStorageService {
+
+    private final AlgorithmProblemMapper algorithmProblemMapper;
+    private final TestcaseBlobStore testcaseBlobStore;
+
+    @Value("${algorithm.testcase-store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${algorithm.testcase-store.inline-max-bytes:16384}") // 16KB
+    private int inlineMaxBytes;
+
+    /**
+     * 테스트케이스 저장
+     * 전달받은 DTO의 입력/출력은 변경하지 않고 testcaseId만 설정한다 (호출부에서 원문을 계속 사용할 수 있도록)
+     *
+     * @return 저장된 행 수
+     */
+    public int insert(AlgoTestcaseDto testcase) {
+        AlgoTestcaseDto row = AlgoTestcaseDto.builder()
+                .algoProblemId(testcase.getAlgoProblemId())
+                .inputData(testcase.getInputData())
+                .expectedOutput(testcase.getExpectedOutput())
+                .isSample(testcase.getIsSample())
+                .build();
+
+        if (enabled && testcaseBlobStore.isDurable() && !Boolean.TRUE.equals(testcase.getIsSample())) {
+            offload(row);
+        }
+
+        int result = algorithmProblemMapper.insertTestcase(row);
+        testcase.setTestcaseId(row.getTestcaseId());
+        return result;
+    }
+
+    /**
+     * 문제의 전체 테스트케이스 조회 (외부 저장된 원문 포함)
+     */
+    public List<AlgoTestcaseDto> getTestCases(Long problemId) {
+        List<AlgoTestcaseDto> testCases = algorithmProblemMapper.selectTestCasesByProblemId(problemId);
+        testCases.forEach(this::hydrate);
+        return testCases;
+    }
+
+    /**
+     * 외부 저장된 입력/출력 원문 채우기
+     */
+    public void hydrate(AlgoTestcaseDto testcase) {
+        if (testcase.getInputBlobKey() != null) {
+            testcase.setInputData(testcaseBlobStore.get(testcase.getInputBlobKey(), testcase.getInputSize()));
+        }
+        if (testcase.getOutputBlobKey() != null) {
+            testcase.setExpectedOutput(testcaseBlobStore.get(testcase.getOutputBlobKey(), testcase.getOutputSize()));
+        }
+    }
+
+    /**
+     * 기준 크기를 넘는 입력/출력을 외부 저장소로 이동 (DB 컬럼은 빈 문자열)
+     */
+    private void offload(AlgoTestcaseDto row) {
+        int inputBytes = byteLength(row.getInputData());
+        if (inputBytes > inlineMaxBytes) {
+            row.setInputBlobKey(testcaseBlobStore.put(row.getInputData()));
+            row.setInputSize(inputBytes);
+            row.setInputData("");
+        }
+
+        int outputBytes = byteLength(row.getExpectedOutput());
+        if (outputBytes > inlineMaxBytes) {
+            row.setOutputBlobKey(testcaseBlobStore.put(row.getExpectedOutput()));
+            row.setOutputSize(outputBytes);
+            row.setExpectedOutput("");
+        }
+
+        if (row.getInputBlobKey() != null || row.getOutputBlobKey() != null) {
+            log.debug("테스트케이스 외부 저장 - problemId: {}, input: {}B, output: {}B",
+                    row.getAlgoProblemId(), inputBytes, outputBytes);
+        }
+    }
+
+    private int byteLength(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // 대부분 ASCII이므로 문자 수가 기준 이하이면 바이트 계산 생략 (UTF-8은 문자당 최대 3바이트)
+        if (value.length() * 3 <= inlineMaxBytes) {
+            return value.length();
+        }
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
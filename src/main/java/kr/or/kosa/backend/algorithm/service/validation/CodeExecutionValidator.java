@@ -5,6 +5,7 @@ import kr.or.kosa.backend.algorithm.dto.LanguageDto;
 import kr.or.kosa.backend.algorithm.dto.ValidationResultDto;
 import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
 import kr.or.kosa.backend.algorithm.service.CodeExecutorService;
+import kr.or.kosa.backend.algorithm.service.GenerationExecutionSession;
 import kr.or.kosa.backend.algorithm.service.LanguageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -59,6 +61,22 @@ public class CodeExecutionValidator {
             List<AlgoTestcaseDto> testCases,
             Integer timeLimit,
             Integer memoryLimit) {
+        return validate(optimalCode, languageName, testCases, timeLimit, memoryLimit, null);
+    }
+
+    /**
+     * 최적 풀이 코드 실행 검증 (실행 세션 공유)
+     * Code-First 단계에서 이미 실행한 케이스는 세션 결과로 판정만 다시 한다
+     *
+     * @param session 문제 생성 1건의 실행 세션 (nullable)
+     */
+    public ValidationResultDto validate(
+            String optimalCode,
+            String languageName,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            GenerationExecutionSession session) {
 
         log.info("코드 실행 검증 시작 - language: {}, testCases: {}", languageName, testCases != null ? testCases.size() : 0);
 
@@ -86,13 +104,10 @@ public class CodeExecutionValidator {
 
         // 4. Judge0로 코드 실행 (languageId 사용)
         try {
-            TestRunResponseDto judgeResult = codeExecutorService.judgeCode(
-                    optimalCode,
-                    languageId,
-                    testCases,
-                    effectiveTimeLimit,
-                    effectiveMemoryLimit
-            ).get(executionTimeoutSeconds, TimeUnit.SECONDS);
+            CompletableFuture<TestRunResponseDto> execution = session != null
+                    ? session.judgeCode(optimalCode, languageId, testCases, effectiveTimeLimit, effectiveMemoryLimit)
+                    : codeExecutorService.judgeCode(optimalCode, languageId, testCases, effectiveTimeLimit, effectiveMemoryLimit);
+            TestRunResponseDto judgeResult = execution.get(executionTimeoutSeconds, TimeUnit.SECONDS);
 
             // 5. 결과 분석
             analyzeJudgeResult(judgeResult, result);
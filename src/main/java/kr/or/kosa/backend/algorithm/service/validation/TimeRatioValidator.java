@@ -5,6 +5,7 @@ import kr.or.kosa.backend.algorithm.dto.LanguageDto;
 import kr.or.kosa.backend.algorithm.dto.ValidationResultDto;
 import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
 import kr.or.kosa.backend.algorithm.service.CodeExecutorService;
+import kr.or.kosa.backend.algorithm.service.GenerationExecutionSession;
 import kr.or.kosa.backend.algorithm.service.LanguageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -70,6 +72,23 @@ public class TimeRatioValidator {
             List<AlgoTestcaseDto> testCases,
             Integer timeLimit,
             Integer memoryLimit) {
+        return validate(optimalCode, naiveCode, languageName, testCases, timeLimit, memoryLimit, null);
+    }
+
+    /**
+     * 시간 비율 검증 (실행 세션 공유)
+     * optimal/naive 실행과 출력 일관성 샘플 실행 모두 세션에 이미 있는 (코드, 입력) 결과를 재사용
+     *
+     * @param session 문제 생성 1건의 실행 세션 (nullable)
+     */
+    public ValidationResultDto validate(
+            String optimalCode,
+            String naiveCode,
+            String languageName,
+            List<AlgoTestcaseDto> testCases,
+            Integer timeLimit,
+            Integer memoryLimit,
+            GenerationExecutionSession session) {
 
         log.info("시간 비율 검증 시작 - language: {}, minTimeRatio: {}", languageName, minTimeRatio);
 
@@ -97,7 +116,7 @@ public class TimeRatioValidator {
             // ===== Phase 7: 출력 일관성 검증 (방안 B) =====
             // 시간 비율 검증 전에 샘플 TC로 optimal과 naive의 출력이 일치하는지 확인
             if (outputConsistencyEnabled) {
-                validateSampleOutputConsistency(optimalCode, naiveCode, languageId, testCases, result);
+                validateSampleOutputConsistency(optimalCode, naiveCode, languageId, testCases, result, session);
                 if (!result.isPassed()) {
                     log.warn("출력 일관성 검증 실패 - 시간 비율 검증 스킵");
                     return result;
@@ -106,14 +125,14 @@ public class TimeRatioValidator {
 
             // ===== 기존 시간 비율 검증 (방안 C 포함) =====
             long optimalTime = executeAndGetMaxTime(optimalCode, languageId, testCases,
-                    effectiveTimeLimit, effectiveMemoryLimit, result, "optimal");
+                    effectiveTimeLimit, effectiveMemoryLimit, result, "optimal", session);
 
             if (optimalTime < 0) {
                 return result;
             }
 
             long naiveTime = executeAndGetMaxTime(naiveCode, languageId, testCases,
-                    effectiveTimeLimit, effectiveMemoryLimit, result, "naive");
+                    effectiveTimeLimit, effectiveMemoryLimit, result, "naive", session);
 
             if (naiveTime < 0) {
                 return result;
@@ -171,12 +190,12 @@ public class TimeRatioValidator {
             int timeLimit,
             int memoryLimit,
             ValidationResultDto result,
-            String codeType) {
+            String codeType,
+            GenerationExecutionSession session) {
 
         try {
-            TestRunResponseDto judgeResult = codeExecutorService.judgeCode(
-                    code, languageId, testCases, timeLimit, memoryLimit
-            ).get(executionTimeoutSeconds, TimeUnit.SECONDS);
+            TestRunResponseDto judgeResult = execute(session, code, languageId, testCases, timeLimit, memoryLimit)
+                    .get(executionTimeoutSeconds, TimeUnit.SECONDS);
 
             if (!"AC".equals(judgeResult.getOverallResult())) {
                 if ("TLE".equals(judgeResult.getOverallResult()) && "naive".equals(codeType)) {
@@ -246,13 +265,15 @@ public class TimeRatioValidator {
      * @param languageId  언어 ID
      * @param testCases   전체 테스트케이스 목록
      * @param result      검증 결과 객체
+     * @param session     실행 세션 (nullable)
      */
     private void validateSampleOutputConsistency(
             String optimalCode,
             String naiveCode,
             Integer languageId,
             List<AlgoTestcaseDto> testCases,
-            ValidationResultDto result) {
+            ValidationResultDto result,
+            GenerationExecutionSession session) {
 
         log.info("출력 일관성 검증 시작 - sampleLimit: {}, timeout: {}ms", sampleLimit, outputConsistencyTimeoutMs);
 
@@ -282,14 +303,14 @@ public class TimeRatioValidator {
             log.debug("샘플 TC {} 검증 중 - 입력 길이: {} chars", i + 1, inputData != null ? inputData.length() : 0);
 
             // optimal 코드 실행
-            String optimalOutput = executeSingleTestCase(optimalCode, languageId, inputData, outputConsistencyTimeoutMs);
+            String optimalOutput = executeSingleTestCase(optimalCode, languageId, inputData, outputConsistencyTimeoutMs, session);
             if (optimalOutput == null) {
                 result.addError(String.format("샘플 TC %d: optimal 코드 실행 실패", i + 1));
                 continue;
             }
 
             // naive 코드 실행
-            String naiveOutput = executeSingleTestCase(naiveCode, languageId, inputData, outputConsistencyTimeoutMs);
+            String naiveOutput = executeSingleTestCase(naiveCode, languageId, inputData, outputConsistencyTimeoutMs, session);
 
             // naive TLE는 허용 (null 반환 시 건너뜀)
             if (naiveOutput == null) {
@@ -337,9 +358,11 @@ public class TimeRatioValidator {
      * @param languageId 언어 ID
      * @param input      입력 데이터
      * @param timeoutMs  타임아웃 (밀리초)
+     * @param session    실행 세션 (nullable)
      * @return 실행 결과 출력 (실패 시 null)
      */
-    private String executeSingleTestCase(String code, Integer languageId, String input, int timeoutMs) {
+    private String executeSingleTestCase(String code, Integer languageId, String input, int timeoutMs,
+                                         GenerationExecutionSession session) {
         try {
             // 단일 TC를 위한 임시 DTO 생성
             AlgoTestcaseDto tempTestCase = new AlgoTestcaseDto();
@@ -347,9 +370,8 @@ public class TimeRatioValidator {
             tempTestCase.setExpectedOutput("");  // 출력 검증이 아닌 실행 결과 확인용
 
             // 코드 실행 (타임아웃 적용)
-            TestRunResponseDto judgeResult = codeExecutorService.judgeCode(
-                    code, languageId, List.of(tempTestCase), timeoutMs, defaultMemoryLimit
-            ).get(executionTimeoutSeconds, TimeUnit.SECONDS);
+            TestRunResponseDto judgeResult = execute(session, code, languageId, List.of(tempTestCase),
+                    timeoutMs, defaultMemoryLimit).get(executionTimeoutSeconds, TimeUnit.SECONDS);
 
             // 실행 실패 체크 (TLE 포함)
             if (judgeResult == null || judgeResult.getTestCaseResults() == null
@@ -383,6 +405,17 @@ public class TimeRatioValidator {
         }
     }
 
+    /**
+     * 세션이 있으면 세션을 통해 (이미 실행한 케이스 재사용), 없으면 직접 실행
+     */
+    private CompletableFuture<TestRunResponseDto> execute(GenerationExecutionSession session, String code,
+                                                          Integer languageId, List<AlgoTestcaseDto> testCases,
+                                                          int timeLimit, int memoryLimit) {
+        return session != null
+                ? session.judgeCode(code, languageId, testCases, timeLimit, memoryLimit)
+                : codeExecutorService.judgeCode(code, languageId, testCases, timeLimit, memoryLimit);
+    }
+
     /**
      * 출력 문자열 정규화 (비교를 위해)
      * - 앞뒤 공백 제거
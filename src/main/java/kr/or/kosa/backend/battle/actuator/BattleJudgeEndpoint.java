@@ -0,0 +1,27 @@
+package kr.or.kosa.backend.battle.actuator;
+
+import kr.or.kosa.backend.battle.dto.BattleJudgeStatsResponse;
+import kr.or.kosa.backend.battle.service.BattleJudgeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배틀 채점 풀 상태 (운영 전용 actuator 엔드포인트)
+ * GET /actuator/battlejudge
+ *
+ * 스레드/대기열 사용량, 중복 제출 합류, 거절, 시간 초과 횟수 모니터링용
+ */
+@Component
+@Endpoint(id = "battlejudge")
+@RequiredArgsConstructor
+public class BattleJudgeEndpoint {
+
+    private final BattleJudgeService battleJudgeService;
+
+    @ReadOperation
+    public BattleJudgeStatsResponse stats() {
+        return battleJudgeService.getStats();
+    }
+}
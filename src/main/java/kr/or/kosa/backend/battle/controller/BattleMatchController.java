@@ -0,0 +1,32 @@
+package kr.or.kosa.backend.battle.controller;
+
+import kr.or.kosa.backend.battle.dto.BattleMatchReplayResponse;
+import kr.or.kosa.backend.battle.service.BattleRoomService;
+import kr.or.kosa.backend.commons.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/battle/matches")
+@RequiredArgsConstructor
+public class BattleMatchController {
+
+    private final BattleRoomService battleRoomService;
+
+    /**
+     * 매치 이벤트 따라잡기 (관전자/늦게 들어온 클라이언트)
+     * 응답의 lastEventId 이후 변경은 /topic/battle/match/{matchId}/events 구독으로 받는다
+     */
+    @GetMapping("/{matchId}/events")
+    public ResponseEntity<ApiResponse<BattleMatchReplayResponse>> getEvents(
+            @PathVariable String matchId,
+            @RequestParam(required = false) String after
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(battleRoomService.getMatchReplay(matchId, after)));
+    }
+}
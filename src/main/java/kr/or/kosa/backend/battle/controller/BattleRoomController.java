@@ -3,6 +3,7 @@ package kr.or.kosa.backend.battle.controller;
 import java.util.List;
 
 import jakarta.validation.Valid;
+import kr.or.kosa.backend.battle.dto.BattleLobbySnapshotResponse;
 import kr.or.kosa.backend.battle.dto.BattleRoomCreateRequest;
 import kr.or.kosa.backend.battle.dto.BattleRoomResponse;
 import kr.or.kosa.backend.battle.dto.BattleRoomJoinRequest;
@@ -49,6 +50,15 @@ public class BattleRoomController {
         return ResponseEntity.ok(ApiResponse.success(rooms));
     }
 
+    /**
+     * 로비 스냅샷 (seq 포함)
+     * 로비 변경분의 seq가 끊기면 클라이언트가 이 스냅샷으로 다시 맞춘다
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<ApiResponse<BattleLobbySnapshotResponse>> getLobbySnapshot() {
+        return ResponseEntity.ok(ApiResponse.success(battleRoomService.getLobbySnapshot()));
+    }
+
     @GetMapping("/{roomId}")
     public ResponseEntity<ApiResponse<BattleRoomResponse>> getRoom(
             @PathVariable String roomId,
@@ -1,11 +1,15 @@
 package kr.or.kosa.backend.battle.domain;
 
 public enum BattleEventType {
-    ROOM_LIST,
+    ROOM_ADDED,
+    ROOM_UPDATED,
+    ROOM_REMOVED,
     ROOM_STATE,
     COUNTDOWN,
     START,
     SUBMIT_RESULT,
+    AI_REVIEW,
+    MATCH_EVENT,
     ERROR,
     FINISH
 }
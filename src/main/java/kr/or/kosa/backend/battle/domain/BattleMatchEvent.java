@@ -0,0 +1,11 @@
+package kr.or.kosa.backend.battle.domain;
+
+/**
+ * 매치 이벤트 스트림 항목 요약
+ *
+ * @param eventId Redis 스트림 항목 ID
+ * @param type    이벤트 종류 (SNAPSHOT, MEMBERS, PARTICIPANT, ROOM 또는 전이된 상태명)
+ * @param version 저장 후 방 버전
+ */
+public record BattleMatchEvent(String eventId, String type, Long version) {
+}
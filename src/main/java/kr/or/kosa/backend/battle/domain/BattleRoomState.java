@@ -18,6 +18,8 @@ public class BattleRoomState implements Serializable {
     private boolean randomProblem;
     private Long languageId;
     private String levelMode;
+    // 랜덤 출제 문제 난이도 (ProblemDifficulty 이름, null이면 전체)
+    private String problemDifficulty;
     private BigDecimal betAmount;
     private Integer maxDurationMinutes;
     private boolean countdownStarted;
@@ -35,6 +37,13 @@ public class BattleRoomState implements Serializable {
     private String winReason;
     private Map<Long, BattleParticipantState> participants = new HashMap<>();
 
+    // BattleRoomStore가 마지막으로 읽거나 쓴 Redis 해시 필드 (변경분만 기록하기 위한 비교 기준, 직렬화 제외)
+    private transient Map<String, String> persistedFields;
+
+    // 마지막 저장으로 매치 이벤트 스트림에 남은 항목 (직렬화 제외)
+    private transient String lastEventId;
+    private transient String lastEventType;
+
     public BattleRoomState() {
     }
 
@@ -61,6 +70,27 @@ public class BattleRoomState implements Serializable {
         participants.put(participant.getUserId(), participant);
     }
 
+    public Map<String, String> persistedFields() {
+        return persistedFields;
+    }
+
+    public void markPersisted(Map<String, String> fields) {
+        this.persistedFields = fields;
+    }
+
+    public String lastEventId() {
+        return lastEventId;
+    }
+
+    public String lastEventType() {
+        return lastEventType;
+    }
+
+    public void markEvent(String eventId, String eventType) {
+        this.lastEventId = eventId;
+        this.lastEventType = eventType;
+    }
+
     public static BattleRoomStateBuilder builder() {
         return new BattleRoomStateBuilder();
     }
@@ -76,6 +106,7 @@ public class BattleRoomState implements Serializable {
         private boolean randomProblem;
         private Long languageId;
         private String levelMode;
+        private String problemDifficulty;
         private BigDecimal betAmount;
         private Integer maxDurationMinutes;
         private boolean countdownStarted;
@@ -102,6 +133,7 @@ public class BattleRoomState implements Serializable {
         public BattleRoomStateBuilder randomProblem(boolean randomProblem) { this.randomProblem = randomProblem; return this; }
         public BattleRoomStateBuilder languageId(Long languageId) { this.languageId = languageId; return this; }
         public BattleRoomStateBuilder levelMode(String levelMode) { this.levelMode = levelMode; return this; }
+        public BattleRoomStateBuilder problemDifficulty(String problemDifficulty) { this.problemDifficulty = problemDifficulty; return this; }
         public BattleRoomStateBuilder betAmount(BigDecimal betAmount) { this.betAmount = betAmount; return this; }
         public BattleRoomStateBuilder maxDurationMinutes(Integer maxDurationMinutes) { this.maxDurationMinutes = maxDurationMinutes; return this; }
         public BattleRoomStateBuilder countdownStarted(boolean countdownStarted) { this.countdownStarted = countdownStarted; return this; }
@@ -130,6 +162,7 @@ public class BattleRoomState implements Serializable {
             state.setRandomProblem(randomProblem);
             state.setLanguageId(languageId);
             state.setLevelMode(levelMode);
+            state.setProblemDifficulty(problemDifficulty);
             state.setBetAmount(betAmount);
             state.setMaxDurationMinutes(maxDurationMinutes);
             state.setCountdownStarted(countdownStarted);
@@ -170,6 +203,8 @@ public class BattleRoomState implements Serializable {
     public void setLanguageId(Long languageId) { this.languageId = languageId; }
     public String getLevelMode() { return levelMode; }
     public void setLevelMode(String levelMode) { this.levelMode = levelMode; }
+    public String getProblemDifficulty() { return problemDifficulty; }
+    public void setProblemDifficulty(String problemDifficulty) { this.problemDifficulty = problemDifficulty; }
     public BigDecimal getBetAmount() { return betAmount; }
     public void setBetAmount(BigDecimal betAmount) { this.betAmount = betAmount; }
     public Integer getMaxDurationMinutes() { return maxDurationMinutes; }
@@ -0,0 +1,10 @@
+package kr.or.kosa.backend.battle.domain;
+
+public enum BattleTimerType {
+    MATCH_START,
+    MATCH_TIMEOUT,
+    POST_GAME_CLEANUP,
+    DISCONNECT_GRACE,
+    OPPONENT_RECHECK,
+    WAITING_GRACE
+}
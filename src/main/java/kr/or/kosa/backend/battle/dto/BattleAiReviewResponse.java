@@ -0,0 +1,17 @@
+package kr.or.kosa.backend.battle.dto;
+
+import java.math.BigDecimal;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 채점 후 비동기로 도착하는 AI 코드 평가 (승패에는 반영하지 않음)
+ */
+@Getter
+@Builder
+public class BattleAiReviewResponse {
+    private final Long userId;
+    private final String verdict;
+    private final BigDecimal aiScore;
+    private final String feedback;
+}
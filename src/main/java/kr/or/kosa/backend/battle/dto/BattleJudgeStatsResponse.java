@@ -0,0 +1,21 @@
+package kr.or.kosa.backend.battle.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 배틀 채점 풀 상태 (이 노드 기준)
+ */
+@Getter
+@Builder
+public class BattleJudgeStatsResponse {
+    private final int threads;
+    private final int queueCapacity;
+    private final int active;
+    private final int queued;
+    private final int inFlight;
+    private final long submitted;
+    private final long deduplicated;
+    private final long rejected;
+    private final long timedOut;
+}
@@ -0,0 +1,16 @@
+package kr.or.kosa.backend.battle.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 로비 변경분 (ROOM_ADDED / ROOM_UPDATED / ROOM_REMOVED)
+ * seq가 마지막으로 받은 값 + 1이 아니면 클라이언트는 스냅샷으로 다시 맞춘다
+ */
+@Getter
+@Builder
+public class BattleLobbyDeltaResponse {
+    private final long seq;
+    private final String roomId;
+    private final BattleRoomResponse room; // ROOM_REMOVED이면 null
+}
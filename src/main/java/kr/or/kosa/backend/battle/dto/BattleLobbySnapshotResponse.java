@@ -0,0 +1,17 @@
+package kr.or.kosa.backend.battle.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 로비 스냅샷
+ * seq 이하의 변경분은 이미 반영되어 있으므로 이후 변경분만 적용하면 된다
+ */
+@Getter
+@Builder
+public class BattleLobbySnapshotResponse {
+    private final long seq;
+    private final List<BattleRoomResponse> rooms;
+}
@@ -0,0 +1,17 @@
+package kr.or.kosa.backend.battle.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 매치 이벤트 (관전 구독 /topic/battle/match/{matchId}/events)
+ * eventId는 스트림 항목 ID라 단조 증가하며, 따라잡기 응답의 lastEventId 이하는 버리면 된다
+ */
+@Getter
+@Builder
+public class BattleMatchEventResponse {
+    private final String eventId;
+    private final String type;
+    private final Long version;
+    private final BattleRoomResponse room;
+}
@@ -0,0 +1,19 @@
+package kr.or.kosa.backend.battle.dto;
+
+import java.util.List;
+
+import kr.or.kosa.backend.battle.domain.BattleMatchEvent;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 매치 이벤트 따라잡기 (스트림 재생으로 만든 현재 상태 + after 이후 이벤트 목록)
+ */
+@Getter
+@Builder
+public class BattleMatchReplayResponse {
+    private final String matchId;
+    private final String lastEventId;
+    private final BattleRoomResponse room;
+    private final List<BattleMatchEvent> events;
+}
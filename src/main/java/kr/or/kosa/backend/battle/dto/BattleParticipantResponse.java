@@ -4,12 +4,14 @@ import kr.or.kosa.backend.battle.domain.BattleParticipantState;
 import kr.or.kosa.backend.battle.util.BattleTime;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@Jacksonized
 public class BattleParticipantResponse {
     private final Long userId;
     private final String nickname;
@@ -29,6 +29,9 @@ public class BattleRoomCreateRequest {
     @NotBlank(message = "\uB808\uBCA8 \uB9E4\uCE6D \uADDC\uCE59\uC740 \uD544\uC218\uC785\uB2C8\uB2E4.")
     private String levelMode;
 
+    // 랜덤 출제 난이도 (BRONZE/SILVER/GOLD/PLATINUM, 비우면 전체)
+    private String problemDifficulty;
+
     @PositiveOrZero
     @Max(120)
     @Min(1)
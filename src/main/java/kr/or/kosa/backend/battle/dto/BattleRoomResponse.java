@@ -6,14 +6,17 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import kr.or.kosa.backend.battle.domain.BattleRoomState;
 import kr.or.kosa.backend.battle.domain.BattleStatus;
 import kr.or.kosa.backend.battle.util.BattleTime;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized
 public class BattleRoomResponse {
     private final String roomId;
     private final String matchId;
@@ -27,9 +30,11 @@ public class BattleRoomResponse {
     private final boolean randomProblem;
     private final Long languageId;
     private final String levelMode;
+    private final String problemDifficulty;
     private final BigDecimal betAmount;
     private final Integer maxDurationMinutes;
     private final boolean countdownStarted;
+    @JsonProperty("private")
     private final boolean isPrivate;
 
     private final String createdAt;     // ISO(+09:00)
@@ -100,6 +105,7 @@ public class BattleRoomResponse {
                 .randomProblem(state.isRandomProblem())
                 .languageId(state.getLanguageId())
                 .levelMode(state.getLevelMode())
+                .problemDifficulty(state.getProblemDifficulty())
                 .betAmount(state.getBetAmount())
                 .maxDurationMinutes(state.getMaxDurationMinutes())
                 .countdownStarted(state.isCountdownStarted())
@@ -22,6 +22,9 @@ public class BattleRoomUpdateRequest {
 
     private String levelMode;
 
+    // 랜덤 출제 난이도 (BRONZE/SILVER/GOLD/PLATINUM, ANY면 전체, null이면 변경 없음)
+    private String problemDifficulty;
+
     @PositiveOrZero
     @Min(1)
     @Max(120)
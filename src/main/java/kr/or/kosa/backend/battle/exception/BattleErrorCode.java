@@ -38,7 +38,10 @@ public enum BattleErrorCode implements ErrorCode {
     READY_COOLDOWN("B033", "\uBC29 \uC124\uC815\uC774 \uBCC0\uACBD\uB418\uC5B4 3\uCD08 \uD6C4 \uC900\uBE44\uAC00 \uAC00\uB2A5\uD569\uB2C8\uB2E4."),
     SETTINGS_LOCKED("B034", "\uCE74\uC6B4\uD2B8\uB2E4\uC6B4 \uC911\uC5D0\uB294 \uC124\uC815\uC744 \uBCC0\uACBD\uD560 \uC218 \uC5C6\uC2B5\uB2C8\uB2E4."),
     SUBMIT_ALREADY_FINISHED("B035", "\uC774\uBBF8 \uC81C\uCD9C\uC774 \uC644\uB8CC\uB418\uC5C8\uC2B5\uB2C8\uB2E4."),
-    PROBLEM_NOT_FOUND("B036", "\uB79C\uB364\uC73C\uB85C \uC120\uD0DD\uD560 \uBB38\uC81C\uAC00 \uC5C6\uC2B5\uB2C8\uB2E4.");
+    PROBLEM_NOT_FOUND("B036", "\uB79C\uB364\uC73C\uB85C \uC120\uD0DD\uD560 \uBB38\uC81C\uAC00 \uC5C6\uC2B5\uB2C8\uB2E4."),
+    ROOM_BUSY("B037", "\uC694\uCCAD\uC774 \uBAB0\uB824 \uCC98\uB9AC\uD558\uC9C0 \uBABB\uD588\uC2B5\uB2C8\uB2E4. \uC7A0\uC2DC \uD6C4 \uB2E4\uC2DC \uC2DC\uB3C4\uD574 \uC8FC\uC138\uC694."),
+    JUDGE_BUSY("B038", "\uCC44\uC810 \uC694\uCCAD\uC774 \uB9CE\uC544 \uCC98\uB9AC\uD558\uC9C0 \uBABB\uD588\uC2B5\uB2C8\uB2E4. \uC7A0\uC2DC \uD6C4 \uB2E4\uC2DC \uC81C\uCD9C\uD574 \uC8FC\uC138\uC694."),
+    JUDGE_IN_PROGRESS("B039", "\uC774\uBBF8 \uAC19\uC740 \uCF54\uB4DC\uB97C \uCC44\uC810 \uC911\uC785\uB2C8\uB2E4. \uACB0\uACFC\uB97C \uAE30\uB2E4\uB824 \uC8FC\uC138\uC694.");
 
     private final String code;
     private final String message;
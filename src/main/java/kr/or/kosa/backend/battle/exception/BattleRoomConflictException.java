@@ -0,0 +1,19 @@
+package kr.or.kosa.backend.battle.exception;
+
+/**
+ * 방 상태 버전 충돌 (다른 요청이 먼저 상태를 바꾼 경우)
+ * 사용자에게 노출하지 않고 BattleRoomService에서 다시 읽어 재시도한다
+ */
+public class BattleRoomConflictException extends RuntimeException {
+
+    private final String roomId;
+
+    public BattleRoomConflictException(String roomId) {
+        super("battle room version conflict: " + roomId);
+        this.roomId = roomId;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+}
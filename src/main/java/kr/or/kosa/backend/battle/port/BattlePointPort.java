@@ -1,6 +1,8 @@
 package kr.or.kosa.backend.battle.port;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 
 public interface BattlePointPort {
     void holdBet(String matchId, Long userId, BigDecimal amount);
@@ -10,4 +12,9 @@ public interface BattlePointPort {
     boolean refund(String matchId, Long userId, BigDecimal amount);
 
     BigDecimal getBalance(Long userId);
+
+    /**
+     * 여러 사용자 잔액 일괄 조회 (포인트 row가 없으면 0)
+     */
+    Map<Long, BigDecimal> getBalances(Collection<Long> userIds);
 }
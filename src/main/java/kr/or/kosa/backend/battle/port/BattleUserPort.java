@@ -1,9 +1,16 @@
 package kr.or.kosa.backend.battle.port;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 import kr.or.kosa.backend.battle.port.dto.BattleUserProfile;
 
 public interface BattleUserPort {
     Optional<BattleUserProfile> findProfile(Long userId);
+
+    /**
+     * 여러 사용자 프로필 일괄 조회 (없는 사용자는 결과에서 빠진다)
+     */
+    Map<Long, BattleUserProfile> findProfiles(Collection<Long> userIds);
 }
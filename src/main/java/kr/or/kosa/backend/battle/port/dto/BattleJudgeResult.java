@@ -13,6 +13,11 @@ public class BattleJudgeResult {
     private final String message;
     private final BigDecimal score;
 
+    // 테스트케이스 실행 채점일 때만 채워짐 (AC/WA/TLE/MLE/RE/CE)
+    private final String verdict;
+    private final Integer passedCount;
+    private final Integer totalCount;
+
     public static BattleJudgeResult accepted() {
         return BattleJudgeResult.builder()
                 .accepted(true)
@@ -0,0 +1,113 @@
+package kr.or.kosa.backend.battle.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import kr.or.kosa.backend.algorithm.dto.AlgoProblemDto;
+import kr.or.kosa.backend.algorithm.dto.LanguageDto;
+import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
+import kr.or.kosa.backend.algorithm.service.CodeEvaluationService;
+import kr.or.kosa.backend.algorithm.service.LanguageService;
+import kr.or.kosa.backend.battle.dto.BattleAiReviewResponse;
+import kr.or.kosa.backend.battle.dto.BattleSubmitMessage;
+import kr.or.kosa.backend.battle.port.dto.BattleJudgeResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 배틀 제출 AI 코드 평가 (비동기)
+ *
+ * 승패는 테스트케이스 실행 결과로 이미 정해졌으므로, AI 평가는 aiEvaluationExecutor에서 따로 돌리고
+ * 끝나는 대로 방 토픽에 AI_REVIEW로 전달만 한다 (방 상태/점수는 바꾸지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BattleAiReviewService {
+
+    private static final BigDecimal MAX_SCORE = BigDecimal.valueOf(100);
+
+    private final CodeEvaluationService codeEvaluationService;
+    private final AlgorithmProblemMapper algorithmProblemMapper;
+    private final LanguageService languageService;
+    private final BattleMessageService battleMessageService;
+
+    @Value("${battle.judge.ai-review.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 실행 채점 결과(verdict가 있는 결과)에만 요청, AI 채점 모드에서는 점수가 곧 AI 평가라 생략
+     */
+    public void requestReview(String roomId, String matchId, Long userId,
+                              BattleSubmitMessage submitMessage, BattleJudgeResult result) {
+        if (!enabled || result == null || !result.isAccepted() || result.getVerdict() == null) {
+            return;
+        }
+
+        AlgoProblemDto problem;
+        String languageName;
+        try {
+            problem = algorithmProblemMapper.selectProblemById(submitMessage.getProblemId());
+            languageName = resolveLanguageName(submitMessage.getLanguageId());
+        } catch (Exception e) {
+            log.warn("[battle] matchId={} userId={} action=ai-review-skip error={}", matchId, userId, e.getMessage());
+            return;
+        }
+
+        codeEvaluationService.evaluateCode(
+                        submitMessage.getSource(),
+                        extractProblemDescription(problem),
+                        languageName,
+                        result.getVerdict(),
+                        "algorithm",
+                        problem != null ? problem.getExpectedTimeComplexity() : null,
+                        result.getPassedCount() != null ? result.getPassedCount() : 0,
+                        result.getTotalCount() != null ? result.getTotalCount() : 0)
+                .whenComplete((evaluation, error) -> {
+                    if (error != null || evaluation == null) {
+                        log.warn("[battle] matchId={} userId={} action=ai-review-failed error={}",
+                                matchId, userId, error != null ? error.getMessage() : null);
+                        return;
+                    }
+                    BattleAiReviewResponse review = BattleAiReviewResponse.builder()
+                            .userId(userId)
+                            .verdict(result.getVerdict())
+                            .aiScore(normalizeScore(evaluation.getAiScore()))
+                            .feedback(evaluation.getFeedback())
+                            .build();
+                    log.info("[battle] matchId={} userId={} action=ai-review aiScore={}",
+                            matchId, userId, review.getAiScore());
+                    battleMessageService.publishAiReview(review, roomId, matchId);
+                });
+    }
+
+    private String extractProblemDescription(AlgoProblemDto problem) {
+        if (problem == null) return "\uBB38\uC81C \uC124\uBA85\uC774 \uC5C6\uC2B5\uB2C8\uB2E4.";
+        if (StringUtils.hasText(problem.getAlgoProblemDescription())) {
+            return problem.getAlgoProblemDescription();
+        }
+        if (StringUtils.hasText(problem.getAlgoProblemTitle())) {
+            return problem.getAlgoProblemTitle();
+        }
+        return "\uBB38\uC81C \uC124\uBA85\uC774 \uC5C6\uC2B5\uB2C8\uB2E4.";
+    }
+
+    private String resolveLanguageName(Long languageId) {
+        if (languageId == null) return "Unknown";
+        LanguageDto language = languageService.getById(languageId.intValue());
+        if (language != null && StringUtils.hasText(language.getLanguageName())) {
+            return language.getLanguageName();
+        }
+        return "Unknown";
+    }
+
+    private BigDecimal normalizeScore(Double rawScore) {
+        BigDecimal score = rawScore == null ? BigDecimal.ZERO : BigDecimal.valueOf(rawScore);
+        if (score.compareTo(BigDecimal.ZERO) < 0) score = BigDecimal.ZERO;
+        if (score.compareTo(MAX_SCORE) > 0) score = MAX_SCORE;
+        return score.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,30 +1,128 @@
 package kr.or.kosa.backend.battle.service;
 
+import kr.or.kosa.backend.battle.dto.BattleJudgeStatsResponse;
 import kr.or.kosa.backend.battle.dto.BattleSubmitMessage;
+import kr.or.kosa.backend.battle.exception.BattleErrorCode;
+import kr.or.kosa.backend.battle.exception.BattleException;
 import kr.or.kosa.backend.battle.port.BattleJudgePort;
 import kr.or.kosa.backend.battle.port.dto.BattleJudgeCommand;
 import kr.or.kosa.backend.battle.port.dto.BattleJudgeResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 배틀 제출 채점
+ *
+ * - 크기와 대기열 길이가 정해진 전용 풀에서 실행하고, 제출 전에 자리를 예약해 포화 시 즉시 거절 (JUDGE_BUSY)
+ * - 같은 (roomId, userId, 소스 해시) 제출이 채점 중이면 거절 (JUDGE_IN_PROGRESS), 결과 반영은 처음 제출만 한다
+ * - 결과는 비동기로 돌려준다 (STOMP 스레드가 채점을 기다리지 않음), 제한 시간이 지나면 채점 작업을 취소(인터럽트)한다
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BattleJudgeService {
 
     private static final long JUDGE_TIMEOUT_SECONDS = 25L;
-    private static final ExecutorService JUDGE_EXECUTOR = Executors.newCachedThreadPool();
 
     private final BattleJudgePort battleJudgePort;
 
-    public BattleJudgeResult judge(String matchId, Long userId, BattleSubmitMessage submitMessage) {
+    @Value("${battle.judge.threads:8}")
+    private int threads;
+
+    @Value("${battle.judge.queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor judgeExecutor;
+    // 실행 중 + 대기 중 채점 자리 (풀 크기 + 대기열 길이)
+    private Semaphore slots;
+    private final ConcurrentHashMap<String, CompletableFuture<BattleJudgeResult>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    @PostConstruct
+    void initExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        judgeExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "battle-judge-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        judgeExecutor.allowCoreThreadTimeOut(true);
+        slots = new Semaphore(threads + queueCapacity);
+        log.info("[battle] action=judge-executor-init threads={} queueCapacity={}", threads, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        judgeExecutor.shutdownNow();
+    }
+
+    /**
+     * 제출 전 채점 자리 예약 (제출을 기록하기 전에 호출, 이후 judge 또는 release로 반드시 정리)
+     *
+     * - 실행 중 + 대기 중 채점 수를 Semaphore로 한 번에 예약해 확인과 등록 사이 경합이 없다
+     * - 같은 (roomId, userId, 소스 해시) 제출이 이미 채점 중이면 거절한다 (결과 반영은 처음 제출 한 번만)
+     *
+     * @throws BattleException 채점 풀이 가득 찼으면 JUDGE_BUSY, 같은 제출이 채점 중이면 JUDGE_IN_PROGRESS
+     */
+    public void reserve(Long userId, BattleSubmitMessage submitMessage) {
+        String key = dedupeKey(userId, submitMessage);
+        if (!slots.tryAcquire()) {
+            rejected.increment();
+            log.warn("[battle] roomId={} userId={} action=judge-rejected active={} queued={}",
+                    submitMessage.getRoomId(), userId, judgeExecutor.getActiveCount(), judgeExecutor.getQueue().size());
+            throw new BattleException(BattleErrorCode.JUDGE_BUSY);
+        }
+        if (inFlight.putIfAbsent(key, new CompletableFuture<>()) != null) {
+            slots.release();
+            deduplicated.increment();
+            log.info("[battle] roomId={} userId={} action=judge-duplicate-rejected", submitMessage.getRoomId(), userId);
+            throw new BattleException(BattleErrorCode.JUDGE_IN_PROGRESS);
+        }
+    }
+
+    /**
+     * 예약만 하고 채점하지 않는 경우 (제출 상태 전이 실패 등) 예약 반환
+     */
+    public void release(Long userId, BattleSubmitMessage submitMessage) {
+        CompletableFuture<BattleJudgeResult> reserved = inFlight.remove(dedupeKey(userId, submitMessage));
+        if (reserved != null) {
+            slots.release();
+        }
+    }
+
+    /**
+     * 예약한 제출 채점 (결과 future는 예외 없이 완료되고, 시간 초과/실패면 null)
+     */
+    public CompletableFuture<BattleJudgeResult> judge(String matchId, Long userId, BattleSubmitMessage submitMessage) {
         BattleJudgeCommand command = BattleJudgeCommand.builder()
                 .matchId(matchId)
                 .userId(userId)
@@ -34,18 +132,68 @@ public class BattleJudgeService {
                 .build();
         log.info("[battle] matchId={} userId={} action=judge-send problemId={} languageId={}",
                 matchId, userId, submitMessage.getProblemId(), submitMessage.getLanguageId());
-        BattleJudgeResult result = null;
-        Future<BattleJudgeResult> future = JUDGE_EXECUTOR.submit(() -> battleJudgePort.judge(command));
+
+        String key = dedupeKey(userId, submitMessage);
+        CompletableFuture<BattleJudgeResult> created = inFlight.get(key);
+        if (created == null) {
+            throw new IllegalStateException("채점 자리를 예약하지 않은 제출입니다");
+        }
+
+        // 예약한 자리는 작업이 끝나거나, 시작 전에 취소될 때 한 번만 반환한다
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> worker;
         try {
-            result = future.get(JUDGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-            future.cancel(true);
+            worker = judgeExecutor.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    created.complete(battleJudgePort.judge(command));
+                } catch (Throwable t) {
+                    created.completeExceptionally(t);
+                } finally {
+                    slots.release();
+                }
+            });
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            // 예약 수가 풀 크기 + 대기열 길이와 같으므로 종료 중일 때만 발생
+            rejected.increment();
+            created.completeExceptionally(e);
+            inFlight.remove(key, created);
+            slots.release();
+            log.warn("[battle] matchId={} userId={} action=judge-rejected active={} queued={}",
+                    matchId, userId, judgeExecutor.getActiveCount(), judgeExecutor.getQueue().size());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // 제한 시간이 지나면 대기 중이면 빼고, 실행 중이면 인터럽트해 풀 스레드를 돌려받는다
+        // 중복 판정 항목은 결과를 돌려주기 전에 지운다 (결과를 받은 뒤 같은 코드를 다시 제출할 수 있도록)
+        return created.orTimeout(JUDGE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((result, error) -> {
+                    inFlight.remove(key, created);
+                    if (error instanceof TimeoutException) {
+                        timedOut.increment();
+                        worker.cancel(true);
+                        if (started.compareAndSet(false, true)) {
+                            slots.release();
+                        }
+                    }
+                })
+                .handle((result, error) -> toResult(matchId, userId, result, error));
+    }
+
+    private BattleJudgeResult toResult(String matchId, Long userId, BattleJudgeResult result, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
             log.warn("[battle] matchId={} userId={} action=judge-timeout timeoutSec={}",
                     matchId, userId, JUDGE_TIMEOUT_SECONDS);
             return null;
-        } catch (Exception e) {
+        }
+        if (cause != null) {
             log.warn("[battle] matchId={} userId={} action=judge-failed error={}",
-                    matchId, userId, e.getMessage());
+                    matchId, userId, cause.getMessage());
             return null;
         }
         if (result == null) {
@@ -56,4 +204,31 @@ public class BattleJudgeService {
                 matchId, userId, result.isAccepted(), result.getScore());
         return result;
     }
+
+    public BattleJudgeStatsResponse getStats() {
+        return BattleJudgeStatsResponse.builder()
+                .threads(threads)
+                .queueCapacity(queueCapacity)
+                .active(judgeExecutor.getActiveCount())
+                .queued(judgeExecutor.getQueue().size())
+                .inFlight(inFlight.size())
+                .submitted(submitted.sum())
+                .deduplicated(deduplicated.sum())
+                .rejected(rejected.sum())
+                .timedOut(timedOut.sum())
+                .build();
+    }
+
+    private String dedupeKey(Long userId, BattleSubmitMessage submitMessage) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+        String source = submitMessage.getSource() != null ? submitMessage.getSource() : "";
+        digest.update((submitMessage.getProblemId() + ":" + submitMessage.getLanguageId() + ":").getBytes(StandardCharsets.UTF_8));
+        digest.update(source.getBytes(StandardCharsets.UTF_8));
+        return submitMessage.getRoomId() + ":" + userId + ":" + HexFormat.of().formatHex(digest.digest());
+    }
 }
@@ -0,0 +1,200 @@
+package kr.or.kosa.backend.battle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import kr.or.kosa.backend.battle.domain.BattleEventType;
+import kr.or.kosa.backend.battle.domain.BattleRoomState;
+import kr.or.kosa.backend.battle.domain.BattleStatus;
+import kr.or.kosa.backend.battle.dto.BattleLobbyDeltaResponse;
+import kr.or.kosa.backend.battle.dto.BattleLobbySnapshotResponse;
+import kr.or.kosa.backend.battle.dto.BattleRoomResponse;
+import kr.or.kosa.backend.battle.util.BattleRedisKeyUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배틀 로비 요약 인덱스
+ *
+ * - battle:lobby:summary 해시에 대기 중(WAITING/COUNTDOWN)인 방의 목록용 응답 JSON을 방 ID별로 보관
+ * - 방이 저장될 때마다 해당 방 한 건만 갱신하고, 내용이 바뀐 경우에만 seq를 올려
+ *   ROOM_ADDED / ROOM_UPDATED / ROOM_REMOVED 변경분을 발행한다 (전체 목록 재전송 없음)
+ * - 클라이언트는 seq가 비면 스냅샷(/battle/rooms/snapshot)으로 다시 맞춘다
+ */
+@Slf4j
+@Component
+public class BattleLobbyIndex {
+
+    private static final long KIND_UNCHANGED = 0;
+    private static final long KIND_ADDED = 1;
+    private static final long KIND_UPDATED = 2;
+    private static final long KIND_REMOVED = 3;
+
+    /**
+     * KEYS: 요약 해시, seq, 방 해시
+     * ARGV[1]: roomId, ARGV[2]: 방 버전 ('' 이면 확인 생략), ARGV[3]: 요약 JSON ('' 이면 제거)
+     * 방의 현재 버전과 다르면 더 새로운 저장이 뒤따르므로 건너뛴다 (발행 순서가 뒤바뀌어도 최신 상태 유지)
+     * 반환: {seq, 종류} / 변경 없음이면 {0, 0}
+     */
+    private static final String SYNC_LUA = """
+            if ARGV[2] ~= '' then
+                local current = false
+                if redis.call('type', KEYS[3]).ok == 'hash' then
+                    current = redis.call('hget', KEYS[3], 'v')
+                end
+                if ARGV[3] ~= '' and current ~= ARGV[2] then
+                    return {0, 0}
+                end
+                if ARGV[3] == '' and current and current ~= ARGV[2] then
+                    return {0, 0}
+                end
+            end
+            local prev = redis.call('hget', KEYS[1], ARGV[1])
+            if ARGV[3] == '' then
+                if not prev then
+                    return {0, 0}
+                end
+                redis.call('hdel', KEYS[1], ARGV[1])
+                return {redis.call('incr', KEYS[2]), 3}
+            end
+            if prev == ARGV[3] then
+                return {0, 0}
+            end
+            redis.call('hset', KEYS[1], ARGV[1], ARGV[3])
+            local kind = 2
+            if not prev then
+                kind = 1
+            end
+            return {redis.call('incr', KEYS[2]), kind}
+            """;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BattleRoomStore battleRoomStore;
+    private final BattleMessageService battleMessageService;
+    private final ObjectMapper objectMapper;
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> syncScript;
+
+    public BattleLobbyIndex(StringRedisTemplate stringRedisTemplate,
+                            BattleRoomStore battleRoomStore,
+                            BattleMessageService battleMessageService,
+                            ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.battleRoomStore = battleRoomStore;
+        this.battleMessageService = battleMessageService;
+        // 내용이 같으면 JSON도 같아야 변경 없음을 판별할 수 있다
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.syncScript = new DefaultRedisScript<>(SYNC_LUA, List.class);
+    }
+
+    /**
+     * 저장된 방 상태를 로비에 반영 (대기 중이면 추가/갱신, 아니면 제거)
+     */
+    public void sync(BattleRoomState state) {
+        if (state == null || state.getRoomId() == null) return;
+        try {
+            apply(state.getRoomId(), BattleRoomStore.versionOf(state),
+                    isListed(state) ? BattleRoomResponse.from(state) : null);
+        } catch (Exception e) {
+            log.warn("[battle] roomId={} action=lobby-sync error={}", state.getRoomId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 방 삭제 시 로비에서 제거
+     */
+    public void remove(String roomId) {
+        if (roomId == null) return;
+        try {
+            apply(roomId, null, null);
+        } catch (Exception e) {
+            log.warn("[battle] roomId={} action=lobby-remove error={}", roomId, e.getMessage());
+        }
+    }
+
+    /**
+     * 로비 스냅샷
+     * seq를 먼저 읽으므로 목록에는 seq 이후 변경분이 일부 섞일 수 있지만,
+     * 변경분은 방 단위 전체 교체라 다시 적용해도 결과가 같다
+     */
+    public BattleLobbySnapshotResponse snapshot() {
+        String seqValue = stringRedisTemplate.opsForValue().get(BattleRedisKeyUtil.lobbySeqKey());
+        long seq = seqValue != null ? Long.parseLong(seqValue) : 0L;
+
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(BattleRedisKeyUtil.lobbySummaryKey());
+        List<BattleRoomResponse> rooms = new ArrayList<>(entries.size());
+        entries.forEach((roomId, json) -> {
+            try {
+                rooms.add(objectMapper.readValue(String.valueOf(json), BattleRoomResponse.class));
+            } catch (Exception e) {
+                log.warn("[battle] roomId={} action=lobby-snapshot error={}", roomId, e.getMessage());
+            }
+        });
+        rooms.sort(Comparator.comparing(BattleRoomResponse::getCreatedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        return BattleLobbySnapshotResponse.builder()
+                .seq(seq)
+                .rooms(rooms)
+                .build();
+    }
+
+    /**
+     * 이전 로비(방 ID 집합)에서 인덱스로 이관
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyLobby() {
+        try {
+            Set<String> roomIds = stringRedisTemplate.opsForSet().members(BattleRedisKeyUtil.lobbyKey());
+            if (roomIds == null || roomIds.isEmpty()) return;
+            for (String roomId : roomIds) {
+                battleRoomStore.find(roomId).ifPresent(this::sync);
+            }
+            stringRedisTemplate.delete(BattleRedisKeyUtil.lobbyKey());
+            log.info("[battle] action=lobby-migrate rooms={}", roomIds.size());
+        } catch (Exception e) {
+            log.warn("[battle] action=lobby-migrate error={}", e.getMessage());
+        }
+    }
+
+    private boolean isListed(BattleRoomState state) {
+        return state.getStatus() == BattleStatus.WAITING || state.getStatus() == BattleStatus.COUNTDOWN;
+    }
+
+    private void apply(String roomId, String version, BattleRoomResponse room) {
+        String json;
+        try {
+            json = room != null ? objectMapper.writeValueAsString(room) : "";
+        } catch (Exception e) {
+            throw new IllegalStateException("로비 요약 직렬화 실패", e);
+        }
+
+        List<?> result = stringRedisTemplate.execute(syncScript,
+                List.of(BattleRedisKeyUtil.lobbySummaryKey(), BattleRedisKeyUtil.lobbySeqKey(),
+                        BattleRedisKeyUtil.roomKey(roomId)),
+                roomId, version != null ? version : "", json);
+        if (result == null || result.size() < 2) return;
+
+        long seq = ((Number) result.get(0)).longValue();
+        long kind = ((Number) result.get(1)).longValue();
+        if (kind == KIND_UNCHANGED) return;
+
+        BattleEventType type = kind == KIND_ADDED ? BattleEventType.ROOM_ADDED
+                : kind == KIND_UPDATED ? BattleEventType.ROOM_UPDATED
+                : BattleEventType.ROOM_REMOVED;
+        battleMessageService.publishLobbyDelta(type, BattleLobbyDeltaResponse.builder()
+                .seq(seq)
+                .roomId(roomId)
+                .room(kind == KIND_REMOVED ? null : room)
+                .build());
+    }
+}
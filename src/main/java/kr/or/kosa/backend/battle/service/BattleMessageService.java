@@ -1,12 +1,12 @@
 package kr.or.kosa.backend.battle.service;
 
-import java.util.List;
-
 import kr.or.kosa.backend.battle.domain.BattleEventType;
 import kr.or.kosa.backend.battle.domain.BattleRoomState;
+import kr.or.kosa.backend.battle.dto.BattleAiReviewResponse;
 import kr.or.kosa.backend.battle.dto.BattleErrorMessage;
 import kr.or.kosa.backend.battle.dto.BattleFinishResponse;
-import kr.or.kosa.backend.battle.dto.BattleRoomListResponse;
+import kr.or.kosa.backend.battle.dto.BattleLobbyDeltaResponse;
+import kr.or.kosa.backend.battle.dto.BattleMatchEventResponse;
 import kr.or.kosa.backend.battle.dto.BattleRoomResponse;
 import kr.or.kosa.backend.battle.dto.BattleSubmitResultResponse;
 import kr.or.kosa.backend.battle.dto.BattleWsMessage;
@@ -25,13 +25,11 @@ public class BattleMessageService {
     private final SimpMessagingTemplate messagingTemplate;
     private final BattleMatchService battleMatchService;
 
-    public void publishRoomList(List<BattleRoomResponse> rooms) {
-        BattleRoomListResponse response = BattleRoomListResponse.builder()
-                .rooms(rooms)
-                .build();
-        BattleWsMessage<BattleRoomListResponse> message = BattleWsMessage.<BattleRoomListResponse>builder()
-                .type(BattleEventType.ROOM_LIST)
-                .payload(response)
+    public void publishLobbyDelta(BattleEventType type, BattleLobbyDeltaResponse delta) {
+        BattleWsMessage<BattleLobbyDeltaResponse> message = BattleWsMessage.<BattleLobbyDeltaResponse>builder()
+                .type(type)
+                .roomId(delta.getRoomId())
+                .payload(delta)
                 .build();
         messagingTemplate.convertAndSend("/topic/battle/rooms", message);
     }
@@ -46,6 +44,26 @@ public class BattleMessageService {
         messagingTemplate.convertAndSend("/topic/battle/room/" + state.getRoomId(), message);
     }
 
+    /**
+     * 방 상태가 저장될 때마다 매치 이벤트 스트림에 남은 항목을 관전 토픽으로 전달
+     */
+    public void publishMatchEvent(BattleRoomState state) {
+        if (state.getMatchId() == null || state.lastEventId() == null) return;
+        BattleMatchEventResponse payload = BattleMatchEventResponse.builder()
+                .eventId(state.lastEventId())
+                .type(state.lastEventType())
+                .version(parseVersion(BattleRoomStore.versionOf(state)))
+                .room(BattleRoomResponse.from(state))
+                .build();
+        BattleWsMessage<BattleMatchEventResponse> message = BattleWsMessage.<BattleMatchEventResponse>builder()
+                .type(BattleEventType.MATCH_EVENT)
+                .roomId(state.getRoomId())
+                .matchId(state.getMatchId())
+                .payload(payload)
+                .build();
+        messagingTemplate.convertAndSend("/topic/battle/match/" + state.getMatchId() + "/events", message);
+    }
+
     public void publishCountdown(BattleRoomState state, int secondsLeft) {
         BattleWsMessage<Integer> message = BattleWsMessage.<Integer>builder()
                 .type(BattleEventType.COUNTDOWN)
@@ -76,6 +94,16 @@ public class BattleMessageService {
         messagingTemplate.convertAndSend("/topic/battle/room/" + roomId, message);
     }
 
+    public void publishAiReview(BattleAiReviewResponse response, String roomId, String matchId) {
+        BattleWsMessage<BattleAiReviewResponse> message = BattleWsMessage.<BattleAiReviewResponse>builder()
+                .type(BattleEventType.AI_REVIEW)
+                .roomId(roomId)
+                .matchId(matchId)
+                .payload(response)
+                .build();
+        messagingTemplate.convertAndSend("/topic/battle/room/" + roomId, message);
+    }
+
     public void publishFinish(BattleRoomState state) {
         BattleFinishResponse payload = BattleFinishResponse.from(
                 state,
@@ -111,4 +139,8 @@ public class BattleMessageService {
                 .build();
         messagingTemplate.convertAndSendToUser(String.valueOf(userId), "/queue/battle", message);
     }
+
+    private Long parseVersion(String version) {
+        return version != null ? Long.valueOf(version) : null;
+    }
 }
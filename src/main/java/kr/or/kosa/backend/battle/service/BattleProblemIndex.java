@@ -0,0 +1,230 @@
+package kr.or.kosa.backend.battle.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import kr.or.kosa.backend.algorithm.dto.AlgoProblemDto;
+import kr.or.kosa.backend.algorithm.dto.enums.ProblemDifficulty;
+import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
+import kr.or.kosa.backend.battle.exception.BattleErrorCode;
+import kr.or.kosa.backend.battle.exception.BattleException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배틀 랜덤 출제용 문제 ID 인덱스 (노드 로컬)
+ *
+ * - 활성 문제 ID를 전체 배열과 문제 난이도(ProblemDifficulty)별 배열로 들고 있어 후보 선택은 O(1)
+ * - 새 문제는 마지막으로 본 ID 이후만 PK 범위로 읽어 덧붙이고 (증분), 긴 주기로 전체를 다시 읽는다
+ * - 비활성화/삭제는 재구성을 기다리지 않도록 고른 문제를 PK로 한 번 확인하고, 비활성이면 인덱스에서 빼고 다시 고른다
+ * - 인덱스가 비어 있으면(기동 직후, DB에 문제 없음) 직접 재구성하되 일정 간격으로만 시도한다
+ * - 갱신은 새 스냅샷을 만들어 교체하므로 읽는 쪽은 잠금 없이 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BattleProblemIndex {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int MAX_PICK_ATTEMPTS = 8;
+    private static final int MAX_VERIFY_ATTEMPTS = 3;
+    private static final long EMPTY_REBUILD_INTERVAL_MS = 30_000L;
+
+    private final AlgorithmProblemMapper algorithmProblemMapper;
+
+    @Value("${battle.problem-index.rebuild-interval-ms:600000}")
+    private long rebuildIntervalMs;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long lastRebuildAt;
+    private volatile long lastRebuildAttemptAt;
+
+    private record Snapshot(long[] all, Map<ProblemDifficulty, long[]> byDifficulty, long maxId) {
+        static final Snapshot EMPTY = new Snapshot(new long[0], new EnumMap<>(ProblemDifficulty.class), 0L);
+
+        long[] bucket(ProblemDifficulty difficulty) {
+            if (difficulty == null) return all;
+            long[] ids = byDifficulty.get(difficulty);
+            return ids != null ? ids : new long[0];
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 주기 갱신 - 평소에는 새로 추가된 문제만, rebuild 주기가 지나면 전체 재구성
+     */
+    @Scheduled(fixedDelayString = "${battle.problem-index.refresh-interval-ms:30000}",
+            initialDelayString = "${battle.problem-index.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            if (System.currentTimeMillis() - lastRebuildAt >= rebuildIntervalMs) {
+                rebuild();
+            } else {
+                appendNew();
+            }
+        } catch (Exception e) {
+            log.warn("[battle] action=problem-index-refresh error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 랜덤 문제 1개
+     * difficulty가 null이거나 해당 난이도 문제가 없으면 전체에서 고르고,
+     * exclude에 든 ID(최근 출제 문제)는 다른 후보가 있는 한 피한다
+     */
+    public Long pickRandom(ProblemDifficulty difficulty, Collection<Long> exclude) {
+        Set<Long> excluded = exclude != null ? new HashSet<>(exclude) : Set.of();
+        for (int attempt = 0; attempt < MAX_VERIFY_ATTEMPTS; attempt++) {
+            Snapshot current = ensureLoaded();
+            long[] ids = current.bucket(difficulty);
+            if (ids.length == 0) {
+                ids = current.all();
+            }
+            if (ids.length == 0) break;
+
+            long picked = pick(ids, excluded);
+            if (algorithmProblemMapper.selectProblemById(picked) != null) {
+                return picked;
+            }
+            // 재구성 전에 비활성화/삭제된 문제
+            evict(picked);
+        }
+        throw new BattleException(BattleErrorCode.PROBLEM_NOT_FOUND);
+    }
+
+    /**
+     * 비활성화/삭제된 문제를 인덱스에서 즉시 제외
+     */
+    public synchronized void evict(Long problemId) {
+        if (problemId == null) return;
+        Snapshot current = snapshot;
+        long[] all = without(current.all(), problemId);
+        if (all == current.all()) return;
+
+        Map<ProblemDifficulty, long[]> byDifficulty = new EnumMap<>(ProblemDifficulty.class);
+        current.byDifficulty().forEach((difficulty, ids) -> byDifficulty.put(difficulty, without(ids, problemId)));
+        snapshot = new Snapshot(all, byDifficulty, current.maxId());
+        log.info("[battle] action=problem-index-evict problemId={} size={}", problemId, all.length);
+    }
+
+    public int size() {
+        return snapshot.all().length;
+    }
+
+    private long pick(long[] ids, Set<Long> excluded) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < MAX_PICK_ATTEMPTS; attempt++) {
+            long id = ids[random.nextInt(ids.length)];
+            if (!excluded.contains(id)) {
+                return id;
+            }
+        }
+        // 제외 비율이 높은 경우 - 한 번 훑어서 남은 후보에서 고르고, 모두 제외 대상이면 제외 목록도 허용
+        List<Long> remaining = new ArrayList<>();
+        for (long id : ids) {
+            if (!excluded.contains(id)) remaining.add(id);
+        }
+        return remaining.isEmpty()
+                ? ids[random.nextInt(ids.length)]
+                : remaining.get(random.nextInt(remaining.size()));
+    }
+
+    private Snapshot ensureLoaded() {
+        Snapshot current = snapshot;
+        if (current.all().length == 0
+                && System.currentTimeMillis() - lastRebuildAttemptAt >= EMPTY_REBUILD_INTERVAL_MS) {
+            // 기동 직후이거나 직전 갱신이 실패한 경우 직접 읽는다 (DB가 비어 있으면 간격을 두고만 다시 시도)
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private synchronized void rebuild() {
+        lastRebuildAttemptAt = System.currentTimeMillis();
+        Snapshot rebuilt = load(Snapshot.EMPTY);
+        snapshot = rebuilt;
+        lastRebuildAt = System.currentTimeMillis();
+        log.info("[battle] action=problem-index-rebuild size={} maxId={}", rebuilt.all().length, rebuilt.maxId());
+    }
+
+    private synchronized void appendNew() {
+        Snapshot current = snapshot;
+        Snapshot appended = load(current);
+        if (appended != current) {
+            snapshot = appended;
+            log.info("[battle] action=problem-index-append added={} size={}",
+                    appended.all().length - current.all().length, appended.all().length);
+        }
+    }
+
+    /**
+     * base 이후(ID > base.maxId)의 활성 문제를 읽어 base에 덧붙인 스냅샷 (새 문제가 없으면 base 그대로)
+     */
+    private Snapshot load(Snapshot base) {
+        long afterId = base.maxId();
+        List<AlgoProblemDto> added = new ArrayList<>();
+        while (true) {
+            List<AlgoProblemDto> page = algorithmProblemMapper.selectActiveProblemIdsAfter(afterId, PAGE_SIZE);
+            if (page == null || page.isEmpty()) break;
+            for (AlgoProblemDto problem : page) {
+                if (problem.getAlgoProblemId() == null) continue;
+                added.add(problem);
+                afterId = Math.max(afterId, problem.getAlgoProblemId());
+            }
+            if (page.size() < PAGE_SIZE) break;
+        }
+        if (added.isEmpty()) return base;
+
+        long[] all = Arrays.copyOf(base.all(), base.all().length + added.size());
+        Map<ProblemDifficulty, List<Long>> grouped = new EnumMap<>(ProblemDifficulty.class);
+        int index = base.all().length;
+        for (AlgoProblemDto problem : added) {
+            all[index++] = problem.getAlgoProblemId();
+            if (problem.getAlgoProblemDifficulty() != null) {
+                grouped.computeIfAbsent(problem.getAlgoProblemDifficulty(), key -> new ArrayList<>())
+                        .add(problem.getAlgoProblemId());
+            }
+        }
+
+        Map<ProblemDifficulty, long[]> byDifficulty = new EnumMap<>(ProblemDifficulty.class);
+        byDifficulty.putAll(base.byDifficulty());
+        grouped.forEach((difficulty, ids) -> {
+            long[] previous = byDifficulty.getOrDefault(difficulty, new long[0]);
+            long[] merged = Arrays.copyOf(previous, previous.length + ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                merged[previous.length + i] = ids.get(i);
+            }
+            byDifficulty.put(difficulty, merged);
+        });
+        return new Snapshot(all, byDifficulty, afterId);
+    }
+
+    private long[] without(long[] ids, long problemId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == problemId) {
+                long[] removed = new long[ids.length - 1];
+                System.arraycopy(ids, 0, removed, 0, i);
+                System.arraycopy(ids, i + 1, removed, i, ids.length - i - 1);
+                return removed;
+            }
+        }
+        return ids;
+    }
+}
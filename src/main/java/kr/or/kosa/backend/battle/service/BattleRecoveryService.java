@@ -1,26 +1,37 @@
 package kr.or.kosa.backend.battle.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 import kr.or.kosa.backend.battle.domain.BattleMatch;
 import kr.or.kosa.backend.battle.domain.BattleParticipantState;
 import kr.or.kosa.backend.battle.domain.BattleRoomState;
 import kr.or.kosa.backend.battle.domain.BattleStatus;
+import kr.or.kosa.backend.battle.domain.BattleTimerType;
 import kr.or.kosa.backend.battle.mapper.BattleMatchMapper;
 import kr.or.kosa.backend.battle.util.BattleDurationPolicy;
 import kr.or.kosa.backend.battle.util.BattleRedisKeyUtil;
 import kr.or.kosa.backend.battle.util.BattleTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * 배틀 매치 복구
+ * 시작/제한 시간 타이머는 Redis 타이머(BattleTimerService)로 노드 장애와 무관하게 실행되고,
+ * 여기서는 두 가지만 처리한다 (둘 다 Redis 락을 잡은 노드 하나만 실행)
+ * - 기동 시 DB의 진행 중 매치 전체 점검 (Redis 유실, 이전 버전의 로컬 타이머 대비)
+ * - 시도 횟수 한도를 넘어 버린 타이머(battle:timers:dead)만 주기적으로 꺼내 해당 매치를 정리
+ * 방 상태는 해시 → 매치 이벤트 스트림 재생 → DB 행 순으로 찾고, 방 ID도 스캔 전에 스트림에서 먼저 찾는다
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -28,21 +39,60 @@ public class BattleRecoveryService {
 
     private static final Duration COUNTDOWN_GRACE = Duration.ofMinutes(2);
     private static final Duration POST_GAME_HOLD = Duration.ofSeconds(30);
+    // 기한이 막 지난 매치는 타이머(임대/재시도 포함)에 먼저 맡긴다
+    private static final Duration TIMER_GRACE = Duration.ofMinutes(1);
+    private static final int DEAD_LETTER_BATCH = 100;
+
+    private static final String UNLOCK_LUA = """
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """;
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(UNLOCK_LUA, Long.class);
 
     private final BattleMatchMapper battleMatchMapper;
-    @org.springframework.beans.factory.annotation.Autowired
-    @Qualifier("battleRedisTemplate")
-    private RedisTemplate<String, Object> redisTemplate;
+    private final BattleRoomStore battleRoomStore;
+    private final BattleLobbyIndex battleLobbyIndex;
+    private final BattleTimerService battleTimerService;
     private final StringRedisTemplate stringRedisTemplate;
     private final BattleSettlementService battleSettlementService;
     private final BattleMatchService battleMatchService;
     private final BattleMessageService battleMessageService;
     private final BattlePenaltyService battlePenaltyService;
     private final BattleDurationPolicy battleDurationPolicy;
-    private final ObjectMapper objectMapper;
 
-    @Scheduled(fixedDelay = 60_000L)
-    public void recoverLostMatches() {
+    // 한 번의 점검이 끝나기 전에 락이 풀리지 않도록 넉넉하게
+    @Value("${battle.recovery.lock-ttl-ms:120000}")
+    private long lockTtlMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        runLocked("startup", this::recoverLostMatches);
+    }
+
+    /**
+     * 버린 타이머만 정리 (정상이면 집합이 비어 있어 DB를 읽지 않는다)
+     */
+    @Scheduled(initialDelayString = "${battle.recovery.dead-letter-interval-ms:60000}",
+            fixedDelayString = "${battle.recovery.dead-letter-interval-ms:60000}")
+    public void sweepDroppedTimers() {
+        runLocked("dead-letter", () -> {
+            List<BattleTimerService.DroppedTimer> dropped = battleTimerService.pollDropped(DEAD_LETTER_BATCH);
+            for (BattleTimerService.DroppedTimer timer : dropped) {
+                try {
+                    recoverDroppedTimer(timer);
+                } catch (Exception e) {
+                    // 다음 주기에 다시 시도
+                    log.warn("[battle-recover] roomId={} action=dead-letter type={} error={}",
+                            timer.roomId(), timer.type(), e.getMessage());
+                    battleTimerService.requeueDropped(timer);
+                }
+            }
+        });
+    }
+
+    private void recoverLostMatches() {
         List<BattleMatch> active = battleMatchMapper.findActiveMatches();
 
         // 항상 KST LocalDateTime 기준
@@ -50,14 +100,72 @@ public class BattleRecoveryService {
 
         for (BattleMatch match : active) {
             if (match.getStatus() == BattleStatus.COUNTDOWN) {
-                handleStuckCountdown(match, now);
+                handleStuckCountdown(match, now, COUNTDOWN_GRACE);
             } else if (match.getStatus() == BattleStatus.RUNNING) {
-                handleRunningTimeout(match, now);
+                handleRunningTimeout(match, now, TIMER_GRACE);
+            }
+        }
+    }
+
+    /**
+     * 버린 시작/제한 시간 타이머는 유예 없이 바로 정리한다 (핸들러가 한도만큼 실패했으므로 다시 예약하지 않음)
+     * 그 사이 같은 방에 새 타이머가 잡혔으면(재대결 등) 그쪽에 맡긴다
+     */
+    private void recoverDroppedTimer(BattleTimerService.DroppedTimer timer) {
+        BattleStatus expected;
+        if (timer.type() == BattleTimerType.MATCH_START) {
+            expected = BattleStatus.COUNTDOWN;
+        } else if (timer.type() == BattleTimerType.MATCH_TIMEOUT) {
+            expected = BattleStatus.RUNNING;
+        } else {
+            // 나머지 타이머는 방 해시 TTL과 재접속 처리로 정리된다
+            log.warn("[battle-recover] roomId={} action=dead-letter skipped type={}", timer.roomId(), timer.type());
+            return;
+        }
+        if (battleTimerService.isScheduled(timer.type(), timer.roomId(), timer.userId())) return;
+
+        String matchId = battleRoomStore.find(timer.roomId())
+                .map(BattleRoomState::getMatchId)
+                .orElse(timer.roomId());
+        BattleMatch match = battleMatchMapper.findById(matchId).orElse(null);
+        if (match == null || match.getStatus() != expected) return;
+
+        LocalDateTime now = BattleTime.nowKst();
+        if (expected == BattleStatus.COUNTDOWN) {
+            handleStuckCountdown(match, now, Duration.ZERO);
+        } else {
+            handleRunningTimeout(match, now, Duration.ZERO);
+        }
+    }
+
+    /**
+     * 노드 하나만 실행 (락을 못 잡으면 다른 노드가 처리 중이므로 건너뜀)
+     */
+    private void runLocked(String task, Runnable body) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(BattleRedisKeyUtil.recoveryLockKey(), token, Duration.ofMillis(lockTtlMs));
+            if (!Boolean.TRUE.equals(acquired)) return;
+        } catch (Exception e) {
+            log.warn("[battle-recover] action=lock task={} error={}", task, e.getMessage());
+            return;
+        }
+        try {
+            body.run();
+        } catch (Exception e) {
+            log.warn("[battle-recover] action={} error={}", task, e.getMessage());
+        } finally {
+            try {
+                stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(BattleRedisKeyUtil.recoveryLockKey()), token);
+            } catch (Exception e) {
+                // 풀지 못해도 TTL이 지나면 풀린다
+                log.warn("[battle-recover] action=unlock task={} error={}", task, e.getMessage());
             }
         }
     }
 
-    private void handleStuckCountdown(BattleMatch match, LocalDateTime now) {
+    private void handleStuckCountdown(BattleMatch match, LocalDateTime now, Duration grace) {
         BattleRoomState state = buildStatePreferRedis(match);
         LocalDateTime countdownAt = match.getCountdownStartedAt();
         if (countdownAt == null) {
@@ -70,7 +178,8 @@ public class BattleRecoveryService {
             return;
         }
 
-        if (now.isBefore(countdownAt.plus(COUNTDOWN_GRACE))) {
+        if (now.isBefore(countdownAt.plus(grace))) {
+            ensureTimer(BattleTimerType.MATCH_START, state, now);
             return;
         }
 
@@ -89,7 +198,7 @@ public class BattleRecoveryService {
         log.warn("[battle-recover] canceled stuck countdown matchId={} countdownAt={}", match.getMatchId(), countdownAt);
     }
 
-    private void handleRunningTimeout(BattleMatch match, LocalDateTime now) {
+    private void handleRunningTimeout(BattleMatch match, LocalDateTime now, Duration grace) {
         BattleRoomState state = buildStatePreferRedis(match);
         LocalDateTime startedAt = state.getStartedAt();
         if (startedAt == null) {
@@ -104,7 +213,8 @@ public class BattleRecoveryService {
 
         int limitMinutes = battleDurationPolicy.effectiveMinutes(match.getMaxDurationMinutes(), null);
         LocalDateTime deadline = startedAt.plusMinutes(limitMinutes);
-        if (now.isBefore(deadline)) {
+        if (now.isBefore(deadline.plus(grace))) {
+            ensureTimer(BattleTimerType.MATCH_TIMEOUT, state, deadline);
             return;
         }
 
@@ -129,6 +239,18 @@ public class BattleRecoveryService {
                 match.getMatchId(), startedAt, limitMinutes);
     }
 
+    /**
+     * 기한 전이거나 막 지난 매치는 타이머가 빠져 있을 때만 다시 예약 (방이 Redis에 남아 있어야 핸들러가 처리할 수 있다)
+     */
+    private void ensureTimer(BattleTimerType type, BattleRoomState state, LocalDateTime dueAt) {
+        if (state.getRoomId() == null || !battleRoomStore.exists(state.getRoomId())) return;
+        try {
+            battleTimerService.scheduleIfAbsent(type, state.getRoomId(), null, BattleTime.toInstant(dueAt));
+        } catch (Exception e) {
+            log.warn("[battle-recover] roomId={} action=ensureTimer type={} error={}", state.getRoomId(), type, e.getMessage());
+        }
+    }
+
     private void setTimeoutScores(BattleRoomState state) {
         if (state.getHostUserId() != null) {
             BattleParticipantState host = state.participant(state.getHostUserId());
@@ -152,25 +274,23 @@ public class BattleRecoveryService {
 
     private BattleRoomState buildStatePreferRedis(BattleMatch match) {
         String roomId = resolveRoomId(match.getMatchId());
-        String key = roomId != null ? BattleRedisKeyUtil.roomKey(roomId) : null;
 
         BattleRoomState state = null;
         try {
-            if (key != null) {
-                Object cached = redisTemplate.opsForValue().get(key);
-                if (cached instanceof BattleRoomState s) {
-                    state = s;
-                } else if (cached instanceof java.util.Map<?, ?> map) {
-                    try {
-                        state = objectMapper.convertValue(map, BattleRoomState.class);
-                    } catch (IllegalArgumentException e) {
-                        log.warn("[battle-recover] roomId={} action=deserialize-state error={}", roomId, e.getMessage());
-                    }
-                }
+            if (roomId != null) {
+                state = battleRoomStore.find(roomId).orElse(null);
             }
         } catch (Exception ignore) {
         }
 
+        if (state == null) {
+            // 방 해시가 없으면 매치 이벤트 스트림을 재생해 마지막으로 저장된 상태(참가자/점수/시작 시각)를 되살린다
+            try {
+                state = battleRoomStore.replay(match.getMatchId()).orElse(null);
+            } catch (Exception e) {
+                log.warn("[battle-recover] matchId={} action=replay error={}", match.getMatchId(), e.getMessage());
+            }
+        }
         if (state == null) {
             state = new BattleRoomState();
         }
@@ -193,43 +313,23 @@ public class BattleRecoveryService {
         }
 
         try {
-            Boolean exists = redisTemplate.hasKey(BattleRedisKeyUtil.roomKey(matchId));
-            if (Boolean.TRUE.equals(exists)) {
+            if (battleRoomStore.exists(matchId)) {
                 return matchId;
             }
         } catch (Exception ignored) {
         }
 
         try {
-            String found = redisTemplate.execute((org.springframework.data.redis.core.RedisCallback<String>) connection -> {
-                org.springframework.data.redis.core.ScanOptions options =
-                        org.springframework.data.redis.core.ScanOptions.scanOptions()
-                                .match(BattleRedisKeyUtil.roomKey("*"))
-                                .count(200)
-                                .build();
-                org.springframework.data.redis.serializer.RedisSerializer<?> serializer = redisTemplate.getValueSerializer();
-                try (org.springframework.data.redis.core.Cursor<byte[]> cursor = connection.scan(options)) {
-                    while (cursor.hasNext()) {
-                        byte[] key = cursor.next();
-                        byte[] raw = connection.get(key);
-                        if (raw == null) continue;
-                        Object cached = serializer.deserialize(raw);
-                        BattleRoomState state = null;
-                        if (cached instanceof BattleRoomState s) {
-                            state = s;
-                        } else if (cached instanceof java.util.Map<?, ?> map) {
-                            try {
-                                state = objectMapper.convertValue(map, BattleRoomState.class);
-                            } catch (IllegalArgumentException ignored) {
-                            }
-                        }
-                        if (state != null && matchId.equals(state.getMatchId())) {
-                            return state.getRoomId();
-                        }
-                    }
-                }
-                return null;
-            });
+            String replayedRoomId = battleRoomStore.replay(matchId).map(BattleRoomState::getRoomId).orElse(null);
+            if (replayedRoomId != null && battleRoomStore.exists(replayedRoomId)) {
+                return replayedRoomId;
+            }
+        } catch (Exception e) {
+            log.warn("[battle-recover] matchId={} action=replay-roomId error={}", matchId, e.getMessage());
+        }
+
+        try {
+            String found = battleRoomStore.findRoomIdByMatchId(matchId);
             if (found != null && !found.isBlank()) {
                 stringRedisTemplate.opsForValue().set(BattleRedisKeyUtil.matchRoomKey(matchId), found);
                 return found;
@@ -243,13 +343,12 @@ public class BattleRecoveryService {
 
     private void upsertRoomForPostGame(BattleRoomState state) {
         if (state == null || state.getRoomId() == null) return;
-        String key = BattleRedisKeyUtil.roomKey(state.getRoomId());
         try {
-            Boolean exists = redisTemplate.hasKey(key);
-            if (!Boolean.TRUE.equals(exists)) {
+            if (!battleRoomStore.exists(state.getRoomId())) {
                 return;
             }
-            redisTemplate.opsForValue().set(key, state, POST_GAME_HOLD);
+            battleRoomStore.save(state, POST_GAME_HOLD);
+            battleLobbyIndex.sync(state);
         } catch (Exception e) {
             log.warn("[battle-recover] failed to upsert postgame room state roomId={} err={}",
                     state.getRoomId(), e.toString());
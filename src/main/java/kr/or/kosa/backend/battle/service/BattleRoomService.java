@@ -1,27 +1,31 @@
 package kr.or.kosa.backend.battle.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+import kr.or.kosa.backend.algorithm.dto.enums.ProblemDifficulty;
 import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
 import kr.or.kosa.backend.battle.domain.BattleParticipantState;
 import kr.or.kosa.backend.battle.domain.BattleRoomState;
 import kr.or.kosa.backend.battle.domain.BattleSettlementStatus;
 import kr.or.kosa.backend.battle.domain.BattleStatus;
+import kr.or.kosa.backend.battle.domain.BattleTimerType;
+import kr.or.kosa.backend.battle.dto.BattleLobbySnapshotResponse;
+import kr.or.kosa.backend.battle.dto.BattleMatchReplayResponse;
 import kr.or.kosa.backend.battle.dto.BattleRoomCreateRequest;
 import kr.or.kosa.backend.battle.dto.BattleRoomResponse;
 import kr.or.kosa.backend.battle.dto.BattleRoomUpdateRequest;
@@ -29,6 +33,7 @@ import kr.or.kosa.backend.battle.dto.BattleSubmitMessage;
 import kr.or.kosa.backend.battle.dto.BattleSubmitResultResponse;
 import kr.or.kosa.backend.battle.exception.BattleErrorCode;
 import kr.or.kosa.backend.battle.exception.BattleException;
+import kr.or.kosa.backend.battle.exception.BattleRoomConflictException;
 import kr.or.kosa.backend.battle.port.BattlePointPort;
 import kr.or.kosa.backend.battle.port.BattleUserPort;
 import kr.or.kosa.backend.battle.port.dto.BattleJudgeResult;
@@ -37,12 +42,10 @@ import kr.or.kosa.backend.battle.util.BattleDurationPolicy;
 import kr.or.kosa.backend.battle.util.BattleRedisKeyUtil;
 import kr.or.kosa.backend.battle.util.BattleTime;
 import kr.or.kosa.backend.battle.util.BattleValidator;
-import kr.or.kosa.backend.battle.util.RedisLockManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -71,20 +74,32 @@ public class BattleRoomService {
     private static final Duration PASSWORD_ATTEMPT_WINDOW = Duration.ofMinutes(1);
     private static final Duration PASSWORD_LOCK_DURATION = Duration.ofMinutes(5);
 
+    private static final int MATCH_EVENT_PAGE_SIZE = 200;
+
+    // 사용자별 최근 출제 문제 (랜덤 출제 시 다시 나오지 않도록 피하는 범위)
+    private static final int RECENT_PROBLEM_WINDOW = 20;
+    private static final Duration RECENT_PROBLEM_TTL = Duration.ofDays(7);
+
+    private static final int TRANSITION_MAX_ATTEMPTS = 6;
+    private static final long TRANSITION_BACKOFF_BASE_MS = 5;
+    private static final long TRANSITION_BACKOFF_MAX_MS = 120;
+
     private final StringRedisTemplate stringRedisTemplate;
-    private final RedisLockManager redisLockManager;
+    private final BattleRoomStore battleRoomStore;
+    private final BattleLobbyIndex battleLobbyIndex;
+    private final BattleProblemIndex battleProblemIndex;
     private final BattleValidator battleValidator;
 
     private final BattleMatchService battleMatchService;
     private final BattleSettlementService battleSettlementService;
     private final BattleMessageService battleMessageService;
     private final BattleJudgeService battleJudgeService;
+    private final BattleAiReviewService battleAiReviewService;
     private final BattlePenaltyService battlePenaltyService;
     private final BattlePointPort battlePointPort;
 
     private final BattleDurationPolicy battleDurationPolicy;
     private final AlgorithmProblemMapper algorithmProblemMapper;
-    private final ObjectMapper objectMapper;
 
     @org.springframework.beans.factory.annotation.Autowired(required = false)
     private BattleUserPort battleUserPort;
@@ -94,18 +109,26 @@ public class BattleRoomService {
     @Qualifier("battleTaskScheduler")
     private final TaskScheduler battleTaskScheduler;
 
-    @org.springframework.beans.factory.annotation.Autowired
-    @Qualifier("battleRedisTemplate")
-    private RedisTemplate<String, Object> redisTemplate;
+    private final BattleTimerService battleTimerService;
 
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> timeoutTasks = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> disconnectTasks = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> postGameTasks = new ConcurrentHashMap<>();
+    @PostConstruct
+    void registerTimerHandlers() {
+        battleTimerService.register(BattleTimerType.MATCH_START, (roomId, userId) -> startMatch(roomId));
+        battleTimerService.register(BattleTimerType.MATCH_TIMEOUT, (roomId, userId) -> finishByTimeout(roomId));
+        battleTimerService.register(BattleTimerType.POST_GAME_CLEANUP, (roomId, userId) -> cleanupAfterPostGame(roomId));
+        battleTimerService.register(BattleTimerType.DISCONNECT_GRACE, this::finishDueToDisconnect);
+        battleTimerService.register(BattleTimerType.OPPONENT_RECHECK, this::handleOpponentRecheck);
+        battleTimerService.register(BattleTimerType.WAITING_GRACE, this::removeAfterWaitingGrace);
+    }
 
     /* ------------------------------------------------------------
      * Core helpers
      * ------------------------------------------------------------ */
 
+    /**
+     * 참가자 닉네임/등급/잔액 채우기
+     * 참가자 전원을 포트의 일괄 조회로 한 번에 가져온다 (포트 쪽 단기 캐시 사용)
+     */
     private void ensureNicknames(BattleRoomState state) {
         if (state == null) return;
 
@@ -113,10 +136,19 @@ public class BattleRoomService {
         if (state.getHostUserId() != null) ids.add(state.getHostUserId());
         if (state.getGuestUserId() != null) ids.add(state.getGuestUserId());
         if (state.getParticipants() != null) ids.addAll(state.getParticipants().keySet());
+        ids.remove(null);
+        if (ids.isEmpty()) return;
+
+        Set<Long> missingProfile = ids.stream()
+                .filter(id -> {
+                    BattleParticipantState p = state.participant(id);
+                    return p == null || p.getNickname() == null || p.getNickname().isBlank() || p.getGrade() == null;
+                })
+                .collect(Collectors.toSet());
+        Map<Long, BattleUserProfile> profiles = fetchProfiles(missingProfile);
+        Map<Long, BigDecimal> balances = fetchPointBalances(ids);
 
         for (Long id : ids) {
-            if (id == null) continue;
-
             BattleParticipantState participant = state.participant(id);
             if (participant == null) {
                 participant = BattleParticipantState.builder()
@@ -126,13 +158,14 @@ public class BattleRoomService {
                         .build();
             }
 
+            BattleUserProfile profile = profiles.get(id);
             if (participant.getNickname() == null || participant.getNickname().isBlank()) {
-                participant.setNickname(fetchNickname(id));
+                participant.setNickname(profile != null ? profile.getNickname() : "\uC0AC\uC6A9\uC790#" + id);
             }
-            if (participant.getGrade() == null) {
-                participant.setGrade(fetchUserGrade(id));
+            if (participant.getGrade() == null && profile != null) {
+                participant.setGrade(profile.getGrade());
             }
-            participant.setPointBalance(fetchPointBalance(id));
+            participant.setPointBalance(balances.getOrDefault(id, BigDecimal.ZERO));
             state.addOrUpdateParticipant(participant);
         }
     }
@@ -222,12 +255,6 @@ public class BattleRoomService {
                 }
             }
         }
-
-        if (state.getStatus() == BattleStatus.WAITING || state.getStatus() == BattleStatus.COUNTDOWN) {
-            addRoomToLobby(state.getRoomId());
-        } else {
-            removeRoomFromLobby(state.getRoomId());
-        }
     }
 
     private boolean isParticipant(BattleRoomState state, Long userId) {
@@ -243,36 +270,77 @@ public class BattleRoomService {
     }
 
     private Optional<BattleRoomState> getRoomState(String roomId) {
-        Object value = redisTemplate.opsForValue().get(BattleRedisKeyUtil.roomKey(roomId));
-        if (value instanceof BattleRoomState state) {
-            return Optional.of(state);
+        return battleRoomStore.find(roomId);
+    }
+
+    /**
+     * 방 저장 후 바뀐 내용이 있으면 로비 요약에도 반영 (로비 변경분 발행)
+     */
+    private void saveRoom(BattleRoomState state) {
+        if (battleRoomStore.save(state)) {
+            battleLobbyIndex.sync(state);
+            try {
+                battleMessageService.publishMatchEvent(state);
+            } catch (Exception e) {
+                log.warn("[battle] roomId={} action=publish-match-event error={}", state.getRoomId(), e.getMessage());
+            }
         }
-        if (value instanceof java.util.Map<?, ?> map) {
+    }
+
+    /**
+     * 방 상태 전이 실행 (낙관적 동시성 제어)
+     * 읽은 뒤 다른 요청이 먼저 저장하면 saveRoom에서 충돌이 나고, 지터를 둔 백오프 후 처음부터 다시 읽어 적용한다
+     * 전이 안의 DB 작업(홀드/환불/정산/매치 갱신)은 멱등이라 재시도해도 안전하다
+     */
+    private <T> T transition(String roomId, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
             try {
-                BattleRoomState state = objectMapper.convertValue(map, BattleRoomState.class);
-                return Optional.ofNullable(state);
-            } catch (IllegalArgumentException e) {
-                log.warn("[battle] roomId={} action=deserialize-state error={}", roomId, e.getMessage());
+                return action.get();
+            } catch (BattleRoomConflictException e) {
+                if (attempt >= TRANSITION_MAX_ATTEMPTS) {
+                    log.warn("[battle] roomId={} action=transition conflict-exhausted attempts={}", roomId, attempt);
+                    throw new BattleException(BattleErrorCode.ROOM_BUSY);
+                }
+                backoff(attempt);
             }
         }
-        return Optional.empty();
     }
 
-    private void saveRoom(BattleRoomState state) {
-        redisTemplate.opsForValue().set(BattleRedisKeyUtil.roomKey(state.getRoomId()), state);
+    private void runTransition(String roomId, Runnable action) {
+        transition(roomId, () -> {
+            action.run();
+            return null;
+        });
     }
 
-    private void addRoomToLobby(String roomId) {
-        stringRedisTemplate.opsForSet().add(BattleRedisKeyUtil.lobbyKey(), roomId);
+    private void backoff(int attempt) {
+        long ceiling = Math.min(TRANSITION_BACKOFF_MAX_MS, TRANSITION_BACKOFF_BASE_MS << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BattleException(BattleErrorCode.ROOM_BUSY);
+        }
     }
 
-    private void removeRoomFromLobby(String roomId) {
-        stringRedisTemplate.opsForSet().remove(BattleRedisKeyUtil.lobbyKey(), roomId);
+    /**
+     * 사용자 활성 방 선점 (SET NX)
+     * 다른 방이 이미 잡혀 있으면 충돌로 보고 재시도에서 기존 방 기준으로 처리한다
+     */
+    private void claimActiveRoom(Long userId, String roomId) {
+        String key = BattleRedisKeyUtil.activeRoomKey(userId);
+        if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, roomId))) return;
+        if (!Objects.equals(roomId, stringRedisTemplate.opsForValue().get(key))) {
+            throw new BattleRoomConflictException(roomId);
+        }
+    }
+
+    private record JudgeOutcome(boolean shouldFinish, boolean draw, Long winnerUserId) {
+        static final JudgeOutcome NONE = new JudgeOutcome(false, false, null);
     }
 
-    private void broadcastLobby() {
-        List<BattleRoomResponse> rooms = listRooms();
-        battleMessageService.publishRoomList(rooms);
+    private void removeRoomFromLobby(String roomId) {
+        battleLobbyIndex.remove(roomId);
     }
 
     private void setActiveRoom(Long userId, String roomId) {
@@ -324,7 +392,7 @@ public class BattleRoomService {
             }
             if (roomId != null) {
                 getRoomState(roomId).ifPresent(state -> clearMatchRoomMapping(state.getMatchId()));
-                redisTemplate.delete(BattleRedisKeyUtil.roomKey(roomId));
+                battleRoomStore.delete(roomId);
                 stringRedisTemplate.delete(BattleRedisKeyUtil.membersKey(roomId));
                 removeRoomFromLobby(roomId);
                 stringRedisTemplate.delete(BattleRedisKeyUtil.kickedKey(roomId));
@@ -338,7 +406,7 @@ public class BattleRoomService {
         clearActiveRoom(userId, roomId);
         removeMember(roomId, userId);
         if (state != null && !isActive(state)) {
-            removeRoomFromLobby(roomId);
+            battleLobbyIndex.sync(state);
         }
     }
 
@@ -352,13 +420,22 @@ public class BattleRoomService {
         return "\uC0AC\uC6A9\uC790#" + userId;
     }
 
-    private BigDecimal fetchPointBalance(Long userId) {
-        if (userId == null) return BigDecimal.ZERO;
+    private Map<Long, BattleUserProfile> fetchProfiles(Set<Long> userIds) {
+        if (userIds.isEmpty() || battleUserPort == null) return Map.of();
+        try {
+            return battleUserPort.findProfiles(userIds);
+        } catch (Exception e) {
+            log.warn("[battle] userIds={} action=fetchProfiles error={}", userIds, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private Map<Long, BigDecimal> fetchPointBalances(Set<Long> userIds) {
         try {
-            return battlePointPort.getBalance(userId);
+            return battlePointPort.getBalances(userIds);
         } catch (Exception e) {
-            log.warn("[battle] userId={} action=fetchPointBalance error={}", userId, e.getMessage());
-            return BigDecimal.ZERO;
+            log.warn("[battle] userIds={} action=fetchPointBalances error={}", userIds, e.getMessage());
+            return Map.of();
         }
     }
 
@@ -374,24 +451,76 @@ public class BattleRoomService {
         return algoProblemId > 0 ? algoProblemId : null;
     }
 
-    private Long selectRandomProblemId() {
-        int total = algorithmProblemMapper.countAllProblems();
-        if (total <= 0) {
-            throw new BattleException(BattleErrorCode.PROBLEM_NOT_FOUND);
+    /**
+     * 방 설정 난이도로 랜덤 출제
+     * 방의 직전 문제와 참가자들이 최근 대결에서 푼 문제는 피해서 같은 문제가 반복되지 않도록 한다
+     */
+    private Long selectRandomProblemId(BattleRoomState state) {
+        return selectRandomProblemId(state.getProblemDifficulty(), state.getAlgoProblemId(),
+                state.getHostUserId(), state.getGuestUserId());
+    }
+
+    private Long selectRandomProblemId(String problemDifficulty, Long previousProblemId, Long... userIds) {
+        Set<Long> exclude = new HashSet<>();
+        if (previousProblemId != null) exclude.add(previousProblemId);
+        for (Long userId : userIds) {
+            exclude.addAll(recentProblems(userId));
         }
-        int offset = ThreadLocalRandom.current().nextInt(total);
-        var list = algorithmProblemMapper.selectProblems(offset, 1);
-        if (list == null || list.isEmpty() || list.get(0).getAlgoProblemId() == null) {
-            throw new BattleException(BattleErrorCode.PROBLEM_NOT_FOUND);
+        ProblemDifficulty difficulty = problemDifficulty != null ? ProblemDifficulty.valueOf(problemDifficulty) : null;
+        return battleProblemIndex.pickRandom(difficulty, exclude);
+    }
+
+    private List<Long> recentProblems(Long userId) {
+        if (userId == null) return List.of();
+        try {
+            List<String> values = stringRedisTemplate.opsForList()
+                    .range(BattleRedisKeyUtil.recentProblemsKey(userId), 0, RECENT_PROBLEM_WINDOW - 1);
+            if (values == null) return List.of();
+            return values.stream().map(Long::valueOf).toList();
+        } catch (Exception e) {
+            log.warn("[battle] userId={} action=recent-problems-read error={}", userId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 대결이 시작된 문제를 참가자별 최근 출제 목록에 기록
+     */
+    private void recordRecentProblem(BattleRoomState state) {
+        Long problemId = state.getAlgoProblemId();
+        if (problemId == null) return;
+        for (Long userId : new Long[]{state.getHostUserId(), state.getGuestUserId()}) {
+            if (userId == null) continue;
+            try {
+                String key = BattleRedisKeyUtil.recentProblemsKey(userId);
+                stringRedisTemplate.opsForList().leftPush(key, problemId.toString());
+                stringRedisTemplate.opsForList().trim(key, 0, RECENT_PROBLEM_WINDOW - 1);
+                stringRedisTemplate.expire(key, RECENT_PROBLEM_TTL);
+            } catch (Exception e) {
+                log.warn("[battle] userId={} action=recent-problems-write error={}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 랜덤 출제 난이도 정규화 (비었거나 ANY면 null = 전체)
+     */
+    private String normalizeProblemDifficulty(String problemDifficulty) {
+        if (problemDifficulty == null || problemDifficulty.isBlank()) return null;
+        String upper = problemDifficulty.trim().toUpperCase();
+        if ("ANY".equals(upper)) return null;
+        try {
+            return ProblemDifficulty.valueOf(upper).name();
+        } catch (IllegalArgumentException e) {
+            throw new BattleException(BattleErrorCode.INVALID_STATUS);
         }
-        return list.get(0).getAlgoProblemId();
     }
 
     private Long applyProblemSelection(BattleRoomState state, Long requestedProblemId) {
         Long normalized = normalizeProblemId(requestedProblemId);
         if (normalized == null) {
             state.setRandomProblem(true);
-            Long randomId = selectRandomProblemId();
+            Long randomId = selectRandomProblemId(state);
             state.setAlgoProblemId(randomId);
             return randomId;
         }
@@ -439,13 +568,11 @@ public class BattleRoomService {
 
         if (request.getBetAmount() == null) request.setBetAmount(BigDecimal.ZERO);
         request.setLevelMode(normalizeLevelMode(request.getLevelMode()));
+        request.setProblemDifficulty(normalizeProblemDifficulty(request.getProblemDifficulty()));
 
         battleValidator.validateBetAmount(request.getBetAmount());
 
-        String userLock = redisLockManager.lock(BattleRedisKeyUtil.userLockKey(userId));
-        if (userLock == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
+        return transition("new", () -> {
             String existingRoomId = stringRedisTemplate.opsForValue().get(BattleRedisKeyUtil.activeRoomKey(userId));
             if (existingRoomId != null) {
                 Optional<BattleRoomState> existing = getRoomState(existingRoomId);
@@ -479,7 +606,9 @@ public class BattleRoomService {
 
             Long requestedProblemId = normalizeProblemId(request.getAlgoProblemId());
             boolean randomProblem = requestedProblemId == null;
-            Long resolvedProblemId = randomProblem ? selectRandomProblemId() : requestedProblemId;
+            Long resolvedProblemId = randomProblem
+                    ? selectRandomProblemId(request.getProblemDifficulty(), null, userId)
+                    : requestedProblemId;
             Integer maxMinutes = battleDurationPolicy.effectiveMinutes(
                     request.getMaxDurationMinutes(),
                     findProblemDifficulty(resolvedProblemId)
@@ -495,6 +624,7 @@ public class BattleRoomService {
                     .randomProblem(randomProblem)
                     .languageId(request.getLanguageId())
                     .levelMode(request.getLevelMode())
+                    .problemDifficulty(request.getProblemDifficulty())
                     .betAmount(request.getBetAmount())
                     .maxDurationMinutes(maxMinutes)
                     .isPrivate(isPrivate)
@@ -504,12 +634,14 @@ public class BattleRoomService {
 
             state.addOrUpdateParticipant(host);
 
+            // 같은 사용자의 동시 생성 요청 중 하나만 통과 (나머지는 재시도에서 기존 방을 돌려받는다)
+            claimActiveRoom(userId, state.getRoomId());
+
             try {
                 battleMatchService.createMatch(state);
                 setMatchRoomMapping(state.getMatchId(), state.getRoomId());
                 saveRoom(state);
 
-                addRoomToLobby(state.getRoomId());
                 addMember(state.getRoomId(), userId);
                 setActiveRoom(userId, state.getRoomId());
 
@@ -517,7 +649,6 @@ public class BattleRoomService {
                 ensureActiveAndMembers(state);
                 saveRoom(state);
 
-                broadcastLobby();
                 battleMessageService.publishRoomState(state);
             } catch (Exception e) {
                 cleanupRoomKeys(state.getRoomId(), Set.of(userId));
@@ -526,41 +657,15 @@ public class BattleRoomService {
 
             log.info("[battle] matchId={} userId={} action=create state={}", state.getMatchId(), userId, state.getStatus());
             return BattleRoomResponse.from(state);
-
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.userLockKey(userId), userLock);
-        }
+        });
     }
 
     public List<BattleRoomResponse> listRooms() {
-        Set<String> roomIds = stringRedisTemplate.opsForSet().members(BattleRedisKeyUtil.lobbyKey());
-        if (roomIds == null || roomIds.isEmpty()) return List.of();
-
-        List<BattleRoomResponse> rooms = new ArrayList<>();
-        for (String roomId : roomIds) {
-            Optional<BattleRoomState> stateOpt = getRoomState(roomId);
-            if (stateOpt.isEmpty()) {
-                removeRoomFromLobby(roomId);
-                continue;
-            }
-
-            BattleRoomState state = stateOpt.get();
-            ensureNicknames(state);
-            ensureActiveAndMembers(state);
-
-            if (state.getStatus() == BattleStatus.WAITING || state.getStatus() == BattleStatus.COUNTDOWN) {
-                try {
-                    rooms.add(BattleRoomResponse.from(state));
-                } catch (Exception e) {
-                    log.warn("[battle] roomId={} action=listRooms response-error={}", roomId, e.getMessage());
-                }
-            } else {
-                removeRoomFromLobby(roomId);
-            }
+        return battleLobbyIndex.snapshot().getRooms();
+    }
 
-            saveRoom(state);
-        }
-        return rooms;
+    public BattleLobbySnapshotResponse getLobbySnapshot() {
+        return battleLobbyIndex.snapshot();
     }
 
     public BattleRoomResponse getRoom(String roomId, Long requesterId) {
@@ -575,12 +680,26 @@ public class BattleRoomService {
             addMember(roomId, requesterId);
             cancelWaitingDisconnectGrace(roomId, requesterId);
         }
-        ensureActiveAndMembers(state);
-        saveRoom(state);
 
         return BattleRoomResponse.from(state);
     }
 
+    /**
+     * 관전/재접속 따라잡기 - 매치 이벤트 스트림을 재생한 상태와 afterEventId 이후 이벤트 목록
+     * 이후 변경은 /topic/battle/match/{matchId}/events 구독으로 이어 받는다
+     */
+    public BattleMatchReplayResponse getMatchReplay(String matchId, String afterEventId) {
+        BattleRoomState replayed = battleRoomStore.replay(matchId)
+                .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
+        ensureNicknames(replayed);
+        return BattleMatchReplayResponse.builder()
+                .matchId(matchId)
+                .lastEventId(replayed.lastEventId())
+                .room(BattleRoomResponse.from(replayed))
+                .events(battleRoomStore.readEvents(matchId, afterEventId, MATCH_EVENT_PAGE_SIZE))
+                .build();
+    }
+
     public Optional<BattleRoomResponse> findMyActiveRoom(Long userId) {
         if (userId == null) return Optional.empty();
 
@@ -624,8 +743,6 @@ public class BattleRoomService {
         }
 
         ensureNicknames(state);
-        ensureActiveAndMembers(state);
-        saveRoom(state);
 
         return Optional.of(BattleRoomResponse.from(state));
     }
@@ -635,10 +752,7 @@ public class BattleRoomService {
             throw new BattleException(BattleErrorCode.INVALID_STATUS);
         }
 
-        String userLock = redisLockManager.lock(BattleRedisKeyUtil.userLockKey(userId));
-        if (userLock == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
+        return transition(roomId, () -> {
             String activeRoomId = stringRedisTemplate.opsForValue().get(BattleRedisKeyUtil.activeRoomKey(userId));
             if (activeRoomId != null && !Objects.equals(activeRoomId, roomId)) {
                 Optional<BattleRoomState> existing = getRoomState(activeRoomId);
@@ -662,104 +776,98 @@ public class BattleRoomService {
                 cleanupActiveMapping(userId, roomId, same.orElse(null));
             }
 
-            String roomLock = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-            if (roomLock == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-            try {
-                BattleRoomState state = getRoomState(roomId)
-                        .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
-
-                LocalDateTime now = BattleTime.nowKst();
-                if (state.getStatus() == BattleStatus.FINISHED
-                        && state.getPostGameUntil() != null
-                        && state.getPostGameUntil().isAfter(now)
-                        && !isParticipant(state, userId)) {
-                    throw new BattleException(BattleErrorCode.POSTGAME_LOCK);
-                }
-
-                if (Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(
-                        BattleRedisKeyUtil.kickedKey(roomId), String.valueOf(userId)))) {
-                    throw new BattleException(BattleErrorCode.KICKED_REJOIN_BLOCKED);
-                }
-
-                if (state.isPrivate()) {
-                    enforcePasswordRateLimit(roomId, userId);
-
-                    if (password == null || !password.matches("^\\d{1,4}$")
-                            || !passwordEncoder.matches(password, state.getPasswordHash())) {
-                        registerPasswordFailure(roomId, userId);
-                        randomDelay();
-                        throw new BattleException(BattleErrorCode.INVALID_PASSWORD);
-                    }
-                    clearPasswordAttempts(roomId, userId);
-                }
-
-                boolean alreadyParticipant = isParticipant(state, userId);
-                if (state.getStatus() == BattleStatus.RUNNING && alreadyParticipant) {
-                    cancelDisconnectGrace(state.getRoomId(), userId);
-                    cancelWaitingDisconnectGrace(state.getRoomId(), userId);
-                    saveRoom(state);
-                    setActiveRoom(userId, roomId);
-                    addMember(roomId, userId);
-                    ensureNicknames(state);
-                    ensureActiveAndMembers(state);
-                    saveRoom(state);
-                    battleMessageService.publishRoomState(state);
-                    return BattleRoomResponse.from(state);
-                }
+            BattleRoomState state = getRoomState(roomId)
+                    .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
-                if (alreadyParticipant) {
-                    cancelWaitingDisconnectGrace(state.getRoomId(), userId);
-                    ensureNicknames(state);
-                    ensureActiveAndMembers(state);
-                    saveRoom(state);
-                    return BattleRoomResponse.from(state);
-                }
+            LocalDateTime now = BattleTime.nowKst();
+            if (state.getStatus() == BattleStatus.FINISHED
+                    && state.getPostGameUntil() != null
+                    && state.getPostGameUntil().isAfter(now)
+                    && !isParticipant(state, userId)) {
+                throw new BattleException(BattleErrorCode.POSTGAME_LOCK);
+            }
 
-                if (state.getStatus() != BattleStatus.WAITING) {
-                    throw new BattleException(BattleErrorCode.JOIN_NOT_ALLOWED);
-                }
+            if (Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(
+                    BattleRedisKeyUtil.kickedKey(roomId), String.valueOf(userId)))) {
+                throw new BattleException(BattleErrorCode.KICKED_REJOIN_BLOCKED);
+            }
 
-                if (state.getGuestUserId() != null) {
-                    throw new BattleException(BattleErrorCode.ROOM_FULL);
-                }
+            if (state.isPrivate()) {
+                enforcePasswordRateLimit(roomId, userId);
 
-                if (isSameGradeMode(state) && isGradeMismatch(state.getHostUserId(), userId)) {
-                    throw new BattleException(BattleErrorCode.LEVEL_MISMATCH);
+                if (password == null || !password.matches("^\\d{1,4}$")
+                        || !passwordEncoder.matches(password, state.getPasswordHash())) {
+                    registerPasswordFailure(roomId, userId);
+                    randomDelay();
+                    throw new BattleException(BattleErrorCode.INVALID_PASSWORD);
                 }
+                clearPasswordAttempts(roomId, userId);
+            }
 
-                state.setGuestUserId(userId);
-                state.addOrUpdateParticipant(BattleParticipantState.builder()
-                        .userId(userId)
-                        .nickname(fetchNickname(userId))
-                        .grade(fetchUserGrade(userId))
-                        .ready(false)
-                        .finished(false)
-                        .build());
-
+            boolean alreadyParticipant = isParticipant(state, userId);
+            if (state.getStatus() == BattleStatus.RUNNING && alreadyParticipant) {
+                cancelDisconnectGrace(state.getRoomId(), userId);
+                cancelWaitingDisconnectGrace(state.getRoomId(), userId);
                 saveRoom(state);
-
-                addMember(roomId, userId);
                 setActiveRoom(userId, roomId);
-                battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), state.getGuestUserId());
-
+                addMember(roomId, userId);
                 ensureNicknames(state);
                 ensureActiveAndMembers(state);
                 saveRoom(state);
-
-                broadcastLobby();
                 battleMessageService.publishRoomState(state);
+                return BattleRoomResponse.from(state);
+            }
 
-                log.info("[battle] matchId={} userId={} action=join state={}", state.getMatchId(), userId, state.getStatus());
+            if (alreadyParticipant) {
+                cancelWaitingDisconnectGrace(state.getRoomId(), userId);
+                ensureNicknames(state);
+                ensureActiveAndMembers(state);
+                saveRoom(state);
                 return BattleRoomResponse.from(state);
+            }
 
-            } finally {
-                redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), roomLock);
+            if (state.getStatus() != BattleStatus.WAITING) {
+                throw new BattleException(BattleErrorCode.JOIN_NOT_ALLOWED);
             }
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.userLockKey(userId), userLock);
-        }
+            if (state.getGuestUserId() != null) {
+                throw new BattleException(BattleErrorCode.ROOM_FULL);
+            }
+
+            if (isSameGradeMode(state) && isGradeMismatch(state.getHostUserId(), userId)) {
+                throw new BattleException(BattleErrorCode.LEVEL_MISMATCH);
+            }
+
+            state.setGuestUserId(userId);
+            state.addOrUpdateParticipant(BattleParticipantState.builder()
+                    .userId(userId)
+                    .nickname(fetchNickname(userId))
+                    .grade(fetchUserGrade(userId))
+                    .ready(false)
+                    .finished(false)
+                    .build());
+
+            claimActiveRoom(userId, roomId);
+            try {
+                saveRoom(state);
+            } catch (RuntimeException e) {
+                clearActiveRoom(userId, roomId);
+                throw e;
+            }
+
+            addMember(roomId, userId);
+            setActiveRoom(userId, roomId);
+            battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), state.getGuestUserId());
+
+            ensureNicknames(state);
+            ensureActiveAndMembers(state);
+            saveRoom(state);
+
+            battleMessageService.publishRoomState(state);
+
+            log.info("[battle] matchId={} userId={} action=join state={}", state.getMatchId(), userId, state.getStatus());
+            return BattleRoomResponse.from(state);
+        });
     }
 
     public BattleRoomResponse leaveRoom(String roomId, Long userId) {
@@ -793,190 +901,157 @@ public class BattleRoomService {
     }
 
     private BattleRoomResponse leaveRoomInternal(String roomId, Long userId, boolean allowCountdown) {
-        String userLock = redisLockManager.lock(BattleRedisKeyUtil.userLockKey(userId));
-        if (userLock == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
-            String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-            if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-            try {
-                cancelWaitingDisconnectGrace(roomId, userId);
-                BattleRoomState state = getRoomState(roomId)
-                        .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
-
-                if (!isParticipant(state, userId)) throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
-                if (!allowCountdown && state.getStatus() == BattleStatus.COUNTDOWN) {
-                    throw new BattleException(BattleErrorCode.INVALID_STATUS);
-                }
-
-                if (state.getStatus() == BattleStatus.WAITING || state.getStatus() == BattleStatus.COUNTDOWN) {
-                    if (Objects.equals(userId, state.getHostUserId())) {
-                        Long guestId = state.getGuestUserId();
-                        if (guestId != null) {
-                            // promote guest to host
-                            state.setHostUserId(guestId);
-                            state.setGuestUserId(null);
-                            Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(userId));
-
-                            BattleParticipantState newHost = state.participant(guestId);
-                            if (newHost != null) {
-                                newHost.setReady(false);
-                                state.addOrUpdateParticipant(newHost);
-                            }
-
-                            state.setCountdownStarted(false);
-                            state.setStatus(BattleStatus.WAITING);
-
-                            battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), state.getGuestUserId());
-                            saveRoom(state);
-
-                            clearActiveRoom(userId, roomId);
-                            removeMember(roomId, userId);
-
-                            setActiveRoom(guestId, roomId);
-                            addMember(roomId, guestId);
-
-                            ensureNicknames(state);
-                            ensureActiveAndMembers(state);
-                            saveRoom(state);
+        return transition(roomId, () -> {
+            cancelWaitingDisconnectGrace(roomId, userId);
+            BattleRoomState state = getRoomState(roomId)
+                    .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
-                            addRoomToLobby(roomId);
-                            broadcastLobby();
-                            battleMessageService.publishRoomState(state);
+            if (!isParticipant(state, userId)) throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
+            if (!allowCountdown && state.getStatus() == BattleStatus.COUNTDOWN) {
+                throw new BattleException(BattleErrorCode.INVALID_STATUS);
+            }
 
-                            stringRedisTemplate.opsForSet().remove(BattleRedisKeyUtil.kickedKey(roomId), String.valueOf(guestId));
-                        } else {
-                            Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(userId));
-                            clearActiveRoom(userId, roomId);
-                            removeMember(roomId, userId);
-                            cleanupRoomKeys(roomId, Set.of(userId));
-                        }
-                    } else {
+            if (state.getStatus() == BattleStatus.WAITING || state.getStatus() == BattleStatus.COUNTDOWN) {
+                if (Objects.equals(userId, state.getHostUserId())) {
+                    Long guestId = state.getGuestUserId();
+                    if (guestId != null) {
+                        // promote guest to host
+                        state.setHostUserId(guestId);
                         state.setGuestUserId(null);
                         Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(userId));
 
+                        BattleParticipantState newHost = state.participant(guestId);
+                        if (newHost != null) {
+                            newHost.setReady(false);
+                            state.addOrUpdateParticipant(newHost);
+                        }
+
                         state.setCountdownStarted(false);
                         state.setStatus(BattleStatus.WAITING);
 
-                        battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), null);
+                        battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), state.getGuestUserId());
                         saveRoom(state);
+                        battleSettlementService.refundUser(state, userId);
 
                         clearActiveRoom(userId, roomId);
                         removeMember(roomId, userId);
 
+                        setActiveRoom(guestId, roomId);
+                        addMember(roomId, guestId);
+
                         ensureNicknames(state);
                         ensureActiveAndMembers(state);
                         saveRoom(state);
 
-                        addRoomToLobby(roomId);
-                        broadcastLobby();
                         battleMessageService.publishRoomState(state);
-                    }
-                } else if (state.getStatus() == BattleStatus.RUNNING) {
-                    startDisconnectGrace(state, userId);
-                } else if (state.getStatus() == BattleStatus.FINISHED || state.getStatus() == BattleStatus.CANCELED) {
-                    cancelDisconnectGrace(roomId, userId);
-                    cancelWaitingDisconnectGrace(roomId, userId);
-                    clearActiveRoom(userId, roomId);
-                    removeMember(roomId, userId);
-                    Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(userId));
-                    if (Objects.equals(userId, state.getHostUserId())) {
-                        state.setHostUserId(null);
-                    }
-                    if (Objects.equals(userId, state.getGuestUserId())) {
-                        state.setGuestUserId(null);
-                    }
 
-                    Set<String> members = stringRedisTemplate.opsForSet()
-                            .members(BattleRedisKeyUtil.membersKey(roomId));
-                    boolean hasMembers = members != null && !members.isEmpty();
-                    if (!hasMembers) {
-                        cancelPostGameTask(roomId);
-                        cleanupRoomKeys(roomId, participantIds(state));
-                        broadcastLobby();
+                        stringRedisTemplate.opsForSet().remove(BattleRedisKeyUtil.kickedKey(roomId), String.valueOf(guestId));
                     } else {
-                        syncParticipantsWithMembers(state, members);
-                        ensureNicknames(state);
-                        ensureActiveAndMembers(state);
-                        saveRoom(state);
-                        battleMessageService.publishRoomState(state);
-                        broadcastLobby();
+                        battleRoomStore.delete(state);
+                        battleSettlementService.refundUser(state, userId);
+                        Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(userId));
+                        clearActiveRoom(userId, roomId);
+                        removeMember(roomId, userId);
+                        cleanupRoomKeys(roomId, Set.of(userId));
                     }
-                }
-
-                log.info("[battle] matchId={} userId={} action=leave state={}", state.getMatchId(), userId, state.getStatus());
-                return BattleRoomResponse.from(state);
-
-            } finally {
-                redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-            }
+                } else {
+                    state.setGuestUserId(null);
+                    Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(userId));
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.userLockKey(userId), userLock);
-        }
-    }
+                    state.setCountdownStarted(false);
+                    state.setStatus(BattleStatus.WAITING);
 
-    public BattleRoomResponse kickGuest(String roomId, Long hostUserId) {
-        String userLock = redisLockManager.lock(BattleRedisKeyUtil.userLockKey(hostUserId));
-        if (userLock == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
+                    battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), null);
+                    saveRoom(state);
+                    battleSettlementService.refundUser(state, userId);
 
-        try {
-            String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-            if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
+                    clearActiveRoom(userId, roomId);
+                    removeMember(roomId, userId);
 
-            try {
-                BattleRoomState state = getRoomState(roomId)
-                        .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
+                    ensureNicknames(state);
+                    ensureActiveAndMembers(state);
+                    saveRoom(state);
 
-                if (!Objects.equals(state.getHostUserId(), hostUserId)) {
-                    throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
+                    battleMessageService.publishRoomState(state);
                 }
-                if (state.getStatus() == BattleStatus.RUNNING) {
-                    throw new BattleException(BattleErrorCode.INVALID_STATUS);
+            } else if (state.getStatus() == BattleStatus.RUNNING) {
+                startDisconnectGrace(state, userId);
+            } else if (state.getStatus() == BattleStatus.FINISHED || state.getStatus() == BattleStatus.CANCELED) {
+                cancelDisconnectGrace(roomId, userId);
+                cancelWaitingDisconnectGrace(roomId, userId);
+                clearActiveRoom(userId, roomId);
+                removeMember(roomId, userId);
+                Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(userId));
+                if (Objects.equals(userId, state.getHostUserId())) {
+                    state.setHostUserId(null);
                 }
-
-                Long guestId = state.getGuestUserId();
-                if (guestId != null) {
+                if (Objects.equals(userId, state.getGuestUserId())) {
                     state.setGuestUserId(null);
-                    Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(guestId));
-                    clearActiveRoom(guestId, roomId);
-                    removeMember(roomId, guestId);
-                    stringRedisTemplate.opsForSet().add(BattleRedisKeyUtil.kickedKey(roomId), String.valueOf(guestId));
-                    battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), null);
                 }
 
-                state.setCountdownStarted(false);
-                state.setStatus(BattleStatus.WAITING);
+                Set<String> members = stringRedisTemplate.opsForSet()
+                        .members(BattleRedisKeyUtil.membersKey(roomId));
+                boolean hasMembers = members != null && !members.isEmpty();
+                if (!hasMembers) {
+                    battleRoomStore.delete(state);
+                    cancelPostGameTask(roomId);
+                    cleanupRoomKeys(roomId, participantIds(state));
+                } else {
+                    syncParticipantsWithMembers(state, members);
+                    ensureNicknames(state);
+                    ensureActiveAndMembers(state);
+                    saveRoom(state);
+                    battleMessageService.publishRoomState(state);
+                }
+            }
 
-                ensureNicknames(state);
-                ensureActiveAndMembers(state);
-                saveRoom(state);
+            log.info("[battle] matchId={} userId={} action=leave state={}", state.getMatchId(), userId, state.getStatus());
+            return BattleRoomResponse.from(state);
+        });
+    }
 
-                broadcastLobby();
-                battleMessageService.publishRoomState(state);
+    public BattleRoomResponse kickGuest(String roomId, Long hostUserId) {
+        return transition(roomId, () -> {
+            BattleRoomState state = getRoomState(roomId)
+                    .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
-                if (guestId != null) {
-                    battleMessageService.sendErrorToUser(guestId, BattleErrorCode.KICKED);
-                }
+            if (!Objects.equals(state.getHostUserId(), hostUserId)) {
+                throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
+            }
+            if (state.getStatus() == BattleStatus.RUNNING) {
+                throw new BattleException(BattleErrorCode.INVALID_STATUS);
+            }
 
-                log.info("[battle] matchId={} userId={} action=kick guest={}", state.getMatchId(), hostUserId, guestId);
-                return BattleRoomResponse.from(state);
+            Long guestId = state.getGuestUserId();
+            if (guestId != null) {
+                state.setGuestUserId(null);
+                Optional.ofNullable(state.getParticipants()).ifPresent(map -> map.remove(guestId));
+                clearActiveRoom(guestId, roomId);
+                removeMember(roomId, guestId);
+                stringRedisTemplate.opsForSet().add(BattleRedisKeyUtil.kickedKey(roomId), String.valueOf(guestId));
+                battleMatchService.updateParticipants(state.getMatchId(), state.getHostUserId(), null);
+            }
 
-            } finally {
-                redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
+            state.setCountdownStarted(false);
+            state.setStatus(BattleStatus.WAITING);
+
+            ensureNicknames(state);
+            ensureActiveAndMembers(state);
+            saveRoom(state);
+
+            battleMessageService.publishRoomState(state);
+
+            if (guestId != null) {
+                battleMessageService.sendErrorToUser(guestId, BattleErrorCode.KICKED);
             }
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.userLockKey(hostUserId), userLock);
-        }
+            log.info("[battle] matchId={} userId={} action=kick guest={}", state.getMatchId(), hostUserId, guestId);
+            return BattleRoomResponse.from(state);
+        });
     }
 
     public BattleRoomResponse resetRoomForParticipant(String roomId, Long userId) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
+        return transition(roomId, () -> {
             BattleRoomState state = getRoomState(roomId)
                     .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
@@ -997,9 +1072,7 @@ public class BattleRoomService {
             battleMessageService.publishRoomState(state);
             return BattleRoomResponse.from(state);
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-        }
+        });
     }
 
     public BattleRoomResponse ready(String roomId, Long userId, boolean ready) {
@@ -1007,64 +1080,56 @@ public class BattleRoomService {
             throw new BattleException(BattleErrorCode.INVALID_STATUS);
         }
 
-        String userLock = redisLockManager.lock(BattleRedisKeyUtil.userLockKey(userId));
-        if (userLock == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
-            String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-            if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-            try {
-                BattleRoomState state = getRoomState(roomId)
-                        .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
+        return transition(roomId, () -> {
+            BattleRoomState state = getRoomState(roomId)
+                    .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
-                if (state.getStatus() != BattleStatus.WAITING && !(state.getStatus() == BattleStatus.COUNTDOWN && !ready)) {
-                    throw new BattleException(BattleErrorCode.READY_NOT_ALLOWED);
-                }
-                if (!isParticipant(state, userId)) {
-                    throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
-                }
-                if (state.getReadyCooldownUntil() != null
-                        && state.getReadyCooldownUntil().isAfter(BattleTime.nowKst())) {
-                    throw new BattleException(BattleErrorCode.READY_COOLDOWN);
-                }
+            if (state.getStatus() != BattleStatus.WAITING && !(state.getStatus() == BattleStatus.COUNTDOWN && !ready)) {
+                throw new BattleException(BattleErrorCode.READY_NOT_ALLOWED);
+            }
+            if (!isParticipant(state, userId)) {
+                throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
+            }
+            if (state.getReadyCooldownUntil() != null
+                    && state.getReadyCooldownUntil().isAfter(BattleTime.nowKst())) {
+                throw new BattleException(BattleErrorCode.READY_COOLDOWN);
+            }
 
-                BattleParticipantState participant = Optional.ofNullable(state.participant(userId))
-                        .orElseGet(() -> BattleParticipantState.builder().userId(userId).build());
-                participant.setReady(ready);
-                state.addOrUpdateParticipant(participant);
+            BattleParticipantState participant = Optional.ofNullable(state.participant(userId))
+                    .orElseGet(() -> BattleParticipantState.builder().userId(userId).build());
+            participant.setReady(ready);
+            state.addOrUpdateParticipant(participant);
 
-                if (!ready) {
-                    state.setCountdownStarted(false);
-                    if (state.getStatus() == BattleStatus.COUNTDOWN) {
-                        state.setStatus(BattleStatus.WAITING);
-                        battleSettlementService.refundAll(state);
-                    }
+            boolean countdownCanceled = false;
+            if (!ready) {
+                state.setCountdownStarted(false);
+                if (state.getStatus() == BattleStatus.COUNTDOWN) {
+                    state.setStatus(BattleStatus.WAITING);
+                    countdownCanceled = true;
                 }
+            }
 
-                setActiveRoom(userId, roomId);
-                addMember(roomId, userId);
-
-                ensureNicknames(state);
-                ensureActiveAndMembers(state);
-                saveRoom(state);
+            setActiveRoom(userId, roomId);
+            addMember(roomId, userId);
 
-                battleMessageService.publishRoomState(state);
+            ensureNicknames(state);
+            ensureActiveAndMembers(state);
+            saveRoom(state);
 
-                if (bothReady(state) && !state.isCountdownStarted()) {
-                    startCountdown(state);
-                }
+            // 환불은 WAITING 전환이 저장된 뒤에만 (충돌 후 재시도 중 시작된 매치의 베팅을 돌려주지 않도록)
+            if (countdownCanceled) {
+                battleSettlementService.refundAll(state);
+            }
 
-                log.info("[battle] matchId={} userId={} action=ready state={}", state.getMatchId(), userId, state.getStatus());
-                return BattleRoomResponse.from(state);
+            battleMessageService.publishRoomState(state);
 
-            } finally {
-                redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
+            if (bothReady(state) && !state.isCountdownStarted()) {
+                startCountdown(state);
             }
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.userLockKey(userId), userLock);
-        }
+            log.info("[battle] matchId={} userId={} action=ready state={}", state.getMatchId(), userId, state.getStatus());
+            return BattleRoomResponse.from(state);
+        });
     }
 
     public BattleRoomResponse submit(Long userId, BattleSubmitMessage message) {
@@ -1078,25 +1143,19 @@ public class BattleRoomService {
             throw new BattleException(BattleErrorCode.INVALID_STATUS);
         }
 
-        String userLock = redisLockManager.lock(BattleRedisKeyUtil.userLockKey(userId));
-        if (userLock == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
+        // 채점 자리가 없거나 같은 코드가 채점 중이면 제출을 기록하기 전에 거절
+        battleJudgeService.reserve(userId, message);
 
         BattleRoomState state;
-        LocalDateTime submittedAt = null;
-        Long elapsedSeconds = null;
-
         try {
-            String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-            if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-            try {
-                state = getRoomState(roomId)
+            state = transition(roomId, () -> {
+                BattleRoomState current = getRoomState(roomId)
                         .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
-                if (state.getStatus() != BattleStatus.RUNNING) throw new BattleException(BattleErrorCode.NOT_RUNNING);
-                if (!isParticipant(state, userId)) throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
+                if (current.getStatus() != BattleStatus.RUNNING) throw new BattleException(BattleErrorCode.NOT_RUNNING);
+                if (!isParticipant(current, userId)) throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
 
-                BattleParticipantState participant = Optional.ofNullable(state.participant(userId))
+                BattleParticipantState participant = Optional.ofNullable(current.participant(userId))
                         .orElseGet(() -> BattleParticipantState.builder().userId(userId).build());
                 if (participant.isFinished()) {
                     throw new BattleException(BattleErrorCode.SUBMIT_ALREADY_FINISHED);
@@ -1109,49 +1168,55 @@ public class BattleRoomService {
                 }
 
                 participant.setLastSubmittedAt(now);
-                submittedAt = now;
 
-                if (state.getStartedAt() != null) {
-                    elapsedSeconds = Duration.between(state.getStartedAt(), now).getSeconds();
-                    participant.setElapsedSeconds(elapsedSeconds);
+                if (current.getStartedAt() != null) {
+                    participant.setElapsedSeconds(Duration.between(current.getStartedAt(), now).getSeconds());
                 }
 
                 // 여기서 "채점 결과"에 따라 finished 처리/승부 처리
                 // - accepted면 finish 트리거
                 // - rejected면 finished=false 유지 (계속 진행)
                 participant.setFinished(false);
-                state.addOrUpdateParticipant(participant);
+                current.addOrUpdateParticipant(participant);
 
                 setActiveRoom(userId, roomId);
                 addMember(roomId, userId);
 
-                ensureNicknames(state);
-                ensureActiveAndMembers(state);
-                saveRoom(state);
+                ensureNicknames(current);
+                ensureActiveAndMembers(current);
+                saveRoom(current);
+                return current;
+            });
+        } catch (RuntimeException e) {
+            battleJudgeService.release(userId, message);
+            throw e;
+        }
 
-            } finally {
-                redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-            }
+        BattleParticipantState submitted = state.participant(userId);
+        LocalDateTime submittedAt = submitted != null ? submitted.getLastSubmittedAt() : null;
+        Long elapsedSeconds = submitted != null && state.getStartedAt() != null ? submitted.getElapsedSeconds() : null;
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.userLockKey(userId), userLock);
-        }
+        // 채점은 상태 전이 밖에서, 결과는 비동기로 반영 (STOMP 스레드는 채점을 기다리지 않는다)
+        battleJudgeService.judge(state.getMatchId(), userId, message)
+                .whenComplete((result, error) -> battleTaskScheduler.schedule(
+                        () -> completeSubmit(state, userId, message, submittedAt, elapsedSeconds, result),
+                        Instant.now()));
 
-        // 채점은 락 밖에서
-        BattleJudgeResult result;
-        try {
-            result = battleJudgeService.judge(state.getMatchId(), userId, message);
-        } catch (Exception e) {
-            result = BattleJudgeResult.rejected(JUDGE_RETRY_MESSAGE);
-        }
+        return BattleRoomResponse.from(state);
+    }
 
+    /**
+     * 채점 결과 반영 + 제출 결과 전송 (result가 null이면 채점 실패로 보고 재시도 안내)
+     */
+    private void completeSubmit(BattleRoomState state, Long userId, BattleSubmitMessage message,
+                                LocalDateTime submittedAt, Long elapsedSeconds, BattleJudgeResult result) {
         if (result == null || !result.isAccepted()) {
             result = BattleJudgeResult.rejected(JUDGE_RETRY_MESSAGE);
         }
 
         BigDecimal baseScore = deriveBaseScore(result);
-        boolean accepted = result != null && result.isAccepted();
-        String judgeDetail = normalizeJudgeDetail(result != null ? result.getMessage() : null);
+        boolean accepted = result.isAccepted();
+        String judgeDetail = normalizeJudgeDetail(result.getMessage());
         String judgeSummary = accepted ? buildJudgeSummary(baseScore, judgeDetail) : JUDGE_RETRY_MESSAGE;
         if (!accepted) {
             baseScore = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
@@ -1159,8 +1224,20 @@ public class BattleRoomService {
         }
 
         // 결과 반영
-        applyJudgeResultAndMaybeFinish(state.getRoomId(), userId, submittedAt != null ? submittedAt : BattleTime.nowKst(),
-                elapsedSeconds, baseScore, result);
+        try {
+            applyJudgeResultAndMaybeFinish(state.getRoomId(), userId, submittedAt != null ? submittedAt : BattleTime.nowKst(),
+                    elapsedSeconds, baseScore, result);
+        } catch (BattleException e) {
+            log.warn("[battle] roomId={} userId={} action=submit-apply errorCode={}",
+                    state.getRoomId(), userId, e.getErrorCode().getCode());
+            battleMessageService.sendErrorToUser(userId, e.getErrorCode());
+            return;
+        } catch (Exception e) {
+            log.error("[battle] roomId={} userId={} action=submit-apply error={}",
+                    state.getRoomId(), userId, e.getMessage(), e);
+            battleMessageService.sendErrorToUser(userId, BattleErrorCode.INVALID_STATUS);
+            return;
+        }
 
         BattleSubmitResultResponse submitResult = BattleSubmitResultResponse.builder()
                 .userId(userId)
@@ -1177,16 +1254,14 @@ public class BattleRoomService {
 
         battleMessageService.publishSubmitResult(submitResult, state.getRoomId(), state.getMatchId());
 
-        // accepted가 아니면 룸 상태만 리턴
-        return BattleRoomResponse.from(getRoomState(roomId).orElse(state));
+        // AI 코드 평가는 승패와 무관하게 비동기로 뒤따라 전달
+        if (accepted) {
+            battleAiReviewService.requestReview(state.getRoomId(), state.getMatchId(), userId, message, result);
+        }
     }
 
     public BattleRoomResponse surrender(String roomId, Long userId) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        Long winnerUserId;
-        try {
+        Long winnerUserId = transition(roomId, () -> {
             BattleRoomState state = getRoomState(roomId)
                     .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
@@ -1195,10 +1270,10 @@ public class BattleRoomService {
             }
             if (!isParticipant(state, userId)) throw new BattleException(BattleErrorCode.NOT_PARTICIPANT);
 
-            winnerUserId = Objects.equals(userId, state.getHostUserId())
+            Long winner = Objects.equals(userId, state.getHostUserId())
                     ? state.getGuestUserId()
                     : state.getHostUserId();
-            if (winnerUserId == null) throw new BattleException(BattleErrorCode.INVALID_STATUS);
+            if (winner == null) throw new BattleException(BattleErrorCode.INVALID_STATUS);
 
             BattleParticipantState participant = state.participant(userId);
             if (participant != null) {
@@ -1210,20 +1285,15 @@ public class BattleRoomService {
             ensureNicknames(state);
             ensureActiveAndMembers(state);
             saveRoom(state);
+            return winner;
+        });
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-        }
-
-        // finish after releasing the room lock to avoid lock reentry failures
+        // finish as a separate transition so a conflict retries only the finish step
         return finishWithReason(roomId, winnerUserId, "SURRENDER");
     }
 
     public BattleRoomResponse updateSettings(String roomId, Long userId, BattleRoomUpdateRequest request) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
+        return transition(roomId, () -> {
             BattleRoomState state = getRoomState(roomId)
                     .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
@@ -1236,6 +1306,9 @@ public class BattleRoomService {
             }
 
             Long previousProblemId = state.getAlgoProblemId();
+            if (request.getProblemDifficulty() != null) {
+                state.setProblemDifficulty(normalizeProblemDifficulty(request.getProblemDifficulty()));
+            }
             Long resolvedProblemId = applyProblemSelection(state, request.getAlgoProblemId());
 
             if (request.getTitle() != null) state.setTitle(request.getTitle());
@@ -1293,7 +1366,6 @@ public class BattleRoomService {
             ensureActiveAndMembers(state);
             saveRoom(state);
 
-            broadcastLobby();
             battleMessageService.publishRoomState(state);
 
             if (isSameGradeMode(state) && state.getGuestUserId() != null
@@ -1310,7 +1382,6 @@ public class BattleRoomService {
                 saveRoom(state);
 
                 battleMessageService.publishRoomState(state);
-                broadcastLobby();
                 battleMessageService.sendErrorToUser(
                         guestId,
                         BattleErrorCode.LEVEL_MISMATCH,
@@ -1320,9 +1391,7 @@ public class BattleRoomService {
 
             return BattleRoomResponse.from(state);
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-        }
+        });
     }
 
     /* ------------------------------------------------------------
@@ -1361,11 +1430,12 @@ public class BattleRoomService {
 
         ensureNicknames(state);
         ensureActiveAndMembers(state);
+        // 충돌 시 환불하지 않는다 - 홀드는 (matchId, userId)당 하나라 경합에서 이긴 요청도 같은 홀드를 쓰고 있다
+        // 충돌로 남은 홀드는 재시도/다음 카운트다운이 그대로 재사용하고, 방 취소나 나가기에서 돌려준다
         saveRoom(state);
 
         battleMatchService.markCountdown(state.getMatchId());
         battleMessageService.publishRoomState(state);
-        broadcastLobby();
 
         // 카운트다운 메시지
         for (int i = COUNTDOWN_SECONDS; i >= 1; i--) {
@@ -1378,18 +1448,13 @@ public class BattleRoomService {
             );
         }
 
-        // 매치 시작 예약
-        battleTaskScheduler.schedule(
-                () -> startMatch(state.getRoomId()),
-                Instant.now().plusSeconds(COUNTDOWN_SECONDS)
-        );
+        // 매치 시작 예약 (노드 공용 타이머)
+        battleTimerService.schedule(BattleTimerType.MATCH_START, state.getRoomId(), null,
+                Instant.now().plusSeconds(COUNTDOWN_SECONDS));
     }
 
     private void startMatch(String roomId) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) return;
-
-        try {
+        runTransition(roomId, () -> {
             BattleRoomState state = getRoomState(roomId).orElse(null);
             if (state == null || state.getStatus() != BattleStatus.COUNTDOWN) return;
 
@@ -1397,19 +1462,18 @@ public class BattleRoomService {
                 state.setCountdownStarted(false);
                 state.setStatus(BattleStatus.WAITING);
 
-                battleSettlementService.refundAll(state);
-
                 ensureNicknames(state);
                 ensureActiveAndMembers(state);
                 saveRoom(state);
 
+                battleSettlementService.refundAll(state);
+
                 battleMessageService.publishRoomState(state);
-                broadcastLobby();
                 return;
             }
 
             if (state.isRandomProblem()) {
-                Long randomId = selectRandomProblemId();
+                Long randomId = selectRandomProblemId(state);
                 state.setAlgoProblemId(randomId);
                 battleMatchService.updateProblem(state.getMatchId(), randomId);
             }
@@ -1423,17 +1487,15 @@ public class BattleRoomService {
 
             battleMatchService.markRunning(state.getMatchId());
             removeRoomFromLobby(state.getRoomId());
+            recordRecentProblem(state);
 
             scheduleTimeout(state); // RUNNING 기준으로 deadline 스케줄
             battleMessageService.publishStart(state);
             battleMessageService.publishRoomState(state);
-            broadcastLobby();
 
             log.info("[battle] matchId={} action=start state={}", state.getMatchId(), state.getStatus());
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-        }
+        });
     }
 
     private void scheduleTimeout(BattleRoomState state) {
@@ -1455,11 +1517,7 @@ public class BattleRoomService {
         LocalDateTime deadlineLdt = startedAt.plusMinutes(maxDuration);
         Instant triggerAt = BattleTime.toInstant(deadlineLdt);
 
-        ScheduledFuture<?> future = battleTaskScheduler.schedule(
-                () -> finishByTimeout(state.getRoomId()),
-                triggerAt
-        );
-        timeoutTasks.put(state.getRoomId(), future);
+        battleTimerService.schedule(BattleTimerType.MATCH_TIMEOUT, state.getRoomId(), null, triggerAt);
     }
 
     private void rescheduleTimeoutIfRunning(BattleRoomState state) {
@@ -1469,14 +1527,11 @@ public class BattleRoomService {
     }
 
     private void cancelTimeoutTask(String roomId) {
-        Optional.ofNullable(timeoutTasks.remove(roomId)).ifPresent(f -> f.cancel(false));
+        battleTimerService.cancel(BattleTimerType.MATCH_TIMEOUT, roomId, null);
     }
 
     private void finishByTimeout(String roomId) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) return;
-
-        try {
+        runTransition(roomId, () -> {
             BattleRoomState state = getRoomState(roomId).orElse(null);
             if (state == null || state.getStatus() != BattleStatus.RUNNING) return;
 
@@ -1500,16 +1555,13 @@ public class BattleRoomService {
             battleSettlementService.refundAll(state);
             battleMatchService.finishMatch(state.getMatchId(), null, "TIMEOUT");
             battleMessageService.publishFinish(state);
-            broadcastLobby();
 
             // 포스트게임 끝나고 정리
             schedulePostGameCleanup(state);
 
             log.info("[battle] matchId={} action=timeout-finish", state.getMatchId());
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-        }
+        });
     }
 
     // 새로 추가할 메서드 (BattleRoomService 클래스 안 어디든 추가)
@@ -1546,10 +1598,7 @@ public class BattleRoomService {
     }
 
     private BattleRoomResponse finishWithReason(String roomId, Long winnerUserId, String reason) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
+        return transition(roomId, () -> {
             BattleRoomState state = getRoomState(roomId)
                     .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
@@ -1607,7 +1656,6 @@ public class BattleRoomService {
             battleMatchService.finishMatch(state.getMatchId(), winnerUserId, reason);
 
             battleMessageService.publishFinish(state);
-            broadcastLobby();
 
             if ("DISCONNECT".equalsIgnoreCase(reason)) {
                 battlePenaltyService.recordDisconnectLoss(loserUserId);
@@ -1625,16 +1673,11 @@ public class BattleRoomService {
 
             return BattleRoomResponse.from(state);
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-        }
+        });
     }
 
     private BattleRoomResponse finishAsDraw(String roomId) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) throw new BattleException(BattleErrorCode.LOCK_TIMEOUT);
-
-        try {
+        return transition(roomId, () -> {
             BattleRoomState state = getRoomState(roomId)
                     .orElseThrow(() -> new BattleException(BattleErrorCode.ROOM_NOT_FOUND));
 
@@ -1662,7 +1705,6 @@ public class BattleRoomService {
             battleMatchService.finishMatch(state.getMatchId(), null, "DRAW");
 
             battleMessageService.publishFinish(state);
-            broadcastLobby();
 
             battlePenaltyService.recordNormalFinish(state.getHostUserId());
             battlePenaltyService.recordNormalFinish(state.getGuestUserId());
@@ -1673,9 +1715,7 @@ public class BattleRoomService {
 
             return BattleRoomResponse.from(state);
 
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
-        }
+        });
     }
 
     // 새로 추가할 메서드 (BattleRoomService 클래스 안 어디든 추가)
@@ -1722,56 +1762,50 @@ public class BattleRoomService {
 
         cancelPostGameTask(state.getRoomId());
 
-        ScheduledFuture<?> future = battleTaskScheduler.schedule(
-                () -> cleanupAfterPostGame(state.getRoomId()),
-                Instant.now().plus(POSTGAME_LOCK_DURATION)
-        );
-        postGameTasks.put(state.getRoomId(), future);
+        battleTimerService.schedule(BattleTimerType.POST_GAME_CLEANUP, state.getRoomId(), null,
+                Instant.now().plus(POSTGAME_LOCK_DURATION));
     }
 
     private void cancelPostGameTask(String roomId) {
-        Optional.ofNullable(postGameTasks.remove(roomId)).ifPresent(f -> f.cancel(false));
+        battleTimerService.cancel(BattleTimerType.POST_GAME_CLEANUP, roomId, null);
     }
 
     private void cleanupAfterPostGame(String roomId) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) return;
-
         try {
-            BattleRoomState state = getRoomState(roomId).orElse(null);
-            if (state == null) return;
+            runTransition(roomId, () -> {
+                BattleRoomState state = getRoomState(roomId).orElse(null);
+                if (state == null) return;
 
-            LocalDateTime now = BattleTime.nowKst();
-            // 포스트게임 시간이 남아있으면 재예약
-            if (state.getStatus() == BattleStatus.FINISHED
-                    && state.getPostGameUntil() != null
-                    && state.getPostGameUntil().isAfter(now)) {
-                schedulePostGameCleanup(state);
-                return;
-            }
-
-            Set<String> members = stringRedisTemplate.opsForSet().members(BattleRedisKeyUtil.membersKey(roomId));
-            boolean hasMembers = members != null && !members.isEmpty();
-            boolean hasParticipants = state.getHostUserId() != null || state.getGuestUserId() != null;
+                LocalDateTime now = BattleTime.nowKst();
+                // 포스트게임 시간이 남아있으면 재예약
+                if (state.getStatus() == BattleStatus.FINISHED
+                        && state.getPostGameUntil() != null
+                        && state.getPostGameUntil().isAfter(now)) {
+                    schedulePostGameCleanup(state);
+                    return;
+                }
 
-            if ((state.getStatus() == BattleStatus.FINISHED || state.getStatus() == BattleStatus.CANCELED)
-                    && (hasMembers || hasParticipants)) {
-                syncParticipantsWithMembers(state, members);
-                resetForNextMatch(state);
-                ensureNicknames(state);
-                ensureActiveAndMembers(state);
-                saveRoom(state);
-                battleMessageService.publishRoomState(state);
-                broadcastLobby();
-                log.info("[battle] roomId={} action=postgame-reset keepMembers={}", roomId, members.size());
-                return;
-            }
+                Set<String> members = stringRedisTemplate.opsForSet().members(BattleRedisKeyUtil.membersKey(roomId));
+                boolean hasMembers = members != null && !members.isEmpty();
+                boolean hasParticipants = state.getHostUserId() != null || state.getGuestUserId() != null;
 
-            cleanupRoomKeys(roomId, participantIds(state));
-            log.info("[battle] roomId={} action=postgame-cleanup", roomId);
+                if ((state.getStatus() == BattleStatus.FINISHED || state.getStatus() == BattleStatus.CANCELED)
+                        && (hasMembers || hasParticipants)) {
+                    syncParticipantsWithMembers(state, members);
+                    resetForNextMatch(state);
+                    ensureNicknames(state);
+                    ensureActiveAndMembers(state);
+                    saveRoom(state);
+                    battleMessageService.publishRoomState(state);
+                    log.info("[battle] roomId={} action=postgame-reset keepMembers={}", roomId, members.size());
+                    return;
+                }
 
+                battleRoomStore.delete(state);
+                cleanupRoomKeys(roomId, participantIds(state));
+                log.info("[battle] roomId={} action=postgame-cleanup", roomId);
+            });
         } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
             cancelPostGameTask(roomId);
         }
     }
@@ -1797,142 +1831,124 @@ public class BattleRoomService {
             BigDecimal baseScore,
             BattleJudgeResult result
     ) {
-        applyJudgeResultAndMaybeFinish(roomId, userId, submittedAt, elapsedSeconds, baseScore, result, 3);
-    }
-
-    private void applyJudgeResultAndMaybeFinish(
-            String roomId,
-            Long userId,
-            LocalDateTime submittedAt,
-            Long elapsedSeconds,
-            BigDecimal baseScore,
-            BattleJudgeResult result,
-            int remainingRetries
-    ) {
-        String lockToken = redisLockManager.lock(BattleRedisKeyUtil.lockKey(roomId));
-        if (lockToken == null) {
-            if (remainingRetries > 0) {
-                battleTaskScheduler.schedule(
-                        () -> applyJudgeResultAndMaybeFinish(
-                                roomId, userId, submittedAt, elapsedSeconds, baseScore, result, remainingRetries - 1),
-                        Instant.now().plusMillis(200)
-                );
-            } else if (userId != null) {
-                battleMessageService.sendErrorToUser(
-                        userId,
-                        BattleErrorCode.LOCK_TIMEOUT,
-                        "\uCC44\uC810 \uCC98\uB9AC\uC5D0 \uC2E4\uD328\uD588\uC2B5\uB2C8\uB2E4. \uB2E4\uC2DC \uC81C\uCD9C\uD574 \uC8FC\uC138\uC694."
-                );
-            }
-            return;
-        }
-
-        boolean judged = false;
-        boolean shouldFinish = false;
-        boolean draw = false;
-        Long winnerUserId = null;
+        JudgeOutcome outcome;
         try {
-            BattleRoomState state = getRoomState(roomId).orElse(null);
-            if (state == null) return;
-
-            BattleParticipantState participant = state.participant(userId);
-            if (participant == null) return;
-
-            participant.setLastSubmittedAt(submittedAt);
-            participant.setElapsedSeconds(elapsedSeconds);
-
-            boolean accepted = result != null && result.isAccepted();
-            String normalizedMessage = normalizeJudgeDetail(result != null ? result.getMessage() : null);
-            participant.setBaseScore(baseScore);
-            participant.setTimeBonus(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP));
-            participant.setFinalScore(baseScore);
-            if (accepted) {
-                participant.setJudgeMessage(buildJudgeSummary(baseScore, normalizedMessage));
-                participant.setJudgeErrorCount(0);
-                battleMatchService.recordAccepted(
-                        state.getMatchId(),
-                        userId,
-                        state.getHostUserId(),
-                        state.getGuestUserId(),
-                        submittedAt
-                );
-            } else {
-                participant.setJudgeMessage(normalizedMessage != null ? normalizedMessage : JUDGE_RETRY_MESSAGE);
-                Integer errorCount = participant.getJudgeErrorCount();
-                int nextCount = errorCount == null ? 1 : errorCount + 1;
-                participant.setJudgeErrorCount(nextCount);
-                if (nextCount >= JUDGE_ERROR_LIMIT) {
-                    shouldFinish = true;
-                    draw = true;
+            outcome = transition(roomId, () -> {
+                boolean judged = false;
+                boolean shouldFinish = false;
+                boolean draw = false;
+                Long winnerUserId = null;
+
+                BattleRoomState state = getRoomState(roomId).orElse(null);
+                if (state == null) return JudgeOutcome.NONE;
+
+                BattleParticipantState participant = state.participant(userId);
+                if (participant == null) return JudgeOutcome.NONE;
+
+                participant.setLastSubmittedAt(submittedAt);
+                participant.setElapsedSeconds(elapsedSeconds);
+
+                boolean accepted = result != null && result.isAccepted();
+                String normalizedMessage = normalizeJudgeDetail(result != null ? result.getMessage() : null);
+                participant.setBaseScore(baseScore);
+                participant.setTimeBonus(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP));
+                participant.setFinalScore(baseScore);
+                if (accepted) {
+                    participant.setJudgeMessage(buildJudgeSummary(baseScore, normalizedMessage));
+                    participant.setJudgeErrorCount(0);
+                    battleMatchService.recordAccepted(
+                            state.getMatchId(),
+                            userId,
+                            state.getHostUserId(),
+                            state.getGuestUserId(),
+                            submittedAt
+                    );
+                } else {
+                    participant.setJudgeMessage(normalizedMessage != null ? normalizedMessage : JUDGE_RETRY_MESSAGE);
+                    Integer errorCount = participant.getJudgeErrorCount();
+                    int nextCount = errorCount == null ? 1 : errorCount + 1;
+                    participant.setJudgeErrorCount(nextCount);
+                    if (nextCount >= JUDGE_ERROR_LIMIT) {
+                        shouldFinish = true;
+                        draw = true;
+                    }
                 }
-            }
 
-            judged = accepted;
-            participant.setFinished(accepted);
+                judged = accepted;
+                participant.setFinished(accepted);
 
-            state.addOrUpdateParticipant(participant);
+                state.addOrUpdateParticipant(participant);
 
-            if (!accepted && shouldFinish && state.getHostUserId() != null && state.getGuestUserId() != null) {
-                BigDecimal zeroScore = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
-                BattleParticipantState host = state.participant(state.getHostUserId());
-                BattleParticipantState guest = state.participant(state.getGuestUserId());
-                if (host != null) {
-                    host.setBaseScore(zeroScore);
-                    host.setTimeBonus(zeroScore);
-                    host.setFinalScore(zeroScore);
-                    host.setFinished(true);
-                    state.addOrUpdateParticipant(host);
-                }
-                if (guest != null) {
-                    guest.setBaseScore(zeroScore);
-                    guest.setTimeBonus(zeroScore);
-                    guest.setFinalScore(zeroScore);
-                    guest.setFinished(true);
-                    state.addOrUpdateParticipant(guest);
+                if (!accepted && shouldFinish && state.getHostUserId() != null && state.getGuestUserId() != null) {
+                    BigDecimal zeroScore = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+                    BattleParticipantState host = state.participant(state.getHostUserId());
+                    BattleParticipantState guest = state.participant(state.getGuestUserId());
+                    if (host != null) {
+                        host.setBaseScore(zeroScore);
+                        host.setTimeBonus(zeroScore);
+                        host.setFinalScore(zeroScore);
+                        host.setFinished(true);
+                        state.addOrUpdateParticipant(host);
+                    }
+                    if (guest != null) {
+                        guest.setBaseScore(zeroScore);
+                        guest.setTimeBonus(zeroScore);
+                        guest.setFinalScore(zeroScore);
+                        guest.setFinished(true);
+                        state.addOrUpdateParticipant(guest);
+                    }
                 }
-            }
 
-            if (judged && state.getHostUserId() != null && state.getGuestUserId() != null) {
-                BattleParticipantState host = state.participant(state.getHostUserId());
-                BattleParticipantState guest = state.participant(state.getGuestUserId());
-                if (host != null && guest != null && host.isFinished() && guest.isFinished()) {
-                    applyTimeBonus(host, guest);
-                    state.addOrUpdateParticipant(host);
-                    state.addOrUpdateParticipant(guest);
-                    int cmp = compareFinalScore(host, guest);
-                    if (cmp > 0) {
-                        winnerUserId = state.getHostUserId();
-                    } else if (cmp < 0) {
-                        winnerUserId = state.getGuestUserId();
-                    } else {
-                        int timeCmp = compareElapsed(host, guest);
-                        if (timeCmp > 0) {
+                if (judged && state.getHostUserId() != null && state.getGuestUserId() != null) {
+                    BattleParticipantState host = state.participant(state.getHostUserId());
+                    BattleParticipantState guest = state.participant(state.getGuestUserId());
+                    if (host != null && guest != null && host.isFinished() && guest.isFinished()) {
+                        applyTimeBonus(host, guest);
+                        state.addOrUpdateParticipant(host);
+                        state.addOrUpdateParticipant(guest);
+                        int cmp = compareFinalScore(host, guest);
+                        if (cmp > 0) {
                             winnerUserId = state.getHostUserId();
-                        } else if (timeCmp < 0) {
+                        } else if (cmp < 0) {
                             winnerUserId = state.getGuestUserId();
                         } else {
-                            draw = true;
+                            int timeCmp = compareElapsed(host, guest);
+                            if (timeCmp > 0) {
+                                winnerUserId = state.getHostUserId();
+                            } else if (timeCmp < 0) {
+                                winnerUserId = state.getGuestUserId();
+                            } else {
+                                draw = true;
+                            }
                         }
+                        shouldFinish = true;
                     }
-                    shouldFinish = true;
                 }
-            }
 
-            ensureNicknames(state);
-            ensureActiveAndMembers(state);
-            saveRoom(state);
-
-        } finally {
-            redisLockManager.unlock(BattleRedisKeyUtil.lockKey(roomId), lockToken);
+                ensureNicknames(state);
+                ensureActiveAndMembers(state);
+                saveRoom(state);
+                return new JudgeOutcome(shouldFinish, draw, winnerUserId);
+            });
+        } catch (BattleException ex) {
+            if (ex.getErrorCode() != BattleErrorCode.ROOM_BUSY) throw ex;
+            if (userId != null) {
+                battleMessageService.sendErrorToUser(
+                        userId,
+                        BattleErrorCode.ROOM_BUSY,
+                        "\uCC44\uC810 \uCC98\uB9AC\uC5D0 \uC2E4\uD328\uD588\uC2B5\uB2C8\uB2E4. \uB2E4\uC2DC \uC81C\uCD9C\uD574 \uC8FC\uC138\uC694."
+                );
+            }
+            return;
         }
 
-        if (shouldFinish) {
+        if (outcome.shouldFinish()) {
             try {
-                if (draw) {
+                if (outcome.draw()) {
                     finishAsDraw(roomId);
-                } else if (winnerUserId != null) {
-                    // finish after releasing the room lock to avoid lock reentry failures
-                    finishWithReason(roomId, winnerUserId, "SCORE");
+                } else if (outcome.winnerUserId() != null) {
+                    // finish as a separate transition so a conflict retries only the finish step
+                    finishWithReason(roomId, outcome.winnerUserId(), "SCORE");
                 }
             } catch (BattleException ex) {
                 log.warn("[battle] matchId={} userId={} action=finish-after-judge errorCode={}",
@@ -1977,7 +1993,6 @@ public class BattleRoomService {
         clearMatchRoomMapping(previousMatchId);
         setMatchRoomMapping(newMatchId, state.getRoomId());
 
-        addRoomToLobby(state.getRoomId());
     }
 
     private void applyTimeBonus(BattleParticipantState host, BattleParticipantState guest) {
@@ -2157,7 +2172,6 @@ public class BattleRoomService {
         saveRoom(state);
 
         battleMessageService.publishRoomState(state);
-        broadcastLobby();
 
         String nickname = offenderId != null ? fetchNickname(offenderId) : "\uCC38\uAC00\uC790";
         String message;
@@ -2197,22 +2211,22 @@ public class BattleRoomService {
 
         stringRedisTemplate.opsForValue().set(key, "1", Duration.ofSeconds(15));
 
-        ScheduledFuture<?> future = battleTaskScheduler.schedule(
-                () -> finishDueToDisconnect(state.getRoomId(), opponent, userId),
-                Instant.now().plusSeconds(15)
-        );
-
-        disconnectTasks.put(key, future);
+        battleTimerService.schedule(BattleTimerType.DISCONNECT_GRACE, state.getRoomId(), userId,
+                Instant.now().plusSeconds(15));
         log.info("[battle] matchId={} userId={} action=disconnect-grace", state.getMatchId(), userId);
     }
 
-    private void finishDueToDisconnect(String roomId, Long winnerUserId, Long loserUserId) {
+    private void finishDueToDisconnect(String roomId, Long loserUserId) {
         String key = graceKey(roomId, loserUserId);
         Boolean exists = stringRedisTemplate.hasKey(key);
         if (!Boolean.TRUE.equals(exists)) return;
 
         stringRedisTemplate.delete(key);
-        disconnectTasks.remove(key);
+
+        Long winnerUserId = getRoomState(roomId)
+                .map(state -> resolveOpponent(state, loserUserId))
+                .orElse(null);
+        if (winnerUserId == null) return;
 
         finishWithReason(roomId, winnerUserId, "DISCONNECT");
     }
@@ -2220,7 +2234,7 @@ public class BattleRoomService {
     private void cancelDisconnectGrace(String roomId, Long userId) {
         String key = graceKey(roomId, userId);
         stringRedisTemplate.delete(key);
-        Optional.ofNullable(disconnectTasks.remove(key)).ifPresent(f -> f.cancel(false));
+        battleTimerService.cancel(BattleTimerType.DISCONNECT_GRACE, roomId, userId);
         cancelOpponentRecheck(roomId, userId);
     }
 
@@ -2235,17 +2249,17 @@ public class BattleRoomService {
 
         stringRedisTemplate.opsForValue().set(key, "1", DISCONNECT_RECHECK_GRACE);
 
-        ScheduledFuture<?> future = battleTaskScheduler.schedule(
-                () -> handleOpponentRecheck(roomId, userId, key),
-                Instant.now().plus(DISCONNECT_RECHECK_GRACE)
-        );
-        disconnectTasks.put(key, future);
+        battleTimerService.schedule(BattleTimerType.OPPONENT_RECHECK, roomId, userId,
+                Instant.now().plus(DISCONNECT_RECHECK_GRACE));
     }
 
-    private void handleOpponentRecheck(String roomId, Long userId, String key) {
-        stringRedisTemplate.delete(key);
-        disconnectTasks.remove(key);
+    private void handleOpponentRecheck(String roomId, Long userId) {
+        stringRedisTemplate.delete(opponentRecheckKey(roomId, userId));
+
+        runTransition(roomId, () -> recheckOpponent(roomId, userId));
+    }
 
+    private void recheckOpponent(String roomId, Long userId) {
         BattleRoomState state = getRoomState(roomId).orElse(null);
         if (state == null || state.getStatus() != BattleStatus.RUNNING) return;
 
@@ -2273,9 +2287,8 @@ public class BattleRoomService {
     }
 
     private void cancelOpponentRecheck(String roomId, Long userId) {
-        String key = opponentRecheckKey(roomId, userId);
-        stringRedisTemplate.delete(key);
-        Optional.ofNullable(disconnectTasks.remove(key)).ifPresent(f -> f.cancel(false));
+        stringRedisTemplate.delete(opponentRecheckKey(roomId, userId));
+        battleTimerService.cancel(BattleTimerType.OPPONENT_RECHECK, roomId, userId);
     }
 
     private String opponentRecheckKey(String roomId, Long userId) {
@@ -2327,12 +2340,8 @@ public class BattleRoomService {
 
         stringRedisTemplate.opsForValue().set(key, "1", WAITING_DISCONNECT_GRACE);
 
-        ScheduledFuture<?> future = battleTaskScheduler.schedule(
-                () -> removeAfterWaitingGrace(state.getRoomId(), userId),
-                Instant.now().plus(WAITING_DISCONNECT_GRACE)
-        );
-
-        disconnectTasks.put(key, future);
+        battleTimerService.schedule(BattleTimerType.WAITING_GRACE, state.getRoomId(), userId,
+                Instant.now().plus(WAITING_DISCONNECT_GRACE));
         log.info("[battle] matchId={} userId={} action=disconnect-waiting-grace", state.getMatchId(), userId);
     }
 
@@ -2342,7 +2351,6 @@ public class BattleRoomService {
         if (!Boolean.TRUE.equals(exists)) return;
 
         stringRedisTemplate.delete(key);
-        disconnectTasks.remove(key);
 
         try {
             leaveRoomInternal(roomId, userId, true);
@@ -2358,9 +2366,8 @@ public class BattleRoomService {
     }
 
     private void cancelWaitingDisconnectGrace(String roomId, Long userId) {
-        String key = waitingGraceKey(roomId, userId);
-        stringRedisTemplate.delete(key);
-        Optional.ofNullable(disconnectTasks.remove(key)).ifPresent(f -> f.cancel(false));
+        stringRedisTemplate.delete(waitingGraceKey(roomId, userId));
+        battleTimerService.cancel(BattleTimerType.WAITING_GRACE, roomId, userId);
     }
 
     private String waitingGraceKey(String roomId, Long userId) {
@@ -2373,20 +2380,18 @@ public class BattleRoomService {
         state.setWinReason("CANCELED");
         state.setWinnerUserId(null);
 
-        if (state.isCountdownStarted()) {
-            battleSettlementService.refundAll(state);
-        }
-
         ensureNicknames(state);
         ensureActiveAndMembers(state);
         saveRoom(state);
 
+        // 취소는 종료 상태라 이후 카운트다운이 없으므로 카운트다운 여부와 관계없이 남은 홀드를 모두 돌려준다
+        battleSettlementService.refundAll(state);
+
         removeRoomFromLobby(state.getRoomId());
         battleMatchService.markCanceled(state.getMatchId());
         cancelTimeoutTask(state.getRoomId());
 
         battleMessageService.publishFinish(state);
-        broadcastLobby();
 
         // 포스트게임 개념 없이 즉시 정리
         cleanupRoomKeys(state.getRoomId(), participantIds(state));
@@ -2433,6 +2438,3 @@ public class BattleRoomService {
         }
     }
 }
-
-
-
@@ -0,0 +1,565 @@
+package kr.or.kosa.backend.battle.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import kr.or.kosa.backend.battle.domain.BattleMatchEvent;
+import kr.or.kosa.backend.battle.domain.BattleParticipantState;
+import kr.or.kosa.backend.battle.domain.BattleRoomState;
+import kr.or.kosa.backend.battle.domain.BattleStatus;
+import kr.or.kosa.backend.battle.exception.BattleRoomConflictException;
+import kr.or.kosa.backend.battle.util.BattleRedisKeyUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배틀 방 상태 저장소 (Redis 해시)
+ *
+ * - battle:room:{roomId} 해시에 스칼라 필드는 문자열로, 참가자는 p:{userId} 필드에 개별 JSON으로 저장
+ * - 저장 시 마지막으로 읽은 필드와 비교하여 바뀐 필드만 HSET/HDEL 하며, Lua 한 번으로 원자 적용
+ *   (준비 토글이나 제출은 참가자 필드 하나만 다시 쓴다)
+ * - v 필드에 버전을 두고, 읽은 뒤 다른 요청이 먼저 저장했으면 BattleRoomConflictException (낙관적 동시성 제어)
+ * - 이전 버전의 통짜 JSON(String) 값은 읽을 때 변환하고 다음 저장 시 해시로 교체
+ * - 저장할 때마다 같은 Lua 안에서 매치별 스트림(battle:match:{matchId}:events)에 변경분을 남겨,
+ *   방 해시가 사라져도 replay로 마지막 상태를 복원하고 관전자는 스트림 ID 기준으로 따라잡는다
+ */
+@Slf4j
+@Component
+public class BattleRoomStore {
+
+    private static final String PARTICIPANT_PREFIX = "p:";
+    private static final String F_VERSION = "v";
+    private static final String ROOM_KEY_PREFIX = BattleRedisKeyUtil.roomKey("");
+    private static final String EVENT_SET_PREFIX = "s:";
+    private static final String EVENT_DEL_PREFIX = "d:";
+    private static final long EVENT_STREAM_MAX_LEN = 1000L;
+    private static final Duration EVENT_STREAM_TTL = Duration.ofDays(1);
+
+    private static final String F_ROOM_ID = "roomId";
+    private static final String F_MATCH_ID = "matchId";
+    private static final String F_TITLE = "title";
+    private static final String F_STATUS = "status";
+    private static final String F_HOST = "hostUserId";
+    private static final String F_GUEST = "guestUserId";
+    private static final String F_PROBLEM = "algoProblemId";
+    private static final String F_RANDOM_PROBLEM = "randomProblem";
+    private static final String F_LANGUAGE = "languageId";
+    private static final String F_LEVEL_MODE = "levelMode";
+    private static final String F_PROBLEM_DIFFICULTY = "problemDifficulty";
+    private static final String F_BET = "betAmount";
+    private static final String F_MAX_DURATION = "maxDurationMinutes";
+    private static final String F_COUNTDOWN_STARTED = "countdownStarted";
+    private static final String F_PRIVATE = "isPrivate";
+    private static final String F_PASSWORD_HASH = "passwordHash";
+    private static final String F_CREATED_AT = "createdAt";
+    private static final String F_STARTED_AT = "startedAt";
+    private static final String F_FINISHED_AT = "finishedAt";
+    private static final String F_POST_GAME_UNTIL = "postGameUntil";
+    private static final String F_READY_COOLDOWN_UNTIL = "readyCooldownUntil";
+    private static final String F_WINNER = "winnerUserId";
+    private static final String F_WIN_REASON = "winReason";
+
+    /**
+     * KEYS[1]: 방 해시, KEYS[2]: 매치 이벤트 스트림 (없으면 기록 생략)
+     * ARGV[1]: replace | diff
+     * ARGV[2]: 기대 버전 (diff 모드)
+     * ARGV[3]: TTL 초 (0이면 만료 제거)
+     * ARGV[4]: 이벤트 종류, ARGV[5]: 스트림 최대 길이, ARGV[6]: 스트림 TTL 초
+     * ARGV[7]: HSET 할 필드 수 n, 이어서 필드/값 n쌍, 나머지는 HDEL 할 필드
+     * diff 모드에서 키가 없거나 버전이 다르면 {-1}, 성공 시 {새 버전, 스트림 항목 ID}를 반환한다
+     * replace 모드는 기존 버전을 이어받아 이전 상태를 들고 있던 요청이 덮어쓰지 못하게 한다
+     * 스트림에는 바뀐 필드(s:필드=값, d:필드)만 남기고, replace이거나 스트림이 처음이면 해시 전체를 스냅샷으로 남긴다
+     */
+    private static final String APPLY_LUA = """
+            local key = KEYS[1]
+            local isHash = redis.call('type', key).ok == 'hash'
+            local current = '0'
+            if isHash then
+                current = redis.call('hget', key, 'v') or '0'
+            end
+            if ARGV[1] == 'diff' then
+                if not isHash or current ~= ARGV[2] then
+                    return {'-1'}
+                end
+            else
+                redis.call('del', key)
+                redis.call('hset', key, 'v', current)
+            end
+            local n = tonumber(ARGV[7])
+            local setEnd = 7 + n * 2
+            if n > 0 then
+                redis.call('hset', key, unpack(ARGV, 8, setEnd))
+            end
+            if #ARGV > setEnd then
+                redis.call('hdel', key, unpack(ARGV, setEnd + 1, #ARGV))
+            end
+            local version = redis.call('hincrby', key, 'v', 1)
+            local ttl = tonumber(ARGV[3])
+            if ttl > 0 then
+                redis.call('expire', key, ttl)
+            else
+                redis.call('persist', key)
+            end
+            if #KEYS < 2 then
+                return {tostring(version), ''}
+            end
+            local stream = KEYS[2]
+            local entry = {'ev', ARGV[4], 'v', tostring(version)}
+            if ARGV[1] ~= 'diff' or redis.call('exists', stream) == 0 then
+                entry[#entry + 1] = 'op'
+                entry[#entry + 1] = 'snapshot'
+                local all = redis.call('hgetall', key)
+                for i = 1, #all, 2 do
+                    if all[i] ~= 'v' then
+                        entry[#entry + 1] = 's:' .. all[i]
+                        entry[#entry + 1] = all[i + 1]
+                    end
+                end
+            else
+                entry[#entry + 1] = 'op'
+                entry[#entry + 1] = 'delta'
+                for i = 8, setEnd, 2 do
+                    entry[#entry + 1] = 's:' .. ARGV[i]
+                    entry[#entry + 1] = ARGV[i + 1]
+                end
+                for i = setEnd + 1, #ARGV do
+                    entry[#entry + 1] = 'd:' .. ARGV[i]
+                    entry[#entry + 1] = ''
+                end
+            end
+            local id = redis.call('xadd', stream, 'MAXLEN', '~', ARGV[5], '*', unpack(entry))
+            redis.call('expire', stream, tonumber(ARGV[6]))
+            return {tostring(version), id}
+            """;
+
+    private static final String DELETE_LUA = """
+            if redis.call('exists', KEYS[1]) == 0 then
+                return 1
+            end
+            if redis.call('type', KEYS[1]).ok == 'hash'
+                    and (redis.call('hget', KEYS[1], 'v') or '0') ~= ARGV[1] then
+                return 0
+            end
+            return redis.call('del', KEYS[1])
+            """;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisTemplate<String, Object> legacyRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper participantMapper;
+    private final DefaultRedisScript<List> applyScript;
+    private final DefaultRedisScript<Long> deleteScript;
+
+    public BattleRoomStore(StringRedisTemplate stringRedisTemplate,
+                           @Qualifier("battleRedisTemplate") RedisTemplate<String, Object> legacyRedisTemplate,
+                           ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.legacyRedisTemplate = legacyRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.participantMapper = objectMapper.copy()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(MapperFeature.REQUIRE_HANDLERS_FOR_JAVA8_TIMES);
+        this.applyScript = new DefaultRedisScript<>(APPLY_LUA, List.class);
+        this.deleteScript = new DefaultRedisScript<>(DELETE_LUA, Long.class);
+    }
+
+    public Optional<BattleRoomState> find(String roomId) {
+        if (roomId == null) return Optional.empty();
+        String key = BattleRedisKeyUtil.roomKey(roomId);
+
+        Map<Object, Object> raw = stringRedisTemplate.opsForHash().entries(key);
+        if (raw != null && !raw.isEmpty()) {
+            Map<String, String> fields = new HashMap<>(raw.size() * 2);
+            raw.forEach((k, v) -> fields.put(String.valueOf(k), String.valueOf(v)));
+            try {
+                BattleRoomState state = decode(fields);
+                state.markPersisted(fields);
+                return Optional.of(state);
+            } catch (RuntimeException e) {
+                log.warn("[battle] roomId={} action=decode-state error={}", roomId, e.getMessage());
+                return Optional.empty();
+            }
+        }
+        return findLegacy(roomId, key);
+    }
+
+    public boolean exists(String roomId) {
+        return roomId != null && Boolean.TRUE.equals(stringRedisTemplate.hasKey(BattleRedisKeyUtil.roomKey(roomId)));
+    }
+
+    public boolean save(BattleRoomState state) {
+        return save(state, null);
+    }
+
+    /**
+     * 변경된 필드만 기록
+     * 읽은 이후 다른 요청이 먼저 저장했거나 방이 삭제되었으면 BattleRoomConflictException
+     * ttl이 없으면 만료를 제거한다 (이전 SET 저장과 같은 동작)
+     *
+     * @return 실제로 기록했으면 true (바뀐 필드가 없어 생략했으면 false)
+     */
+    public boolean save(BattleRoomState state, Duration ttl) {
+        if (state == null || state.getRoomId() == null) return false;
+        String key = BattleRedisKeyUtil.roomKey(state.getRoomId());
+        long ttlSeconds = ttl != null ? Math.max(1, ttl.toSeconds()) : 0;
+
+        Map<String, String> next = encode(state);
+        Map<String, String> previous = state.persistedFields();
+
+        List<String> setArgs = new ArrayList<>();
+        List<String> delArgs = new ArrayList<>();
+        String mode;
+        String expectedVersion;
+        if (previous != null) {
+            next.forEach((field, value) -> {
+                if (!value.equals(previous.get(field))) {
+                    setArgs.add(field);
+                    setArgs.add(value);
+                }
+            });
+            previous.keySet().forEach(field -> {
+                if (!F_VERSION.equals(field) && !next.containsKey(field)) {
+                    delArgs.add(field);
+                }
+            });
+
+            if (setArgs.isEmpty() && delArgs.isEmpty() && ttlSeconds == 0) {
+                return false;
+            }
+            mode = "diff";
+            expectedVersion = previous.getOrDefault(F_VERSION, "0");
+        } else {
+            next.forEach((field, value) -> {
+                setArgs.add(field);
+                setArgs.add(value);
+            });
+            mode = "replace";
+            expectedVersion = "";
+        }
+
+        String eventType = classifyEvent(previous, next);
+        List<String> args = new ArrayList<>(7 + setArgs.size() + delArgs.size());
+        args.add(mode);
+        args.add(expectedVersion);
+        args.add(String.valueOf(ttlSeconds));
+        args.add(eventType);
+        args.add(String.valueOf(EVENT_STREAM_MAX_LEN));
+        args.add(String.valueOf(EVENT_STREAM_TTL.toSeconds()));
+        args.add(String.valueOf(setArgs.size() / 2));
+        args.addAll(setArgs);
+        args.addAll(delArgs);
+
+        List<String> keys = state.getMatchId() != null
+                ? List.of(key, BattleRedisKeyUtil.matchEventsKey(state.getMatchId()))
+                : List.of(key);
+        List<?> reply = stringRedisTemplate.execute(applyScript, keys, args.toArray());
+        long version = reply != null && !reply.isEmpty() ? Long.parseLong(String.valueOf(reply.get(0))) : -1L;
+        if (version < 0) {
+            throw new BattleRoomConflictException(state.getRoomId());
+        }
+        next.put(F_VERSION, String.valueOf(version));
+        state.markPersisted(next);
+        String eventId = reply.size() > 1 ? String.valueOf(reply.get(1)) : "";
+        state.markEvent(eventId.isEmpty() ? null : eventId, eventType);
+        return true;
+    }
+
+    /**
+     * 마지막으로 읽거나 저장한 버전 (저장된 적 없으면 null)
+     */
+    public static String versionOf(BattleRoomState state) {
+        Map<String, String> persisted = state != null ? state.persistedFields() : null;
+        return persisted != null ? persisted.get(F_VERSION) : null;
+    }
+
+    public void delete(String roomId) {
+        if (roomId == null) return;
+        stringRedisTemplate.delete(BattleRedisKeyUtil.roomKey(roomId));
+    }
+
+    /**
+     * 읽은 이후 변경이 없을 때만 삭제 (이미 없으면 성공으로 본다)
+     */
+    public void delete(BattleRoomState state) {
+        if (state == null || state.getRoomId() == null) return;
+        Map<String, String> previous = state.persistedFields();
+        if (previous == null) {
+            delete(state.getRoomId());
+            return;
+        }
+        Long deleted = stringRedisTemplate.execute(deleteScript,
+                List.of(BattleRedisKeyUtil.roomKey(state.getRoomId())),
+                previous.getOrDefault(F_VERSION, "0"));
+        if (deleted == null || deleted == 0) {
+            throw new BattleRoomConflictException(state.getRoomId());
+        }
+    }
+
+    /**
+     * 매치 ID로 방 ID 탐색 (복구 경로 전용, 키 스캔)
+     */
+    public String findRoomIdByMatchId(String matchId) {
+        if (matchId == null) return null;
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(BattleRedisKeyUtil.roomKey("*"))
+                .count(200)
+                .build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                String roomId = key.substring(ROOM_KEY_PREFIX.length());
+                if (roomId.contains(":")) {
+                    // members/kicked 등 보조 키
+                    continue;
+                }
+                DataType type = stringRedisTemplate.type(key);
+                if (type == DataType.HASH) {
+                    Object stored = stringRedisTemplate.opsForHash().get(key, F_MATCH_ID);
+                    if (matchId.equals(stored)) {
+                        return roomId;
+                    }
+                } else if (type == DataType.STRING) {
+                    Optional<BattleRoomState> legacy = findLegacy(roomId, key);
+                    if (legacy.isPresent() && matchId.equals(legacy.get().getMatchId())) {
+                        return roomId;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private Optional<BattleRoomState> findLegacy(String roomId, String key) {
+        if (stringRedisTemplate.type(key) != DataType.STRING) {
+            return Optional.empty();
+        }
+        try {
+            Object value = legacyRedisTemplate.opsForValue().get(key);
+            if (value instanceof BattleRoomState state) {
+                return Optional.of(state);
+            }
+            if (value instanceof Map<?, ?> map) {
+                return Optional.ofNullable(objectMapper.convertValue(map, BattleRoomState.class));
+            }
+        } catch (RuntimeException e) {
+            log.warn("[battle] roomId={} action=deserialize-legacy-state error={}", roomId, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 매치 이벤트 스트림을 처음부터 다시 적용해 방 상태 복원 (방 해시가 사라진 뒤의 복구용)
+     * 마지막 스냅샷 항목부터 변경분을 차례로 덮어쓰며, 스트림이 없으면 empty
+     */
+    public Optional<BattleRoomState> replay(String matchId) {
+        if (matchId == null) return Optional.empty();
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .range(BattleRedisKeyUtil.matchEventsKey(matchId), Range.unbounded());
+        if (records == null || records.isEmpty()) return Optional.empty();
+
+        Map<String, String> fields = new HashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> entry = record.getValue();
+            if ("snapshot".equals(entry.get("op"))) {
+                fields.clear();
+            }
+            entry.forEach((k, v) -> {
+                String field = String.valueOf(k);
+                if (field.startsWith(EVENT_SET_PREFIX)) {
+                    fields.put(field.substring(EVENT_SET_PREFIX.length()), String.valueOf(v));
+                } else if (field.startsWith(EVENT_DEL_PREFIX)) {
+                    fields.remove(field.substring(EVENT_DEL_PREFIX.length()));
+                }
+            });
+        }
+        try {
+            BattleRoomState state = decode(fields);
+            state.markEvent(records.get(records.size() - 1).getId().getValue(), null);
+            return Optional.of(state);
+        } catch (RuntimeException e) {
+            log.warn("[battle] matchId={} action=replay-events error={}", matchId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 스트림 항목 요약 (이벤트 종류/버전만, 변경 내용은 replay로 복원)
+     */
+    public List<BattleMatchEvent> readEvents(String matchId, String afterId, int count) {
+        if (matchId == null) return List.of();
+        Range<String> range = afterId == null || afterId.isBlank()
+                ? Range.unbounded()
+                : Range.rightUnbounded(Range.Bound.exclusive(afterId));
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .range(BattleRedisKeyUtil.matchEventsKey(matchId), range, Limit.limit().count(count));
+        if (records == null) return List.of();
+        List<BattleMatchEvent> events = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> entry = record.getValue();
+            events.add(new BattleMatchEvent(
+                    record.getId().getValue(),
+                    entry.get("ev") != null ? String.valueOf(entry.get("ev")) : null,
+                    parse(entry.get("v") != null ? String.valueOf(entry.get("v")) : null, Long::valueOf)));
+        }
+        return events;
+    }
+
+    /**
+     * 스트림에 남길 이벤트 종류 (상태 전이 > 참가자 구성 변경 > 참가자 상태 변경 > 방 설정 순으로 판단)
+     */
+    private static String classifyEvent(Map<String, String> previous, Map<String, String> next) {
+        if (previous == null) return "SNAPSHOT";
+        String nextStatus = next.get(F_STATUS);
+        if (nextStatus != null && !nextStatus.equals(previous.get(F_STATUS))) {
+            return nextStatus;
+        }
+        boolean membersChanged = !Objects.equals(previous.get(F_HOST), next.get(F_HOST))
+                || !Objects.equals(previous.get(F_GUEST), next.get(F_GUEST));
+        boolean participantChanged = false;
+        for (Map.Entry<String, String> entry : next.entrySet()) {
+            if (!entry.getKey().startsWith(PARTICIPANT_PREFIX)) continue;
+            String before = previous.get(entry.getKey());
+            if (before == null) {
+                membersChanged = true;
+            } else if (!before.equals(entry.getValue())) {
+                participantChanged = true;
+            }
+        }
+        for (String field : previous.keySet()) {
+            if (field.startsWith(PARTICIPANT_PREFIX) && !next.containsKey(field)) {
+                membersChanged = true;
+            }
+        }
+        if (membersChanged) return "MEMBERS";
+        if (participantChanged) return "PARTICIPANT";
+        return "ROOM";
+    }
+
+    /* ------------------------------------------------------------
+     * Codec
+     * ------------------------------------------------------------ */
+
+    private Map<String, String> encode(BattleRoomState state) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        put(fields, F_ROOM_ID, state.getRoomId());
+        put(fields, F_MATCH_ID, state.getMatchId());
+        put(fields, F_TITLE, state.getTitle());
+        put(fields, F_STATUS, state.getStatus() != null ? state.getStatus().name() : null);
+        put(fields, F_HOST, state.getHostUserId());
+        put(fields, F_GUEST, state.getGuestUserId());
+        put(fields, F_PROBLEM, state.getAlgoProblemId());
+        put(fields, F_RANDOM_PROBLEM, flag(state.isRandomProblem()));
+        put(fields, F_LANGUAGE, state.getLanguageId());
+        put(fields, F_LEVEL_MODE, state.getLevelMode());
+        put(fields, F_PROBLEM_DIFFICULTY, state.getProblemDifficulty());
+        put(fields, F_BET, state.getBetAmount() != null ? state.getBetAmount().toPlainString() : null);
+        put(fields, F_MAX_DURATION, state.getMaxDurationMinutes());
+        put(fields, F_COUNTDOWN_STARTED, flag(state.isCountdownStarted()));
+        put(fields, F_PRIVATE, flag(state.isPrivate()));
+        put(fields, F_PASSWORD_HASH, state.getPasswordHash());
+        put(fields, F_CREATED_AT, state.getCreatedAt());
+        put(fields, F_STARTED_AT, state.getStartedAt());
+        put(fields, F_FINISHED_AT, state.getFinishedAt());
+        put(fields, F_POST_GAME_UNTIL, state.getPostGameUntil());
+        put(fields, F_READY_COOLDOWN_UNTIL, state.getReadyCooldownUntil());
+        put(fields, F_WINNER, state.getWinnerUserId());
+        put(fields, F_WIN_REASON, state.getWinReason());
+
+        if (state.getParticipants() != null) {
+            state.getParticipants().forEach((mapKey, participant) -> {
+                if (participant == null) return;
+                Long userId = participant.getUserId() != null ? participant.getUserId() : mapKey;
+                if (userId == null) return;
+                try {
+                    fields.put(PARTICIPANT_PREFIX + userId, participantMapper.writeValueAsString(participant));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("참가자 상태 직렬화 실패 userId=" + userId, e);
+                }
+            });
+        }
+        return fields;
+    }
+
+    private BattleRoomState decode(Map<String, String> fields) {
+        BattleRoomState state = new BattleRoomState();
+        state.setRoomId(fields.get(F_ROOM_ID));
+        state.setMatchId(fields.get(F_MATCH_ID));
+        state.setTitle(fields.get(F_TITLE));
+        state.setStatus(parse(fields.get(F_STATUS), BattleStatus::valueOf));
+        state.setHostUserId(parse(fields.get(F_HOST), Long::valueOf));
+        state.setGuestUserId(parse(fields.get(F_GUEST), Long::valueOf));
+        state.setAlgoProblemId(parse(fields.get(F_PROBLEM), Long::valueOf));
+        state.setRandomProblem("1".equals(fields.get(F_RANDOM_PROBLEM)));
+        state.setLanguageId(parse(fields.get(F_LANGUAGE), Long::valueOf));
+        state.setLevelMode(fields.get(F_LEVEL_MODE));
+        state.setProblemDifficulty(fields.get(F_PROBLEM_DIFFICULTY));
+        state.setBetAmount(parse(fields.get(F_BET), BigDecimal::new));
+        state.setMaxDurationMinutes(parse(fields.get(F_MAX_DURATION), Integer::valueOf));
+        state.setCountdownStarted("1".equals(fields.get(F_COUNTDOWN_STARTED)));
+        state.setPrivate("1".equals(fields.get(F_PRIVATE)));
+        state.setPasswordHash(fields.get(F_PASSWORD_HASH));
+        state.setCreatedAt(parse(fields.get(F_CREATED_AT), LocalDateTime::parse));
+        state.setStartedAt(parse(fields.get(F_STARTED_AT), LocalDateTime::parse));
+        state.setFinishedAt(parse(fields.get(F_FINISHED_AT), LocalDateTime::parse));
+        state.setPostGameUntil(parse(fields.get(F_POST_GAME_UNTIL), LocalDateTime::parse));
+        state.setReadyCooldownUntil(parse(fields.get(F_READY_COOLDOWN_UNTIL), LocalDateTime::parse));
+        state.setWinnerUserId(parse(fields.get(F_WINNER), Long::valueOf));
+        state.setWinReason(fields.get(F_WIN_REASON));
+
+        Map<Long, BattleParticipantState> participants = new HashMap<>();
+        fields.forEach((field, value) -> {
+            if (!field.startsWith(PARTICIPANT_PREFIX)) return;
+            try {
+                BattleParticipantState participant = participantMapper.readValue(value, BattleParticipantState.class);
+                Long userId = participant.getUserId() != null
+                        ? participant.getUserId()
+                        : Long.valueOf(field.substring(PARTICIPANT_PREFIX.length()));
+                participant.setUserId(userId);
+                participants.put(userId, participant);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("참가자 상태 역직렬화 실패 field=" + field, e);
+            }
+        });
+        state.setParticipants(participants);
+        return state;
+    }
+
+    private static void put(Map<String, String> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value.toString());
+        }
+    }
+
+    private static String flag(boolean value) {
+        return value ? "1" : "0";
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value == null || value.isEmpty() ? null : parser.apply(value);
+    }
+}
@@ -84,6 +84,20 @@ public class BattleSettlementService {
         }
     }
 
+    /**
+     * 방을 나간 참가자 한 명의 홀드만 환불 (남은 참가자의 홀드는 그대로)
+     */
+    @Transactional
+    public void refundUser(BattleRoomState state, Long userId) {
+        BigDecimal betAmount = state.getBetAmount();
+        if (userId == null || betAmount == null || betAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            return;
+        }
+        if (battlePointPort.refund(state.getMatchId(), userId, betAmount)) {
+            log.info("[battle] matchId={} userId={} action=refund-leave bet={}", state.getMatchId(), userId, betAmount);
+        }
+    }
+
     /* ========================================
      * 새로 추가: 정산 결과 데이터 생성
      * ======================================== */
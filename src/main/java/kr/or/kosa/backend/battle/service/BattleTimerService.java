@@ -0,0 +1,312 @@
+package kr.or.kosa.backend.battle.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import io.netty.util.HashedWheelTimer;
+import jakarta.annotation.PreDestroy;
+import kr.or.kosa.backend.battle.domain.BattleTimerType;
+import kr.or.kosa.backend.battle.exception.BattleErrorCode;
+import kr.or.kosa.backend.battle.exception.BattleException;
+import kr.or.kosa.backend.battle.util.BattleRedisKeyUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배틀 타이머 (Redis ZSET 기반, 노드 공용)
+ *
+ * - battle:timers ZSET에 "종류|roomId|userId" 멤버를 만료 시각(epoch ms) 점수로 등록
+ *   같은 타이머를 다시 등록하면 점수만 바뀌고(재예약), 취소는 ZREM
+ * - 각 노드는 곧 만료될 항목을 주기적으로 읽어 로컬 해시 휠에 올려두고,
+ *   만료 시점에 점수가 그대로일 때만 점수를 "지금 + 임대 시간"으로 옮기는 데 성공한 노드 하나가 실행한다 (리더 없이 한 번)
+ * - 항목은 핸들러가 성공한 뒤에만 ZREM 한다. 실행 중 노드가 내려가면 임대가 끝난 뒤 다른 노드가 다시 실행하고,
+ *   핸들러가 실패하면 잠시 뒤로 다시 예약한다 (시도 횟수가 한도를 넘으면 battle:timers:dead로 옮겨 복구 서비스가 정리)
+ */
+@Slf4j
+@Component
+public class BattleTimerService {
+
+    private static final String SEPARATOR = "|";
+    private static final long BUSY_RETRY_MS = 1_000L;
+    private static final long ERROR_RETRY_MS = 5_000L;
+
+    /**
+     * 점수가 읽은 값과 같을 때만 임대 (그 사이 재예약된 타이머를 가로채지 않도록)
+     * 점수를 임대 만료 시각으로 옮기고 시도 횟수를 반환, 한도를 넘었으면 버린 타이머 집합으로 옮기고 -1
+     */
+    private static final String CLAIM_LUA = """
+            local score = redis.call('zscore', KEYS[1], ARGV[1])
+            if not score or tonumber(score) ~= tonumber(ARGV[2]) then
+                return 0
+            end
+            local attempts = redis.call('hincrby', KEYS[2], ARGV[1], 1)
+            if attempts > tonumber(ARGV[4]) then
+                redis.call('zrem', KEYS[1], ARGV[1])
+                redis.call('hdel', KEYS[2], ARGV[1])
+                redis.call('sadd', KEYS[3], ARGV[1])
+                return -1
+            end
+            redis.call('zadd', KEYS[1], 'XX', ARGV[3], ARGV[1])
+            return attempts
+            """;
+
+    /**
+     * 핸들러 성공 - 점수가 임대 값 그대로일 때만 제거 (핸들러가 같은 타이머를 재예약했으면 남겨둔다)
+     */
+    private static final String COMPLETE_LUA = """
+            redis.call('hdel', KEYS[2], ARGV[1])
+            local score = redis.call('zscore', KEYS[1], ARGV[1])
+            if score and tonumber(score) == tonumber(ARGV[2]) then
+                return redis.call('zrem', KEYS[1], ARGV[1])
+            end
+            return 0
+            """;
+
+    /**
+     * 핸들러 실패 - 점수가 임대 값 그대로일 때만 재시도 시각으로 옮긴다
+     * ARGV[4] = 1이면 시도 횟수에서 뺀다 (경합으로 밀린 것은 실패로 세지 않음)
+     */
+    private static final String RELEASE_LUA = """
+            local score = redis.call('zscore', KEYS[1], ARGV[1])
+            if not score or tonumber(score) ~= tonumber(ARGV[2]) then
+                return 0
+            end
+            if ARGV[4] == '1' then
+                redis.call('hincrby', KEYS[2], ARGV[1], -1)
+            end
+            return redis.call('zadd', KEYS[1], 'XX', 'CH', ARGV[3], ARGV[1])
+            """;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TaskScheduler battleTaskScheduler;
+    private final DefaultRedisScript<Long> claimScript;
+    private final DefaultRedisScript<Long> completeScript;
+    private final DefaultRedisScript<Long> releaseScript;
+    private final Map<BattleTimerType, BiConsumer<String, Long>> handlers = new EnumMap<>(BattleTimerType.class);
+    private final Set<String> armed = ConcurrentHashMap.newKeySet();
+    private final HashedWheelTimer wheel;
+
+    @Value("${battle.timer.lookahead-ms:2000}")
+    private long lookaheadMs;
+
+    @Value("${battle.timer.batch-size:500}")
+    private long batchSize;
+
+    // 실행 중인 노드가 내려가도 이 시간이 지나면 다른 노드가 다시 실행한다 (핸들러 최대 실행 시간보다 길게)
+    @Value("${battle.timer.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${battle.timer.max-attempts:5}")
+    private int maxAttempts;
+
+    public BattleTimerService(StringRedisTemplate stringRedisTemplate,
+                              @Qualifier("battleTaskScheduler") TaskScheduler battleTaskScheduler) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.battleTaskScheduler = battleTaskScheduler;
+        this.claimScript = new DefaultRedisScript<>(CLAIM_LUA, Long.class);
+        this.completeScript = new DefaultRedisScript<>(COMPLETE_LUA, Long.class);
+        this.releaseScript = new DefaultRedisScript<>(RELEASE_LUA, Long.class);
+        this.wheel = new HashedWheelTimer(r -> {
+            Thread thread = new Thread(r, "battle-timer-wheel");
+            thread.setDaemon(true);
+            return thread;
+        }, 100, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * 타이머 종류별 실행 핸들러 등록 (roomId, userId)
+     */
+    public void register(BattleTimerType type, BiConsumer<String, Long> handler) {
+        handlers.put(type, handler);
+    }
+
+    public void schedule(BattleTimerType type, String roomId, Long userId, Instant dueAt) {
+        if (type == null || roomId == null || dueAt == null) return;
+        stringRedisTemplate.opsForZSet().add(BattleRedisKeyUtil.timersKey(),
+                member(type, roomId, userId), dueAt.toEpochMilli());
+    }
+
+    /**
+     * 이미 예약된 타이머가 없을 때만 등록 (ZADD NX)
+     */
+    public void scheduleIfAbsent(BattleTimerType type, String roomId, Long userId, Instant dueAt) {
+        if (type == null || roomId == null || dueAt == null) return;
+        stringRedisTemplate.opsForZSet().addIfAbsent(BattleRedisKeyUtil.timersKey(),
+                member(type, roomId, userId), dueAt.toEpochMilli());
+    }
+
+    public void cancel(BattleTimerType type, String roomId, Long userId) {
+        if (type == null || roomId == null) return;
+        String member = member(type, roomId, userId);
+        stringRedisTemplate.opsForZSet().remove(BattleRedisKeyUtil.timersKey(), member);
+        stringRedisTemplate.opsForHash().delete(BattleRedisKeyUtil.timerAttemptsKey(), member);
+    }
+
+    public boolean isScheduled(BattleTimerType type, String roomId, Long userId) {
+        if (type == null || roomId == null) return false;
+        return stringRedisTemplate.opsForZSet().score(BattleRedisKeyUtil.timersKey(), member(type, roomId, userId)) != null;
+    }
+
+    /**
+     * 시도 횟수 한도를 넘어 버린 타이머를 꺼낸다 (SPOP, 꺼낸 항목은 호출한 쪽이 처리하거나 requeueDropped로 되돌린다)
+     */
+    public List<DroppedTimer> pollDropped(int count) {
+        List<String> members = stringRedisTemplate.opsForSet().pop(BattleRedisKeyUtil.timerDeadLetterKey(), count);
+        if (members == null || members.isEmpty()) return List.of();
+
+        List<DroppedTimer> dropped = new ArrayList<>(members.size());
+        for (String member : members) {
+            String[] parts = member.split("\\|", -1);
+            BattleTimerType type = parts.length == 3 ? parseType(parts[0]) : null;
+            if (type == null || parts[1].isEmpty()) {
+                log.warn("[battle] action=timer-dead-letter invalid member={}", member);
+                continue;
+            }
+            Long userId = parts[2].isEmpty() ? null : Long.valueOf(parts[2]);
+            dropped.add(new DroppedTimer(type, parts[1], userId));
+        }
+        return dropped;
+    }
+
+    public void requeueDropped(DroppedTimer timer) {
+        stringRedisTemplate.opsForSet().add(BattleRedisKeyUtil.timerDeadLetterKey(),
+                member(timer.type(), timer.roomId(), timer.userId()));
+    }
+
+    /**
+     * 곧 만료될 타이머를 로컬 휠에 올린다
+     * 이미 지난 항목(노드 재시작, 다른 노드 장애로 밀린 것 포함)도 함께 읽혀 바로 실행된다
+     */
+    @Scheduled(fixedDelayString = "${battle.timer.poll-interval-ms:500}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<String>> due;
+        try {
+            due = stringRedisTemplate.opsForZSet().rangeByScoreWithScores(
+                    BattleRedisKeyUtil.timersKey(), Double.NEGATIVE_INFINITY, now + lookaheadMs, 0, batchSize);
+        } catch (Exception e) {
+            log.warn("[battle] action=timer-poll error={}", e.getMessage());
+            return;
+        }
+        if (due == null || due.isEmpty()) return;
+
+        for (ZSetOperations.TypedTuple<String> entry : due) {
+            if (entry.getValue() == null || entry.getScore() == null) continue;
+            String member = entry.getValue();
+            long score = entry.getScore().longValue();
+            String armedKey = member + "@" + score;
+            if (!armed.add(armedKey)) continue;
+
+            long delay = Math.max(0, score - now);
+            wheel.newTimeout(timeout -> battleTaskScheduler.schedule(
+                    () -> claimAndFire(armedKey, member, score), Instant.now()), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wheel.stop();
+    }
+
+    private void claimAndFire(String armedKey, String member, long score) {
+        armed.remove(armedKey);
+        long lease = System.currentTimeMillis() + leaseMs;
+        Long claimed;
+        try {
+            claimed = stringRedisTemplate.execute(claimScript, keys(), member, String.valueOf(score),
+                    String.valueOf(lease), String.valueOf(maxAttempts));
+        } catch (Exception e) {
+            // 점수가 그대로 남아 있으므로 다음 폴링에서 다시 올라온다
+            log.warn("[battle] action=timer-claim member={} error={}", member, e.getMessage());
+            return;
+        }
+        if (claimed == null || claimed == 0) return;
+        if (claimed < 0) {
+            log.error("[battle] action=timer-drop member={} maxAttempts={}", member, maxAttempts);
+            return;
+        }
+
+        String[] parts = member.split("\\|", -1);
+        BattleTimerType type = parts.length == 3 ? parseType(parts[0]) : null;
+        if (type == null) {
+            log.warn("[battle] action=timer-fire invalid member={}", member);
+            complete(member, lease);
+            return;
+        }
+        String roomId = parts[1];
+        Long userId = parts[2].isEmpty() ? null : Long.valueOf(parts[2]);
+
+        BiConsumer<String, Long> handler = handlers.get(type);
+        if (handler == null) {
+            // 아직 핸들러 등록 전(기동 중)이면 임대가 끝난 뒤 다시 시도된다
+            log.warn("[battle] roomId={} action=timer-fire no-handler type={}", roomId, type);
+            return;
+        }
+        try {
+            handler.accept(roomId, userId);
+            complete(member, lease);
+        } catch (BattleException e) {
+            // 경합으로 전이를 못 했으면 잠시 뒤 다시 실행 (핸들러는 상태를 보고 판단하므로 재실행해도 안전)
+            boolean busy = e.getErrorCode() == BattleErrorCode.ROOM_BUSY;
+            release(member, lease, busy ? BUSY_RETRY_MS : ERROR_RETRY_MS, busy);
+            log.warn("[battle] roomId={} action=timer-fire type={} errorCode={}", roomId, type, e.getErrorCode().getCode());
+        } catch (Exception e) {
+            release(member, lease, ERROR_RETRY_MS, false);
+            log.warn("[battle] roomId={} action=timer-fire type={} error={}", roomId, type, e.getMessage());
+        }
+    }
+
+    private void complete(String member, long lease) {
+        try {
+            stringRedisTemplate.execute(completeScript, keys(), member, String.valueOf(lease));
+        } catch (Exception e) {
+            // 제거하지 못하면 임대가 끝난 뒤 한 번 더 실행된다 (핸들러는 상태를 보고 판단하므로 안전)
+            log.warn("[battle] action=timer-complete member={} error={}", member, e.getMessage());
+        }
+    }
+
+    private void release(String member, long lease, long retryMs, boolean refundAttempt) {
+        long retryAt = System.currentTimeMillis() + retryMs;
+        try {
+            stringRedisTemplate.execute(releaseScript, keys(), member, String.valueOf(lease),
+                    String.valueOf(retryAt), refundAttempt ? "1" : "0");
+        } catch (Exception e) {
+            // 옮기지 못해도 임대가 끝나면 다시 실행된다
+            log.warn("[battle] action=timer-release member={} error={}", member, e.getMessage());
+        }
+    }
+
+    private BattleTimerType parseType(String name) {
+        try {
+            return BattleTimerType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private List<String> keys() {
+        return List.of(BattleRedisKeyUtil.timersKey(), BattleRedisKeyUtil.timerAttemptsKey(),
+                BattleRedisKeyUtil.timerDeadLetterKey());
+    }
+
+    private String member(BattleTimerType type, String roomId, Long userId) {
+        return type.name() + SEPARATOR + roomId + SEPARATOR + (userId != null ? userId : "");
+    }
+
+    public record DroppedTimer(BattleTimerType type, String roomId, Long userId) {
+    }
+}
@@ -1,7 +1,18 @@
 package kr.or.kosa.backend.battle.service.adapter;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 
 import kr.or.kosa.backend.battle.domain.BattleHoldStatus;
 import kr.or.kosa.backend.battle.domain.BattlePointHold;
@@ -14,10 +25,18 @@ import kr.or.kosa.backend.pay.entity.UserPoint;
 import kr.or.kosa.backend.pay.repository.PointMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * 배틀 포인트 홀드/정산/환불
+ * 잔액은 방 조회마다 표시되므로 짧은 TTL 로컬 캐시로 읽고, 홀드/정산/환불이 커밋되면 해당 사용자 항목을 비운다
+ * (충전 등 배틀 밖의 변경은 TTL 안에서만 늦게 보일 수 있다)
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -28,6 +47,22 @@ public class BattlePointAdapter implements BattlePointPort {
     private final BattlePointHoldMapper battlePointHoldMapper;
     private final BattlePointHistoryMapper battlePointHistoryMapper;
 
+    @Value("${battle.cache.balance.max-size:10000}")
+    private long balanceCacheMaxSize;
+
+    @Value("${battle.cache.balance.ttl-seconds:5}")
+    private long balanceCacheTtlSeconds;
+
+    private Cache<Long, BigDecimal> balanceCache;
+
+    @PostConstruct
+    void initCache() {
+        balanceCache = Caffeine.newBuilder()
+                .maximumSize(balanceCacheMaxSize)
+                .expireAfterWrite(balanceCacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
     @Override
     public void holdBet(String matchId, Long userId, BigDecimal amount) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
@@ -54,6 +89,7 @@ public class BattlePointAdapter implements BattlePointPort {
             if (updated != 1) {
                 throw new BattleException(BattleErrorCode.INSUFFICIENT_POINTS);
             }
+            evictBalance(userId);
         } catch (BattleException e) {
             throw e;
         } catch (Exception e) {
@@ -130,6 +166,7 @@ public class BattlePointAdapter implements BattlePointPort {
         BigDecimal reward = amount.multiply(BigDecimal.valueOf(2));
         ensureUserPointRow(winnerUserId);
         pointMapper.addRewardPoint(winnerUserId, reward);
+        evictBalance(winnerUserId);
 
         BattlePointHistoryRecord history = BattlePointHistoryRecord.builder()
                 .userId(winnerUserId)
@@ -178,6 +215,7 @@ public class BattlePointAdapter implements BattlePointPort {
         }
 
         pointMapper.refundPoint(userId, amount);
+        evictBalance(userId);
 
         BattlePointHistoryRecord history = BattlePointHistoryRecord.builder()
                 .userId(userId)
@@ -206,15 +244,55 @@ public class BattlePointAdapter implements BattlePointPort {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal getBalance(Long userId) {
         if (userId == null) {
             return BigDecimal.ZERO;
         }
-        UserPoint userPoint = pointMapper.findUserPointByUserId(userId).orElse(null);
-        if (userPoint == null) {
-            return BigDecimal.ZERO;
+        return getBalances(List.of(userId)).getOrDefault(userId, BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getBalances(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        return balanceCache.getAll(ids, this::loadBalances);
+    }
+
+    private Map<Long, BigDecimal> loadBalances(Set<? extends Long> userIds) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        userIds.forEach(id -> balances.put(id, BigDecimal.ZERO));
+        List<UserPoint> rows = pointMapper.findUserPointsByUserIds(new ArrayList<>(userIds));
+        if (rows != null) {
+            for (UserPoint row : rows) {
+                if (row != null && row.getUserId() != null && row.getBalance() != null) {
+                    balances.put(row.getUserId(), row.getBalance());
+                }
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * 같은 트랜잭션 안의 후속 조회(정산 결과의 잔액 등)가 바뀐 값을 읽도록 즉시 비우고,
+     * 그 사이 다른 요청이 커밋 전 값을 다시 캐시했을 수 있으므로 트랜잭션이 끝난 뒤 한 번 더 비운다
+     */
+    private void evictBalance(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        balanceCache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    balanceCache.invalidate(userId);
+                }
+            });
         }
-        return userPoint.getBalance() == null ? BigDecimal.ZERO : userPoint.getBalance();
     }
 
     private void ensureUserPointRow(Long userId) {
@@ -1,35 +1,95 @@
 package kr.or.kosa.backend.battle.service.adapter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import kr.or.kosa.backend.battle.port.BattleUserPort;
 import kr.or.kosa.backend.battle.port.dto.BattleUserProfile;
 import kr.or.kosa.backend.users.domain.Users;
+import kr.or.kosa.backend.users.event.UserProfileChangedEvent;
 import kr.or.kosa.backend.users.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * 배틀 참가자 프로필 조회
+ * 방을 읽을 때마다 참가자 닉네임/등급을 다시 묻기 때문에 짧은 TTL 로컬 캐시를 두고,
+ * 캐시에 없는 사용자만 한 번의 IN 쿼리로 가져온다 (닉네임 변경 시 무효화)
+ */
 @Component
 @RequiredArgsConstructor
 public class BattleUserAdapter implements BattleUserPort {
 
     private final UserMapper userMapper;
 
+    @Value("${battle.cache.profile.max-size:10000}")
+    private long profileCacheMaxSize;
+
+    @Value("${battle.cache.profile.ttl-seconds:60}")
+    private long profileCacheTtlSeconds;
+
+    private Cache<Long, BattleUserProfile> profileCache;
+
+    @PostConstruct
+    void initCache() {
+        profileCache = Caffeine.newBuilder()
+                .maximumSize(profileCacheMaxSize)
+                .expireAfterWrite(profileCacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
     @Override
     public Optional<BattleUserProfile> findProfile(Long userId) {
         if (userId == null) {
             return Optional.empty();
         }
-        Users user = userMapper.findById(userId);
-        if (user == null) {
-            return Optional.empty();
+        return Optional.ofNullable(findProfiles(List.of(userId)).get(userId));
+    }
+
+    @Override
+    public Map<Long, BattleUserProfile> findProfiles(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        return profileCache.getAll(ids, this::loadProfiles);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        if (event.getUserId() != null) {
+            profileCache.invalidate(event.getUserId());
+        }
+    }
+
+    private Map<Long, BattleUserProfile> loadProfiles(Set<? extends Long> userIds) {
+        List<Users> users = userMapper.findBattleProfilesByIds(new ArrayList<>(userIds));
+        Map<Long, BattleUserProfile> profiles = new HashMap<>();
+        if (users == null) {
+            return profiles;
+        }
+        for (Users user : users) {
+            if (user == null || user.getUserId() == null) {
+                continue;
+            }
+            profiles.put(user.getUserId(), BattleUserProfile.builder()
+                    .userId(user.getUserId())
+                    .nickname(user.getUserNickname())
+                    .grade(user.getUserGrade())
+                    .build());
         }
-        return Optional.of(
-                BattleUserProfile.builder()
-                        .userId(userId)
-                        .nickname(user.getUserNickname())
-                        .grade(user.getUserGrade())
-                .build()
-        );
+        return profiles;
     }
 }
@@ -0,0 +1,187 @@
+package kr.or.kosa.backend.battle.service.adapter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import kr.or.kosa.backend.algorithm.dto.AlgoProblemDto;
+import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgePolicy;
+import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
+import kr.or.kosa.backend.algorithm.service.CodeExecutorService;
+import kr.or.kosa.backend.algorithm.service.LanguageService;
+import kr.or.kosa.backend.algorithm.service.TestcaseStorageService;
+import kr.or.kosa.backend.battle.port.BattleJudgePort;
+import kr.or.kosa.backend.battle.port.dto.BattleJudgeCommand;
+import kr.or.kosa.backend.battle.port.dto.BattleJudgeResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배틀 채점 (테스트케이스 실행 기반, 기본값)
+ *
+ * - 문제의 전체 테스트케이스를 CodeExecutorService로 실행해 통과 비율로 점수를 매긴다 (AC = 100점)
+ * - 통과 비율이 승패를 가르므로 실패 케이스가 있어도 전체를 실행한다 (중간에 멈추면 점수가 케이스 순서에 좌우됨)
+ * - 같은 (소스, 언어, 테스트케이스, 제한) 조합은 채점 결과 캐시를 재사용
+ * - 한 매치의 두 참가자는 같은 문제를 풀기 때문에 문제/테스트케이스는 로컬 캐시에 두고 한 번만 읽는다
+ * - AI 코드 평가는 승패에 쓰지 않고 채점 후 BattleAiReviewService가 비동기로 붙인다
+ *
+ * battle.judge.mode=llm 이면 이전 AI 채점(StubBattleJudgeAdapter)을 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "battle.judge.mode", havingValue = "execution", matchIfMissing = true)
+public class ExecutionBattleJudgeAdapter implements BattleJudgePort {
+
+    private static final BigDecimal MAX_SCORE = BigDecimal.valueOf(100);
+    private static final int DEFAULT_TIME_LIMIT_MS = 1000;
+    private static final int DEFAULT_MEMORY_LIMIT_MB = 256;
+
+    private final CodeExecutorService codeExecutorService;
+    private final AlgorithmProblemMapper algorithmProblemMapper;
+    private final TestcaseStorageService testcaseStorageService;
+    private final LanguageService languageService;
+
+    @Value("${battle.judge.execution-timeout-seconds:20}")
+    private long executionTimeoutSeconds;
+
+    @Value("${battle.cache.problem.max-size:200}")
+    private long problemCacheMaxSize;
+
+    @Value("${battle.cache.problem.ttl-minutes:30}")
+    private long problemCacheTtlMinutes;
+
+    private Cache<Long, ProblemSpec> problemCache;
+
+    private record ProblemSpec(int timeLimit, int memoryLimit, List<AlgoTestcaseDto> testCases) {
+    }
+
+    @PostConstruct
+    void initCache() {
+        problemCache = Caffeine.newBuilder()
+                .maximumSize(problemCacheMaxSize)
+                .expireAfterWrite(problemCacheTtlMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @Override
+    public BattleJudgeResult judge(BattleJudgeCommand command) {
+        String source = command.getSource();
+        if (source == null || source.isBlank()) {
+            return BattleJudgeResult.builder()
+                    .accepted(true)
+                    .score(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP))
+                    .message("\uC81C\uCD9C \uCF54\uB4DC\uAC00 \uB108\uBB34 \uC9E7\uC544 0\uC810 \uCC98\uB9AC\uD588\uC2B5\uB2C8\uB2E4.")
+                    .build();
+        }
+        if (command.getProblemId() == null || command.getLanguageId() == null) {
+            return BattleJudgeResult.rejected("\uBB38\uC81C \uB610\uB294 \uC5B8\uC5B4 \uC815\uBCF4\uAC00 \uC5C6\uC2B5\uB2C8\uB2E4.");
+        }
+
+        ProblemSpec spec = problemCache.get(command.getProblemId(), this::loadProblemSpec);
+        if (spec == null || spec.testCases().isEmpty()) {
+            log.warn("[battle] matchId={} userId={} action=judge-no-testcases problemId={}",
+                    command.getMatchId(), command.getUserId(), command.getProblemId());
+            return BattleJudgeResult.rejected("\uCC44\uC810\uD560 \uD14C\uC2A4\uD2B8\uCF00\uC774\uC2A4\uAC00 \uC5C6\uC2B5\uB2C8\uB2E4.");
+        }
+
+        Integer languageId = command.getLanguageId().intValue();
+        int timeLimit = languageService.calculateRealTimeLimit(languageId, spec.timeLimit());
+        int memoryLimit = languageService.calculateRealMemoryLimit(languageId, spec.memoryLimit());
+
+        log.info("[battle] matchId={} userId={} action=judge-start problemId={} languageId={} testCases={} timeLimit={} memoryLimit={}",
+                command.getMatchId(), command.getUserId(), command.getProblemId(), languageId,
+                spec.testCases().size(), timeLimit, memoryLimit);
+
+        TestRunResponseDto run;
+        CompletableFuture<TestRunResponseDto> execution = null;
+        try {
+            execution = codeExecutorService.judgeCode(source, languageId, spec.testCases(), timeLimit, memoryLimit,
+                    JudgePolicy.FULL, false);
+            run = execution.get(executionTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // 기다리지 않을 실행은 취소해 채점 서버 요청을 끊는다
+            execution.cancel(true);
+            log.error("[battle] matchId={} userId={} action=judge-timeout timeoutSec={}",
+                    command.getMatchId(), command.getUserId(), executionTimeoutSeconds);
+            return BattleJudgeResult.rejected("\uCC44\uC810 \uC2DC\uAC04 \uCD08\uACFC\uB418\uC5C8\uC2B5\uB2C8\uB2E4. \uC7A0\uC2DC \uD6C4 \uB2E4\uC2DC \uC2DC\uB3C4\uD574 \uC8FC\uC138\uC694.");
+        } catch (InterruptedException e) {
+            // BattleJudgeService가 제한 시간 초과로 작업을 취소한 경우
+            execution.cancel(true);
+            Thread.currentThread().interrupt();
+            return BattleJudgeResult.rejected("\uCC44\uC810 \uC911 \uC624\uB958\uAC00 \uBC1C\uC0DD\uD588\uC2B5\uB2C8\uB2E4.");
+        } catch (Exception e) {
+            log.error("[battle] matchId={} userId={} action=judge-failed error={}",
+                    command.getMatchId(), command.getUserId(), e.getMessage(), e);
+            return BattleJudgeResult.rejected("\uCC44\uC810 \uC911 \uC624\uB958\uAC00 \uBC1C\uC0DD\uD588\uC2B5\uB2C8\uB2E4.");
+        }
+
+        if (run == null || run.getOverallResult() == null) {
+            log.warn("[battle] matchId={} userId={} action=judge-null-result",
+                    command.getMatchId(), command.getUserId());
+            return BattleJudgeResult.rejected("\uCC44\uC810 \uACB0\uACFC\uAC00 \uC5C6\uC2B5\uB2C8\uB2E4. \uC7A0\uC2DC \uD6C4 \uB2E4\uC2DC \uC2DC\uB3C4\uD574 \uC8FC\uC138\uC694.");
+        }
+
+        BigDecimal score = scoreOf(run);
+        log.info("[battle] matchId={} userId={} action=judge-ok verdict={} passed={}/{} score={} maxTimeMs={}",
+                command.getMatchId(), command.getUserId(), run.getOverallResult(),
+                run.getPassedCount(), run.getTotalCount(), score, run.getMaxExecutionTime());
+
+        return BattleJudgeResult.builder()
+                .accepted(true)
+                .score(score)
+                .message(buildMessage(run))
+                .verdict(run.getOverallResult())
+                .passedCount(run.getPassedCount())
+                .totalCount(run.getTotalCount())
+                .build();
+    }
+
+    private ProblemSpec loadProblemSpec(Long problemId) {
+        AlgoProblemDto problem = algorithmProblemMapper.selectProblemById(problemId);
+        if (problem == null) {
+            return null;
+        }
+        List<AlgoTestcaseDto> testCases = testcaseStorageService.getTestCases(problemId);
+        return new ProblemSpec(
+                problem.getTimelimit() != null ? problem.getTimelimit() : DEFAULT_TIME_LIMIT_MS,
+                problem.getMemorylimit() != null ? problem.getMemorylimit() : DEFAULT_MEMORY_LIMIT_MB,
+                testCases != null ? List.copyOf(testCases) : List.of());
+    }
+
+    private BigDecimal scoreOf(TestRunResponseDto run) {
+        if ("AC".equals(run.getOverallResult())) {
+            return MAX_SCORE.setScale(2, RoundingMode.HALF_UP);
+        }
+        if (run.getTotalCount() <= 0 || run.getPassedCount() <= 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(run.getPassedCount())
+                .multiply(MAX_SCORE)
+                .divide(BigDecimal.valueOf(run.getTotalCount()), 2, RoundingMode.HALF_UP);
+    }
+
+    private String buildMessage(TestRunResponseDto run) {
+        String label = switch (run.getOverallResult()) {
+            case "AC" -> "\uC815\uB2F5";
+            case "WA" -> "\uD2C0\uB9B0 \uCD9C\uB825";
+            case "TLE" -> "\uC2DC\uAC04 \uCD08\uACFC";
+            case "MLE" -> "\uBA54\uBAA8\uB9AC \uCD08\uACFC";
+            case "RE" -> "\uB7F0\uD0C0\uC784 \uC5D0\uB7EC";
+            case "CE" -> "\uCEF4\uD30C\uC77C \uC5D0\uB7EC";
+            default -> run.getOverallResult();
+        };
+        return String.format("%s (%d/%d \uD1B5\uACFC)", label, run.getPassedCount(), run.getTotalCount());
+    }
+}
@@ -2,9 +2,11 @@ package kr.or.kosa.backend.battle.service.adapter;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -20,9 +22,14 @@ import kr.or.kosa.backend.battle.port.dto.BattleJudgeResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * AI 채점 (battle.judge.mode=llm)
+ * 기본 채점은 테스트케이스 실행 기반인 ExecutionBattleJudgeAdapter
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "battle.judge.mode", havingValue = "llm")
 public class StubBattleJudgeAdapter implements BattleJudgePort {
 
     private static final BigDecimal MAX_SCORE = BigDecimal.valueOf(100);
@@ -54,10 +61,11 @@ public class StubBattleJudgeAdapter implements BattleJudgePort {
         log.info("[battle] matchId={} userId={} action=judge-start problemId={} languageId={} languageName={} sourceLen={} promptLen={}",
                 command.getMatchId(), command.getUserId(), command.getProblemId(), command.getLanguageId(), languageName, sourceLen, promptLen);
 
+        CompletableFuture<AICodeEvaluationResult> pending = null;
         try {
-            AICodeEvaluationResult evaluation = codeEvaluationService
-                    .evaluateCode(command.getSource(), problemDescription, languageName, "UNKNOWN")
-                    .get(JUDGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            pending = codeEvaluationService
+                    .evaluateCode(command.getSource(), problemDescription, languageName, "UNKNOWN");
+            AICodeEvaluationResult evaluation = pending.get(JUDGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
 
             if (evaluation == null) {
                 log.warn("[battle] matchId={} userId={} action=judge-null-result",
@@ -89,9 +97,15 @@ public class StubBattleJudgeAdapter implements BattleJudgePort {
                     .build();
 
         } catch (TimeoutException e) {
+            pending.cancel(true);
             log.error("[battle] matchId={} userId={} action=judge-timeout timeoutSec={}",
                     command.getMatchId(), command.getUserId(), JUDGE_TIMEOUT_SECONDS, e);
             return BattleJudgeResult.rejected("\uCC44\uC810 \uC2DC\uAC04 \uCD08\uACFC\uB418\uC5C8\uC2B5\uB2C8\uB2E4. \uC7A0\uC2DC \uD6C4 \uB2E4\uC2DC \uC2DC\uB3C4\uD574 \uC8FC\uC138\uC694.");
+        } catch (InterruptedException e) {
+            // BattleJudgeService가 제한 시간 초과로 작업을 취소한 경우 - AI 평가 대기도 끊는다
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+            return BattleJudgeResult.rejected("\uCC44\uC810 \uC2DC\uAC04 \uCD08\uACFC\uB418\uC5C8\uC2B5\uB2C8\uB2E4. \uC7A0\uC2DC \uD6C4 \uB2E4\uC2DC \uC2DC\uB3C4\uD574 \uC8FC\uC138\uC694.");
         } catch (Exception e) {
             log.error("[battle] matchId={} userId={} action=judge-failed error={}",
                     command.getMatchId(), command.getUserId(), e.getMessage(), e);
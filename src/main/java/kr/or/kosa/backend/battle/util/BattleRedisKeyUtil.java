@@ -13,12 +13,32 @@ public final class BattleRedisKeyUtil {
         return "battle:lobby:rooms";
     }
 
-    public static String lockKey(String roomId) {
-        return "battle:lock:" + roomId;
+    public static String lobbySummaryKey() {
+        return "battle:lobby:summary";
     }
 
-    public static String userLockKey(Long userId) {
-        return "battle:lock:user:" + userId;
+    public static String lobbySeqKey() {
+        return "battle:lobby:seq";
+    }
+
+    public static String timersKey() {
+        return "battle:timers";
+    }
+
+    public static String timerAttemptsKey() {
+        return "battle:timers:attempts";
+    }
+
+    public static String timerDeadLetterKey() {
+        return "battle:timers:dead";
+    }
+
+    public static String recoveryLockKey() {
+        return "battle:recovery:lock";
+    }
+
+    public static String recentProblemsKey(Long userId) {
+        return "battle:user:" + userId + ":recentProblems";
     }
 
     public static String activeRoomKey(Long userId) {
@@ -33,6 +53,10 @@ public final class BattleRedisKeyUtil {
         return "battle:match:" + matchId + ":room";
     }
 
+    public static String matchEventsKey(String matchId) {
+        return "battle:match:" + matchId + ":events";
+    }
+
     public static String passwordAttemptKey(String roomId, Long userId) {
         return "battle:pw:attempt:" + roomId + ":" + userId;
     }
@@ -9,6 +9,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 비동기 처리 설정
@@ -74,6 +75,8 @@ public class AsyncConfiguration implements AsyncConfigurer {
         executor.setMaxPoolSize(12);        // 네트워크 I/O가 주요하므로 많이
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("Judge0-");
+        // 채점 대기열 우회 경로(비활성화/Redis 장애)에서 제출이 버려지지 않도록 호출 스레드에서 실행
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(90);
         executor.initialize();
@@ -0,0 +1,68 @@
+package kr.or.kosa.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채점 서버 라우터 설정
+ * - code-executor.router.backends 에 채점 서버 목록을 지정하면 요청마다 부하가 가장 낮은 정상 서버로 분배
+ * - 목록이 비어 있으면 code-executor.provider 의 기본 WebClient 하나만 사용 (기존 동작)
+ *
+ * 예시)
+ * code-executor.router.backends[0].id=judge0-a
+ * code-executor.router.backends[0].type=judge0
+ * code-executor.router.backends[0].base-url=http://judge0-a:2358
+ * code-executor.router.backends[1].id=piston-fallback
+ * code-executor.router.backends[1].type=piston
+ * code-executor.router.backends[1].base-url=http://piston:2000/api/v2
+ */
+@Configuration
+@EnableConfigurationProperties(JudgeRouterConfig.JudgeRouterProperties.class)
+public class JudgeRouterConfig {
+
+    /**
+     * 채점 서버 라우터 프로퍼티
+     */
+    @Data
+    @ConfigurationProperties(prefix = "code-executor.router")
+    public static class JudgeRouterProperties {
+
+        private List<Backend> backends = new ArrayList<>();
+
+        /**
+         * EWMA 가중치 (새 관측값 비중, 0~1)
+         */
+        private double ewmaAlpha = 0.2;
+
+        /**
+         * 오류율 가중치 (점수 = 예상 대기시간 × (1 + 오류율 × errorPenalty))
+         */
+        private double errorPenalty = 4.0;
+
+        /**
+         * 장애 전환 허용 여부 (서버 오류로 채점하지 못한 경우 다른 서버로 1회 재시도)
+         */
+        private boolean failoverEnabled = true;
+
+        private Circuit circuit = new Circuit();
+
+        @Data
+        public static class Backend {
+            private String id;
+            private String type = "judge0";   // judge0, piston
+            private String baseUrl;           // 비어 있으면 기본 WebClient 사용
+            private int maxInFlight = 8;      // 이 서버로 동시에 보낼 채점 요청 수 (워커 수)
+        }
+
+        @Data
+        public static class Circuit {
+            private int failureThreshold = 5;          // 연속 실패 횟수가 이 값에 도달하면 차단
+            private long openDurationMs = 30000;       // 차단 유지 시간, 이후 1건만 시험 요청
+        }
+    }
+}
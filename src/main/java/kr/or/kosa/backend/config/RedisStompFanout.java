@@ -0,0 +1,102 @@
+package kr.or.kosa.backend.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+/**
+ * STOMP 메시지 Redis pub/sub 팬아웃 (websocket.broker.mode=redis)
+ *
+ * - 브로커 채널로 들어오는 메시지 중 대상 prefix(/topic/battle/, /topic/tutor/, /user/)에 해당하면
+ *   Redis 채널로도 발행하고, 다른 노드는 받아서 자기 브로커 채널로 다시 넣는다
+ * - /user/ 메시지는 사용자 세션 해석 전 형태로 전달되므로, 해당 사용자가 붙어 있는 노드에서만 전달된다
+ * - 자신이 보낸 메시지와 다시 넣은 메시지는 재발행하지 않는다
+ */
+@Slf4j
+public class RedisStompFanout implements ChannelInterceptor, MessageListener {
+
+    public static final String CHANNEL = "ws:stomp:fanout";
+    private static final String RELAYED_HEADER = "fanoutRelayed";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MessageChannel brokerChannel;
+    private final ObjectMapper objectMapper;
+    private final List<String> prefixes;
+
+    public RedisStompFanout(StringRedisTemplate stringRedisTemplate,
+                            MessageChannel brokerChannel,
+                            ObjectMapper objectMapper,
+                            List<String> prefixes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.brokerChannel = brokerChannel;
+        this.objectMapper = objectMapper;
+        this.prefixes = prefixes;
+    }
+
+    @Override
+    public org.springframework.messaging.Message<?> preSend(org.springframework.messaging.Message<?> message,
+                                                             MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        if (message.getHeaders().containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || prefixes.stream().noneMatch(destination::startsWith)) {
+            return message;
+        }
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        try {
+            MimeType contentType = SimpMessageHeaderAccessor.getContentType(message.getHeaders());
+            Envelope envelope = new Envelope(nodeId, destination,
+                    contentType != null ? contentType.toString() : null, payload);
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // 팬아웃 실패는 같은 노드 구독자 전달에 영향을 주지 않는다
+            log.warn("[ws-fanout] destination={} action=publish error={}", destination, e.getMessage());
+        }
+        return message;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class);
+            if (nodeId.equals(envelope.node()) || envelope.destination() == null) {
+                return;
+            }
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(envelope.destination());
+            if (envelope.contentType() != null) {
+                accessor.setContentType(MimeType.valueOf(envelope.contentType()));
+            }
+            accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+            accessor.setLeaveMutable(true);
+            brokerChannel.send(MessageBuilder.createMessage(envelope.payload(), accessor.getMessageHeaders()));
+        } catch (Exception e) {
+            log.warn("[ws-fanout] action=deliver error={}", e.getMessage());
+        }
+    }
+
+    public record Envelope(String node, String destination, String contentType, byte[] payload) {
+    }
+}
@@ -0,0 +1,109 @@
+package kr.or.kosa.backend.config;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP 브로커 설정 (배틀/튜터 공용)
+ *
+ * websocket.broker.mode
+ * - simple: JVM 내장 브로커 (단일 인스턴스, 기본값)
+ * - redis : 내장 브로커 + Redis pub/sub 팬아웃 (RedisStompFanout), 별도 브로커 없이 여러 인스턴스 운영
+ * - relay : 외부 STOMP 브로커(RabbitMQ/Artemis) 릴레이, 사용자 목적지와 세션 레지스트리도 브로커로 공유
+ *
+ * 방 상태는 Redis에 있고 끊긴 클라이언트는 어느 노드로 다시 붙어도 구독/스냅샷으로 복구하므로 sticky session이 필요 없다
+ * (SockJS는 websocket 전송 기준, xhr 폴백 전송은 LB에서 세션 고정이 필요하다)
+ */
+@Slf4j
+@Configuration
+public class WebSocketBrokerConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final ObjectProvider<RedisStompFanout> redisStompFanout;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String mode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    public WebSocketBrokerConfig(ObjectProvider<RedisStompFanout> redisStompFanout) {
+        this.redisStompFanout = redisStompFanout;
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+
+        if ("relay".equalsIgnoreCase(mode)) {
+            var relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            log.info("STOMP 브로커 릴레이 사용 - {}:{}", relayHost, relayPort);
+            return;
+        }
+
+        registry.enableSimpleBroker("/topic", "/queue");
+        RedisStompFanout fanout = redisStompFanout.getIfAvailable();
+        if (fanout != null) {
+            registry.configureBrokerChannel().interceptors(fanout);
+            log.info("STOMP 내장 브로커 + Redis 팬아웃 사용 - channel: {}", RedisStompFanout.CHANNEL);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "redis")
+    public RedisStompFanout redisStompFanout(StringRedisTemplate stringRedisTemplate,
+                                             @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                                             ObjectMapper objectMapper) {
+        return new RedisStompFanout(stringRedisTemplate, brokerChannel, objectMapper,
+                List.of("/topic/battle/", "/topic/tutor/", "/user/"));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "redis")
+    public RedisMessageListenerContainer stompFanoutListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      RedisStompFanout redisStompFanout) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisStompFanout, new ChannelTopic(RedisStompFanout.CHANNEL));
+        return container;
+    }
+}
@@ -14,6 +14,11 @@ public interface PointMapper {
 
     Optional<UserPoint> findUserPointByUserId(@Param("userId") Long userId);
 
+    /**
+     * 잔액 일괄 조회 (row가 없는 사용자는 결과에서 빠진다)
+     */
+    List<UserPoint> findUserPointsByUserIds(@Param("userIds") List<Long> userIds);
+
     int insertUserPoint(UserPoint userPoint);
 
     /**
@@ -0,0 +1,14 @@
+package kr.or.kosa.backend.users.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 사용자 프로필(닉네임 등) 변경 이벤트
+ * 프로필을 캐시하는 모듈(배틀 참가자 정보 등)이 받아서 무효화한다
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserProfileChangedEvent {
+    private final Long userId;
+}
@@ -133,5 +133,10 @@ public interface UserMapper {
 
         List<Users> findByIds(@Param("userIds") List<Long> userIds);
         List<Users> findNicknamesByIds(@Param("userIds") List<Long> userIds);
+
+        /**
+         * 배틀 참가자 프로필 일괄 조회 (닉네임, 등급)
+         */
+        List<Users> findBattleProfilesByIds(@Param("userIds") List<Long> userIds);
 }
 
@@ -9,6 +9,7 @@ import kr.or.kosa.backend.infra.s3.S3Uploader;
 import kr.or.kosa.backend.security.jwt.JwtProvider;
 import kr.or.kosa.backend.users.domain.Users;
 import kr.or.kosa.backend.users.dto.*;
+import kr.or.kosa.backend.users.event.UserProfileChangedEvent;
 import kr.or.kosa.backend.users.exception.UserErrorCode;
 import kr.or.kosa.backend.users.mapper.UserMapper;
 import kr.or.kosa.backend.tutor.subscription.SubscriptionTier;
@@ -19,6 +20,7 @@ import org.springframework.beans.factory.annotation.Value;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -48,6 +50,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordResetTokenService passwordResetTokenService;
     private final EncryptionUtil encryptionUtil; // Injected
     private final SubscriptionTierResolver subscriptionTierResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final long REFRESH_TOKEN_EXPIRE_DAYS = 14;
     private static final String REFRESH_KEY_PREFIX = "auth:refresh:";
@@ -311,6 +314,7 @@ public class UserServiceImpl implements UserService {
         if (updated != 1) {
             throw new CustomBusinessException(UserErrorCode.USER_UPDATE_FAILED);
         }
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return buildUserResponse(user);
     }
@@ -0,0 +1,230 @@
+// Compile-once harness (Java) - PistonService가 사용자 소스 파일과 함께 전송
+// 사용자 코드를 javac로 한 번만 컴파일한 뒤, 케이스마다 새 ClassLoader로 같은 JVM 안에서 실행
+// - 정적 상태 격리: 케이스마다 사용자 클래스를 새로 로드하므로 static 필드/초기화 블록이 처음부터 다시 실행된다
+// - 시간 측정: JVM 기동/클래스 로딩이 첫 케이스에 잡히지 않도록 첫 케이스 입력으로 한 번 예열한 뒤,
+//   케이스마다 실행 스레드의 CPU 시간(ThreadMXBean)을 보고한다 (사용자 코드가 만든 추가 스레드는 제외)
+// - 표준 입출력: 스레드별로 연결되므로 제한 시간을 넘긴 스레드의 출력이 다음 케이스에 섞이지 않는다
+// - 제한 시간(벽시계 2배)을 넘긴 스레드는 멈출 수 없으므로 해당 케이스를 SIGKILL로 보고하고 하네스를 종료한다
+//   (사용자 코드의 System.exit도 마찬가지로, 출력되지 않은 케이스는 PistonService가 개별 실행으로 보완)
+// args: <사용자 소스 파일명> <메인 클래스명> <시간 제한 ms>
+// stdin 프로토콜: "<마커>\n<케이스 수>\n" + 케이스마다 "<바이트 길이>\n<입력>\n"
+// stdout 프로토콜: "@@COMPILE_ERROR <마커> <b64 진단>" 또는
+//                 케이스마다 "@@CASE <마커> <idx> <exitCode> <signal|-> <cpuMs> -1 <b64 stdout> <b64 stderr>"
+// 마커는 요청마다 새로 만들어 stdin으로만 전달 (사용자 코드 실행 전에 모두 읽으므로 사용자 코드는 알 수 없다)
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Base64;
+
+public class CoaiHarness {
+
+    private static final InheritableThreadLocal<CaseIo> CURRENT = new InheritableThreadLocal<>();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        String userFile = args[0];
+        String mainClass = args[1];
+        long timeLimitMs = Long.parseLong(args[2]);
+
+        byte[] input = System.in.readAllBytes();
+        int[] pos = {0};
+        String marker = readLine(input, pos).trim();
+
+        PrintStream out = System.out;
+        Path classes = Files.createDirectories(Paths.get("__coai_classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+        int rc = compiler.run(null, null, diagnostics,
+                "-encoding", "UTF-8", "-d", classes.toString(), userFile);
+        if (rc != 0) {
+            out.println("@@COMPILE_ERROR " + marker + " " + b64(diagnostics.toByteArray()));
+            return;
+        }
+
+        int count = Integer.parseInt(readLine(input, pos).trim());
+        byte[][] cases = new byte[count][];
+        for (int idx = 0; idx < count; idx++) {
+            int len = Integer.parseInt(readLine(input, pos).trim());
+            cases[idx] = Arrays.copyOfRange(input, pos[0], pos[0] + len);
+            pos[0] += len;
+            if (pos[0] < input.length && input[pos[0]] == '\n') {
+                pos[0]++;
+            }
+        }
+
+        // 사용자 코드가 보는 표준 입출력을 현재 케이스로 연결
+        System.setIn(new RoutedInput());
+        System.setOut(new PrintStream(new RoutedOutput(false), true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(new RoutedOutput(true), true, StandardCharsets.UTF_8));
+
+        URL classpath = classes.toUri().toURL();
+        if (count > 0) {
+            CaseRun warmup = run(classpath, mainClass, cases[0], timeLimitMs);
+            if (warmup.timedOut) {
+                report(out, marker, 0, warmup);
+                Runtime.getRuntime().halt(0);
+            }
+        }
+        for (int idx = 0; idx < count; idx++) {
+            CaseRun result = run(classpath, mainClass, cases[idx], timeLimitMs);
+            report(out, marker, idx, result);
+            if (result.timedOut) {
+                Runtime.getRuntime().halt(0);
+            }
+        }
+    }
+
+    /**
+     * 새 ClassLoader로 사용자 main 실행 (부모는 플랫폼 로더라 하네스 클래스와 이전 케이스 클래스는 보이지 않는다)
+     */
+    private static CaseRun run(URL classpath, String mainClass, byte[] input, long timeLimitMs) throws Exception {
+        CaseIo io = new CaseIo(input);
+        CaseRun result = new CaseRun(io);
+        URLClassLoader loader = new URLClassLoader(new URL[]{classpath}, ClassLoader.getPlatformClassLoader());
+
+        Thread runner = new Thread(() -> {
+            CURRENT.set(io);
+            long startCpu = THREADS.getCurrentThreadCpuTime();
+            try {
+                Method main = Class.forName(mainClass, true, loader).getMethod("main", String[].class);
+                main.invoke(null, (Object) new String[0]);
+            } catch (InvocationTargetException e) {
+                result.exitCode = 1;
+                System.err.print("Exception in thread \"main\" ");
+                e.getCause().printStackTrace();
+            } catch (Throwable t) {
+                result.exitCode = 1;
+                t.printStackTrace();
+            } finally {
+                System.out.flush();
+                result.cpuNanos = THREADS.getCurrentThreadCpuTime() - startCpu;
+            }
+        }, "main");
+        runner.setDaemon(true);
+        runner.setContextClassLoader(loader);
+        runner.start();
+        runner.join(timeLimitMs * 2);
+
+        if (runner.isAlive()) {
+            runner.interrupt();
+            result.timedOut = true;
+            result.exitCode = -1;
+            result.cpuNanos = Math.max(result.cpuNanos, THREADS.getThreadCpuTime(runner.getId()));
+        } else {
+            loader.close();
+        }
+        return result;
+    }
+
+    private static void report(PrintStream out, String marker, int idx, CaseRun result) {
+        byte[] stdout;
+        byte[] stderr;
+        synchronized (result.io) {
+            stdout = result.io.stdout.toByteArray();
+            stderr = result.io.stderr.toByteArray();
+        }
+        out.println("@@CASE " + marker + " " + idx + " " + result.exitCode + " " + (result.timedOut ? "SIGKILL" : "-")
+                + " " + Math.max(0, result.cpuNanos) / 1_000_000 + " -1 " + b64(stdout) + " " + b64(stderr));
+        out.flush();
+    }
+
+    private static String readLine(byte[] data, int[] pos) {
+        int start = pos[0];
+        while (pos[0] < data.length && data[pos[0]] != '\n') {
+            pos[0]++;
+        }
+        String line = new String(data, start, pos[0] - start, StandardCharsets.UTF_8);
+        if (pos[0] < data.length) {
+            pos[0]++;
+        }
+        return line;
+    }
+
+    private static String b64(byte[] bytes) {
+        return bytes.length == 0 ? "-" : Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static final class CaseIo {
+        private final InputStream stdin;
+        private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+        private CaseIo(byte[] input) {
+            this.stdin = new ByteArrayInputStream(input);
+        }
+    }
+
+    private static final class CaseRun {
+        private final CaseIo io;
+        private volatile int exitCode;
+        private volatile long cpuNanos;
+        private volatile boolean timedOut;
+
+        private CaseRun(CaseIo io) {
+            this.io = io;
+        }
+    }
+
+    private static final class RoutedInput extends InputStream {
+        @Override
+        public int read() throws java.io.IOException {
+            CaseIo io = CURRENT.get();
+            return io != null ? io.stdin.read() : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws java.io.IOException {
+            CaseIo io = CURRENT.get();
+            return io != null ? io.stdin.read(b, off, len) : -1;
+        }
+
+        @Override
+        public int available() throws java.io.IOException {
+            CaseIo io = CURRENT.get();
+            return io != null ? io.stdin.available() : 0;
+        }
+    }
+
+    private static final class RoutedOutput extends OutputStream {
+        private final boolean error;
+
+        private RoutedOutput(boolean error) {
+            this.error = error;
+        }
+
+        @Override
+        public void write(int b) {
+            CaseIo io = CURRENT.get();
+            if (io != null) {
+                synchronized (io) {
+                    (error ? io.stderr : io.stdout).write(b);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            CaseIo io = CURRENT.get();
+            if (io != null) {
+                synchronized (io) {
+                    (error ? io.stderr : io.stdout).write(b, off, len);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+// Compile-once harness (C++) - PistonService가 stdin으로 사용자 소스와 입력을 함께 전달
+// 사용자 코드는 하네스에 삽입하지 않고 별도 실행 파일로 한 번만 컴파일한 뒤, 케이스마다 fork + exec로 실행한다.
+// (사용자 코드가 하네스 프로세스 안에서 돌지 않으므로 입력을 미리 읽거나 결과 줄을 위조하거나 제한을 끌 수 없다)
+// args: <케이스 시간 제한 ms> <메모리 제한 bytes, 0이면 미적용>
+// stdin 프로토콜: "<마커>\n<소스 바이트 길이>\n<소스>\n<케이스 수>\n" + 케이스마다 "<바이트 길이>\n<입력>\n"
+// stdout 프로토콜: "@@COMPILE_ERROR <마커> <b64 진단>" 또는
+//                 케이스마다 "@@CASE <마커> <idx> <exitCode> <signal|-> <cpuMs> <maxRssKb> <b64 stdout> <b64 stderr>"
+#include <cstdio>
+#include <cstdlib>
+#include <cstring>
+#include <string>
+#include <fcntl.h>
+#include <signal.h>
+#include <sys/prctl.h>
+#include <sys/resource.h>
+#include <sys/time.h>
+#include <sys/wait.h>
+#include <time.h>
+#include <unistd.h>
+
+namespace coai_harness {
+
+static const char B64[] = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+static const char USER_SOURCE[] = "__coai_user.cpp";
+static const char USER_BINARY[] = "./__coai_user";
+
+static std::string readAll(int fd) {
+    std::string data;
+    char buf[65536];
+    ssize_t n;
+    while ((n = read(fd, buf, sizeof(buf))) > 0) {
+        data.append(buf, (size_t) n);
+    }
+    return data;
+}
+
+static std::string readFile(const char* path) {
+    int fd = open(path, O_RDONLY);
+    if (fd < 0) return "";
+    std::string data = readAll(fd);
+    close(fd);
+    return data;
+}
+
+static void writeFile(const char* path, const std::string& data) {
+    int fd = open(path, O_WRONLY | O_CREAT | O_TRUNC, 0644);
+    if (fd < 0) return;
+    size_t off = 0;
+    while (off < data.size()) {
+        ssize_t n = write(fd, data.data() + off, data.size() - off);
+        if (n <= 0) break;
+        off += (size_t) n;
+    }
+    close(fd);
+}
+
+static void writeLine(const std::string& line) {
+    fwrite(line.data(), 1, line.size(), stdout);
+    fflush(stdout);
+}
+
+static std::string base64(const std::string& in) {
+    if (in.empty()) return "-";
+    std::string out;
+    out.reserve((in.size() + 2) / 3 * 4);
+    size_t i = 0;
+    for (; i + 2 < in.size(); i += 3) {
+        unsigned v = ((unsigned char) in[i] << 16) | ((unsigned char) in[i + 1] << 8) | (unsigned char) in[i + 2];
+        out += B64[(v >> 18) & 63];
+        out += B64[(v >> 12) & 63];
+        out += B64[(v >> 6) & 63];
+        out += B64[v & 63];
+    }
+    if (i < in.size()) {
+        unsigned v = (unsigned char) in[i] << 16;
+        if (i + 1 < in.size()) v |= (unsigned char) in[i + 1] << 8;
+        out += B64[(v >> 18) & 63];
+        out += B64[(v >> 12) & 63];
+        out += (i + 1 < in.size()) ? B64[(v >> 6) & 63] : '=';
+        out += '=';
+    }
+    return out;
+}
+
+static const char* signalName(int sig) {
+    switch (sig) {
+        case SIGXCPU: return "SIGXCPU";
+        case SIGKILL: return "SIGKILL";
+        case SIGSEGV: return "SIGSEGV";
+        case SIGFPE: return "SIGFPE";
+        case SIGABRT: return "SIGABRT";
+        case SIGBUS: return "SIGBUS";
+        default: return "SIGNAL";
+    }
+}
+
+static long nowMs() {
+    struct timespec ts = {};
+    clock_gettime(CLOCK_MONOTONIC, &ts);
+    return ts.tv_sec * 1000L + ts.tv_nsec / 1000000L;
+}
+
+static void redirect(const char* in, const char* out, const char* err) {
+    int inFd = open(in, O_RDONLY);
+    int outFd = open(out, O_WRONLY | O_CREAT | O_TRUNC, 0644);
+    int errFd = open(err, O_WRONLY | O_CREAT | O_TRUNC, 0644);
+    dup2(inFd, 0);
+    dup2(outFd, 1);
+    dup2(errFd, 2);
+    close(inFd);
+    close(outFd);
+    close(errFd);
+}
+
+/**
+ * g++로 사용자 소스를 컴파일 (진단은 __coai_err)
+ * @return g++ 종료 코드, g++를 실행하지 못하면 127
+ */
+static int compileUserSource() {
+    pid_t pid = fork();
+    if (pid < 0) return 127;
+    if (pid == 0) {
+        redirect("/dev/null", "/dev/null", "__coai_err");
+        execlp("g++", "g++", "-std=c++17", "-O2", "-o", USER_BINARY, USER_SOURCE, "-lm", (char*) nullptr);
+        _exit(127);
+    }
+    int status = 0;
+    waitpid(pid, &status, 0);
+    return WIFEXITED(status) ? WEXITSTATUS(status) : 127;
+}
+
+/**
+ * 자식 프로세스: 자원 제한을 건 뒤 사용자 실행 파일로 교체
+ * RLIMIT_CPU/RLIMIT_AS는 exec 이후 사용자 코드가 풀 수 없다 (hard 한도 도달 시 SIGKILL)
+ */
+static void runChild(long timeLimitMs, long memoryLimitBytes) {
+    setpgid(0, 0);
+    redirect("__coai_in", "__coai_out", "__coai_err");
+
+    rlim_t cpuSeconds = (rlim_t) (timeLimitMs + 999) / 1000 + 1;
+    struct rlimit cpu = {cpuSeconds, cpuSeconds + 1};
+    setrlimit(RLIMIT_CPU, &cpu);
+    if (memoryLimitBytes > 0) {
+        struct rlimit memory = {(rlim_t) memoryLimitBytes, (rlim_t) memoryLimitBytes};
+        setrlimit(RLIMIT_AS, &memory);
+    }
+
+    execl(USER_BINARY, USER_BINARY, (char*) nullptr);
+    _exit(127);
+}
+
+}  // namespace coai_harness
+
+int main(int argc, char** argv) {
+    using namespace coai_harness;
+    long timeLimitMs = argc > 1 ? atol(argv[1]) : 2000;
+    long memoryLimitBytes = argc > 2 ? atol(argv[2]) : 0;
+    long wallLimitMs = timeLimitMs * 3;
+
+    // 같은 사용자 권한의 자식이 /proc/<pid>/fd, mem으로 하네스에 접근하지 못하도록
+    prctl(PR_SET_DUMPABLE, 0, 0, 0, 0);
+
+    // 사용자 코드 실행 전에 stdin(마커, 소스, 모든 입력)을 전부 읽는다
+    std::string input = readAll(0);
+    size_t pos = 0;
+    auto nextLine = [&]() {
+        size_t nl = input.find('\n', pos);
+        std::string line = input.substr(pos, nl == std::string::npos ? std::string::npos : nl - pos);
+        pos = nl == std::string::npos ? input.size() : nl + 1;
+        return line;
+    };
+    auto nextBlock = [&]() {
+        size_t len = strtoul(nextLine().c_str(), nullptr, 10);
+        std::string block = input.substr(pos, len);
+        pos += len;
+        if (pos < input.size() && input[pos] == '\n') pos++;
+        return block;
+    };
+
+    std::string marker = nextLine();
+    writeFile(USER_SOURCE, nextBlock());
+
+    int compileCode = compileUserSource();
+    if (compileCode == 127) {
+        return 1;  // g++를 실행할 수 없음 - 결과 줄 없이 종료하면 PistonService가 개별 실행으로 보완
+    }
+    if (compileCode != 0) {
+        writeLine("@@COMPILE_ERROR " + marker + " " + base64(readFile("__coai_err")) + "\n");
+        return 0;
+    }
+
+    int count = atoi(nextLine().c_str());
+    for (int idx = 0; idx < count; idx++) {
+        writeFile("__coai_in", nextBlock());
+
+        pid_t pid = fork();
+        if (pid < 0) {
+            break;
+        }
+        if (pid == 0) {
+            runChild(timeLimitMs, memoryLimitBytes);
+        }
+
+        // 벽시계 제한은 부모가 직접 건다 (대기 상태로 CPU를 쓰지 않는 경우)
+        int status = 0;
+        struct rusage usage = {};
+        bool wallTimeout = false;
+        long deadline = nowMs() + wallLimitMs;
+        while (wait4(pid, &status, WNOHANG, &usage) == 0) {
+            if (nowMs() >= deadline) {
+                kill(-pid, SIGKILL);
+                kill(pid, SIGKILL);
+                wait4(pid, &status, 0, &usage);
+                wallTimeout = true;
+                break;
+            }
+            usleep(2000);
+        }
+        // 사용자 코드가 남긴 하위 프로세스 정리
+        kill(-pid, SIGKILL);
+
+        long cpuMs = (usage.ru_utime.tv_sec + usage.ru_stime.tv_sec) * 1000L
+                + (usage.ru_utime.tv_usec + usage.ru_stime.tv_usec) / 1000L;
+        int exitCode = WIFEXITED(status) ? WEXITSTATUS(status) : -1;
+        const char* sig = wallTimeout ? "SIGKILL" : WIFSIGNALED(status) ? signalName(WTERMSIG(status)) : "-";
+
+        writeLine("@@CASE " + marker + " " + std::to_string(idx) + " " + std::to_string(exitCode) + " " + sig + " "
+                + std::to_string(cpuMs) + " " + std::to_string(usage.ru_maxrss) + " "
+                + base64(readFile("__coai_out")) + " " + base64(readFile("__coai_err")) + "\n");
+    }
+    return 0;
+}
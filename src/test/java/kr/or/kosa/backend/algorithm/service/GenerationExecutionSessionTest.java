@@ -0,0 +1,188 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 문제 생성 실행 세션 검증
+ *
+ * (코드, 입력) 단위 재사용 여부(covers)와, 재사용한 원시 결과를 요청한 기대 출력/제한으로 다시 판정(verdictOf)하는지 확인한다
+ */
+class GenerationExecutionSessionTest {
+
+    private static final String CODE = "print(input())";
+    private static final int LANGUAGE_ID = 71;
+    private static final int MEMORY_KB = 262144;
+
+    private final CodeExecutorService codeExecutorService = mock(CodeExecutorService.class);
+    // 입력별로 채점 서버가 돌려줄 케이스 결과 (result, actualOutput, executionTime, memoryUsage)
+    private final Map<String, TestRunResponseDto.TestCaseResultDto> responses = new HashMap<>();
+    private final List<List<String>> executedInputs = new ArrayList<>();
+    private GenerationExecutionSession session;
+
+    @BeforeEach
+    void setUp() {
+        when(codeExecutorService.judgeCode(anyString(), any(), anyList(), any(), any())).thenAnswer(invocation -> {
+            List<AlgoTestcaseDto> cases = invocation.getArgument(2);
+            List<String> inputs = cases.stream().map(AlgoTestcaseDto::getInputData).toList();
+            executedInputs.add(inputs);
+            return CompletableFuture.completedFuture(TestRunResponseDto.builder()
+                    .testCaseResults(inputs.stream().map(responses::get).toList())
+                    .build());
+        });
+        session = new GenerationExecutionSession(codeExecutorService);
+    }
+
+    @Test
+    void reusesRunAndRejudgesAgainstRequestedExpectedOutput() throws Exception {
+        respond("1", "AC", "1", 100, 10_000);
+        respond("2", "AC", "2", 100, 10_000);
+
+        TestRunResponseDto first = judge(1000, MEMORY_KB, testcase("1", "1"), testcase("2", "2"));
+        TestRunResponseDto second = judge(1000, MEMORY_KB, testcase("1", "1"), testcase("2", "3"));
+
+        assertThat(first.getOverallResult()).isEqualTo("AC");
+        assertThat(verdicts(second)).containsExactly("AC", "WA");
+        assertThat(second.getOverallResult()).isEqualTo("WA");
+        assertThat(executedInputs).containsExactly(List.of("1", "2"));
+    }
+
+    @Test
+    void runsOnlyCasesNotSeenBefore() throws Exception {
+        respond("1", "AC", "1", 100, 10_000);
+        respond("2", "AC", "2", 100, 10_000);
+
+        judge(1000, MEMORY_KB, testcase("1", "1"));
+        judge(1000, MEMORY_KB, testcase("1", "1"), testcase("2", "2"));
+
+        assertThat(executedInputs).containsExactly(List.of("1"), List.of("2"));
+    }
+
+    @Test
+    void runWithLongerLimitCoversShorterLimitAndJudgesTleFromTime() throws Exception {
+        respond("1", "AC", "1", 1500, 10_000);
+
+        TestRunResponseDto generous = judge(2000, MEMORY_KB, testcase("1", "1"));
+        TestRunResponseDto strict = judge(1000, MEMORY_KB, testcase("1", "1"));
+
+        assertThat(generous.getOverallResult()).isEqualTo("AC");
+        assertThat(verdicts(strict)).containsExactly("TLE");
+        assertThat(strict.getMaxExecutionTime()).isEqualTo(1000);
+        assertThat(executedInputs).hasSize(1);
+    }
+
+    @Test
+    void timeoutUnderShorterLimitIsRerunWithLongerLimit() throws Exception {
+        respond("1", "TLE", "", 1000, 10_000);
+        TestRunResponseDto strict = judge(1000, MEMORY_KB, testcase("1", "1"));
+
+        respond("1", "AC", "1", 1500, 10_000);
+        TestRunResponseDto generous = judge(2000, MEMORY_KB, testcase("1", "1"));
+
+        assertThat(verdicts(strict)).containsExactly("TLE");
+        assertThat(verdicts(generous)).containsExactly("AC");
+        assertThat(executedInputs).hasSize(2);
+    }
+
+    @Test
+    void finishedRunCoversLongerLimits() throws Exception {
+        respond("1", "RE", "", 10, 10_000);
+
+        judge(1000, MEMORY_KB, testcase("1", "1"));
+        TestRunResponseDto generous = judge(5000, MEMORY_KB * 2, testcase("1", "1"));
+
+        assertThat(verdicts(generous)).containsExactly("RE");
+        assertThat(executedInputs).hasSize(1);
+    }
+
+    @Test
+    void memoryOverRequestedLimitIsMleWithMinimumFloor() throws Exception {
+        respond("1", "AC", "1", 100, 200_000);
+
+        TestRunResponseDto generous = judge(1000, MEMORY_KB, testcase("1", "1"));
+        // 128MB 밑으로 요청해도 채점 서버 최소 제한(128MB)으로 판정
+        TestRunResponseDto tight = judge(1000, 64 * 1024, testcase("1", "1"));
+
+        assertThat(verdicts(generous)).containsExactly("AC");
+        assertThat(verdicts(tight)).containsExactly("MLE");
+        assertThat(executedInputs).hasSize(1);
+    }
+
+    @Test
+    void serverErrorIsNotRemembered() throws Exception {
+        respond("1", "ERROR", null, null, null);
+        TestRunResponseDto failed = judge(1000, MEMORY_KB, testcase("1", "1"));
+
+        respond("1", "AC", "1", 100, 10_000);
+        TestRunResponseDto retried = judge(1000, MEMORY_KB, testcase("1", "1"));
+
+        assertThat(verdicts(failed)).containsExactly("ERROR");
+        assertThat(verdicts(retried)).containsExactly("AC");
+        assertThat(executedInputs).hasSize(2);
+    }
+
+    @Test
+    void concurrentRequestsShareInFlightRun() throws Exception {
+        CompletableFuture<TestRunResponseDto> pending = new CompletableFuture<>();
+        doReturn(pending).when(codeExecutorService).judgeCode(anyString(), any(), anyList(), any(), any());
+
+        CompletableFuture<TestRunResponseDto> first = session.judgeCode(CODE, LANGUAGE_ID,
+                List.of(testcase("1", "1")), 1000, MEMORY_KB);
+        CompletableFuture<TestRunResponseDto> second = session.judgeCode(CODE, LANGUAGE_ID,
+                List.of(testcase("1", "2")), 1000, MEMORY_KB);
+        pending.complete(TestRunResponseDto.builder()
+                .testCaseResults(List.of(caseResult("AC", "1", 100, 10_000)))
+                .build());
+
+        assertThat(verdicts(first.get(5, TimeUnit.SECONDS))).containsExactly("AC");
+        assertThat(verdicts(second.get(5, TimeUnit.SECONDS))).containsExactly("WA");
+        verify(codeExecutorService, times(1)).judgeCode(anyString(), any(), anyList(), any(), any());
+    }
+
+    private TestRunResponseDto judge(int timeLimit, int memoryLimit, AlgoTestcaseDto... testCases) throws Exception {
+        return session.judgeCode(CODE, LANGUAGE_ID, List.of(testCases), timeLimit, memoryLimit)
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private void respond(String input, String result, String output, Integer time, Integer memory) {
+        responses.put(input, caseResult(result, output, time, memory));
+    }
+
+    private TestRunResponseDto.TestCaseResultDto caseResult(String result, String output, Integer time, Integer memory) {
+        return TestRunResponseDto.TestCaseResultDto.builder()
+                .result(result)
+                .actualOutput(output)
+                .executionTime(time)
+                .memoryUsage(memory)
+                .build();
+    }
+
+    private List<String> verdicts(TestRunResponseDto response) {
+        return response.getTestCaseResults().stream()
+                .map(TestRunResponseDto.TestCaseResultDto::getResult)
+                .toList();
+    }
+
+    private AlgoTestcaseDto testcase(String input, String expected) {
+        return AlgoTestcaseDto.builder().inputData(input).expectedOutput(expected).build();
+    }
+}
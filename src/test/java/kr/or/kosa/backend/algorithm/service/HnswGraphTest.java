@@ -0,0 +1,183 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 인메모리 HNSW 그래프 검증
+ *
+ * 전수 비교 대비 재현율, 같은 ID 교체, 삭제, 필터 검색(전수/그래프 경로)을 확인한다
+ */
+class HnswGraphTest {
+
+    private static final int DIMENSION = 32;
+    private static final int COUNT = 2000;
+    private static final int K = 10;
+
+    private final Random random = new Random(42);
+    private final List<float[]> vectors = new ArrayList<>();
+    private HnswGraph<Integer> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new HnswGraph<>(16, 200, 50);
+        for (int i = 0; i < COUNT; i++) {
+            float[] vector = randomVector();
+            vectors.add(vector);
+            graph.upsert(id(i), vector, i);
+        }
+    }
+
+    @Test
+    void recallAgainstBruteForce() {
+        int queries = 100;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector();
+            Set<String> expected = new HashSet<>(bruteForce(query, K, null));
+
+            for (HnswGraph.Match<Integer> match : graph.search(query, K, 100, -1.0, null)) {
+                if (expected.contains(match.id())) {
+                    hits++;
+                }
+            }
+        }
+
+        assertThat((double) hits / (queries * K)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void resultsAreSortedAndRespectMinScore() {
+        float[] query = vectors.get(7);
+
+        List<HnswGraph.Match<Integer>> matches = graph.search(query, K, 100, 0.3, null);
+
+        assertThat(matches.get(0).id()).isEqualTo(id(7));
+        assertThat(matches.get(0).score()).isCloseTo(1.0, within(1e-5));
+        assertThat(matches).extracting(HnswGraph.Match::score)
+                .isSortedAccordingTo(Comparator.reverseOrder())
+                .allSatisfy(score -> assertThat(score).isGreaterThanOrEqualTo(0.3));
+    }
+
+    @Test
+    void upsertReplacesVectorAndPayload() {
+        float[] replacement = randomVector();
+
+        graph.upsert(id(3), replacement, -3);
+
+        List<HnswGraph.Match<Integer>> matches = graph.search(replacement, K, 100, -1.0, null);
+        assertThat(matches.get(0).id()).isEqualTo(id(3));
+        assertThat(matches.get(0).payload()).isEqualTo(-3);
+        assertThat(matches).extracting(HnswGraph.Match::id).containsOnlyOnce(id(3));
+        assertThat(graph.search(vectors.get(3), K, 100, -1.0, null))
+                .noneMatch(match -> match.id().equals(id(3)) && match.payload() == 3);
+        assertThat(graph.size()).isEqualTo(COUNT);
+        assertThat(graph.deletedRatio()).isCloseTo(1.0 / (COUNT + 1), within(1e-9));
+    }
+
+    @Test
+    void removedNodeIsNeverReturnedButGraphStaysNavigable() {
+        Set<String> removed = new HashSet<>();
+        for (int i = 0; i < COUNT; i += 4) {
+            graph.remove(id(i));
+            removed.add(id(i));
+        }
+        graph.remove("missing");
+
+        for (int q = 0; q < 20; q++) {
+            float[] query = vectors.get(q * 4);
+            List<HnswGraph.Match<Integer>> matches = graph.search(query, K, 100, -1.0, null);
+
+            assertThat(matches).hasSize(K);
+            assertThat(matches).extracting(HnswGraph.Match::id).doesNotContainAnyElementsOf(removed);
+        }
+        assertThat(graph.size()).isEqualTo(COUNT - COUNT / 4);
+    }
+
+    @Test
+    void narrowFilterUsesExactSearch() {
+        // 필터 통과 노드 40개 (exactSearchLimit 50 이하) - 전수 비교와 결과가 같아야 한다
+        Predicate<Integer> filter = payload -> payload % 50 == 0;
+        float[] query = randomVector();
+
+        List<HnswGraph.Match<Integer>> matches = graph.search(query, K, 100, -1.0, filter);
+
+        assertThat(matches).extracting(HnswGraph.Match::id)
+                .containsExactlyInAnyOrderElementsOf(bruteForce(query, K, filter));
+    }
+
+    @Test
+    void wideFilterOnlyReturnsAdmittedNodes() {
+        Predicate<Integer> filter = payload -> payload % 2 == 0;
+        float[] query = randomVector();
+
+        List<HnswGraph.Match<Integer>> matches = graph.search(query, K, 200, -1.0, filter);
+
+        assertThat(matches).hasSize(K);
+        assertThat(matches).extracting(HnswGraph.Match::payload).allMatch(filter);
+    }
+
+    @Test
+    void dimensionMismatchIsRejected() {
+        assertThatThrownBy(() -> graph.upsert("other", new float[DIMENSION + 1], 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> graph.search(new float[DIMENSION - 1], K, 100, -1.0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyGraphReturnsNothing() {
+        HnswGraph<Integer> empty = new HnswGraph<>(16, 200, 50);
+
+        assertThat(empty.search(randomVector(), K, 100, -1.0, null)).isEmpty();
+        assertThat(empty.size()).isZero();
+        assertThat(empty.deletedRatio()).isZero();
+    }
+
+    private List<String> bruteForce(float[] query, int k, Predicate<Integer> filter) {
+        return IntStream.range(0, COUNT)
+                .filter(i -> filter == null || filter.test(i))
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> cosine(query, vectors.get(i))).reversed())
+                .limit(k)
+                .map(this::id)
+                .toList();
+    }
+
+    private double cosine(float[] a, float[] b) {
+        double dot = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private String id(int index) {
+        return "problem-" + index;
+    }
+}
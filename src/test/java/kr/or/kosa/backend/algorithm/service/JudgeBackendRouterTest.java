@@ -0,0 +1,174 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import kr.or.kosa.backend.algorithm.dto.LanguageDto;
+import kr.or.kosa.backend.algorithm.dto.response.TestRunResponseDto;
+import kr.or.kosa.backend.config.JudgeRouterConfig.JudgeRouterProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * 채점 서버 선택 검증
+ *
+ * 실제 채점 요청 대신 선택된 서버 ID를 기록하는 호출을 넘겨,
+ * 지연시간/포화/서킷/언어 지원 여부에 따라 어떤 서버가 선택되는지 확인한다
+ */
+class JudgeBackendRouterTest {
+
+    private static final LanguageDto PYTHON = LanguageDto.builder()
+            .languageId(71).languageName("Python").pistonLanguage("python").build();
+    private static final LanguageDto JUDGE0_ONLY = LanguageDto.builder()
+            .languageId(999).languageName("Judge0 Only").build();
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void prefersBackendWithLowerObservedLatency() {
+        JudgeBackendRouter router = router(true, backend("slow", "judge0", 4), backend("fast", "judge0", 4));
+
+        // 관측값이 없으면 목록 순서대로 시도하므로 slow가 먼저 한 번 관측된다
+        route(router, PYTHON, backend -> "slow".equals(backend.getId())
+                ? Mono.delay(Duration.ofMillis(100)).thenReturn(accepted())
+                : Mono.just(accepted()));
+        route(router, PYTHON, backend -> Mono.just(accepted()));
+        route(router, PYTHON, backend -> Mono.just(accepted()));
+
+        assertThat(calls).containsExactly("slow", "fast", "fast");
+    }
+
+    @Test
+    void skipsSaturatedBackend() {
+        JudgeBackendRouter router = router(true, backend("first", "judge0", 1), backend("second", "judge0", 1));
+
+        Disposable pending = router.route(PYTHON, 1, backend -> {
+            calls.add(backend.getId());
+            return Mono.<TestRunResponseDto>never();
+        }).subscribe();
+        route(router, PYTHON, backend -> Mono.just(accepted()));
+        pending.dispose();
+
+        assertThat(calls).containsExactly("first", "second");
+    }
+
+    @Test
+    void failsOverWhenBackendCouldNotJudge() {
+        JudgeBackendRouter router = router(true, backend("broken", "judge0", 4), backend("healthy", "judge0", 4));
+
+        TestRunResponseDto result = route(router, PYTHON, backend -> Mono.just(
+                "broken".equals(backend.getId()) ? serverError() : accepted()));
+
+        assertThat(calls).containsExactly("broken", "healthy");
+        assertThat(result.getOverallResult()).isEqualTo("AC");
+    }
+
+    @Test
+    void returnsServerErrorResultWhenFailoverIsDisabled() {
+        JudgeBackendRouter router = router(false, backend("broken", "judge0", 4), backend("healthy", "judge0", 4));
+
+        TestRunResponseDto result = route(router, PYTHON, backend -> Mono.just(serverError()));
+
+        assertThat(calls).containsExactly("broken");
+        assertThat(result.getOverallResult()).isEqualTo("ERROR");
+    }
+
+    @Test
+    void opensCircuitAfterConsecutiveFailures() {
+        JudgeRouterProperties properties = properties(false, backend("flaky", "judge0", 4), backend("stable", "judge0", 4));
+        // 오류율 가중치를 없애 첫 실패 뒤에도 flaky가 계속 선택되도록 한다
+        properties.setErrorPenalty(0);
+        JudgeBackendRouter router = router(properties);
+
+        for (int i = 0; i < 2; i++) {
+            router.route(PYTHON, 1, backend -> {
+                calls.add(backend.getId());
+                return Mono.<TestRunResponseDto>error(new IllegalStateException("connection refused"));
+            }).onErrorResume(e -> Mono.empty()).block();
+        }
+        // flaky는 연속 두 번 실패로 차단되어 후보에서 빠진다
+        route(router, PYTHON, backend -> Mono.just(accepted()));
+
+        assertThat(calls).containsExactly("flaky", "flaky", "stable");
+    }
+
+    @Test
+    void choosesOnlyBackendsSupportingLanguage() {
+        JudgeBackendRouter router = router(true, backend("piston", "piston", 4), backend("judge0", "judge0", 4));
+
+        route(router, JUDGE0_ONLY, backend -> Mono.just(accepted()));
+
+        assertThat(calls).containsExactly("judge0");
+    }
+
+    @Test
+    void rejectsLanguageWithoutSupportingBackend() {
+        JudgeBackendRouter router = router(true, backend("piston", "piston", 4));
+
+        assertThatThrownBy(() -> router.route(JUDGE0_ONLY, 1, backend -> Mono.just(accepted())).block())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(router.getTotalCapacity()).isEqualTo(4);
+    }
+
+    private TestRunResponseDto route(JudgeBackendRouter router, LanguageDto language,
+                                     Function<JudgeBackend, Mono<TestRunResponseDto>> call) {
+        return router.route(language, 1, backend -> {
+            calls.add(backend.getId());
+            return call.apply(backend);
+        }).block(Duration.ofSeconds(5));
+    }
+
+    private JudgeBackendRouter router(boolean failover, JudgeRouterProperties.Backend... backends) {
+        return router(properties(failover, backends));
+    }
+
+    private JudgeRouterProperties properties(boolean failover, JudgeRouterProperties.Backend... backends) {
+        JudgeRouterProperties properties = new JudgeRouterProperties();
+        properties.setBackends(List.of(backends));
+        properties.setFailoverEnabled(failover);
+        properties.getCircuit().setFailureThreshold(2);
+        properties.getCircuit().setOpenDurationMs(60_000);
+        return properties;
+    }
+
+    private JudgeBackendRouter router(JudgeRouterProperties properties) {
+        JudgeBackendRouter router = new JudgeBackendRouter(properties, WebClient.create(), WebClient.create());
+        router.initBackends();
+        return router;
+    }
+
+    private JudgeRouterProperties.Backend backend(String id, String type, int maxInFlight) {
+        JudgeRouterProperties.Backend backend = new JudgeRouterProperties.Backend();
+        backend.setId(id);
+        backend.setType(type);
+        backend.setMaxInFlight(maxInFlight);
+        return backend;
+    }
+
+    private TestRunResponseDto accepted() {
+        return result("AC", "AC");
+    }
+
+    private TestRunResponseDto serverError() {
+        return result("ERROR", "ERROR");
+    }
+
+    private TestRunResponseDto result(String overall, String caseResult) {
+        return TestRunResponseDto.builder()
+                .overallResult(overall)
+                .passedCount("AC".equals(caseResult) ? 1 : 0)
+                .totalCount(1)
+                .testCaseResults(List.of(TestRunResponseDto.TestCaseResultDto.builder()
+                        .testCaseNumber(1)
+                        .result(caseResult)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import kr.or.kosa.backend.algorithm.dto.JudgeJobDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgeLane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * 채점 대기열 소비자 검증 (Redis Streams)
+ *
+ * 동시 실행 한도만큼만 작업을 시작하고, 사용자별 한도를 넘은 작업은 레인 뒤로 밀려
+ * 다른 사용자 작업이 먼저 처리되는지 확인한다
+ * (레인은 PRACTICE 하나뿐이므로 레인 간 우선순위 대신 레인 안의 순서를 본다)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class JudgeQueueWorkerIntegrationTest {
+
+    private static final String JOB_TYPE = "TEST";
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private JudgeQueueWorker worker;
+
+    private final BlockingQueue<JudgeJobDto> started = new LinkedBlockingQueue<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (worker != null) {
+            worker.stop();
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void jobsOverPerUserLimitAreDeferredBehindOtherUsers() throws Exception {
+        enqueue(1L, 100L);
+        enqueue(2L, 100L);
+        enqueue(3L, 100L);
+        enqueue(4L, 200L);
+        startWorker(4, 2);
+
+        List<Long> firstWave = takeTargets(3);
+        assertThat(firstWave).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(started.poll(300, TimeUnit.MILLISECONDS)).isNull();
+
+        release.countDown();
+        JudgeJobDto deferred = started.poll(5, TimeUnit.SECONDS);
+        assertThat(deferred).isNotNull();
+        assertThat(deferred.getTargetId()).isEqualTo(3L);
+        assertThat(deferred.getDeferCount()).isPositive();
+        assertThat(worker.getDeferred()).isPositive();
+    }
+
+    @Test
+    void concurrencyLimitBoundsInFlightJobs() throws Exception {
+        for (long targetId = 1; targetId <= 4; targetId++) {
+            enqueue(targetId, 100L + targetId);
+        }
+        startWorker(2, 2);
+
+        assertThat(takeTargets(2)).containsExactly(1L, 2L);
+        assertThat(started.poll(300, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(worker.getInFlight()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(takeTargets(2)).containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    @Test
+    void jobsInLaneStartInEnqueueOrder() throws Exception {
+        startWorker(1, 2);
+        for (long targetId = 1; targetId <= 3; targetId++) {
+            enqueue(targetId, 100L + targetId);
+        }
+        release.countDown();
+
+        assertThat(takeTargets(3)).containsExactly(1L, 2L, 3L);
+    }
+
+    private void startWorker(int concurrency, int perUserLimit) {
+        JudgeBackendRouter router = mock(JudgeBackendRouter.class);
+        when(router.getTotalCapacity()).thenReturn(concurrency);
+        JudgeJobHandler handler = new JudgeJobHandler() {
+            @Override
+            public String jobType() {
+                return JOB_TYPE;
+            }
+
+            @Override
+            public void handle(JudgeJobDto job) {
+                started.add(job);
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onDeadLetter(JudgeJobDto job) {
+            }
+        };
+
+        worker = new JudgeQueueWorker(redisTemplate, mock(CodeExecutorService.class), router,
+                Runnable::run, List.of(handler));
+        ReflectionTestUtils.setField(worker, "enabled", true);
+        ReflectionTestUtils.setField(worker, "consumerName", "test-node");
+        ReflectionTestUtils.setField(worker, "configuredConcurrency", 0);
+        ReflectionTestUtils.setField(worker, "perUserLimit", perUserLimit);
+        ReflectionTestUtils.setField(worker, "pollIntervalMs", 20L);
+        ReflectionTestUtils.setField(worker, "reclaimIdleMs", 300_000L);
+        ReflectionTestUtils.setField(worker, "maxDeliveries", 3);
+        worker.start();
+    }
+
+    private void enqueue(Long targetId, Long userId) {
+        JudgeJobDto job = JudgeJobDto.builder()
+                .jobType(JOB_TYPE)
+                .lane(JudgeLane.PRACTICE)
+                .targetId(targetId)
+                .userId(userId)
+                .enqueuedAt(System.currentTimeMillis())
+                .build();
+        redisTemplate.opsForStream().add(
+                StreamRecords.newRecord().in(JudgeLane.PRACTICE.getStreamKey()).ofMap(job.toStreamFields()));
+    }
+
+    private List<Long> takeTargets(int count) throws InterruptedException {
+        List<Long> targets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            JudgeJobDto job = started.poll(5, TimeUnit.SECONDS);
+            assertThat(job).as("작업 %d 시작 대기", i + 1).isNotNull();
+            targets.add(job.getTargetId());
+        }
+        return targets;
+    }
+}
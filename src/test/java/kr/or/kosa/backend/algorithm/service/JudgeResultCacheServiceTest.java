@@ -0,0 +1,79 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.or.kosa.backend.algorithm.dto.AlgoTestcaseDto;
+import kr.or.kosa.backend.algorithm.dto.enums.JudgePolicy;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 채점 결과 캐시 키 구성 검증
+ *
+ * 결과에 영향을 주는 값이 하나라도 다르면 키가 달라야 하고,
+ * 줄바꿈/후행 공백처럼 결과에 영향이 없는 소스 차이는 같은 키가 되어야 한다
+ */
+class JudgeResultCacheServiceTest {
+
+    private static final String SOURCE = "print(int(input()) * 2)\n";
+
+    private final JudgeResultCacheService cacheService = new JudgeResultCacheService(null, new ObjectMapper());
+
+    @Test
+    void sameInputsProduceSameKey() {
+        assertThat(key(SOURCE, 71, cases("1", "2"), 1000, 262144, JudgePolicy.FULL))
+                .isEqualTo(key(SOURCE, 71, cases("1", "2"), 1000, 262144, JudgePolicy.FULL))
+                .startsWith("algo:judge-cache:v1:");
+    }
+
+    @Test
+    void lineEndingsAndTrailingWhitespaceAreNormalized() {
+        String crlf = "print(int(input()) * 2)   \r\n\r\n";
+
+        assertThat(key(crlf, 71, cases("1", "2"), 1000, 262144, JudgePolicy.FULL))
+                .isEqualTo(key(SOURCE, 71, cases("1", "2"), 1000, 262144, JudgePolicy.FULL));
+    }
+
+    @Test
+    void everyResultAffectingFieldChangesKey() {
+        String base = key(SOURCE, 71, cases("1", "2"), 1000, 262144, JudgePolicy.FULL);
+
+        assertThat(List.of(
+                key("print(int(input()) * 3)\n", 71, cases("1", "2"), 1000, 262144, JudgePolicy.FULL),
+                key(SOURCE, 62, cases("1", "2"), 1000, 262144, JudgePolicy.FULL),
+                key(SOURCE, 71, cases("1", "3"), 1000, 262144, JudgePolicy.FULL),
+                key(SOURCE, 71, cases("2", "2"), 1000, 262144, JudgePolicy.FULL),
+                key(SOURCE, 71, cases("1", "2"), 2000, 262144, JudgePolicy.FULL),
+                key(SOURCE, 71, cases("1", "2"), 1000, 131072, JudgePolicy.FULL),
+                key(SOURCE, 71, cases("1", "2"), 1000, 262144, JudgePolicy.STOP_ON_FIRST_FAILURE)))
+                .doesNotContain(base)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testcaseOrderAndBoundariesMatter() {
+        List<AlgoTestcaseDto> ordered = List.of(testcase("1", "2"), testcase("2", "4"));
+        List<AlgoTestcaseDto> reversed = List.of(testcase("2", "4"), testcase("1", "2"));
+        // 필드 경계를 옮겨 이어 붙이면 같은 문자열이 되는 경우
+        List<AlgoTestcaseDto> shifted = List.of(testcase("12", ""), testcase("2", "4"));
+
+        String base = key(SOURCE, 71, ordered, 1000, 262144, JudgePolicy.FULL);
+        assertThat(key(SOURCE, 71, reversed, 1000, 262144, JudgePolicy.FULL)).isNotEqualTo(base);
+        assertThat(key(SOURCE, 71, shifted, 1000, 262144, JudgePolicy.FULL)).isNotEqualTo(base);
+    }
+
+    private String key(String source, Integer languageId, List<AlgoTestcaseDto> testCases,
+                       Integer timeLimit, Integer memoryLimit, JudgePolicy policy) {
+        return cacheService.buildKey(source, languageId, testCases, timeLimit, memoryLimit, policy);
+    }
+
+    private List<AlgoTestcaseDto> cases(String input, String expected) {
+        return List.of(testcase(input, expected));
+    }
+
+    private AlgoTestcaseDto testcase(String input, String expected) {
+        return AlgoTestcaseDto.builder().inputData(input).expectedOutput(expected).build();
+    }
+}
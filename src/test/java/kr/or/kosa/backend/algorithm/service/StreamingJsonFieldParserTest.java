@@ -0,0 +1,158 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+/**
+ * LLM 스트리밍 점진적 JSON 파서 검증
+ *
+ * 응답을 어느 위치에서 잘라 보내도(이스케이프/유니코드/배열 원소 중간 포함) 같은 필드와 원소를 알리는지 확인한다
+ */
+class StreamingJsonFieldParserTest {
+
+    private static final String RESPONSE = """
+            ```json
+            {
+              "title": "두 수의 합",
+              "description": "첫 줄에 \\"A B\\"가 주어진다.\\n합을 출력하라 \\uAC00 {not json}",
+              "timeLimit": 1000,
+              "tags": ["math", "implementation"],
+              "testCases": [
+                {"input": "1 2\\n", "output": "3", "meta": {"note": "brace } in string"}},
+                {"input": "[5, 6]", "output": "11"}
+              ],
+              "optimalCode": "print(sum(map(int, input().split())))"
+            }
+            ```
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void wholeResponseInOneChunk() {
+        Recorder recorder = new Recorder();
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser(objectMapper, recorder);
+
+        parser.feed(RESPONSE);
+
+        assertExpected(recorder);
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    void everySplitPointGivesSameResult() {
+        for (int split = 0; split <= RESPONSE.length(); split++) {
+            Recorder recorder = new Recorder();
+            StreamingJsonFieldParser parser = new StreamingJsonFieldParser(objectMapper, recorder);
+
+            parser.feed(RESPONSE.substring(0, split));
+            parser.feed(RESPONSE.substring(split));
+
+            assertExpected(recorder);
+            assertThat(parser.isComplete()).isTrue();
+        }
+    }
+
+    @Test
+    void singleCharacterChunksGiveSameResult() {
+        Recorder recorder = new Recorder();
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser(objectMapper, recorder);
+
+        for (int i = 0; i < RESPONSE.length(); i++) {
+            parser.feed(String.valueOf(RESPONSE.charAt(i)));
+        }
+
+        assertExpected(recorder);
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    void fieldIsReportedAsSoonAsItCloses() {
+        Recorder recorder = new Recorder();
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser(objectMapper, recorder);
+
+        parser.feed("{\"title\": \"두 수");
+        assertThat(recorder.fields).isEmpty();
+
+        parser.feed("의 합\", \"testCases\": [{\"input\": \"1\"");
+        assertThat(recorder.fields).containsExactly(Map.entry("title", "두 수의 합"));
+        assertThat(recorder.elements).isEmpty();
+
+        parser.feed(", \"output\": \"1\"}, {\"inp");
+        assertThat(recorder.elements).hasSize(1);
+        assertThat(recorder.elements.get(0).get("input").asText()).isEqualTo("1");
+        assertThat(parser.isComplete()).isFalse();
+    }
+
+    @Test
+    void brokenElementIsSkippedAndIndexStillAdvances() {
+        Recorder recorder = new Recorder();
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser(objectMapper, recorder);
+
+        parser.feed("{\"testCases\": [{\"input\": 1 2}, {\"input\": \"ok\"}]}");
+
+        assertThat(recorder.indexes).containsExactly(1);
+        assertThat(recorder.elements.get(0).get("input").asText()).isEqualTo("ok");
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    void listenerFailureDoesNotStopParsing() {
+        List<String> keys = new ArrayList<>();
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser(objectMapper, new StreamingJsonFieldParser.Listener() {
+            @Override
+            public void onField(String key, String value) {
+                keys.add(key);
+                throw new IllegalStateException("boom");
+            }
+
+            @Override
+            public void onArrayElement(String key, int index, JsonNode element) {
+            }
+        });
+
+        parser.feed("{\"title\": \"a\", \"description\": \"b\"}");
+
+        assertThat(keys).containsExactly("title", "description");
+    }
+
+    private void assertExpected(Recorder recorder) {
+        assertThat(recorder.fields).containsExactly(
+                Map.entry("title", "두 수의 합"),
+                Map.entry("description", "첫 줄에 \"A B\"가 주어진다.\n합을 출력하라 가 {not json}"),
+                Map.entry("optimalCode", "print(sum(map(int, input().split())))"));
+        assertThat(recorder.keys).containsOnly("testCases");
+        assertThat(recorder.indexes).containsExactly(0, 1);
+        assertThat(recorder.elements.get(0).get("input").asText()).isEqualTo("1 2\n");
+        assertThat(recorder.elements.get(0).path("meta").path("note").asText()).isEqualTo("brace } in string");
+        assertThat(recorder.elements.get(1).get("input").asText()).isEqualTo("[5, 6]");
+        assertThat(recorder.elements.get(1).get("output").asText()).isEqualTo("11");
+    }
+
+    private static class Recorder implements StreamingJsonFieldParser.Listener {
+        private final Map<String, String> fields = new LinkedHashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<JsonNode> elements = new ArrayList<>();
+
+        @Override
+        public void onField(String key, String value) {
+            fields.put(key, value);
+        }
+
+        @Override
+        public void onArrayElement(String key, int index, JsonNode element) {
+            keys.add(key);
+            indexes.add(index);
+            elements.add(element);
+        }
+    }
+}
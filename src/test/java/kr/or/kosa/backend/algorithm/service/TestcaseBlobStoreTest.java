@@ -0,0 +1,147 @@
+package kr.or.kosa.backend.algorithm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * 테스트케이스 원문 저장소 검증
+ *
+ * 로컬 디스크 저장/조회, S3 업로드 여부 판단(HEAD), 로컬 파일이 없는 노드에서의 S3 다운로드를 확인한다
+ */
+class TestcaseBlobStoreTest {
+
+    private static final String CONTENT = "3\n1 2 3\n한글 입력\n";
+
+    @TempDir
+    Path localDir;
+
+    @TempDir
+    Path otherNodeDir;
+
+    @Test
+    void storesLocallyAndReadsBack() throws IOException {
+        TestcaseBlobStore store = store(localDir, null, false);
+
+        String key = store.put(CONTENT);
+
+        assertThat(store.put(CONTENT)).isEqualTo(key);
+        assertThat(key).hasSize(64);
+        assertThat(store.get(key, null)).isEqualTo(CONTENT);
+        assertThat(countFiles(localDir)).isEqualTo(1);
+        assertThat(store.isDurable()).isFalse();
+    }
+
+    @Test
+    void readsWithKnownOriginalSize() throws IOException {
+        TestcaseBlobStore store = store(localDir, null, false);
+
+        String key = store.put(CONTENT);
+
+        assertThat(store.get(key, CONTENT.getBytes(StandardCharsets.UTF_8).length)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void missingKeyWithoutS3Fails() throws IOException {
+        TestcaseBlobStore store = store(localDir, null, false);
+
+        assertThatThrownBy(() -> store.get("ab" + "0".repeat(62), null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void uploadsToS3OnlyWhenObjectIsMissing() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().build())
+                .thenReturn(HeadObjectResponse.builder().build());
+        TestcaseBlobStore store = store(localDir, s3Client, true);
+
+        String key = store.put(CONTENT);
+        store.put(CONTENT);
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(request.capture(), any(RequestBody.class));
+        assertThat(request.getValue().bucket()).isEqualTo("bucket");
+        assertThat(request.getValue().key()).isEqualTo("testcases/" + key + ".zst");
+        assertThat(store.isDurable()).isTrue();
+    }
+
+    @Test
+    void reuploadsWhenLocalFileExistsButS3ObjectIsMissing() throws IOException {
+        TestcaseBlobStore localOnly = store(localDir, null, false);
+        localOnly.put(CONTENT);
+
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        store(localDir, s3Client, true).put(CONTENT);
+
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void downloadsFromS3WhenLocalFileIsMissing() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        String key = store(localDir, s3Client, true).put(CONTENT);
+
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(any(PutObjectRequest.class), body.capture());
+        byte[] uploaded;
+        try (InputStream in = body.getValue().contentStreamProvider().newStream()) {
+            uploaded = in.readAllBytes();
+        }
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class)))
+                .thenReturn(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), uploaded));
+
+        TestcaseBlobStore otherNode = store(otherNodeDir, s3Client, true);
+
+        assertThat(otherNode.get(key, null)).isEqualTo(CONTENT);
+        assertThat(otherNode.get(key, null)).isEqualTo(CONTENT);
+        assertThat(countFiles(otherNodeDir)).isEqualTo(1);
+        verify(s3Client).getObjectAsBytes(any(GetObjectRequest.class));
+    }
+
+    private TestcaseBlobStore store(Path dir, S3Client s3Client, boolean s3Enabled) throws IOException {
+        TestcaseBlobStore store = new TestcaseBlobStore(s3Client);
+        ReflectionTestUtils.setField(store, "localDir", dir.toString());
+        ReflectionTestUtils.setField(store, "compressionLevel", 3);
+        ReflectionTestUtils.setField(store, "cacheMaxBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(store, "s3Enabled", s3Enabled);
+        ReflectionTestUtils.setField(store, "s3Bucket", "bucket");
+        ReflectionTestUtils.setField(store, "s3Prefix", "testcases/");
+        ReflectionTestUtils.setField(store, "localDurable", false);
+        store.init();
+        return store;
+    }
+
+    private long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package kr.or.kosa.backend.battle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import kr.or.kosa.backend.battle.dto.BattleSubmitMessage;
+import kr.or.kosa.backend.battle.exception.BattleErrorCode;
+import kr.or.kosa.backend.battle.exception.BattleException;
+import kr.or.kosa.backend.battle.port.dto.BattleJudgeResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 배틀 채점 중복 제출 / 자리 예약 검증
+ *
+ * 같은 (방, 사용자, 소스) 제출은 채점이 끝날 때까지 한 번만 받고,
+ * 풀 크기 + 대기열 길이를 넘는 예약은 바로 거절하는지 확인한다
+ */
+class BattleJudgeServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger judged = new AtomicInteger();
+    private BattleJudgeService judgeService;
+
+    @BeforeEach
+    void setUp() {
+        judgeService = new BattleJudgeService(command -> {
+            judged.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return BattleJudgeResult.builder().accepted(true).verdict("AC").build();
+        });
+        ReflectionTestUtils.setField(judgeService, "threads", 1);
+        ReflectionTestUtils.setField(judgeService, "queueCapacity", 1);
+        judgeService.initExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        judgeService.shutdownExecutor();
+    }
+
+    @Test
+    void sameSubmissionIsRejectedWhileJudging() {
+        BattleSubmitMessage submit = submit("room-1", "print(1)");
+        judgeService.reserve(1L, submit);
+        judgeService.judge("match-1", 1L, submit);
+
+        assertErrorCode(() -> judgeService.reserve(1L, submit("room-1", "print(1)")), BattleErrorCode.JUDGE_IN_PROGRESS);
+        assertThat(judgeService.getStats().getDeduplicated()).isEqualTo(1L);
+    }
+
+    @Test
+    void differentSourceOrUserIsNotDeduplicated() {
+        judgeService.reserve(1L, submit("room-1", "print(1)"));
+
+        judgeService.reserve(1L, submit("room-1", "print(2)"));
+        assertThat(judgeService.getStats().getInFlight()).isEqualTo(2);
+        judgeService.release(1L, submit("room-1", "print(2)"));
+
+        judgeService.reserve(2L, submit("room-1", "print(1)"));
+        assertThat(judgeService.getStats().getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void sameSubmissionIsAcceptedAgainAfterResult() throws Exception {
+        BattleSubmitMessage submit = submit("room-1", "print(1)");
+        judgeService.reserve(1L, submit);
+        CompletableFuture<BattleJudgeResult> result = judgeService.judge("match-1", 1L, submit);
+        release.countDown();
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getVerdict()).isEqualTo("AC");
+        judgeService.reserve(1L, submit);
+        assertThat(judged.get()).isEqualTo(1);
+    }
+
+    @Test
+    void releasedReservationCanBeReservedAgain() {
+        BattleSubmitMessage submit = submit("room-1", "print(1)");
+        judgeService.reserve(1L, submit);
+        judgeService.release(1L, submit);
+
+        judgeService.reserve(1L, submit);
+        assertThat(judgeService.getStats().getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void reservationsBeyondPoolAndQueueAreRejected() {
+        judgeService.reserve(1L, submit("room-1", "a"));
+        judgeService.reserve(2L, submit("room-1", "b"));
+
+        assertErrorCode(() -> judgeService.reserve(3L, submit("room-1", "c")), BattleErrorCode.JUDGE_BUSY);
+        assertThat(judgeService.getStats().getRejected()).isEqualTo(1L);
+    }
+
+    @Test
+    void judgeWithoutReservationFails() {
+        assertThatThrownBy(() -> judgeService.judge("match-1", 1L, submit("room-1", "print(1)")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void assertErrorCode(Runnable action, BattleErrorCode errorCode) {
+        assertThatThrownBy(action::run)
+                .isInstanceOf(BattleException.class)
+                .satisfies(e -> assertThat(((BattleException) e).getErrorCode()).isEqualTo(errorCode));
+    }
+
+    private BattleSubmitMessage submit(String roomId, String source) {
+        BattleSubmitMessage message = new BattleSubmitMessage();
+        message.setRoomId(roomId);
+        message.setProblemId(10L);
+        message.setLanguageId(71L);
+        message.setSource(source);
+        return message;
+    }
+}
@@ -0,0 +1,146 @@
+package kr.or.kosa.backend.battle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.or.kosa.backend.battle.domain.BattleEventType;
+import kr.or.kosa.backend.battle.domain.BattleRoomState;
+import kr.or.kosa.backend.battle.domain.BattleStatus;
+import kr.or.kosa.backend.battle.dto.BattleLobbyDeltaResponse;
+import kr.or.kosa.backend.battle.dto.BattleLobbySnapshotResponse;
+import kr.or.kosa.backend.battle.util.BattleRedisKeyUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * 로비 요약 인덱스 Lua 스크립트 검증
+ *
+ * 내용이 바뀔 때만 seq가 오르고, 방 해시의 현재 버전과 다른(늦게 도착한) 저장은 건너뛰는지 확인한다
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BattleLobbyIndexIntegrationTest {
+
+    private static final String ROOM_ID = "room-1";
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private BattleMessageService battleMessageService;
+    private BattleLobbyIndex lobbyIndex;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        battleMessageService = mock(BattleMessageService.class);
+        lobbyIndex = new BattleLobbyIndex(redisTemplate, mock(BattleRoomStore.class), battleMessageService,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void addsThenUpdatesOnlyWhenContentChanges() {
+        lobbyIndex.sync(room("1", "first title", BattleStatus.WAITING));
+        BattleLobbyDeltaResponse added = captureDelta(BattleEventType.ROOM_ADDED);
+        assertThat(added.getSeq()).isEqualTo(1L);
+        assertThat(added.getRoom().getTitle()).isEqualTo("first title");
+
+        clearInvocations(battleMessageService);
+        lobbyIndex.sync(room("1", "first title", BattleStatus.WAITING));
+        verify(battleMessageService, never()).publishLobbyDelta(any(), any());
+
+        lobbyIndex.sync(room("2", "second title", BattleStatus.WAITING));
+        BattleLobbyDeltaResponse updated = captureDelta(BattleEventType.ROOM_UPDATED);
+        assertThat(updated.getSeq()).isEqualTo(2L);
+        assertThat(updated.getRoom().getTitle()).isEqualTo("second title");
+    }
+
+    @Test
+    void skipsSaveOlderThanCurrentRoomVersion() {
+        lobbyIndex.sync(room("1", "first title", BattleStatus.WAITING));
+        lobbyIndex.sync(room("2", "second title", BattleStatus.WAITING));
+        clearInvocations(battleMessageService);
+
+        // 버전 2 저장 뒤에 도착한 버전 1 저장
+        BattleRoomState stale = room("1", "first title", BattleStatus.WAITING);
+        markVersion(stale, "1");
+        lobbyIndex.sync(stale);
+
+        verify(battleMessageService, never()).publishLobbyDelta(any(), any());
+        BattleLobbySnapshotResponse snapshot = lobbyIndex.snapshot();
+        assertThat(snapshot.getSeq()).isEqualTo(2L);
+        assertThat(snapshot.getRooms()).singleElement()
+                .satisfies(room -> assertThat(room.getTitle()).isEqualTo("second title"));
+    }
+
+    @Test
+    void removesRoomThatLeftLobbyOnce() {
+        lobbyIndex.sync(room("1", "first title", BattleStatus.WAITING));
+        lobbyIndex.sync(room("2", "first title", BattleStatus.RUNNING));
+        BattleLobbyDeltaResponse removed = captureDelta(BattleEventType.ROOM_REMOVED);
+        assertThat(removed.getSeq()).isEqualTo(2L);
+        assertThat(removed.getRoom()).isNull();
+
+        clearInvocations(battleMessageService);
+        lobbyIndex.remove(ROOM_ID);
+        verify(battleMessageService, never()).publishLobbyDelta(any(), any());
+        assertThat(lobbyIndex.snapshot().getRooms()).isEmpty();
+    }
+
+    /**
+     * 방 해시에 버전을 기록하고 그 버전으로 읽은 상태를 만든다 (BattleRoomStore.save 이후와 같은 모양)
+     */
+    private BattleRoomState room(String version, String title, BattleStatus status) {
+        redisTemplate.opsForHash().put(BattleRedisKeyUtil.roomKey(ROOM_ID), "v", version);
+        BattleRoomState state = BattleRoomState.builder()
+                .roomId(ROOM_ID)
+                .matchId(ROOM_ID)
+                .title(title)
+                .status(status)
+                .hostUserId(1L)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .build();
+        markVersion(state, version);
+        return state;
+    }
+
+    private void markVersion(BattleRoomState state, String version) {
+        state.markPersisted(Map.of("v", version));
+    }
+
+    private BattleLobbyDeltaResponse captureDelta(BattleEventType type) {
+        ArgumentCaptor<BattleLobbyDeltaResponse> delta = ArgumentCaptor.forClass(BattleLobbyDeltaResponse.class);
+        verify(battleMessageService).publishLobbyDelta(eq(type), delta.capture());
+        return delta.getValue();
+    }
+}
@@ -0,0 +1,123 @@
+package kr.or.kosa.backend.battle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import kr.or.kosa.backend.algorithm.dto.AlgoProblemDto;
+import kr.or.kosa.backend.algorithm.dto.enums.ProblemDifficulty;
+import kr.or.kosa.backend.algorithm.mapper.AlgorithmProblemMapper;
+import kr.or.kosa.backend.battle.exception.BattleErrorCode;
+import kr.or.kosa.backend.battle.exception.BattleException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 배틀 랜덤 출제 인덱스 검증
+ *
+ * 난이도별 후보 선택, 빈 난이도의 전체 대체, 최근 출제 제외, 비활성 문제 제외와 증분 추가를 확인한다
+ */
+class BattleProblemIndexTest {
+
+    private static final int PICKS = 200;
+
+    private final AlgorithmProblemMapper mapper = mock(AlgorithmProblemMapper.class);
+    private final Set<Long> inactive = new HashSet<>();
+    private BattleProblemIndex problemIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(mapper.selectActiveProblemIdsAfter(eq(0L), anyInt())).thenReturn(List.of(
+                problem(1L, ProblemDifficulty.BRONZE),
+                problem(2L, ProblemDifficulty.BRONZE),
+                problem(3L, ProblemDifficulty.BRONZE),
+                problem(4L, ProblemDifficulty.BRONZE),
+                problem(5L, ProblemDifficulty.GOLD),
+                problem(6L, ProblemDifficulty.GOLD)));
+        when(mapper.selectProblemById(any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return inactive.contains(id) ? null : problem(id, null);
+        });
+
+        problemIndex = new BattleProblemIndex(mapper);
+        ReflectionTestUtils.setField(problemIndex, "rebuildIntervalMs", 600_000L);
+        problemIndex.init();
+    }
+
+    @Test
+    void picksOnlyFromRequestedDifficulty() {
+        assertThat(pickMany(ProblemDifficulty.GOLD, Set.of())).containsOnly(5L, 6L);
+        assertThat(pickMany(ProblemDifficulty.BRONZE, Set.of())).containsOnly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void emptyDifficultyFallsBackToAllProblems() {
+        assertThat(pickMany(ProblemDifficulty.PLATINUM, Set.of())).isSubsetOf(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(pickMany(null, Set.of())).contains(1L, 6L);
+    }
+
+    @Test
+    void recentProblemsAreAvoidedWhileOthersRemain() {
+        assertThat(pickMany(ProblemDifficulty.GOLD, Set.of(5L))).containsOnly(6L);
+        // 모두 최근 출제 문제면 그중에서라도 고른다
+        assertThat(pickMany(ProblemDifficulty.GOLD, Set.of(5L, 6L))).isSubsetOf(5L, 6L);
+    }
+
+    @Test
+    void inactivePickIsEvictedAndReplaced() {
+        inactive.add(5L);
+
+        assertThat(pickMany(ProblemDifficulty.GOLD, Set.of())).containsOnly(6L);
+        assertThat(problemIndex.size()).isEqualTo(5);
+    }
+
+    @Test
+    void throwsWhenEveryCandidateIsInactive() {
+        inactive.add(5L);
+        inactive.add(6L);
+        problemIndex.evict(1L);
+        problemIndex.evict(2L);
+        problemIndex.evict(3L);
+        problemIndex.evict(4L);
+
+        assertThatThrownBy(() -> problemIndex.pickRandom(ProblemDifficulty.GOLD, Set.of()))
+                .isInstanceOf(BattleException.class)
+                .satisfies(e -> assertThat(((BattleException) e).getErrorCode())
+                        .isEqualTo(BattleErrorCode.PROBLEM_NOT_FOUND));
+    }
+
+    @Test
+    void refreshAppendsNewProblemsAfterLastSeenId() {
+        when(mapper.selectActiveProblemIdsAfter(eq(6L), anyInt()))
+                .thenReturn(List.of(problem(7L, ProblemDifficulty.PLATINUM)));
+
+        problemIndex.refresh();
+
+        assertThat(problemIndex.size()).isEqualTo(7);
+        assertThat(pickMany(ProblemDifficulty.PLATINUM, Set.of())).containsOnly(7L);
+    }
+
+    private Set<Long> pickMany(ProblemDifficulty difficulty, Set<Long> exclude) {
+        Set<Long> picked = new HashSet<>();
+        for (int i = 0; i < PICKS; i++) {
+            picked.add(problemIndex.pickRandom(difficulty, exclude));
+        }
+        return picked;
+    }
+
+    private AlgoProblemDto problem(Long id, ProblemDifficulty difficulty) {
+        return AlgoProblemDto.builder()
+                .algoProblemId(id)
+                .algoProblemDifficulty(difficulty)
+                .build();
+    }
+}
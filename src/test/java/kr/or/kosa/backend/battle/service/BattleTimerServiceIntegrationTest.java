@@ -0,0 +1,174 @@
+package kr.or.kosa.backend.battle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+import kr.or.kosa.backend.battle.domain.BattleTimerType;
+import kr.or.kosa.backend.battle.util.BattleRedisKeyUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Redis 타이머 임대(CAS) 검증
+ *
+ * 같은 Redis를 보는 노드 두 개가 같은 타이머를 동시에 폴링해도 핸들러는 한 번만 실행되고,
+ * 성공하면 제거, 핸들러가 재예약하면 유지, 한도만큼 실패하면 버린 타이머 집합으로 옮겨지는지 확인한다
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BattleTimerServiceIntegrationTest {
+
+    private static final String ROOM_ID = "room-1";
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ThreadPoolTaskScheduler scheduler;
+    private BattleTimerService nodeA;
+    private BattleTimerService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.initialize();
+        nodeA = timerService(1);
+        nodeB = timerService(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+        scheduler.shutdown();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void dueTimerFiresOnceAcrossNodesAndIsRemoved() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        registerOnBoth(BattleTimerType.MATCH_START, (roomId, userId) -> fired.incrementAndGet());
+
+        nodeA.schedule(BattleTimerType.MATCH_START, ROOM_ID, null, Instant.now().plusMillis(300));
+        awaitWhilePolling(() -> fired.get() > 0 && !nodeA.isScheduled(BattleTimerType.MATCH_START, ROOM_ID, null));
+        // 늦게 도착한 다른 노드의 실행이 없는지 한 번 더 폴링
+        pollBoth(500);
+
+        assertThat(fired.get()).isEqualTo(1);
+        assertThat(redisTemplate.opsForHash().size(BattleRedisKeyUtil.timerAttemptsKey())).isZero();
+    }
+
+    @Test
+    void timerRescheduledByHandlerIsKept() throws Exception {
+        BlockingQueue<Long> fired = new LinkedBlockingQueue<>();
+        registerOnBoth(BattleTimerType.DISCONNECT_GRACE, (roomId, userId) -> {
+            fired.add(userId);
+            nodeA.schedule(BattleTimerType.DISCONNECT_GRACE, roomId, userId, Instant.now().plusSeconds(60));
+        });
+
+        nodeA.schedule(BattleTimerType.DISCONNECT_GRACE, ROOM_ID, 7L, Instant.now());
+        awaitWhilePolling(() -> !fired.isEmpty());
+
+        assertThat(fired.poll()).isEqualTo(7L);
+        Double score = redisTemplate.opsForZSet().score(BattleRedisKeyUtil.timersKey(), "DISCONNECT_GRACE|room-1|7");
+        assertThat(score).isNotNull();
+        assertThat(score.longValue()).isGreaterThan(System.currentTimeMillis() + 50_000);
+    }
+
+    @Test
+    void timerFailingPastMaxAttemptsMovesToDeadLetter() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        registerOnBoth(BattleTimerType.MATCH_TIMEOUT, (roomId, userId) -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("handler failure");
+        });
+
+        nodeA.schedule(BattleTimerType.MATCH_TIMEOUT, ROOM_ID, null, Instant.now());
+        // 한도 1회: 첫 실패 뒤 재시도 시각(5초 뒤)에 다시 임대하면서 버려진다
+        awaitWhilePolling(() -> Boolean.TRUE.equals(redisTemplate.opsForSet()
+                .isMember(BattleRedisKeyUtil.timerDeadLetterKey(), "MATCH_TIMEOUT|room-1|")));
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(nodeA.isScheduled(BattleTimerType.MATCH_TIMEOUT, ROOM_ID, null)).isFalse();
+
+        List<BattleTimerService.DroppedTimer> dropped = nodeA.pollDropped(10);
+        assertThat(dropped).containsExactly(new BattleTimerService.DroppedTimer(BattleTimerType.MATCH_TIMEOUT, ROOM_ID, null));
+        assertThat(nodeA.pollDropped(10)).isEmpty();
+
+        nodeA.requeueDropped(dropped.get(0));
+        assertThat(nodeB.pollDropped(10)).containsExactlyElementsOf(dropped);
+    }
+
+    @Test
+    void cancelRemovesPendingTimer() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        registerOnBoth(BattleTimerType.WAITING_GRACE, (roomId, userId) -> fired.incrementAndGet());
+
+        nodeA.schedule(BattleTimerType.WAITING_GRACE, ROOM_ID, null, Instant.now().plusMillis(500));
+        pollBoth(0);
+        nodeA.cancel(BattleTimerType.WAITING_GRACE, ROOM_ID, null);
+        pollBoth(1_000);
+
+        assertThat(fired.get()).isZero();
+    }
+
+    private BattleTimerService timerService(int maxAttempts) {
+        BattleTimerService service = new BattleTimerService(redisTemplate, scheduler);
+        ReflectionTestUtils.setField(service, "lookaheadMs", 2_000L);
+        ReflectionTestUtils.setField(service, "batchSize", 500L);
+        ReflectionTestUtils.setField(service, "leaseMs", 30_000L);
+        ReflectionTestUtils.setField(service, "maxAttempts", maxAttempts);
+        return service;
+    }
+
+    private void registerOnBoth(BattleTimerType type, BiConsumer<String, Long> handler) {
+        nodeA.register(type, handler);
+        nodeB.register(type, handler);
+    }
+
+    private void pollBoth(long durationMs) throws InterruptedException {
+        long until = System.currentTimeMillis() + durationMs;
+        do {
+            nodeA.poll();
+            nodeB.poll();
+            TimeUnit.MILLISECONDS.sleep(50);
+        } while (System.currentTimeMillis() < until);
+    }
+
+    private void awaitWhilePolling(BooleanSupplier condition) throws InterruptedException {
+        long until = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건 대기 시간 초과").isLessThan(until);
+            nodeA.poll();
+            nodeB.poll();
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+}
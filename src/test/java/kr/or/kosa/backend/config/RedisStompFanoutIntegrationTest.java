@@ -0,0 +1,134 @@
+package kr.or.kosa.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * websocket.broker.mode=redis 다중 노드 전달 검증
+ *
+ * 같은 Redis에 붙은 애플리케이션 컨텍스트 두 개(노드 A, B)를 띄우고,
+ * 노드 A에서 발행한 메시지가 노드 B에 STOMP로 구독한 클라이언트에게 전달되는지 확인한다
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisStompFanoutIntegrationTest {
+
+    private static final String DESTINATION = "/topic/battle/fanout-test";
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private WebSocketStompClient stompClient;
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableWebSocketMessageBroker
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            RedisAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import(WebSocketBrokerConfig.class)
+    static class NodeConfig implements WebSocketMessageBrokerConfigurer {
+
+        @Override
+        public void registerStompEndpoints(StompEndpointRegistry registry) {
+            registry.addEndpoint("/ws/test").setAllowedOriginPatterns("*");
+        }
+    }
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new StringMessageConverter());
+    }
+
+    @AfterEach
+    void stopNodes() {
+        stompClient.stop();
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void messagePublishedOnOneNodeReachesSubscriberOnAnotherNode() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        StompSession session = stompClient
+                .connectAsync("ws://localhost:" + portOf(nodeB) + "/ws/test", new StompSessionHandlerAdapter() {
+                })
+                .get(5, TimeUnit.SECONDS);
+        session.subscribe(DESTINATION, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((String) payload);
+            }
+        });
+
+        // 구독/Redis 리스너 등록이 끝났다는 신호가 없으므로 받을 때까지 노드 A에서 다시 발행한다
+        SimpMessagingTemplate nodeATemplate = nodeA.getBean(SimpMessagingTemplate.class);
+        String message = null;
+        for (int attempt = 0; attempt < 50 && message == null; attempt++) {
+            nodeATemplate.convertAndSend(DESTINATION, "hello-from-node-a");
+            message = received.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(message).isEqualTo("hello-from-node-a");
+        session.disconnect();
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(NodeConfig.class)
+                .properties(
+                        "server.port=0",
+                        "websocket.broker.mode=redis",
+                        "spring.data.redis.host=" + REDIS.getHost(),
+                        "spring.data.redis.port=" + REDIS.getMappedPort(6379))
+                .run();
+    }
+
+    private int portOf(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+}